@@ -75,6 +75,26 @@ public abstract class LeaderConfig {
         return 5000L;
     }
 
+    /**
+     * How long the leader may serve requests after verifying its leadership with a quorum, before it must verify
+     * again. Acceptors refuse to elect a new leader until this lease, plus {@link #leaderLeaseMaxClockDriftMs()},
+     * has passed since the leader last verified with them. This must be set to the same value on every node;
+     * 0 (the default) disables leases, so that leadership is verified on every request.
+     */
+    @Value.Default
+    public long leaderLeaseMs() {
+        return 0L;
+    }
+
+    /**
+     * The most that the clocks of any two nodes may drift apart over one leader lease.
+     * Only used if {@link #leaderLeaseMs()} is positive.
+     */
+    @Value.Default
+    public long leaderLeaseMaxClockDriftMs() {
+        return 100L;
+    }
+
     @Value.Check
     protected final void check() {
         Preconditions.checkState(quorumSize() > leaders().size() / 2,
@@ -83,6 +103,11 @@ public abstract class LeaderConfig {
                 "The quorumSize '%s' must be less than or equal to the amount of leader entries %s.",
                 quorumSize(), leaders());
 
+        Preconditions.checkArgument(leaderLeaseMs() >= 0,
+                "The leaderLeaseMs '%s' must not be negative.", leaderLeaseMs());
+        Preconditions.checkArgument(leaderLeaseMaxClockDriftMs() >= 0,
+                "The leaderLeaseMaxClockDriftMs '%s' must not be negative.", leaderLeaseMaxClockDriftMs());
+
         Preconditions.checkArgument(leaders().contains(localServer()),
                 "The localServer '%s' must included in the leader entries %s.", localServer(), leaders());
         Preconditions.checkArgument(ensureDirectoryExists(learnerLogDir()),
@@ -0,0 +1,58 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.api;
+
+import java.util.Map;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Non-blocking variants of the point reads of a {@link KeyValueService}. The returned futures complete with the same
+ * results as the corresponding blocking methods, and fail with the exceptions those methods would have thrown.
+ * <p>
+ * Callers must not block on the returned futures from threads belonging to the key value service itself.
+ */
+public interface AsyncKeyValueService {
+    /**
+     * Asynchronously gets values from the key-value store.
+     *
+     * @see KeyValueService#get(TableReference, Map)
+     */
+    ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell);
+
+    /**
+     * Asynchronously gets values from the key-value store.
+     *
+     * @see KeyValueService#getRows(TableReference, Iterable, ColumnSelection, long)
+     */
+    ListenableFuture<Map<Cell, Value>> getRowsAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection,
+            long timestamp);
+
+    /**
+     * Asynchronously gets values from the key-value store for the specified rows and column range as separate
+     * iterators for each row. Only the first page of each row is guaranteed to have been loaded when the future
+     * completes; iterating further may block.
+     *
+     * @see KeyValueService#getRowsColumnRange(TableReference, Iterable, BatchColumnRangeSelection, long)
+     */
+    ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp);
+}
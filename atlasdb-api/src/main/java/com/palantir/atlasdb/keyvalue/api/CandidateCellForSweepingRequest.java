@@ -25,6 +25,13 @@ public interface CandidateCellForSweepingRequest {
 
     OptionalInt batchSizeHint();
 
+    /**
+     *  The number of parts of the table that the key value service may read candidates from concurrently. Key value
+     *  services that do not support concurrent reads ignore this, and those that do use their configured default if
+     *  it is absent.
+     */
+    OptionalInt scanParallelismHint();
+
     /**
      *  The maximum timestamp to be returned in the resulting {@link CandidateCellForSweeping} objects.
      */
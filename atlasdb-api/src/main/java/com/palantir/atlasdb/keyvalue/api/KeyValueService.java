@@ -21,6 +21,8 @@ import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.annotation.Idempotent;
 import com.palantir.common.annotation.NonIdempotent;
@@ -34,7 +36,7 @@ import com.palantir.util.paging.TokenBackedBasicResultsPage;
  * A service which stores key-value pairs.
  */
 @AutoDelegate
-public interface KeyValueService extends AutoCloseable {
+public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     /**
      * Performs non-destructive cleanup when the KVS is no longer needed.
      */
@@ -130,6 +132,61 @@ public interface KeyValueService extends AutoCloseable {
     @Idempotent
     Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell);
 
+    /**
+     * Asynchronous variant of {@link #get(TableReference, Map)}.
+     * <p>
+     * The default implementation performs the read on the calling thread and returns a completed future. Key value
+     * services that can issue reads without blocking the caller should override this.
+     */
+    @Override
+    @Idempotent
+    default ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        try {
+            return Futures.immediateFuture(get(tableRef, timestampByCell));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #getRows(TableReference, Iterable, ColumnSelection, long)}.
+     * <p>
+     * The default implementation performs the read on the calling thread and returns a completed future. Key value
+     * services that can issue reads without blocking the caller should override this.
+     */
+    @Override
+    @Idempotent
+    default ListenableFuture<Map<Cell, Value>> getRowsAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection,
+            long timestamp) {
+        try {
+            return Futures.immediateFuture(getRows(tableRef, rows, columnSelection, timestamp));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #getRowsColumnRange(TableReference, Iterable, BatchColumnRangeSelection, long)}.
+     * <p>
+     * The default implementation performs the read on the calling thread and returns a completed future. Key value
+     * services that can issue reads without blocking the caller should override this.
+     */
+    @Override
+    @Idempotent
+    default ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        try {
+            return Futures.immediateFuture(getRowsColumnRange(tableRef, rows, batchColumnRangeSelection, timestamp));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
     /**
      * Gets timestamp values from the key-value store.
      *
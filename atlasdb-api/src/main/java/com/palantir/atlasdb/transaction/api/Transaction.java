@@ -22,6 +22,8 @@ import java.util.SortedMap;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
@@ -62,6 +64,39 @@ public interface Transaction {
     @Idempotent
     Map<Cell, byte[]> get(TableReference tableRef, Set<Cell> cells);
 
+    /**
+     * Asynchronous version of {@link #getRows(TableReference, Iterable, ColumnSelection)}. Reads issued through this
+     * method may be outstanding concurrently with each other, which allows reads from several tables to share round
+     * trips to the key value service and the transactions table.
+     * <p>
+     * The returned future must complete before this transaction is committed or aborted.
+     */
+    @Idempotent
+    default ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> getRowsAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        try {
+            return Futures.immediateFuture(getRows(tableRef, rows, columnSelection));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    /**
+     * Asynchronous version of {@link #get(TableReference, Set)}.
+     * <p>
+     * The returned future must complete before this transaction is committed or aborted.
+     */
+    @Idempotent
+    default ListenableFuture<Map<Cell, byte[]>> getAsync(TableReference tableRef, Set<Cell> cells) {
+        try {
+            return Futures.immediateFuture(get(tableRef, cells));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
     /**
      * Creates a visitable that scans the provided range.
      *
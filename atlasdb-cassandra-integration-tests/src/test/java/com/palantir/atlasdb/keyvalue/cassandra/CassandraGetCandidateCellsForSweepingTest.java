@@ -17,13 +17,18 @@ package com.palantir.atlasdb.keyvalue.cassandra;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.junit.ClassRule;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.containers.CassandraResource;
 import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
+import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweepingRequest;
 import com.palantir.atlasdb.keyvalue.api.ImmutableCandidateCellForSweeping;
+import com.palantir.atlasdb.keyvalue.api.ImmutableCandidateCellForSweepingRequest;
 import com.palantir.atlasdb.keyvalue.impl.AbstractGetCandidateCellsForSweepingTest;
 
 public class CassandraGetCandidateCellsForSweepingTest extends AbstractGetCandidateCellsForSweepingTest {
@@ -55,4 +60,24 @@ public class CassandraGetCandidateCellsForSweepingTest extends AbstractGetCandid
                         .isLatestValueEmpty(false)
                         .build());
     }
+
+    @Test
+    public void parallelScanReturnsSameCandidatesInSameOrderAsSequentialScan() {
+        TestDataBuilder builder = new TestDataBuilder();
+        for (int rowNum = 1; rowNum <= 100; ++rowNum) {
+            for (int colNum = 1; colNum <= 3; ++colNum) {
+                builder.put(rowNum, colNum, 10L).put(rowNum, colNum, 20L);
+            }
+        }
+        builder.store();
+
+        CandidateCellForSweepingRequest sequential = thoroughRequest(row(7), 40L, 10);
+        CandidateCellForSweepingRequest parallel = ImmutableCandidateCellForSweepingRequest.builder()
+                .from(sequential)
+                .scanParallelismHint(4)
+                .build();
+        List<CandidateCellForSweeping> expected = getAllCandidates(sequential);
+        assertThat(expected).hasSize(94 * 3);
+        assertThat(getAllCandidates(parallel)).containsExactlyElementsOf(expected);
+    }
 }
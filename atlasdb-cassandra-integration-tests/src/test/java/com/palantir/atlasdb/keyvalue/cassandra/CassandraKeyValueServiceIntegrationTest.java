@@ -101,11 +101,6 @@ public class CassandraKeyValueServiceIntegrationTest extends AbstractKeyValueSer
         super(CASSANDRA);
     }
 
-    @Override
-    protected boolean reverseRangesSupported() {
-        return false;
-    }
-
     @Override
     @Ignore
     public void testGetAllTableNames() {
@@ -75,10 +75,4 @@ public class CassandraKeyValueServiceTransactionIntegrationTest extends Abstract
         CASSANDRA.registerKvs(kvs);
         return kvs;
     }
-
-    @Override
-    protected boolean supportsReverse() {
-        return false;
-    }
-
 }
@@ -44,10 +44,4 @@ public class CassandraKvsSerializableTransactionTest extends AbstractSerializabl
     protected MultiTableSweepQueueWriter getSweepQueueWriterInitialized() {
         return SweepQueue.createWriter(mock(TargetedSweepMetrics.class), keyValueService, timelockService, () -> 128);
     }
-
-    @Override
-    protected boolean supportsReverse() {
-        return false;
-    }
-
 }
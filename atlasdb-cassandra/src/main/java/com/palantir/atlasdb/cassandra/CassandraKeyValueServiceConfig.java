@@ -264,6 +264,55 @@ public abstract class CassandraKeyValueServiceConfig implements KeyValueServiceC
         return 32;
     }
 
+    /**
+     * The number of Cassandra token ranges that a single range scan reads from concurrently. If greater than 1,
+     * getRange splits its range at token range boundaries and pages through that many splits at once, still returning
+     * rows in order. The default of 1 pages through the whole range sequentially.
+     */
+    @Value.Default
+    public int rangeScanParallelism() {
+        return 1;
+    }
+
+    /**
+     * The number of pages that each split of a parallel range scan reads ahead of the consumer, before waiting for
+     * the consumer to catch up.
+     */
+    @Value.Default
+    public int rangeScanBufferedPagesPerSplit() {
+        return 2;
+    }
+
+    /**
+     * The number of parallel range scans, at rangeScanParallelism, that may read splits in the background at once.
+     * Bounds the threads used for reading splits and prefetching pages; splits of further scans are read by the scan's
+     * consumer, as the scan reaches them.
+     */
+    @Value.Default
+    public int rangeScanMaxConcurrentScans() {
+        return 16;
+    }
+
+    /**
+     * The number of pages that range scans load in the background ahead of the page being consumed. The default of 0
+     * only loads each page once the previous one has been consumed.
+     */
+    @Value.Default
+    public int rangeScanPagesToPrefetch() {
+        return 0;
+    }
+
+    /**
+     * The number of Cassandra token ranges that sweep reads candidate cells from concurrently. If greater than 1,
+     * getCandidateCellsForSweeping splits the table at token range boundaries and fetches cell timestamps for that
+     * many splits at once, still returning candidates in row order. Each split reads at most one batch ahead of sweep,
+     * so little work is wasted when sweep stops early. The default of 1 reads the table sequentially.
+     */
+    @Value.Default
+    public int sweepCandidateScanParallelism() {
+        return 1;
+    }
+
     /**
      * Obsolete value, replaced by {@link SweepConfig#readLimit}.
      *
@@ -315,5 +364,14 @@ public abstract class CassandraKeyValueServiceConfig implements KeyValueServiceC
         double evictionCheckProportion = proportionConnectionsToCheckPerEvictionRun();
         Preconditions.checkArgument(evictionCheckProportion > 0.01 && evictionCheckProportion <= 1,
                 "'proportionConnectionsToCheckPerEvictionRun' must be between 0.01 and 1");
+        Preconditions.checkArgument(rangeScanParallelism() > 0, "'rangeScanParallelism' must be positive");
+        Preconditions.checkArgument(rangeScanBufferedPagesPerSplit() > 0,
+                "'rangeScanBufferedPagesPerSplit' must be positive");
+        Preconditions.checkArgument(rangeScanMaxConcurrentScans() > 0,
+                "'rangeScanMaxConcurrentScans' must be positive");
+        Preconditions.checkArgument(rangeScanPagesToPrefetch() >= 0,
+                "'rangeScanPagesToPrefetch' must be non-negative");
+        Preconditions.checkArgument(sweepCandidateScanParallelism() > 0,
+                "'sweepCandidateScanParallelism' must be positive");
     }
 }
@@ -16,6 +16,11 @@
 package com.palantir.atlasdb.keyvalue.cassandra;
 
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.base.ClosableIterator;
 import com.palantir.processors.AutoDelegate;
 
 @AutoDelegate
@@ -23,5 +28,15 @@ public interface CassandraKeyValueService extends KeyValueService {
     CassandraTables getCassandraTables();
     TracingQueryRunner getTracingQueryRunner();
     CassandraClientPool getClientPool();
+
+    /**
+     * Like {@link #getRange}, but reads up to rangeScanParallelism of the token ranges that the range covers
+     * concurrently and returns rows in the order in which they are read, rather than in row order. Intended for bulk
+     * consumers such as full table scans.
+     */
+    ClosableIterator<RowResult<Value>> getRangeUnordered(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long timestamp);
     boolean isInitialized();
 }
@@ -29,6 +29,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.cassandra.thrift.CfDef;
@@ -63,6 +66,9 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.palantir.async.initializer.AsyncInitializer;
 import com.palantir.atlasdb.AtlasDbConstants;
@@ -91,9 +97,11 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.cassandra.CassandraKeyValueServices.StartTsResultsCollector;
 import com.palantir.atlasdb.keyvalue.cassandra.cas.CheckAndSetRunner;
+import com.palantir.atlasdb.keyvalue.cassandra.paging.ConcurrentSplitIterator;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.RowGetter;
 import com.palantir.atlasdb.keyvalue.cassandra.sweep.CandidateRowForSweeping;
 import com.palantir.atlasdb.keyvalue.cassandra.sweep.CandidateRowsForSweepingIterator;
+import com.palantir.atlasdb.keyvalue.cassandra.sweep.ValuesLoader;
 import com.palantir.atlasdb.keyvalue.cassandra.thrift.MutationMap;
 import com.palantir.atlasdb.keyvalue.cassandra.thrift.SlicePredicates;
 import com.palantir.atlasdb.keyvalue.cassandra.thrift.SlicePredicates.Limit;
@@ -116,6 +124,8 @@ import com.palantir.common.base.ClosableIterator;
 import com.palantir.common.base.ClosableIterators;
 import com.palantir.common.base.FunctionCheckedException;
 import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.exception.AtlasDbDependencyException;
 import com.palantir.common.exception.PalantirRuntimeException;
 import com.palantir.logsafe.SafeArg;
@@ -181,6 +191,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
 
     static final ConsistencyLevel WRITE_CONSISTENCY = ConsistencyLevel.EACH_QUORUM;
     static final ConsistencyLevel DELETE_CONSISTENCY = ConsistencyLevel.ALL;
+    private static final int SWEEP_CANDIDATE_BATCHES_BUFFERED_PER_SPLIT = 1;
 
     private final Logger log;
 
@@ -196,6 +207,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     private final WrappingQueryRunner wrappingQueryRunner;
     private final CellLoader cellLoader;
     private final RangeLoader rangeLoader;
+    private final ExecutorService rangeScanExecutor;
     private final TaskRunner taskRunner;
     private final CellValuePutter cellValuePutter;
     private final CassandraTableMetadata tableMetadata;
@@ -361,7 +373,10 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         this.cassandraTables = new CassandraTables(clientPool, config);
         this.taskRunner = new TaskRunner(executor);
         this.cellLoader = new CellLoader(clientPool, wrappingQueryRunner, taskRunner);
-        this.rangeLoader = new RangeLoader(clientPool, queryRunner, metricsManager, readConsistency);
+        this.rangeScanExecutor = createRangeScanExecutor(config);
+        this.rangeLoader = new RangeLoader(clientPool, queryRunner, metricsManager, readConsistency,
+                rangeScanExecutor, config.rangeScanParallelism(), config.rangeScanBufferedPagesPerSplit(),
+                config.rangeScanPagesToPrefetch());
         this.cellValuePutter = new CellValuePutter(
                 config,
                 clientPool,
@@ -523,6 +538,34 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
             return getRowsForSpecificColumns(tableRef, rows, selection, startTs);
         }
 
+        List<Map<Cell, Value>> perHostResults = taskRunner.runAllTasksCancelOnFailure(
+                getRowsTasks(tableRef, rows, startTs));
+        return mergeResults(perHostResults, Iterables.size(rows));
+    }
+
+    /**
+     * Asynchronous equivalent of {@link #getRows(TableReference, Iterable, ColumnSelection, long)}. The reads for each
+     * host are submitted to this key value service's executor, so the calling thread is never blocked.
+     */
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection selection,
+            long startTs) {
+        return runAsync(() -> {
+            if (!selection.allColumnsSelected()) {
+                return getRowsForSpecificColumnsAsync(tableRef, rows, selection, startTs);
+            }
+            return Futures.transform(
+                    taskRunner.runAllTasksAsync(getRowsTasks(tableRef, rows, startTs)),
+                    perHostResults -> mergeResults(perHostResults, Iterables.size(rows)),
+                    MoreExecutors.directExecutor());
+        });
+    }
+
+    private List<Callable<Map<Cell, Value>>> getRowsTasks(TableReference tableRef, Iterable<byte[]> rows,
+            long startTs) {
         Set<Entry<InetSocketAddress, List<byte[]>>> rowsByHost = HostPartitioner.partitionByHost(clientPool, rows,
                 Functions.identity()).entrySet();
         List<Callable<Map<Cell, Value>>> tasks = Lists.newArrayListWithCapacity(rowsByHost.size());
@@ -532,14 +575,25 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                             + " rows from " + tableRef + " on " + hostAndRows.getKey(),
                     () -> getRowsForSingleHost(hostAndRows.getKey(), tableRef, hostAndRows.getValue(), startTs)));
         }
-        List<Map<Cell, Value>> perHostResults = taskRunner.runAllTasksCancelOnFailure(tasks);
-        Map<Cell, Value> result = Maps.newHashMapWithExpectedSize(Iterables.size(rows));
-        for (Map<Cell, Value> perHostResult : perHostResults) {
+        return tasks;
+    }
+
+    private static <K, V> Map<K, V> mergeResults(List<Map<K, V>> perHostResults, int expectedSize) {
+        Map<K, V> result = Maps.newHashMapWithExpectedSize(expectedSize);
+        for (Map<K, V> perHostResult : perHostResults) {
             result.putAll(perHostResult);
         }
         return result;
     }
 
+    private static <T> ListenableFuture<T> runAsync(java.util.function.Supplier<ListenableFuture<T>> asyncRead) {
+        try {
+            return asyncRead.get();
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
     private Map<Cell, Value> getRowsForSingleHost(final InetSocketAddress host,
                                                   final TableReference tableRef,
                                                   final List<byte[]> rows,
@@ -599,6 +653,21 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                                                        final Iterable<byte[]> rows,
                                                        ColumnSelection selection,
                                                        final long startTs) {
+        Set<Cell> cells = getCellsForSpecificColumns(rows, selection);
+        StartTsResultsCollector collector = new StartTsResultsCollector(metricsManager, startTs);
+        cellLoader.loadWithTs("getRows", tableRef, cells, startTs, false, collector, readConsistency);
+        return collector.getCollectedResults();
+    }
+
+    private ListenableFuture<Map<Cell, Value>> getRowsForSpecificColumnsAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection selection,
+            long startTs) {
+        Set<Cell> cells = getCellsForSpecificColumns(rows, selection);
+        return getAsync("getRowsAsync", tableRef, cells, startTs);
+    }
+
+    private static Set<Cell> getCellsForSpecificColumns(Iterable<byte[]> rows, ColumnSelection selection) {
         Preconditions.checkArgument(!selection.allColumnsSelected(), "Must select specific columns");
 
         Collection<byte[]> selectedColumns = selection.getSelectedColumns();
@@ -608,10 +677,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 cells.add(Cell.create(row, col));
             }
         }
-
-        StartTsResultsCollector collector = new StartTsResultsCollector(metricsManager, startTs);
-        cellLoader.loadWithTs("getRows", tableRef, cells, startTs, false, collector, readConsistency);
-        return collector.getCollectedResults();
+        return cells;
     }
 
     /**
@@ -663,6 +729,41 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         return collector.getCollectedResults();
     }
 
+    /**
+     * Asynchronous equivalent of {@link #get(TableReference, Map)}. The reads for each host are submitted to this
+     * key value service's executor, so the calling thread is never blocked.
+     */
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        if (timestampByCell.isEmpty()) {
+            log.info("Attempted getAsync on '{}' table with empty cells", LoggingArgs.tableRef(tableRef));
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+
+        return runAsync(() -> {
+            SetMultimap<Long, Cell> cellsByTs = Multimaps.invertFrom(
+                    Multimaps.forMap(timestampByCell), HashMultimap.<Long, Cell>create());
+            List<ListenableFuture<Map<Cell, Value>>> perTimestampResults = Lists.newArrayList();
+            for (long ts : cellsByTs.keySet()) {
+                perTimestampResults.add(getAsync("getAsync", tableRef, cellsByTs.get(ts), ts));
+            }
+            return Futures.transform(
+                    Futures.allAsList(perTimestampResults),
+                    results -> mergeResults(results, timestampByCell.size()),
+                    MoreExecutors.directExecutor());
+        });
+    }
+
+    private ListenableFuture<Map<Cell, Value>> getAsync(String kvsMethodName, TableReference tableRef,
+            Set<Cell> cells, long maxTimestampExclusive) {
+        StartTsResultsCollector collector = new StartTsResultsCollector(metricsManager, maxTimestampExclusive);
+        return Futures.transform(
+                cellLoader.loadWithTsAsync(
+                        kvsMethodName, tableRef, cells, maxTimestampExclusive, false, collector, readConsistency),
+                unused -> collector.getCollectedResults(),
+                MoreExecutors.directExecutor());
+    }
+
     /**
      * Gets values from the key-value store for the specified rows and column range as separate iterators for each row.
      * Requires a quorum of Cassandra nodes to be reachable, otherwise, the returned iterators will throw an
@@ -684,6 +785,32 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                                                                   Iterable<byte[]> rows,
                                                                   BatchColumnRangeSelection batchColumnRangeSelection,
                                                                   long timestamp) {
+        List<Map<byte[], RowColumnRangeIterator>> perHostResults = taskRunner.runAllTasksCancelOnFailure(
+                getRowsColumnRangeTasks(tableRef, rows, batchColumnRangeSelection, timestamp));
+        return mergeResults(perHostResults, Iterables.size(rows));
+    }
+
+    /**
+     * Asynchronous equivalent of
+     * {@link #getRowsColumnRange(TableReference, Iterable, BatchColumnRangeSelection, long)}. The first page of each
+     * row is loaded on this key value service's executor; later pages are loaded lazily by the returned iterators.
+     */
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        return runAsync(() -> Futures.transform(
+                taskRunner.runAllTasksAsync(
+                        getRowsColumnRangeTasks(tableRef, rows, batchColumnRangeSelection, timestamp)),
+                perHostResults -> mergeResults(perHostResults, Iterables.size(rows)),
+                MoreExecutors.directExecutor()));
+    }
+
+    private List<Callable<Map<byte[], RowColumnRangeIterator>>> getRowsColumnRangeTasks(TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
         Set<Entry<InetSocketAddress, List<byte[]>>> rowsByHost = HostPartitioner.partitionByHost(clientPool, rows,
                 Functions.identity()).entrySet();
         List<Callable<Map<byte[], RowColumnRangeIterator>>> tasks = Lists.newArrayListWithCapacity(rowsByHost.size());
@@ -698,12 +825,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                             batchColumnRangeSelection,
                             timestamp)));
         }
-        List<Map<byte[], RowColumnRangeIterator>> perHostResults = taskRunner.runAllTasksCancelOnFailure(tasks);
-        Map<byte[], RowColumnRangeIterator> result = Maps.newHashMapWithExpectedSize(Iterables.size(rows));
-        for (Map<byte[], RowColumnRangeIterator> perHostResult : perHostResults) {
-            result.putAll(perHostResult);
-        }
-        return result;
+        return tasks;
     }
 
     private Map<byte[], RowColumnRangeIterator> getRowsColumnRangeIteratorForSingleHost(
@@ -1127,7 +1249,6 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     }
 
 
-    // TODO(unknown): after cassandra change: handle reverse ranges
     // TODO(unknown): after cassandra change: handle column filtering
     /**
      * For each row in the specified range, returns the most recent version strictly before timestamp. Requires a
@@ -1149,6 +1270,15 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         return rangeLoader.getRange(tableRef, rangeRequest, timestamp);
     }
 
+    @Override
+    @Idempotent
+    public ClosableIterator<RowResult<Value>> getRangeUnordered(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long timestamp) {
+        return rangeLoader.getRangeUnordered(tableRef, rangeRequest, timestamp);
+    }
+
     /**
      * Gets timestamp values from the key-value store. For each row, this returns all associated
      * timestamps &lt; given_ts.
@@ -1175,7 +1305,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 .shouldCheckIfLatestValueIsEmpty(false)
                 .shouldDeleteGarbageCollectionSentinels(true)
                 .build();
-        return getCandidateRowsForSweeping("getRangeOfTimestamps", tableRef, request)
+        return getCandidateRowsForSweeping("getRangeOfTimestamps", tableRef, request, 1)
                 .flatMap(rows -> rows)
                 .map(CandidateRowForSweeping::toRowResult)
                 .stopWhen(rowResult -> !rangeRequest.inRange(rowResult.getRowName()));
@@ -1185,26 +1315,63 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     public ClosableIterator<List<CandidateCellForSweeping>> getCandidateCellsForSweeping(
             TableReference tableRef,
             CandidateCellForSweepingRequest request) {
-        return getCandidateRowsForSweeping("getCandidateCellsForSweeping", tableRef, request)
+        int parallelism = request.scanParallelismHint().orElse(config.sweepCandidateScanParallelism());
+        return getCandidateRowsForSweeping("getCandidateCellsForSweeping", tableRef, request, parallelism)
                 .map(rows -> rows.stream()
                         .map(CandidateRowForSweeping::cells)
                         .flatMap(List::stream)
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * If parallelism is greater than 1, the table is split at the boundaries of the Cassandra token ranges after the
+     * start row, and the candidate rows of up to that many splits are fetched at once, each from the hosts owning its
+     * token range. Batches are still returned in row order, since sweep records its progress as the last row swept.
+     * Sweep usually closes the iterator after a few batches, so each split only reads one batch ahead of sweep, and
+     * closing the iterator wastes at most a couple of batches for each split being read.
+     */
     private ClosableIterator<List<CandidateRowForSweeping>> getCandidateRowsForSweeping(
             String kvsMethodName,
             TableReference tableRef,
-            CandidateCellForSweepingRequest request) {
+            CandidateCellForSweepingRequest request,
+            int parallelism) {
+        ValuesLoader valuesLoader = (iteratorTableRef, cells, maxTimestampExclusive) ->
+                get(kvsMethodName, iteratorTableRef, cells, maxTimestampExclusive);
+        CqlExecutor cqlExecutor = newInstrumentedCqlExecutor();
         RowGetter rowGetter = new RowGetter(clientPool, queryRunner, ConsistencyLevel.ALL, tableRef);
-        return new CandidateRowsForSweepingIterator(
-                (iteratorTableRef, cells, maxTimestampExclusive) ->
-                        get(kvsMethodName, iteratorTableRef, cells, maxTimestampExclusive),
-                newInstrumentedCqlExecutor(),
-                rowGetter,
-                tableRef,
-                request,
-                config);
+        if (parallelism <= 1) {
+            return new CandidateRowsForSweepingIterator(
+                    valuesLoader, cqlExecutor, rowGetter, tableRef, request, config);
+        }
+
+        RangeRequest remainingTable = RangeRequest.builder().startRowInclusive(request.startRowInclusive()).build();
+        List<Supplier<Iterator<List<CandidateRowForSweeping>>>> splitLoaders =
+                TokenRangeSplits.split(remainingTable, clientPool.getTokenMap()).stream()
+                        .map(split -> (Supplier<Iterator<List<CandidateRowForSweeping>>>) () ->
+                                new CandidateRowsForSweepingIterator(
+                                        valuesLoader,
+                                        cqlExecutor,
+                                        rowGetter,
+                                        tableRef,
+                                        request.withStartRow(split.getStartInclusive()),
+                                        split.getEndExclusive(),
+                                        config))
+                        .collect(Collectors.toList());
+        return ConcurrentSplitIterator.create(
+                splitLoaders, rangeScanExecutor, parallelism, SWEEP_CANDIDATE_BATCHES_BUFFERED_PER_SPLIT, 1);
+    }
+
+    /**
+     * Reads the splits of parallel range scans and sweep candidate scans, and prefetches range scan pages. Bounded to
+     * enough threads for rangeScanMaxConcurrentScans scans at the configured parallelism; splits and pages that it
+     * rejects are read by the scan's consumer instead.
+     */
+    private static ExecutorService createRangeScanExecutor(CassandraKeyValueServiceConfig config) {
+        int parallelism = Math.max(config.rangeScanParallelism(), config.sweepCandidateScanParallelism());
+        return PTExecutors.newThreadPoolExecutor(0, parallelism * config.rangeScanMaxConcurrentScans(),
+                1, TimeUnit.MINUTES,
+                new SynchronousQueue<>(),
+                new NamedThreadFactory("Atlas Cassandra KVS range scans", true));
     }
 
     private CqlExecutor newInstrumentedCqlExecutor() {
@@ -1560,6 +1727,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     @Override
     public void close() {
         clientPool.shutdown();
+        rangeScanExecutor.shutdownNow();
         super.close();
     }
 
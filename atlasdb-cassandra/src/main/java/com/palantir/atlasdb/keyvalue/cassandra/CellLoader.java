@@ -37,6 +37,7 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.TreeMultimap;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -75,6 +76,32 @@ class CellLoader {
             boolean loadAllTs,
             CassandraKeyValueServices.ThreadSafeResultVisitor visitor,
             ConsistencyLevel consistency) {
+        taskRunner.runAllTasksCancelOnFailure(
+                getLoadWithTsTasks(kvsMethodName, tableRef, cells, startTs, loadAllTs, visitor, consistency));
+    }
+
+    /**
+     * Asynchronous equivalent of {@link #loadWithTs}; the returned future completes once all results have been
+     * passed to the visitor.
+     */
+    ListenableFuture<?> loadWithTsAsync(String kvsMethodName,
+            TableReference tableRef,
+            Set<Cell> cells,
+            long startTs,
+            boolean loadAllTs,
+            CassandraKeyValueServices.ThreadSafeResultVisitor visitor,
+            ConsistencyLevel consistency) {
+        return taskRunner.runAllTasksAsync(
+                getLoadWithTsTasks(kvsMethodName, tableRef, cells, startTs, loadAllTs, visitor, consistency));
+    }
+
+    private List<Callable<Void>> getLoadWithTsTasks(String kvsMethodName,
+            TableReference tableRef,
+            Set<Cell> cells,
+            long startTs,
+            boolean loadAllTs,
+            CassandraKeyValueServices.ThreadSafeResultVisitor visitor,
+            ConsistencyLevel consistency) {
         Map<InetSocketAddress, List<Cell>> hostsAndCells = HostPartitioner.partitionByHost(clientPool, cells,
                 Cell::getRowName);
         int totalPartitions = hostsAndCells.keySet().size();
@@ -110,8 +137,7 @@ class CellLoader {
                     visitor,
                     consistency));
         }
-
-        taskRunner.runAllTasksCancelOnFailure(tasks);
+        return tasks;
     }
 
     // TODO(unknown): after cassandra api change: handle different column select per row
@@ -16,43 +16,232 @@
 
 package com.palantir.atlasdb.keyvalue.cassandra;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
 import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.KeyRange;
+import org.apache.cassandra.thrift.KeySlice;
 import org.apache.cassandra.thrift.SlicePredicate;
 
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.CassandraRangePagingIterable;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.ColumnGetter;
+import com.palantir.atlasdb.keyvalue.cassandra.paging.ConcurrentSplitIterator;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.RowGetter;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.ThriftColumnGetter;
 import com.palantir.atlasdb.keyvalue.cassandra.thrift.SlicePredicates;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.base.ClosableIterator;
 import com.palantir.common.base.ClosableIterators;
+import com.palantir.util.paging.PrefetchingPageIterator;
 
 public class RangeLoader {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int ROW_NAMES_PAGE_SIZE = 1_000;
+
     private final CassandraClientPool clientPool;
     private final TracingQueryRunner queryRunner;
     private final MetricsManager metricsManager;
+    private final ExecutorService executor;
+    private final int scanParallelism;
+    private final int bufferedPagesPerSplit;
+    private final int pagesToPrefetch;
     private ConsistencyLevel consistencyLevel;
 
     public RangeLoader(CassandraClientPool clientPool, TracingQueryRunner queryRunner, MetricsManager metricsManager,
-            ConsistencyLevel consistencyLevel) {
+            ConsistencyLevel consistencyLevel, ExecutorService executor, int scanParallelism,
+            int bufferedPagesPerSplit, int pagesToPrefetch) {
         this.clientPool = clientPool;
         this.queryRunner = queryRunner;
         this.metricsManager = metricsManager;
         this.consistencyLevel = consistencyLevel;
+        this.executor = executor;
+        this.scanParallelism = scanParallelism;
+        this.bufferedPagesPerSplit = bufferedPagesPerSplit;
+        this.pagesToPrefetch = pagesToPrefetch;
     }
 
     public ClosableIterator<RowResult<Value>> getRange(TableReference tableRef, RangeRequest rangeRequest, long ts) {
+        if (rangeRequest.isReverse()) {
+            return getReverseRange(tableRef, rangeRequest, ts);
+        }
+        if (scanParallelism > 1) {
+            return getRangeInParallel(tableRef, rangeRequest, ts, true);
+        }
         return getRangeWithPageCreator(tableRef, rangeRequest, ts, consistencyLevel,
                 () -> ValueExtractor.create(metricsManager));
     }
 
+    /**
+     * Like {@link #getRange}, but returns pages of rows in the order in which they are read, reading up to
+     * scanParallelism splits of the range at once. A reverse range is read as the equivalent forward range.
+     */
+    public ClosableIterator<RowResult<Value>> getRangeUnordered(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long ts) {
+        RangeRequest forwardRange = rangeRequest.isReverse() ? toForwardRange(rangeRequest) : rangeRequest;
+        return getRangeInParallel(tableRef, forwardRange, ts, false);
+    }
+
+    /**
+     * Splits the range at the boundaries of the Cassandra token ranges it covers, and pages through up to
+     * scanParallelism of the splits at once, each against the hosts owning its token range. Reading a split pauses
+     * once bufferedPagesPerSplit of its pages are waiting to be consumed.
+     *
+     * @param preserveOrder if true, rows are returned in order, as by {@link #getRange}; if false, pages of rows are
+     * returned in the order in which they are read
+     */
+    private ClosableIterator<RowResult<Value>> getRangeInParallel(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long ts,
+            boolean preserveOrder) {
+        if (rangeRequest.isEmptyRange()) {
+            return ClosableIterators.wrap(ImmutableList.<RowResult<Value>>of().iterator());
+        }
+
+        List<RangeRequest> splits = TokenRangeSplits.split(rangeRequest, clientPool.getTokenMap());
+        ConsistencyLevel consistency = consistencyLevel;
+        List<Supplier<Iterator<RowResult<Value>>>> splitLoaders = splits.stream()
+                .map(split -> (Supplier<Iterator<RowResult<Value>>>) () -> getRangeWithPageCreator(
+                        tableRef, split, ts, consistency, () -> ValueExtractor.create(metricsManager)))
+                .collect(Collectors.toList());
+        int pageSize = rangeRequest.getBatchHint() == null ? DEFAULT_PAGE_SIZE : rangeRequest.getBatchHint();
+        if (preserveOrder) {
+            return ConcurrentSplitIterator.create(
+                    splitLoaders, executor, scanParallelism, bufferedPagesPerSplit, pageSize);
+        }
+        return ConcurrentSplitIterator.createUnordered(
+                splitLoaders, executor, scanParallelism, bufferedPagesPerSplit, pageSize);
+    }
+
+    /**
+     * Cassandra can only scan row ranges forwards, so reverse ranges are read by walking the token ranges they cover
+     * from last to first. Within each token range, the row names are listed first (without any columns), and then
+     * the rows are loaded in pages of at most the batch hint, starting from the last row. At most the row names of a
+     * single token range and a single page of rows are held in memory at a time.
+     */
+    private ClosableIterator<RowResult<Value>> getReverseRange(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long ts) {
+        if (rangeRequest.isEmptyRange()) {
+            return ClosableIterators.wrap(ImmutableList.<RowResult<Value>>of().iterator());
+        }
+
+        RangeRequest forwardRange = toForwardRange(rangeRequest);
+        List<RangeRequest> splits = Lists.reverse(TokenRangeSplits.split(forwardRange, clientPool.getTokenMap()));
+        ConsistencyLevel consistency = consistencyLevel;
+        Iterator<Iterator<RowResult<Value>>> pages = Iterators.concat(Iterators.transform(
+                splits.iterator(),
+                split -> getReversePagesOfSplit(tableRef, split, ts, consistency)));
+        return ClosableIterators.wrap(Iterators.concat(pages));
+    }
+
+    private Iterator<Iterator<RowResult<Value>>> getReversePagesOfSplit(
+            TableReference tableRef,
+            RangeRequest forwardSplit,
+            long ts,
+            ConsistencyLevel consistency) {
+        int pageSize = forwardSplit.getBatchHint() == null ? DEFAULT_PAGE_SIZE : forwardSplit.getBatchHint();
+        RowGetter rowGetter = new RowGetter(clientPool, queryRunner, consistency, tableRef);
+        List<byte[]> rowNamesInReverse = Lists.reverse(getRowNames(rowGetter, forwardSplit));
+        return Iterators.transform(
+                Lists.partition(rowNamesInReverse, pageSize).iterator(),
+                rowNames -> getReversePage(tableRef, forwardSplit, rowNames, ts, consistency));
+    }
+
+    /**
+     * Loads the rows between the first and last of the given row names, which are in reverse order, and returns them
+     * in reverse order.
+     */
+    private Iterator<RowResult<Value>> getReversePage(
+            TableReference tableRef,
+            RangeRequest forwardSplit,
+            List<byte[]> rowNamesInReverse,
+            long ts,
+            ConsistencyLevel consistency) {
+        byte[] lastRow = rowNamesInReverse.get(0);
+        RangeRequest pageRange = forwardSplit.getBuilder()
+                .startRowInclusive(rowNamesInReverse.get(rowNamesInReverse.size() - 1))
+                .endRowExclusive(RangeRequests.isLastRowName(lastRow)
+                        ? PtBytes.EMPTY_BYTE_ARRAY
+                        : RangeRequests.nextLexicographicName(lastRow))
+                .batchHint(rowNamesInReverse.size())
+                .build();
+        List<RowResult<Value>> rows;
+        try (ClosableIterator<RowResult<Value>> pageRows = getRangeWithPageCreator(
+                tableRef, pageRange, ts, consistency, () -> ValueExtractor.create(metricsManager))) {
+            rows = Lists.newArrayList(pageRows);
+        }
+        Collections.reverse(rows);
+        return rows.iterator();
+    }
+
+    /**
+     * Lists the names of the rows in the given forward range, in order. Rows that only contain tombstones may also be
+     * listed.
+     */
+    private static List<byte[]> getRowNames(RowGetter rowGetter, RangeRequest forwardRange) {
+        SlicePredicate noColumns = SlicePredicates.create(SlicePredicates.Range.ALL, SlicePredicates.Limit.ZERO);
+        byte[] endExclusive = forwardRange.getEndExclusive();
+        byte[] endInclusive = endExclusive.length == 0
+                ? endExclusive
+                : RangeRequests.previousLexicographicName(endExclusive);
+
+        List<byte[]> rowNames = Lists.newArrayList();
+        byte[] startKey = forwardRange.getStartInclusive();
+        while (true) {
+            KeyRange keyRange = new KeyRange(ROW_NAMES_PAGE_SIZE);
+            keyRange.setStart_key(startKey);
+            keyRange.setEnd_key(endInclusive);
+            List<KeySlice> slices = rowGetter.getRows("getRange", keyRange, noColumns);
+            for (KeySlice slice : slices) {
+                rowNames.add(slice.getKey());
+            }
+            if (slices.size() < ROW_NAMES_PAGE_SIZE) {
+                return rowNames;
+            }
+            byte[] lastRow = slices.get(slices.size() - 1).getKey();
+            if (RangeRequests.isLastRowName(lastRow)) {
+                return rowNames;
+            }
+            startKey = RangeRequests.nextLexicographicName(lastRow);
+        }
+    }
+
+    /**
+     * Returns the forward range covering the same rows as the given reverse range.
+     */
+    private static RangeRequest toForwardRange(RangeRequest reverseRange) {
+        byte[] startInclusive = reverseRange.getStartInclusive();
+        byte[] endExclusive = reverseRange.getEndExclusive();
+        return RangeRequest.builder()
+                .startRowInclusive(endExclusive.length == 0
+                        ? PtBytes.EMPTY_BYTE_ARRAY
+                        : RangeRequests.nextLexicographicName(endExclusive))
+                .endRowExclusive(startInclusive.length == 0 || RangeRequests.isLastRowName(startInclusive)
+                        ? PtBytes.EMPTY_BYTE_ARRAY
+                        : RangeRequests.nextLexicographicName(startInclusive))
+                .retainColumns(reverseRange.getColumnNames())
+                .batchHint(reverseRange.getBatchHint())
+                .build();
+    }
+
     public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
         this.consistencyLevel = consistencyLevel;
     }
@@ -101,6 +290,9 @@ public class RangeLoader {
                 startTs
         );
 
+        if (pagesToPrefetch > 0) {
+            return PrefetchingPageIterator.create(rowResults, executor, pagesToPrefetch);
+        }
         return ClosableIterators.wrap(rowResults.iterator());
     }
 }
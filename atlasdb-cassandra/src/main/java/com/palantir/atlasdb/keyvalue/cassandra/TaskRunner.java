@@ -22,13 +22,20 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.common.base.Throwables;
 
 class TaskRunner {
     private ExecutorService executor;
+    private ListeningExecutorService listeningExecutor;
 
     TaskRunner(ExecutorService executor) {
         this.executor = executor;
+        this.listeningExecutor = MoreExecutors.listeningDecorator(executor);
     }
 
     /*
@@ -63,4 +70,32 @@ class TaskRunner {
             }
         }
     }
+
+    /*
+     * Asynchronous equivalent of runAllTasksCancelOnFailure: all tasks are submitted to the executor, and the returned
+     * future fails with an AtlasDbDependencyException and cancels the remaining tasks if any task fails.
+     */
+    <V> ListenableFuture<List<V>> runAllTasksAsync(List<Callable<V>> tasks) {
+        List<ListenableFuture<V>> futures = Lists.newArrayListWithCapacity(tasks.size());
+        for (Callable<V> task : tasks) {
+            futures.add(listeningExecutor.submit(task));
+        }
+        ListenableFuture<List<V>> allResults = Futures.allAsList(futures);
+        Futures.addCallback(allResults, new FutureCallback<List<V>>() {
+            @Override
+            public void onSuccess(List<V> result) {
+                // nothing to clean up
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                for (Future<V> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        return Futures.catching(allResults, Exception.class, e -> {
+            throw Throwables.unwrapAndThrowAtlasDbDependencyException(e);
+        }, MoreExecutors.directExecutor());
+    }
 }
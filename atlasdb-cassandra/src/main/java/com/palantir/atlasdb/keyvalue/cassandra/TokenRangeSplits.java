@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+
+/**
+ * Splits a {@link RangeRequest} at the boundaries of the Cassandra token ranges that it covers. AtlasDB requires the
+ * ByteOrderedPartitioner, so tokens are row names: the splits returned are contiguous, in row order, and each lies
+ * within a single token range.
+ */
+final class TokenRangeSplits {
+    private TokenRangeSplits() {
+        // utility
+    }
+
+    static List<RangeRequest> split(RangeRequest rangeRequest, RangeMap<LightweightOppToken, ?> tokenMap) {
+        byte[] start = rangeRequest.getStartInclusive();
+        byte[] end = rangeRequest.getEndExclusive();
+
+        SortedSet<byte[]> boundaries = new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+        for (Range<LightweightOppToken> tokenRange : tokenMap.asMapOfRanges().keySet()) {
+            if (tokenRange.hasLowerBound()) {
+                byte[] firstRow = getFirstRow(tokenRange);
+                if (isStrictlyInside(firstRow, start, end)) {
+                    boundaries.add(firstRow);
+                }
+            }
+        }
+
+        ImmutableList.Builder<RangeRequest> splits = ImmutableList.builder();
+        byte[] splitStart = start;
+        for (byte[] boundary : boundaries) {
+            splits.add(rangeRequest.getBuilder().startRowInclusive(splitStart).endRowExclusive(boundary).build());
+            splitStart = boundary;
+        }
+        splits.add(rangeRequest.getBuilder().startRowInclusive(splitStart).endRowExclusive(end).build());
+        return splits.build();
+    }
+
+    private static byte[] getFirstRow(Range<LightweightOppToken> tokenRange) {
+        byte[] lowerEndpoint = tokenRange.lowerEndpoint().bytes;
+        if (tokenRange.lowerBoundType() == BoundType.CLOSED) {
+            return lowerEndpoint;
+        }
+        // The first row name after an open lower endpoint is the endpoint followed by a zero byte.
+        return Arrays.copyOf(lowerEndpoint, lowerEndpoint.length + 1);
+    }
+
+    private static boolean isStrictlyInside(byte[] row, byte[] startInclusive, byte[] endExclusive) {
+        Comparator<byte[]> comparator = UnsignedBytes.lexicographicalComparator();
+        return comparator.compare(row, startInclusive) > 0
+                && (endExclusive.length == 0 || comparator.compare(row, endExclusive) < 0);
+    }
+}
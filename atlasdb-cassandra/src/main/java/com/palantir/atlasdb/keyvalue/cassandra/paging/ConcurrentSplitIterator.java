@@ -0,0 +1,305 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra.paging;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.Throwables;
+
+/**
+ * Iterates over several splits of a scan in order, reading up to parallelism splits concurrently on the given
+ * executor. Iterators created by {@link #createUnordered} instead return batches in whatever order they are read.
+ * <p>
+ * Splits are started lazily: nothing is read until the first element is requested, and a split is only started once
+ * the consumer has reached one of the parallelism - 1 splits before it. Each split is read in batches of up to
+ * batchSize elements, and reading a split blocks once bufferedBatches of its batches are waiting to be consumed, so
+ * at most parallelism * bufferedBatches batches are held in memory.
+ * <p>
+ * If the executor rejects a split, the consumer reads that split itself once it reaches it, so a bounded executor can
+ * be shared between many iterators.
+ * <p>
+ * A failure reading any split is rethrown to the consumer. This iterator must be closed if it is not exhausted, to
+ * stop the splits still being read.
+ */
+public final class ConcurrentSplitIterator<T> extends AbstractIterator<T> implements ClosableIterator<T> {
+    private final List<Supplier<? extends Iterator<T>>> splits;
+    private final List<BlockingQueue<Batch<T>>> queues;
+    private final boolean preserveOrder;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int batchSize;
+
+    // Guarded by this; finishedSplits is only modified by the consumer.
+    private final List<Future<?>> readers = new ArrayList<>();
+    private final BitSet splitsReadByConsumer = new BitSet();
+    private int nextSplitToStart = 0;
+    private int finishedSplits = 0;
+
+    private volatile boolean closed = false;
+    private boolean started = false;
+    private Iterator<T> splitReadByConsumer = null;
+    private Iterator<T> currentBatch = Collections.emptyIterator();
+
+    private ConcurrentSplitIterator(
+            List<Supplier<? extends Iterator<T>>> splits,
+            List<BlockingQueue<Batch<T>>> queues,
+            boolean preserveOrder,
+            ExecutorService executor,
+            int parallelism,
+            int batchSize) {
+        this.splits = splits;
+        this.queues = queues;
+        this.preserveOrder = preserveOrder;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    public static <T> ConcurrentSplitIterator<T> create(
+            List<? extends Supplier<? extends Iterator<T>>> splits,
+            ExecutorService executor,
+            int parallelism,
+            int bufferedBatches,
+            int batchSize) {
+        return create(splits, executor, parallelism, bufferedBatches, batchSize, true);
+    }
+
+    /**
+     * Like {@link #create}, but returns batches as soon as they are read, whichever split they belong to. The splits
+     * being read share a queue of parallelism * bufferedBatches batches, and a new split is started as soon as any
+     * split has been read. Intended for bulk consumers that do not need the elements in order.
+     */
+    public static <T> ConcurrentSplitIterator<T> createUnordered(
+            List<? extends Supplier<? extends Iterator<T>>> splits,
+            ExecutorService executor,
+            int parallelism,
+            int bufferedBatches,
+            int batchSize) {
+        return create(splits, executor, parallelism, bufferedBatches, batchSize, false);
+    }
+
+    private static <T> ConcurrentSplitIterator<T> create(
+            List<? extends Supplier<? extends Iterator<T>>> splits,
+            ExecutorService executor,
+            int parallelism,
+            int bufferedBatches,
+            int batchSize,
+            boolean preserveOrder) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        Preconditions.checkArgument(bufferedBatches > 0, "bufferedBatches must be positive");
+        Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+
+        List<BlockingQueue<Batch<T>>> queues;
+        if (preserveOrder) {
+            queues = new ArrayList<>(splits.size());
+            for (int i = 0; i < splits.size(); i++) {
+                queues.add(new ArrayBlockingQueue<>(bufferedBatches));
+            }
+        } else {
+            queues = ImmutableList.of(new ArrayBlockingQueue<>(parallelism * bufferedBatches));
+        }
+        return new ConcurrentSplitIterator<>(
+                ImmutableList.copyOf(splits), queues, preserveOrder, executor, parallelism, batchSize);
+    }
+
+    @Override
+    protected T computeNext() {
+        try {
+            if (!started) {
+                started = true;
+                startSplits();
+            }
+            while (!currentBatch.hasNext()) {
+                if (splitReadByConsumer != null) {
+                    closeSplit(splitReadByConsumer);
+                    splitReadByConsumer = null;
+                    finishSplit();
+                }
+                if (finishedSplits == splits.size()) {
+                    return endOfData();
+                }
+                int split = takeSplitReadByConsumer();
+                if (split >= 0) {
+                    splitReadByConsumer = splits.get(split).get();
+                    currentBatch = splitReadByConsumer;
+                    continue;
+                }
+                Batch<T> batch = take(queueToConsume());
+                if (batch.failure != null) {
+                    throw Throwables.rewrapAndThrowUncheckedException(batch.failure);
+                }
+                if (batch.isEndOfSplit()) {
+                    finishSplit();
+                } else {
+                    currentBatch = batch.elements.iterator();
+                }
+            }
+            return currentBatch.next();
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            readers.forEach(reader -> reader.cancel(true));
+            queues.forEach(BlockingQueue::clear);
+            if (splitReadByConsumer != null) {
+                closeSplit(splitReadByConsumer);
+            }
+        }
+    }
+
+    /**
+     * Returns the next split that the consumer has to read itself, or -1 if it should wait for a batch instead. In
+     * order, that is only the split being consumed; otherwise, rejected splits are read before waiting for batches.
+     */
+    private synchronized int takeSplitReadByConsumer() {
+        int split = preserveOrder
+                ? (splitsReadByConsumer.get(finishedSplits) ? finishedSplits : -1)
+                : splitsReadByConsumer.nextSetBit(0);
+        if (split >= 0) {
+            splitsReadByConsumer.clear(split);
+        }
+        return split;
+    }
+
+    private BlockingQueue<Batch<T>> queueToConsume() {
+        // In order, the splits before the current one have all finished; otherwise there is only one queue.
+        return preserveOrder ? queues.get(finishedSplits) : queues.get(0);
+    }
+
+    private BlockingQueue<Batch<T>> queueForSplit(int split) {
+        return preserveOrder ? queues.get(split) : queues.get(0);
+    }
+
+    private synchronized void finishSplit() {
+        finishedSplits++;
+        startSplits();
+    }
+
+    /**
+     * Starts splits in order until parallelism of them are unfinished. In order, these are the splits within
+     * parallelism of the split being consumed.
+     */
+    private synchronized void startSplits() {
+        while (!closed && nextSplitToStart < splits.size() && nextSplitToStart < finishedSplits + parallelism) {
+            int split = nextSplitToStart++;
+            try {
+                readers.add(executor.submit(() -> readSplit(split)));
+            } catch (RejectedExecutionException e) {
+                splitsReadByConsumer.set(split);
+            }
+        }
+    }
+
+    private void readSplit(int split) {
+        BlockingQueue<Batch<T>> queue = queueForSplit(split);
+        try {
+            queue.put(readBatches(splits.get(split), queue));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Passes the batches of a split to the queue, returning the batch that ends it: either the end of the split, or
+     * the failure that stopped it being read.
+     */
+    private Batch<T> readBatches(Supplier<? extends Iterator<T>> splitSupplier, BlockingQueue<Batch<T>> queue)
+            throws InterruptedException {
+        Iterator<T> split = null;
+        try {
+            split = splitSupplier.get();
+            List<T> elements = new ArrayList<>(batchSize);
+            while (!closed && split.hasNext()) {
+                elements.add(split.next());
+                if (elements.size() == batchSize) {
+                    queue.put(Batch.of(elements));
+                    elements = new ArrayList<>(batchSize);
+                }
+            }
+            if (!elements.isEmpty()) {
+                queue.put(Batch.of(elements));
+            }
+            return Batch.endOfSplit();
+        } catch (RuntimeException | Error e) {
+            return Batch.failure(e);
+        } finally {
+            if (split != null) {
+                closeSplit(split);
+            }
+        }
+    }
+
+    private static void closeSplit(Iterator<?> split) {
+        if (split instanceof ClosableIterator) {
+            ((ClosableIterator<?>) split).close();
+        }
+    }
+
+    private static <T> Batch<T> take(BlockingQueue<Batch<T>> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+
+    private static final class Batch<T> {
+        private final List<T> elements;
+        private final Throwable failure;
+
+        private Batch(List<T> elements, Throwable failure) {
+            this.elements = elements;
+            this.failure = failure;
+        }
+
+        static <T> Batch<T> of(List<T> elements) {
+            return new Batch<>(elements, null);
+        }
+
+        static <T> Batch<T> endOfSplit() {
+            return new Batch<>(null, null);
+        }
+
+        static <T> Batch<T> failure(Throwable failure) {
+            return new Batch<>(null, failure);
+        }
+
+        boolean isEndOfSplit() {
+            return elements == null && failure == null;
+        }
+    }
+}
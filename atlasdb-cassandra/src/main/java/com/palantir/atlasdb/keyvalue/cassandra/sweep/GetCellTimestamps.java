@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.keyvalue.cassandra.sweep;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -29,6 +30,7 @@ import org.apache.cassandra.thrift.SlicePredicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceConfig;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.RangeRequests;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -43,6 +45,7 @@ public class GetCellTimestamps {
     private final CqlExecutor cqlExecutor;
     private final TableReference tableRef;
     private final byte[] startRowInclusive;
+    private final byte[] endRowExclusive;
     private final int batchHint;
     private CassandraKeyValueServiceConfig config;
 
@@ -55,10 +58,25 @@ public class GetCellTimestamps {
             byte[] startRowInclusive,
             int batchHint,
             CassandraKeyValueServiceConfig config) {
+        this(cqlExecutor, rowGetter, tableRef, startRowInclusive, PtBytes.EMPTY_BYTE_ARRAY, batchHint, config);
+    }
+
+    /**
+     * Only fetches timestamps of rows before endRowExclusive; an empty endRowExclusive means the end of the table.
+     */
+    public GetCellTimestamps(
+            CqlExecutor cqlExecutor,
+            RowGetter rowGetter,
+            TableReference tableRef,
+            byte[] startRowInclusive,
+            byte[] endRowExclusive,
+            int batchHint,
+            CassandraKeyValueServiceConfig config) {
         this.cqlExecutor = cqlExecutor;
         this.rowGetter = rowGetter;
         this.tableRef = tableRef;
         this.startRowInclusive = startRowInclusive;
+        this.endRowExclusive = endRowExclusive;
         this.batchHint = batchHint;
         this.config = config;
     }
@@ -102,28 +120,39 @@ public class GetCellTimestamps {
         Integer executorThreads = config.sweepReadThreads();
         ExecutorService executor = PTExecutors.newFixedThreadPool(executorThreads);
 
-        while (timestamps.isEmpty()) {
-            List<byte[]> rows = getRows(rangeStart);
-            if (rows.isEmpty()) {
-                return;
+        try {
+            while (timestamps.isEmpty()) {
+                List<byte[]> rows = getRows(rangeStart);
+                if (rows.isEmpty()) {
+                    return;
+                }
+
+                // Note that both ends of this range are *inclusive*
+                List<CellWithTimestamp> batch = cqlExecutor.getTimestamps(tableRef, rows, batchHint, executor,
+                        executorThreads);
+                timestamps.addAll(batch);
+                rangeStart = RangeRequests.nextLexicographicName(Iterables.getLast(rows));
             }
-
-            // Note that both ends of this range are *inclusive*
-            List<CellWithTimestamp> batch = cqlExecutor.getTimestamps(tableRef, rows, batchHint, executor,
-                    executorThreads);
-            timestamps.addAll(batch);
-            rangeStart = RangeRequests.nextLexicographicName(Iterables.getLast(rows));
+        } finally {
+            // Stops any queries still running if fetching failed or was interrupted, for instance by a closed scan.
+            executor.shutdownNow();
         }
-
-        executor.shutdown();
     }
 
     private List<byte[]> getRows(byte[] rangeStart) {
-        KeyRange keyRange = new KeyRange().setStart_key(rangeStart).setEnd_key(new byte[0]).setCount(batchHint);
+        KeyRange keyRange = new KeyRange().setStart_key(rangeStart).setEnd_key(endRowExclusive).setCount(batchHint);
         SlicePredicate slicePredicate = SlicePredicates.create(SlicePredicates.Range.ALL, SlicePredicates.Limit.ZERO);
 
+        // The end key of a thrift key range is inclusive, so the row equal to endRowExclusive is filtered out here
         List<KeySlice> rows = rowGetter.getRows("getCandidateCellsForSweeping", keyRange, slicePredicate);
-        return rows.stream().map(KeySlice::getKey).collect(Collectors.toList());
+        return rows.stream()
+                .map(KeySlice::getKey)
+                .filter(this::isBeforeEndRow)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isBeforeEndRow(byte[] row) {
+        return !Arrays.equals(row, endRowExclusive);
     }
 
     private void fetchRemainingTimestampsForLastRow() {
@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+
+public class TokenRangeSplitsTest {
+    private static final RangeMap<LightweightOppToken, String> TOKEN_MAP =
+            ImmutableRangeMap.<LightweightOppToken, String>builder()
+                    .put(Range.atMost(token("c")), "host1")
+                    .put(Range.openClosed(token("c"), token("m")), "host2")
+                    .put(Range.greaterThan(token("m")), "host3")
+                    .build();
+
+    @Test
+    public void splitsFullRangeAtTokenBoundaries() {
+        List<RangeRequest> splits = TokenRangeSplits.split(RangeRequest.all(), TOKEN_MAP);
+
+        assertThat(splits).containsExactly(
+                range(new byte[0], firstRowAfter("c")),
+                range(firstRowAfter("c"), firstRowAfter("m")),
+                range(firstRowAfter("m"), new byte[0]));
+    }
+
+    @Test
+    public void onlySplitsAtBoundariesInsideTheRange() {
+        RangeRequest request = range(PtBytes.toBytes("d"), PtBytes.toBytes("z"));
+
+        assertThat(TokenRangeSplits.split(request, TOKEN_MAP)).containsExactly(
+                range(PtBytes.toBytes("d"), firstRowAfter("m")),
+                range(firstRowAfter("m"), PtBytes.toBytes("z")));
+    }
+
+    @Test
+    public void doesNotSplitRangeWithinOneTokenRange() {
+        RangeRequest request = range(PtBytes.toBytes("d"), PtBytes.toBytes("f"));
+
+        assertThat(TokenRangeSplits.split(request, TOKEN_MAP)).containsExactly(request);
+    }
+
+    @Test
+    public void doesNotSplitWithSingleTokenRange() {
+        RangeMap<LightweightOppToken, String> singleRange = ImmutableRangeMap.of(Range.all(), "host");
+
+        assertThat(TokenRangeSplits.split(RangeRequest.all(), singleRange)).containsExactly(RangeRequest.all());
+    }
+
+    @Test
+    public void splitsKeepColumnsAndBatchHint() {
+        RangeRequest request = RangeRequest.builder()
+                .retainColumns(ColumnSelection.create(ImmutableList.of(PtBytes.toBytes("col"))))
+                .batchHint(7)
+                .build();
+
+        List<RangeRequest> splits = TokenRangeSplits.split(request, TOKEN_MAP);
+        assertThat(splits).hasSize(3);
+        for (RangeRequest split : splits) {
+            assertThat(split.getBatchHint()).isEqualTo(7);
+            assertThat(split.getColumnNames()).containsExactly(PtBytes.toBytes("col"));
+        }
+    }
+
+    private static RangeRequest range(byte[] start, byte[] end) {
+        return RangeRequest.builder().startRowInclusive(start).endRowExclusive(end).build();
+    }
+
+    private static byte[] firstRowAfter(String token) {
+        return PtBytes.toBytes(token + "\0");
+    }
+
+    private static LightweightOppToken token(String row) {
+        return new LightweightOppToken(PtBytes.toBytes(row));
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class ConcurrentSplitIteratorTest {
+    private static final int SPLIT_SIZE = 25;
+    private static final int NUM_SPLITS = 8;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void returnsAllElementsInOrder() {
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.create(
+                splits(NUM_SPLITS), executor, 3, 2, 4);
+
+        assertThat(Lists.newArrayList(iterator)).isEqualTo(expectedElements(NUM_SPLITS));
+    }
+
+    @Test
+    public void returnsAllElementsWhenUnordered() {
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.createUnordered(
+                splits(NUM_SPLITS), executor, 3, 2, 4);
+
+        assertThat(Lists.newArrayList(iterator)).containsExactlyInAnyOrderElementsOf(expectedElements(NUM_SPLITS));
+    }
+
+    @Test
+    public void returnsLaterSplitsWithoutWaitingForEarlierOnesWhenUnordered() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Supplier<Iterator<Integer>>> splits = ImmutableList.of(
+                () -> {
+                    Uninterruptibles.awaitUninterruptibly(release);
+                    return split(0).iterator();
+                },
+                () -> split(1).iterator());
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.createUnordered(
+                splits, executor, 2, 1, SPLIT_SIZE);
+
+        try {
+            for (int element : split(1)) {
+                assertThat(iterator.next()).isEqualTo(element);
+            }
+        } finally {
+            release.countDown();
+        }
+        assertThat(Lists.newArrayList(iterator)).isEqualTo(split(0));
+    }
+
+    @Test
+    public void readsSplitsRejectedByTheExecutorOnTheConsumingThreadWhenUnordered() {
+        ExecutorService rejectingExecutor = Executors.newSingleThreadExecutor();
+        rejectingExecutor.shutdown();
+
+        assertThat(Lists.newArrayList(ConcurrentSplitIterator.createUnordered(
+                splits(NUM_SPLITS), rejectingExecutor, 3, 1, 4)))
+                .containsExactlyInAnyOrderElementsOf(expectedElements(NUM_SPLITS));
+    }
+
+    @Test
+    public void handlesEmptySplits() {
+        List<Supplier<Iterator<Integer>>> splits = ImmutableList.of(
+                Collections::emptyIterator,
+                () -> ImmutableList.of(1, 2).iterator(),
+                Collections::emptyIterator);
+
+        assertThat(Lists.newArrayList(ConcurrentSplitIterator.create(splits, executor, 2, 1, 1)))
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    public void readsNoMoreSplitsAtOnceThanParallelism() {
+        AtomicInteger concurrentReads = new AtomicInteger();
+        AtomicInteger maxConcurrentReads = new AtomicInteger();
+        List<Supplier<Iterator<Integer>>> splits = IntStream.range(0, NUM_SPLITS)
+                .mapToObj(split -> (Supplier<Iterator<Integer>>) () -> {
+                    maxConcurrentReads.accumulateAndGet(concurrentReads.incrementAndGet(), Math::max);
+                    Iterator<Integer> elements = split(split).iterator();
+                    return new Iterator<Integer>() {
+                        @Override
+                        public boolean hasNext() {
+                            boolean hasNext = elements.hasNext();
+                            if (!hasNext) {
+                                concurrentReads.decrementAndGet();
+                            }
+                            return hasNext;
+                        }
+
+                        @Override
+                        public Integer next() {
+                            return elements.next();
+                        }
+                    };
+                })
+                .collect(Collectors.toList());
+
+        assertThat(Lists.newArrayList(ConcurrentSplitIterator.create(splits, executor, 2, 1, 3)))
+                .isEqualTo(expectedElements(NUM_SPLITS));
+        assertThat(maxConcurrentReads.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void rethrowsFailuresReadingSplits() {
+        List<Supplier<Iterator<Integer>>> splits = ImmutableList.of(
+                () -> split(0).iterator(),
+                () -> {
+                    throw new IllegalStateException("boom");
+                });
+
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.create(splits, executor, 2, 1, 5);
+        assertThatThrownBy(() -> Lists.newArrayList(iterator))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("boom");
+    }
+
+    @Test
+    public void closingStopsReadingSplits() throws InterruptedException {
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.create(
+                splits(NUM_SPLITS), executor, 2, 1, 1);
+
+        assertThat(iterator.next()).isEqualTo(0);
+        iterator.close();
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void onlyStartsSplitsWithinParallelismOfTheConsumer() {
+        List<Integer> splitsStarted = new CopyOnWriteArrayList<>();
+        List<Supplier<Iterator<Integer>>> splits = IntStream.range(0, NUM_SPLITS)
+                .mapToObj(split -> (Supplier<Iterator<Integer>>) () -> {
+                    splitsStarted.add(split);
+                    return split(split).iterator();
+                })
+                .collect(Collectors.toList());
+
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.create(splits, executor, 2, 1, 1);
+        assertThat(splitsStarted).isEmpty();
+
+        for (int i = 0; i < SPLIT_SIZE; i++) {
+            assertThat(iterator.next()).isEqualTo(i);
+        }
+        assertThat(splitsStarted).isSubsetOf(0, 1);
+        iterator.close();
+    }
+
+    @Test
+    public void readsSplitsRejectedByTheExecutorOnTheConsumingThread() {
+        ExecutorService rejectingExecutor = Executors.newSingleThreadExecutor();
+        rejectingExecutor.shutdown();
+        List<Thread> readingThreads = new CopyOnWriteArrayList<>();
+        List<Supplier<Iterator<Integer>>> splits = IntStream.range(0, NUM_SPLITS)
+                .mapToObj(split -> (Supplier<Iterator<Integer>>) () -> {
+                    readingThreads.add(Thread.currentThread());
+                    return split(split).iterator();
+                })
+                .collect(Collectors.toList());
+
+        assertThat(Lists.newArrayList(ConcurrentSplitIterator.create(splits, rejectingExecutor, 3, 1, 4)))
+                .isEqualTo(expectedElements(NUM_SPLITS));
+        assertThat(readingThreads).hasSize(NUM_SPLITS).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    public void keepsTheInterruptFlagWhenInterruptedWaitingForASplit() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Supplier<Iterator<Integer>>> splits = ImmutableList.of(() -> {
+            Uninterruptibles.awaitUninterruptibly(release);
+            return split(0).iterator();
+        });
+        ConcurrentSplitIterator<Integer> iterator = ConcurrentSplitIterator.create(splits, executor, 1, 1, 1);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(iterator::next).hasCauseInstanceOf(InterruptedException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+            release.countDown();
+        }
+    }
+
+    private static List<Supplier<Iterator<Integer>>> splits(int numSplits) {
+        return IntStream.range(0, numSplits)
+                .mapToObj(split -> (Supplier<Iterator<Integer>>) () -> split(split).iterator())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> split(int split) {
+        return IntStream.range(split * SPLIT_SIZE, (split + 1) * SPLIT_SIZE).boxed().collect(Collectors.toList());
+    }
+
+    private static List<Integer> expectedElements(int numSplits) {
+        return IntStream.range(0, numSplits * SPLIT_SIZE).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+
+/**
+ * A cache of committed values that is shared between transactions. Only tables whose metadata allows caching across
+ * transactions (see {@link com.palantir.atlasdb.table.description.TableMetadata#isCachedAcrossTransactions()}) are
+ * cached. Cells of such tables are written at most once, so a value committed at some timestamp is the value visible
+ * to every transaction that starts after it; those reads need neither the key value service nor the transactions
+ * table.
+ */
+public interface CommittedValueCache {
+    /**
+     * Returns the cached values of the given cells that are visible to a transaction with the given start timestamp.
+     * Cells that are not cached, or whose cached value committed after the start timestamp, are absent.
+     */
+    Map<Cell, byte[]> getVisibleValues(TableReference tableRef, Set<Cell> cells, long startTimestamp);
+
+    /**
+     * Be very careful to only insert values here whose commit timestamp has already been read from the transactions
+     * table; the value must be the committed value of the cell at that point.
+     *
+     * @param value the value read from the key value service, whose timestamp is the writer's start timestamp
+     * @param commitTimestamp the commit timestamp of the writer
+     */
+    void putCommittedValue(TableReference tableRef, Cell cell, Value value, long commitTimestamp);
+
+    /**
+     * Drops the cached values of the given cells, if any.
+     */
+    void invalidate(TableReference tableRef, Set<Cell> cells);
+
+    /**
+     * Clear all values from the cache.
+     */
+    void clear();
+}
@@ -0,0 +1,224 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CellReference;
+import com.palantir.atlasdb.keyvalue.api.ImmutableCellReference;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A {@link CommittedValueCache} backed by a size-bounded Caffeine cache. Whether a table may be cached is read from
+ * its metadata the first time the table is used and remembered for a short while, so changes to the metadata take
+ * effect after at most {@link #TABLE_ELIGIBILITY_REFRESH_MINUTES} minutes. If the metadata cannot be read, for example
+ * because the key value service is still initializing, the table is not cached and the metadata is read again on its
+ * next use.
+ */
+public class DefaultCommittedValueCache implements CommittedValueCache {
+    private static final Logger log = LoggerFactory.getLogger(DefaultCommittedValueCache.class);
+
+    @VisibleForTesting
+    static final long TABLE_ELIGIBILITY_REFRESH_MINUTES = 1;
+
+    private final Supplier<Long> size;
+    private final Cache<CellReference, CommittedValue> committedValues;
+    private final Policy.Eviction<CellReference, CommittedValue> evictionPolicy;
+    private final LoadingCache<TableReference, Boolean> cacheableTables;
+
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter invalidations;
+
+    @VisibleForTesting
+    DefaultCommittedValueCache(
+            MetricsManager metricsManager,
+            Supplier<Long> size,
+            Function<TableReference, Boolean> isTableCacheable) {
+        this.size = size;
+        this.committedValues = Caffeine.newBuilder()
+                .maximumSize(size.get())
+                .recordStats()
+                .build();
+        this.evictionPolicy = committedValues.policy().eviction().get();
+        this.cacheableTables = Caffeine.newBuilder()
+                .expireAfterWrite(TABLE_ELIGIBILITY_REFRESH_MINUTES, TimeUnit.MINUTES)
+                .build(isTableCacheable::apply);
+        this.hits = metricsManager.registerOrGetMeter(CommittedValueCache.class, "hits");
+        this.misses = metricsManager.registerOrGetMeter(CommittedValueCache.class, "misses");
+        this.invalidations = metricsManager.registerOrGetMeter(CommittedValueCache.class, "invalidations");
+        AtlasDbMetrics.registerCache(metricsManager.getRegistry(), committedValues,
+                MetricRegistry.name(CommittedValueCache.class, "committedValues"));
+    }
+
+    /**
+     * Returns a {@link NoOpCommittedValueCache} if the configured size is not positive. Otherwise, the key value
+     * service is not read until a table is used, so this may be called before the key value service is initialized,
+     * and tables that are marked as cached across transactions later on are cached from then on.
+     */
+    public static CommittedValueCache create(
+            MetricsManager metricsManager,
+            KeyValueService keyValueService,
+            Supplier<Long> size) {
+        if (size.get() <= 0) {
+            return NoOpCommittedValueCache.INSTANCE;
+        }
+        return new DefaultCommittedValueCache(
+                metricsManager,
+                size,
+                tableRef -> isCachedAcrossTransactions(keyValueService, tableRef));
+    }
+
+    private static boolean isCachedAcrossTransactions(KeyValueService keyValueService, TableReference tableRef) {
+        byte[] metadata = keyValueService.getMetadataForTable(tableRef);
+        if (metadata == null || metadata.length == 0) {
+            return false;
+        }
+        return TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(metadata).isCachedAcrossTransactions();
+    }
+
+    @Override
+    public Map<Cell, byte[]> getVisibleValues(TableReference tableRef, Set<Cell> cells, long startTimestamp) {
+        if (!isCacheable(tableRef)) {
+            return ImmutableMap.of();
+        }
+        resizeIfNecessary();
+        ImmutableMap.Builder<Cell, byte[]> result = ImmutableMap.builder();
+        int hitCount = 0;
+        for (Cell cell : cells) {
+            CommittedValue committedValue = committedValues.getIfPresent(cellReference(tableRef, cell));
+            if (committedValue != null && committedValue.commitTimestamp() < startTimestamp) {
+                result.put(cell, committedValue.contents());
+                hitCount++;
+            }
+        }
+        hits.mark(hitCount);
+        misses.mark(cells.size() - hitCount);
+        return result.build();
+    }
+
+    @Override
+    public void putCommittedValue(TableReference tableRef, Cell cell, Value value, long commitTimestamp) {
+        if (value.getContents().length == 0 || !isCacheable(tableRef)) {
+            return;
+        }
+        CellReference cellReference = cellReference(tableRef, cell);
+        CommittedValue existing = committedValues.getIfPresent(cellReference);
+        if (existing != null && existing.startTimestamp() != value.getTimestamp()) {
+            log.warn("A cell in table {} was committed by transactions with start timestamps {} and {}, but the"
+                    + " table is cached across transactions, which requires each cell to be written at most once."
+                    + " Dropping the cached value.",
+                    LoggingArgs.tableRef(tableRef),
+                    SafeArg.of("cachedStartTimestamp", existing.startTimestamp()),
+                    SafeArg.of("startTimestamp", value.getTimestamp()));
+            committedValues.invalidate(cellReference);
+            invalidations.mark();
+            return;
+        }
+        committedValues.put(
+                cellReference,
+                new CommittedValue(value.getTimestamp(), commitTimestamp, value.getContents()));
+    }
+
+    @Override
+    public void invalidate(TableReference tableRef, Set<Cell> cells) {
+        if (!isCacheable(tableRef)) {
+            return;
+        }
+        for (Cell cell : cells) {
+            CellReference cellReference = cellReference(tableRef, cell);
+            if (committedValues.getIfPresent(cellReference) != null) {
+                committedValues.invalidate(cellReference);
+                invalidations.mark();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        committedValues.invalidateAll();
+        cacheableTables.invalidateAll();
+    }
+
+    private boolean isCacheable(TableReference tableRef) {
+        try {
+            return cacheableTables.get(tableRef);
+        } catch (RuntimeException e) {
+            // Not remembered, so that the metadata is read again once the key value service can serve it.
+            log.warn("Could not read metadata for table {}; not caching its values across transactions for now.",
+                    LoggingArgs.tableRef(tableRef),
+                    e);
+            return false;
+        }
+    }
+
+    private void resizeIfNecessary() {
+        if (evictionPolicy.getMaximum() != size.get()) {
+            evictionPolicy.setMaximum(size.get());
+        }
+    }
+
+    private static CellReference cellReference(TableReference tableRef, Cell cell) {
+        return ImmutableCellReference.builder().tableRef(tableRef).cell(cell).build();
+    }
+
+    private static final class CommittedValue {
+        private final long startTimestamp;
+        private final long commitTimestamp;
+        private final byte[] contents;
+
+        CommittedValue(long startTimestamp, long commitTimestamp, byte[] contents) {
+            this.startTimestamp = startTimestamp;
+            this.commitTimestamp = commitTimestamp;
+            this.contents = contents;
+        }
+
+        long startTimestamp() {
+            return startTimestamp;
+        }
+
+        long commitTimestamp() {
+            return commitTimestamp;
+        }
+
+        byte[] contents() {
+            return contents;
+        }
+    }
+}
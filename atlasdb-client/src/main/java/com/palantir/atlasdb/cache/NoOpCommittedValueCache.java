@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+
+public enum NoOpCommittedValueCache implements CommittedValueCache {
+    INSTANCE;
+
+    @Override
+    public Map<Cell, byte[]> getVisibleValues(TableReference tableRef, Set<Cell> cells, long startTimestamp) {
+        return ImmutableMap.of();
+    }
+
+    @Override
+    public void putCommittedValue(TableReference tableRef, Cell cell, Value value, long commitTimestamp) {
+        // no-op
+    }
+
+    @Override
+    public void invalidate(TableReference tableRef, Set<Cell> cells) {
+        // no-op
+    }
+
+    @Override
+    public void clear() {
+        // no-op
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+
+/**
+ * A {@link TimestampCache} that keeps start and commit timestamps as primitive longs in a handful of flat arrays,
+ * instead of as boxed entries in a Caffeine cache. This costs roughly 28 bytes per entry and a constant number of
+ * objects, regardless of how many timestamps are cached.
+ * <p>
+ * The table is set-associative: every start timestamp hashes to a bucket of {@link #WAYS} slots, and when a bucket
+ * is full one of its entries is evicted using the CLOCK algorithm, which approximates LRU. Reads never take locks;
+ * every slot carries a sequence number that is odd while a writer is updating the slot, so readers can detect torn
+ * entries and treat them as misses. Writes are serialized per stripe of buckets.
+ * <p>
+ * Changing the size supplied to this cache reallocates the table, dropping all cached entries.
+ */
+public class PrimitiveTimestampCache implements TimestampCache {
+    @VisibleForTesting
+    static final int WAYS = 8;
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int SLOT_WIDTH = 3;
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int START_TIMESTAMP_OFFSET = 1;
+    private static final int COMMIT_TIMESTAMP_OFFSET = 2;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Supplier<Long> size;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private volatile Table table;
+
+    public PrimitiveTimestampCache(MetricRegistry metricRegistry, Supplier<Long> size) {
+        this.size = size;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.table = new Table(size.get());
+        String prefix = MetricRegistry.name(TimestampCache.class, "startToCommitTimestamp");
+        this.hits = metricRegistry.counter(MetricRegistry.name(prefix, "hits"));
+        this.misses = metricRegistry.counter(MetricRegistry.name(prefix, "misses"));
+        this.evictions = metricRegistry.counter(MetricRegistry.name(prefix, "evictions"));
+    }
+
+    @Override
+    @Nullable
+    public Long getCommitTimestampIfPresent(Long startTimestamp) {
+        long commitTimestamp = resizeIfNecessary().get(startTimestamp);
+        if (commitTimestamp == EMPTY) {
+            misses.inc();
+            return null;
+        }
+        hits.inc();
+        return commitTimestamp;
+    }
+
+    @Override
+    public void putAlreadyCommittedTransaction(Long startTimestamp, Long commitTimestamp) {
+        if (startTimestamp == EMPTY || commitTimestamp == EMPTY) {
+            return;
+        }
+        table.put(startTimestamp, commitTimestamp);
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new Table(table.requestedSize);
+    }
+
+    private Table resizeIfNecessary() {
+        Table current = table;
+        long requestedSize = size.get();
+        if (current.requestedSize == requestedSize) {
+            return current;
+        }
+        synchronized (this) {
+            if (table.requestedSize != requestedSize) {
+                table = new Table(requestedSize);
+            }
+            return table;
+        }
+    }
+
+    @VisibleForTesting
+    long capacity() {
+        return (long) table.bucketCount * WAYS;
+    }
+
+    private final class Table {
+        private final long requestedSize;
+        private final int bucketCount;
+        private final AtomicLongArray slots;
+        private final AtomicIntegerArray referenced;
+        // Guarded by the lock of the stripe that the bucket belongs to.
+        private final int[] clockHands;
+
+        Table(long requestedSize) {
+            Preconditions.checkArgument(requestedSize >= 0, "Timestamp cache size must not be negative");
+            long buckets = Math.max(1, (requestedSize + WAYS - 1) / WAYS);
+            Preconditions.checkArgument(buckets * WAYS * SLOT_WIDTH <= Integer.MAX_VALUE,
+                    "Timestamp cache size %s is too large", requestedSize);
+            this.requestedSize = requestedSize;
+            this.bucketCount = (int) buckets;
+            this.slots = new AtomicLongArray(bucketCount * WAYS * SLOT_WIDTH);
+            this.referenced = new AtomicIntegerArray(bucketCount * WAYS);
+            this.clockHands = new int[bucketCount];
+            for (int slot = 0; slot < bucketCount * WAYS; slot++) {
+                slots.set(slot * SLOT_WIDTH + START_TIMESTAMP_OFFSET, EMPTY);
+            }
+        }
+
+        long get(long startTimestamp) {
+            int firstSlot = bucketFor(startTimestamp) * WAYS;
+            for (int slot = firstSlot; slot < firstSlot + WAYS; slot++) {
+                int base = slot * SLOT_WIDTH;
+                long sequence = slots.get(base + SEQUENCE_OFFSET);
+                if ((sequence & 1) == 0 && slots.get(base + START_TIMESTAMP_OFFSET) == startTimestamp) {
+                    long commitTimestamp = slots.get(base + COMMIT_TIMESTAMP_OFFSET);
+                    if (slots.get(base + SEQUENCE_OFFSET) != sequence) {
+                        // The slot was overwritten while we were reading it.
+                        return EMPTY;
+                    }
+                    if (referenced.get(slot) == 0) {
+                        referenced.lazySet(slot, 1);
+                    }
+                    return commitTimestamp;
+                }
+            }
+            return EMPTY;
+        }
+
+        void put(long startTimestamp, long commitTimestamp) {
+            int bucket = bucketFor(startTimestamp);
+            int firstSlot = bucket * WAYS;
+            synchronized (locks[bucket % LOCK_STRIPES]) {
+                int freeSlot = -1;
+                for (int slot = firstSlot; slot < firstSlot + WAYS; slot++) {
+                    long existing = slots.get(slot * SLOT_WIDTH + START_TIMESTAMP_OFFSET);
+                    if (existing == startTimestamp) {
+                        if (slots.get(slot * SLOT_WIDTH + COMMIT_TIMESTAMP_OFFSET) != commitTimestamp) {
+                            write(slot, startTimestamp, commitTimestamp);
+                        }
+                        return;
+                    }
+                    if (existing == EMPTY && freeSlot == -1) {
+                        freeSlot = slot;
+                    }
+                }
+                if (freeSlot == -1) {
+                    freeSlot = evict(bucket);
+                    evictions.inc();
+                }
+                referenced.set(freeSlot, 0);
+                write(freeSlot, startTimestamp, commitTimestamp);
+            }
+        }
+
+        private int evict(int bucket) {
+            int hand = clockHands[bucket];
+            while (true) {
+                int slot = bucket * WAYS + hand;
+                hand = (hand + 1) % WAYS;
+                if (referenced.get(slot) == 0) {
+                    clockHands[bucket] = hand;
+                    return slot;
+                }
+                referenced.set(slot, 0);
+            }
+        }
+
+        private void write(int slot, long startTimestamp, long commitTimestamp) {
+            int base = slot * SLOT_WIDTH;
+            long sequence = slots.get(base + SEQUENCE_OFFSET);
+            slots.set(base + SEQUENCE_OFFSET, sequence + 1);
+            slots.set(base + START_TIMESTAMP_OFFSET, startTimestamp);
+            slots.set(base + COMMIT_TIMESTAMP_OFFSET, commitTimestamp);
+            slots.set(base + SEQUENCE_OFFSET, sequence + 2);
+        }
+
+        private int bucketFor(long startTimestamp) {
+            // Fibonacci hashing, then a multiply-shift to map the hash onto [0, bucketCount).
+            long hash = (startTimestamp * 0x9E3779B97F4A7C15L) >>> 32;
+            return (int) ((hash * bucketCount) >>> 32);
+        }
+    }
+}
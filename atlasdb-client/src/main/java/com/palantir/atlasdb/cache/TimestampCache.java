@@ -18,42 +18,11 @@ package com.palantir.atlasdb.cache;
 import javax.annotation.Nullable;
 
 import com.codahale.metrics.MetricRegistry;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Policy;
-import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Supplier;
-import com.palantir.atlasdb.util.AtlasDbMetrics;
-
-public class TimestampCache {
-    private final Supplier<Long> size;
-
-    private final Cache<Long, Long> startToCommitTimestampCache;
-    private final Policy.Eviction<Long, Long> evictionPolicy;
-
-    @VisibleForTesting
-    static Cache<Long, Long> createCache(long size) {
-        return Caffeine.newBuilder()
-                .maximumSize(size)
-                .recordStats()
-                .build();
-    }
-
-    public TimestampCache(MetricRegistry metricRegistry, Supplier<Long> size) {
-        this.size = size;
-        startToCommitTimestampCache = createCache(size.get());
-        evictionPolicy = startToCommitTimestampCache.policy().eviction().get();
-        AtlasDbMetrics.registerCache(metricRegistry, startToCommitTimestampCache,
-                MetricRegistry.name(TimestampCache.class, "startToCommitTimestamp"));
-    }
-
-    @VisibleForTesting
-    TimestampCache(Cache<Long, Long> cache) {
-        this.evictionPolicy = cache.policy().eviction().get();
-        this.size = evictionPolicy::getMaximum;
-        this.startToCommitTimestampCache = cache;
-    }
 
+/**
+ * Caches the commit timestamps of transactions that are known to have committed, keyed by their start timestamp.
+ */
+public interface TimestampCache {
     /**
      * Returns null if not present.
      *
@@ -61,16 +30,7 @@ public class TimestampCache {
      * @return commit timestamp for the specified transaction start timestamp if present in cache, otherwise null
      */
     @Nullable
-    public Long getCommitTimestampIfPresent(Long startTimestamp) {
-        resizeIfNecessary();
-        return startToCommitTimestampCache.getIfPresent(startTimestamp);
-    }
-
-    private void resizeIfNecessary() {
-        if (evictionPolicy.getMaximum() != size.get()) {
-            evictionPolicy.setMaximum(size.get());
-        }
-    }
+    Long getCommitTimestampIfPresent(Long startTimestamp);
 
     /**
      * Be very careful to only insert timestamps here that are already present in the backing store,
@@ -79,18 +39,14 @@ public class TimestampCache {
      * @param startTimestamp transaction start timestamp
      * @param commitTimestamp transaction commit timestamp
      */
-    public void putAlreadyCommittedTransaction(Long startTimestamp, Long commitTimestamp) {
-        startToCommitTimestampCache.put(startTimestamp, commitTimestamp);
-    }
+    void putAlreadyCommittedTransaction(Long startTimestamp, Long commitTimestamp);
 
     /**
      * Clear all values from the cache.
      */
-    public void clear() {
-        startToCommitTimestampCache.invalidateAll();
-    }
+    void clear();
 
-    public static TimestampCache createForTests() {
-        return new TimestampCache(new MetricRegistry(), () -> 1000L);
+    static TimestampCache createForTests() {
+        return new DefaultTimestampCache(new MetricRegistry(), () -> 1000L);
     }
 }
@@ -28,6 +28,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweepingRequest;
@@ -210,6 +211,19 @@ public final class ProfilingKeyValueService implements KeyValueService {
                 logCellResultSize(4L));
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        long startTime = System.currentTimeMillis();
+        return KvsProfilingLogger.maybeLogAsync(() -> delegate.getAsync(tableRef, timestampByCell),
+                (logger, stopwatch) ->
+                        logger.log("Call to KVS.getAsync at time {}, on table {}, requesting {} cells took {} ms ",
+                                LoggingArgs.startTimeMillis(startTime),
+                                LoggingArgs.tableRef(tableRef),
+                                LoggingArgs.cellCount(timestampByCell.size()),
+                                LoggingArgs.durationMillis(stopwatch)),
+                logCellResultSize(4L));
+    }
+
     @Override
     public Set<TableReference> getAllTableNames() {
         return maybeLog(delegate::getAllTableNames,
@@ -289,6 +303,24 @@ public final class ProfilingKeyValueService implements KeyValueService {
                 logCellResultSize(0L));
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(TableReference tableRef, Iterable<byte[]> rows,
+            ColumnSelection columnSelection, long timestamp) {
+        long startTime = System.currentTimeMillis();
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.getRowsAsync(tableRef, rows, columnSelection, timestamp),
+                (logger, stopwatch) ->
+                        logger.log(
+                                "Call to KVS.getRowsAsync at time {}, on table {} requesting {} columns from {} rows "
+                                        + "took {} ms ",
+                                LoggingArgs.startTimeMillis(startTime),
+                                LoggingArgs.tableRef(tableRef),
+                                LoggingArgs.columnCount(columnSelection),
+                                LoggingArgs.rowCount(Iterables.size(rows)),
+                                LoggingArgs.durationMillis(stopwatch)),
+                logCellResultSize(0L));
+    }
+
     @Override
     public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
         long startTime = System.currentTimeMillis();
@@ -423,6 +455,23 @@ public final class ProfilingKeyValueService implements KeyValueService {
                                 LoggingArgs.durationMillis(stopwatch)));
     }
 
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(TableReference tableRef,
+            Iterable<byte[]> rows, BatchColumnRangeSelection batchColumnRangeSelection, long timestamp) {
+        long startTime = System.currentTimeMillis();
+        return KvsProfilingLogger.maybeLogAsync(
+                () -> delegate.getRowsColumnRangeAsync(tableRef, rows, batchColumnRangeSelection, timestamp),
+                (logger, stopwatch) ->
+                        logger.log("Call to KVS.getRowsColumnRangeAsync at time {}, on table {} for {} rows with range "
+                                        + "{} took {} ms.",
+                                LoggingArgs.startTimeMillis(startTime),
+                                LoggingArgs.tableRef(tableRef),
+                                LoggingArgs.rowCount(Iterables.size(rows)),
+                                LoggingArgs.batchColumnRangeSelection(tableRef, batchColumnRangeSelection),
+                                LoggingArgs.durationMillis(stopwatch)),
+                (logger, result) -> {});
+    }
+
     @Override
     public RowColumnRangeIterator getRowsColumnRange(TableReference tableRef,
             Iterable<byte[]> rows,
@@ -27,6 +27,9 @@ import javax.annotation.concurrent.ThreadSafe;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
 import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
@@ -119,6 +122,23 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
         long finish = System.currentTimeMillis();
 
         // Update stats only after successful get.
+        updateGetStats(tableRef, timestampByCell, finish - start, r);
+
+        return r;
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        long start = System.currentTimeMillis();
+        return Futures.transform(super.getAsync(tableRef, timestampByCell), r -> {
+            // Update stats only after successful get.
+            updateGetStats(tableRef, timestampByCell, System.currentTimeMillis() - start, r);
+            return r;
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void updateGetStats(TableReference tableRef, Map<Cell, Long> timestampByCell, long millis,
+            Map<Cell, Value> r) {
         TableStats s = getTableStats(tableRef);
         long cellBytes = 0;
         for (Cell cell : timestampByCell.keySet()) {
@@ -126,11 +146,9 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
             cellBytes += cell.getColumnName().length;
         }
         s.totalGetCellBytes.addAndGet(cellBytes);
-        s.totalGetMillis.addAndGet(finish - start);
+        s.totalGetMillis.addAndGet(millis);
         s.totalGetCalls.incrementAndGet();
         updateGetStats(s, r);
-
-        return r;
     }
 
     @Override
@@ -143,15 +161,33 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
         long finish = System.currentTimeMillis();
 
         // Update stats only after successful get.
+        updateGetRowsStats(tableRef, rows, finish - start, r);
+
+        return r;
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(TableReference tableRef,
+                                                           Iterable<byte[]> rows,
+                                                           ColumnSelection columnSelection,
+                                                           long timestamp) {
+        long start = System.currentTimeMillis();
+        return Futures.transform(super.getRowsAsync(tableRef, rows, columnSelection, timestamp), r -> {
+            // Update stats only after successful get.
+            updateGetRowsStats(tableRef, rows, System.currentTimeMillis() - start, r);
+            return r;
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void updateGetRowsStats(TableReference tableRef, Iterable<byte[]> rows, long millis,
+            Map<Cell, Value> r) {
         TableStats s = getTableStats(tableRef);
         for (byte[] row : rows) {
             s.totalGetCellBytes.addAndGet(row.length);
         }
-        s.totalGetMillis.addAndGet(finish - start);
+        s.totalGetMillis.addAndGet(millis);
         s.totalGetCalls.incrementAndGet();
         updateGetStats(s, r);
-
-        return r;
     }
 
     @Override
@@ -25,6 +25,7 @@ import com.google.common.collect.ForwardingObject;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweepingRequest;
@@ -312,6 +313,41 @@ public final class TracingKeyValueService extends ForwardingObject implements Ke
         }
     }
 
+    // The async reads below only trace dispatching the read, as traces are thread-local and cannot follow the future.
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        //noinspection unused - try-with-resources closes trace
+        try (CloseableTrace trace = startLocalTrace("getAsync({}, {} cells)",
+                LoggingArgs.safeTableOrPlaceholder(tableRef), timestampByCell.size())) {
+            return delegate().getAsync(tableRef, timestampByCell);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection,
+            long timestamp) {
+        //noinspection unused - try-with-resources closes trace
+        try (CloseableTrace trace = startLocalTrace("getRowsAsync({}, {} rows, ts {})",
+                LoggingArgs.safeTableOrPlaceholder(tableRef), Iterables.size(rows), timestamp)) {
+            return delegate().getRowsAsync(tableRef, rows, columnSelection, timestamp);
+        }
+    }
+
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection columnRangeSelection,
+            long timestamp) {
+        //noinspection unused - try-with-resources closes trace
+        try (CloseableTrace trace = startLocalTrace("getRowsColumnRangeAsync({}, {} rows, ts {})",
+                LoggingArgs.safeTableOrPlaceholder(tableRef), Iterables.size(rows), timestamp)) {
+            return delegate().getRowsColumnRangeAsync(tableRef, rows, columnRangeSelection, timestamp);
+        }
+    }
+
     @Override
     public RowColumnRangeIterator getRowsColumnRange(TableReference tableRef,
             Iterable<byte[]> rows,
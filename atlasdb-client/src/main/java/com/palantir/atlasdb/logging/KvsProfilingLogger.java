@@ -29,6 +29,10 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class KvsProfilingLogger {
 
@@ -135,6 +139,44 @@ public class KvsProfilingLogger {
         }
     }
 
+    /**
+     * As {@link #maybeLog(CallableCheckedException, BiConsumer, BiConsumer)}, but for an action returning a future.
+     * The operation is monitored until the future completes, and is logged from the thread that completes it.
+     */
+    public static <T> ListenableFuture<T> maybeLogAsync(Supplier<ListenableFuture<T>> action,
+            BiConsumer<LoggingFunction, Stopwatch> primaryLogger,
+            BiConsumer<LoggingFunction, T> additionalLoggerWithAccessToResult) {
+        if (!log.isTraceEnabled() && !slowlogger.isWarnEnabled()) {
+            return action.get();
+        }
+        Monitor<T> monitor = Monitor.createMonitor(
+                primaryLogger,
+                additionalLoggerWithAccessToResult,
+                slowLogPredicate);
+        ListenableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException ex) {
+            monitor.registerException(ex);
+            monitor.log();
+            throw ex;
+        }
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                monitor.registerResult(result);
+                monitor.log();
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                monitor.registerException(throwable);
+                monitor.log();
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
     private static class Monitor<R> {
         private final Stopwatch stopwatch;
         private final BiConsumer<LoggingFunction, Stopwatch> primaryLogger;
@@ -142,7 +184,7 @@ public class KvsProfilingLogger {
         private final Predicate<Stopwatch> slowLogPredicate;
 
         private R result;
-        private Exception exception;
+        private Throwable exception;
 
         private Monitor(Stopwatch stopwatch,
                 BiConsumer<LoggingFunction, Stopwatch> primaryLogger,
@@ -168,7 +210,7 @@ public class KvsProfilingLogger {
             this.result = res;
         }
 
-        void registerException(Exception ex) {
+        void registerException(Throwable ex) {
             this.exception = ex;
         }
 
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.stream;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -25,6 +26,7 @@ import java.io.OutputStream;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import javax.annotation.CheckForNull;
@@ -32,20 +34,28 @@ import javax.annotation.CheckForNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.util.ByteArrayIOStream;
 
 public abstract class AbstractGenericStreamStore<T> implements GenericStreamStore<T> {
     protected static final Logger log = LoggerFactory.getLogger(AbstractGenericStreamStore.class);
 
+    private static final int PREFETCH_THREADS = 32;
+    private static final ExecutorService PREFETCH_EXECUTOR = PTExecutors.newFixedThreadPool(PREFETCH_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("stream-store-prefetch-%d").setDaemon(true).build());
+
     @CheckForNull protected final TransactionManager txnMgr;
 
     protected AbstractGenericStreamStore(TransactionManager txManager) {
@@ -92,6 +102,53 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    @Override
+    public InputStream loadStreamRange(Transaction transaction, T id, long offset, long length) {
+        checkRange(offset, length);
+        StreamMetadata metadata = getMetadata(transaction, id);
+        checkStreamStored(id, metadata);
+        if (offset >= metadata.getLength() || length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        long rangeLength = Math.min(length, metadata.getLength() - offset);
+        long firstBlock = offset / BLOCK_SIZE_IN_BYTES;
+        long lastBlock = (offset + rangeLength - 1) / BLOCK_SIZE_IN_BYTES;
+        InputStream blocks = makeStream(transaction, id, firstBlock, lastBlock - firstBlock + 1);
+        return sliceStream(blocks, offset - firstBlock * BLOCK_SIZE_IN_BYTES, rangeLength);
+    }
+
+    /**
+     * Skips the first offset bytes of the given stream, and returns a stream over at most the following length bytes.
+     * Used by generated stream stores that cannot map the range to blocks, because their blocks are compressed.
+     */
+    protected static InputStream sliceStream(InputStream stream, long offset, long length) {
+        checkRange(offset, length);
+        try {
+            ByteStreams.skipFully(stream, offset);
+        } catch (EOFException e) {
+            closeQuietly(stream);
+            return new ByteArrayInputStream(new byte[0]);
+        } catch (IOException e) {
+            closeQuietly(stream);
+            throw Throwables.rewrapAndThrowUncheckedException("Error skipping to the start of a stream range.", e);
+        }
+        return ByteStreams.limit(stream, length);
+    }
+
+    private static void checkRange(long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "Offset must be non-negative, but was %s", offset);
+        Preconditions.checkArgument(length >= 0, "Length must be non-negative, but was %s", length);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // Do nothing
+        }
+    }
+
     private InputStream getStream(Transaction transaction, T id, StreamMetadata metadata) {
         try {
             return tryGetStream(transaction, id, metadata);
@@ -111,22 +168,21 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
             loadSingleBlockToOutputStream(transaction, id, 0, ios);
             return ios.getInputStream();
         } else {
-            return makeStream(transaction, id, metadata);
+            return makeStream(transaction, id, 0, getNumberOfBlocksFromMetadata(metadata));
         }
     }
 
-    private InputStream makeStream(Transaction parent, T id, StreamMetadata metadata) {
-        long totalBlocks = getNumberOfBlocksFromMetadata(metadata);
+    private InputStream makeStream(Transaction parent, T id, long firstBlockOfStream, long totalBlocks) {
         int blocksInMemory = getNumberOfBlocksThatFitInMemory();
 
         BlockGetter pageRefresher = new BlockGetter() {
             @Override
             public void get(long firstBlock, long numBlocks, OutputStream destination) {
                 if (parent.isUncommitted()) {
-                    loadNBlocksToOutputStream(parent, id, firstBlock, numBlocks, destination);
+                    loadNBlocksToOutputStream(parent, id, firstBlockOfStream + firstBlock, numBlocks, destination);
                 } else {
                     txnMgr.runTaskReadOnly(txn -> {
-                        loadNBlocksToOutputStream(txn, id, firstBlock, numBlocks, destination);
+                        loadNBlocksToOutputStream(txn, id, firstBlockOfStream + firstBlock, numBlocks, destination);
                         return null;
                     });
                 }
@@ -138,6 +194,20 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
             }
         };
 
+        int numBatchesToPrefetch = getNumberOfBlockBatchesToPrefetch();
+        if (numBatchesToPrefetch > 1 && blocksInMemory > 1 && totalBlocks > blocksInMemory / numBatchesToPrefetch) {
+            // Reads through the parent transaction must happen on the caller's thread, so that they are validated
+            // when it commits. Batches are only loaded in the background, each in its own read only transaction,
+            // once the parent transaction is no longer open.
+            return PrefetchingBlockInputStream.create(
+                    pageRefresher,
+                    totalBlocks,
+                    blocksInMemory,
+                    numBatchesToPrefetch,
+                    PREFETCH_EXECUTOR,
+                    () -> !parent.isUncommitted());
+        }
+
         try {
             return BlockConsumingInputStream.create(pageRefresher, totalBlocks, blocksInMemory);
         } catch (IOException e) {
@@ -145,6 +215,15 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
         }
     }
 
+    /**
+     * The number of batches of blocks that streams returned by this store load in parallel, ahead of the reader.
+     * The blocks that fit in memory are divided between the batches. If this is 1, each batch is only loaded once the
+     * reader has consumed the previous one.
+     */
+    protected int getNumberOfBlockBatchesToPrefetch() {
+        return 1;
+    }
+
     protected int getNumberOfBlocksThatFitInMemory() {
         int inMemoryThreshold = (int) getInMemoryThreshold(); // safe; actually defined as an int in generated code.
         int blocksInMemory = inMemoryThreshold / BLOCK_SIZE_IN_BYTES;
@@ -19,7 +19,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -32,6 +39,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.CountingInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
@@ -41,12 +49,18 @@ import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.atlasdb.transaction.api.TransactionTask;
 import com.palantir.atlasdb.transaction.impl.TxTask;
 import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.util.Pair;
 import com.palantir.util.crypto.Sha256Hash;
 
 public abstract class AbstractPersistentStreamStore extends AbstractGenericStreamStore<Long>
         implements PersistentStreamStore {
+    private static final int UPLOAD_THREADS = 16;
+    private static final ExecutorService UPLOAD_EXECUTOR = PTExecutors.newFixedThreadPool(UPLOAD_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("stream-store-upload-%d").setDaemon(true).build());
+
     private final StreamStoreBackoffStrategy backoffStrategy;
+    private final Supplier<StreamStorePersistenceConfiguration> persistenceConfiguration;
 
     protected AbstractPersistentStreamStore(TransactionManager txManager) {
         this(txManager, () -> StreamStorePersistenceConfiguration.DEFAULT_CONFIG);
@@ -56,6 +70,12 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
             Supplier<StreamStorePersistenceConfiguration> persistenceConfiguration) {
         super(txManager);
         this.backoffStrategy = StandardPeriodicBackoffStrategy.create(persistenceConfiguration);
+        this.persistenceConfiguration = persistenceConfiguration;
+    }
+
+    @Override
+    protected int getNumberOfBlockBatchesToPrefetch() {
+        return persistenceConfiguration.get().numBlockBatchesToPrefetch();
     }
 
     protected final void storeMetadataAndIndex(final long streamId, final StreamMetadata metadata) {
@@ -183,6 +203,15 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
     }
 
     private void storeBlocksFromStream(@Nullable Transaction tx, long id, InputStream stream) throws IOException {
+        if (!streamOperationIsTransactional(tx)) {
+            StreamStorePersistenceConfiguration config = persistenceConfiguration.get();
+            if (config.numBlocksPerWriteTransaction() > 1 || config.numConcurrentWriteTransactions() > 1) {
+                storeBlocksConcurrently(id, stream,
+                        config.numBlocksPerWriteTransaction(), config.numConcurrentWriteTransactions());
+                return;
+            }
+        }
+
         long blockNumber = 0;
 
         while (true) {
@@ -207,6 +236,100 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         }
     }
 
+    /**
+     * Reads blocks from the stream into batches of blocksPerTransaction, and writes each batch in its own transaction
+     * while the following batches are read. At most concurrentTransactions batches are written at once; reading waits
+     * for the oldest one to commit before starting another.
+     *
+     * The stream's metadata records how many blocks cleanup has to delete, so its length is reserved ahead of the
+     * batches being written, doubling each time, and only while no batch is in flight. Batches within the reservation
+     * then write the metadata back unchanged, so they do not conflict with each other but still conflict with cleanup.
+     */
+    private void storeBlocksConcurrently(long id, InputStream stream, int blocksPerTransaction,
+            int concurrentTransactions) throws IOException {
+        Preconditions.checkNotNull(txnMgr, "Transaction manager must not be null");
+        Deque<Future<?>> transactionsInFlight = new ArrayDeque<>(concurrentTransactions);
+        try {
+            long blockNumber = 0;
+            long reservedBlocks = 0;
+            boolean endOfStream = false;
+            while (!endOfStream) {
+                List<byte[]> blocks = new ArrayList<>(blocksPerTransaction);
+                while (blocks.size() < blocksPerTransaction && !endOfStream) {
+                    byte[] block = readBlock(stream);
+                    if (block.length > 0) {
+                        blocks.add(block);
+                    }
+                    endOfStream = block.length < BLOCK_SIZE_IN_BYTES;
+                }
+                if (blocks.isEmpty()) {
+                    break;
+                }
+
+                long firstBlockNumber = blockNumber;
+                for (int i = 0; i < blocks.size(); i++, blockNumber++) {
+                    if (blockNumber > 0) {
+                        backoffStrategy.accept(blockNumber);
+                    }
+                }
+                if (blockNumber > reservedBlocks) {
+                    while (!transactionsInFlight.isEmpty()) {
+                        waitForTransaction(transactionsInFlight.poll());
+                    }
+                    reservedBlocks = blockNumber + Math.max(blockNumber,
+                            (long) blocksPerTransaction * concurrentTransactions);
+                    reserveBlocks(id, reservedBlocks);
+                } else if (transactionsInFlight.size() >= concurrentTransactions) {
+                    waitForTransaction(transactionsInFlight.poll());
+                }
+                transactionsInFlight.add(UPLOAD_EXECUTOR.submit(() -> storeBlocks(id, firstBlockNumber, blocks)));
+            }
+            while (!transactionsInFlight.isEmpty()) {
+                waitForTransaction(transactionsInFlight.poll());
+            }
+        } finally {
+            // Only non-empty if storing failed: stop the remaining transactions before the stream is marked failed.
+            transactionsInFlight.forEach(transaction -> transaction.cancel(true));
+        }
+    }
+
+    private static byte[] readBlock(InputStream stream) throws IOException {
+        byte[] block = new byte[BLOCK_SIZE_IN_BYTES];
+        int length = ByteStreams.read(stream, block, 0, BLOCK_SIZE_IN_BYTES);
+        return length < BLOCK_SIZE_IN_BYTES ? PtBytes.head(block, length) : block;
+    }
+
+    private void reserveBlocks(long id, long numBlocks) {
+        txnMgr.runTaskThrowOnConflict((TxTask) tx -> {
+            touchMetadataWhileStoringForConflicts(tx, id, numBlocks - 1);
+            return null;
+        });
+    }
+
+    /**
+     * The blocks must lie within the length reserved by {@link #reserveBlocks}, so that storing them leaves the
+     * metadata unchanged. If the stream is cleaned up meanwhile, storing the blocks fails.
+     */
+    private void storeBlocks(long id, long firstBlockNumber, List<byte[]> blocks) {
+        txnMgr.runTaskThrowOnConflict((TxTask) tx -> {
+            for (int i = 0; i < blocks.size(); i++) {
+                storeBlock(tx, id, firstBlockNumber + i, blocks.get(i));
+            }
+            return null;
+        });
+    }
+
+    private static void waitForTransaction(Future<?> transaction) {
+        try {
+            transaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException("Interrupted while storing stream blocks.", e);
+        } catch (ExecutionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+
     private boolean streamOperationIsTransactional(@Nullable Transaction tx) {
         // TODO (jkong): I'm using tx == null as a proxy for whether the entire operation should be done
         // transactionally or not (null implies nontransactional).
@@ -236,6 +359,12 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
 
     protected abstract void storeBlock(Transaction tx, long id, long blockNumber, byte[] block);
 
+    /**
+     * Fails unless the stream is still being stored, and otherwise extends the length in its metadata to cover the
+     * given block. The metadata is written even if its length already covers the block.
+     */
+    protected abstract void touchMetadataWhileStoringForConflicts(Transaction tx, Long id, long blockNumber);
+
     protected abstract void touchMetadataWhileMarkingUsedForConflicts(Transaction tx, Iterable<Long> ids)
             throws StreamCleanedException;
 
@@ -55,6 +55,15 @@ public interface GenericStreamStore<ID> {
      */
     Map<ID, InputStream> loadStreams(Transaction tx, Set<ID> ids);
 
+    /**
+     * Loads length bytes of the stream with ID id, starting at offset, throwing an exception if no stream exists.
+     * The returned stream ends early if the stored stream does not have that many bytes after offset, and is empty
+     * if offset is beyond the end of the stored stream.
+     *
+     * Only the blocks containing the range are read, unless the stream store compresses its streams.
+     */
+    InputStream loadStreamRange(Transaction tx, ID id, long offset, long length);
+
     /**
      * Loads the whole stream, and saves it to a local temporary file.
      */
@@ -0,0 +1,291 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * An {@link InputStream} over a stream's blocks that keeps several batches of blocks loading in the background
+ * while the reader consumes the current batch.
+ * <p>
+ * The blocks in memory, counting batches still being loaded, never exceed the blocksInMemory passed to
+ * {@link #create}: those blocks are split evenly between the batches, so there are never more batches than blocks.
+ * The buffer of each batch is reused for the next batch to load once the reader has consumed it.
+ * <p>
+ * While the given condition for loading in the background does not hold, batches are instead loaded one at a time
+ * on the reading thread, when the reader needs them.
+ * <p>
+ * Like {@link BlockConsumingInputStream}, this class must only be read from one thread at a time.
+ */
+public final class PrefetchingBlockInputStream extends InputStream {
+    private final BlockGetter blockGetter;
+    private final long numBlocks;
+    private final int blocksPerBatch;
+    private final int numBatches;
+    private final ExecutorService executor;
+    private final BooleanSupplier canLoadInBackground;
+
+    private final Deque<Future<Batch>> batchesInFlight;
+    private final Deque<byte[]> freeBuffers;
+
+    private long nextBlockToFetch;
+    private Batch currentBatch;
+    private int positionInBuffer;
+
+    public static PrefetchingBlockInputStream create(
+            BlockGetter blockGetter,
+            long numBlocks,
+            int blocksInMemory,
+            int numBatches,
+            ExecutorService executor) {
+        return create(blockGetter, numBlocks, blocksInMemory, numBatches, executor, () -> true);
+    }
+
+    public static PrefetchingBlockInputStream create(
+            BlockGetter blockGetter,
+            long numBlocks,
+            int blocksInMemory,
+            int numBatches,
+            ExecutorService executor,
+            BooleanSupplier canLoadInBackground) {
+        Preconditions.checkArgument(numBatches > 0, "Must load at least one batch of blocks at a time");
+        Preconditions.checkArgument(blocksInMemory > 0, "Must fit at least one block in memory");
+        BlockConsumingInputStream.ensureExpectedArraySizeDoesNotOverflow(blockGetter, blocksInMemory);
+        int batches = Math.min(numBatches, blocksInMemory);
+        int blocksPerBatch = blocksInMemory / batches;
+        return new PrefetchingBlockInputStream(
+                blockGetter, numBlocks, blocksPerBatch, batches, executor, canLoadInBackground);
+    }
+
+    private PrefetchingBlockInputStream(
+            BlockGetter blockGetter,
+            long numBlocks,
+            int blocksPerBatch,
+            int numBatches,
+            ExecutorService executor,
+            BooleanSupplier canLoadInBackground) {
+        this.blockGetter = blockGetter;
+        this.numBlocks = numBlocks;
+        this.blocksPerBatch = blocksPerBatch;
+        this.numBatches = numBatches;
+        this.executor = executor;
+        this.canLoadInBackground = canLoadInBackground;
+        this.batchesInFlight = new ArrayDeque<>(numBatches);
+        this.freeBuffers = new ArrayDeque<>(numBatches);
+        this.nextBlockToFetch = 0L;
+        this.currentBatch = Batch.EMPTY;
+        this.positionInBuffer = 0;
+        fetchBatches();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (positionInBuffer < currentBatch.length) {
+            return currentBatch.buffer[positionInBuffer++] & 0xff;
+        }
+
+        if (nextBatch()) {
+            return currentBatch.buffer[positionInBuffer++] & 0xff;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        Preconditions.checkNotNull(bytes, "Cannot read into a null array!");
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        int bytesRead = 0;
+        while (bytesRead < len) {
+            int bytesLeftInBuffer = currentBatch.length - positionInBuffer;
+            int bytesToCopy = Math.min(bytesLeftInBuffer, len - bytesRead);
+            System.arraycopy(currentBatch.buffer, positionInBuffer, bytes, off + bytesRead, bytesToCopy);
+            positionInBuffer += bytesToCopy;
+            bytesRead += bytesToCopy;
+
+            if (positionInBuffer >= currentBatch.length && !nextBatch()) {
+                break;
+            }
+        }
+
+        if (bytesRead == 0) {
+            return -1;
+        }
+
+        return bytesRead;
+    }
+
+    @Override
+    public void close() {
+        // Batches already loading are left to finish, rather than interrupting reads from the key value service.
+        batchesInFlight.forEach(batch -> batch.cancel(false));
+        batchesInFlight.clear();
+        freeBuffers.clear();
+        currentBatch = Batch.EMPTY;
+        positionInBuffer = 0;
+        nextBlockToFetch = numBlocks;
+    }
+
+    /**
+     * Replaces the consumed batch with the oldest batch in flight, handing its buffer over to the next batch to be
+     * loaded. Returns false if there are no more batches.
+     */
+    private boolean nextBatch() throws IOException {
+        if (currentBatch != Batch.EMPTY) {
+            freeBuffers.push(currentBatch.buffer);
+            currentBatch = Batch.EMPTY;
+            positionInBuffer = 0;
+        }
+        fetchBatches();
+
+        Future<Batch> nextBatch = batchesInFlight.poll();
+        if (nextBatch == null) {
+            return false;
+        }
+        currentBatch = getBatch(nextBatch);
+        positionInBuffer = 0;
+        return currentBatch.length > 0 || nextBatch();
+    }
+
+    private void fetchBatches() {
+        if (!canLoadInBackground.getAsBoolean()) {
+            if (batchesInFlight.isEmpty() && nextBlockToFetch < numBlocks) {
+                batchesInFlight.add(loadNextBatchNow());
+            }
+            return;
+        }
+        while (batchesInFlight.size() < numBatches && nextBlockToFetch < numBlocks) {
+            // since blocksPerBatch is an int, the min is guaranteed to fit in an int
+            int numBlocksToGet = (int) Math.min(numBlocks - nextBlockToFetch, blocksPerBatch);
+            long firstBlock = nextBlockToFetch;
+            byte[] buffer = takeFreeBuffer();
+            batchesInFlight.add(executor.submit(() -> loadBatch(firstBlock, numBlocksToGet, buffer)));
+            nextBlockToFetch += numBlocksToGet;
+        }
+    }
+
+    private Future<Batch> loadNextBatchNow() {
+        int numBlocksToGet = (int) Math.min(numBlocks - nextBlockToFetch, blocksPerBatch);
+        long firstBlock = nextBlockToFetch;
+        nextBlockToFetch += numBlocksToGet;
+        try {
+            return Futures.immediateFuture(loadBatch(firstBlock, numBlocksToGet, takeFreeBuffer()));
+        } catch (RuntimeException | Error e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    private byte[] takeFreeBuffer() {
+        return freeBuffers.isEmpty()
+                ? new byte[blockGetter.expectedBlockLength() * blocksPerBatch]
+                : freeBuffers.pop();
+    }
+
+    private Batch loadBatch(long firstBlock, int numBlocksToGet, byte[] buffer) {
+        BufferOutputStream outputStream = new BufferOutputStream(buffer);
+        blockGetter.get(firstBlock, numBlocksToGet, outputStream);
+        return new Batch(outputStream.buffer, outputStream.length);
+    }
+
+    private static Batch getBatch(Future<Batch> batch) throws IOException {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted while loading stream blocks");
+            exception.initCause(e);
+            throw exception;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static final class Batch {
+        private static final Batch EMPTY = new Batch(new byte[0], 0);
+
+        private final byte[] buffer;
+        private final int length;
+
+        private Batch(byte[] buffer, int length) {
+            this.buffer = buffer;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Writes into a given buffer, only allocating a larger one if the blocks turn out to be larger than expected.
+     */
+    private static final class BufferOutputStream extends OutputStream {
+        private byte[] buffer;
+        private int length;
+
+        private BufferOutputStream(byte[] buffer) {
+            this.buffer = buffer;
+            this.length = 0;
+        }
+
+        @Override
+        public void write(int value) {
+            ensureCapacity(length + 1);
+            buffer[length++] = (byte) value;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            if (off < 0 || len < 0 || len > bytes.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            ensureCapacity(length + len);
+            System.arraycopy(bytes, off, buffer, length, len);
+            length += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+            }
+        }
+    }
+}
@@ -55,11 +55,55 @@ public interface StreamStorePersistenceConfiguration {
         return 0;
     }
 
+    /**
+     * The number of blocks that a nontransactional storeStream() writes in each of its transactions.
+     *
+     * This parameter is live reloadable. If live reloaded, storeStream() calls started afterwards use the new value.
+     */
+    @Value.Default
+    default int numBlocksPerWriteTransaction() {
+        return 1;
+    }
+
+    /**
+     * The number of transactions writing blocks that a nontransactional storeStream() may have in flight at once,
+     * while it reads the next blocks from its input. A storeStream() call holds at most
+     * numBlocksPerWriteTransaction * (numConcurrentWriteTransactions + 1) blocks in memory. The default of 1, with
+     * one block per transaction, writes blocks one after another as they are read.
+     *
+     * Pauses under numBlocksToWriteBeforePause delay the reading of further blocks, but do not wait for the
+     * transactions in flight to commit.
+     *
+     * This parameter is live reloadable. If live reloaded, storeStream() calls started afterwards use the new value.
+     */
+    @Value.Default
+    default int numConcurrentWriteTransactions() {
+        return 1;
+    }
+
+    /**
+     * The number of batches of blocks that streams returned by loadStream() load in parallel, ahead of the reader.
+     * Memory used by a stream is still bounded by the stream store's in-memory threshold, which is divided between
+     * the batches. The default of 1 only loads each batch once the previous one has been read.
+     *
+     * This parameter is live reloadable. If live reloaded, streams loaded afterwards use the new value.
+     */
+    @Value.Default
+    default int numBlockBatchesToPrefetch() {
+        return 1;
+    }
+
     @Value.Check
     default void check() {
         Preconditions.checkState(numBlocksToWriteBeforePause() > 0,
                 "Number of blocks to write before pausing must be positive");
         Preconditions.checkState(writePauseDurationMillis() >= 0,
                 "Pause duration between batches of writes must be non-negative");
+        Preconditions.checkState(numBlocksPerWriteTransaction() > 0,
+                "Number of blocks per write transaction must be positive");
+        Preconditions.checkState(numConcurrentWriteTransactions() > 0,
+                "Number of concurrent write transactions must be positive");
+        Preconditions.checkState(numBlockBatchesToPrefetch() > 0,
+                "Number of batches of blocks to prefetch must be positive");
     }
 }
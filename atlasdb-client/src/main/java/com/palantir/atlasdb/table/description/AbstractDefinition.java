@@ -42,6 +42,7 @@ abstract class AbstractDefinition {
     boolean rangeScanAllowed = false;
     boolean negativeLookups = false;
     boolean appendHeavyAndReadLight = false;
+    boolean cachedAcrossTransactions = false;
 
     public void cachePriority(CachePriority priority) {
         this.cachePriority = priority;
@@ -105,6 +106,18 @@ abstract class AbstractDefinition {
         return appendHeavyAndReadLight;
     }
 
+    /**
+     * Allows committed values of this table to be cached across transactions. Only use this for tables whose cells
+     * are written at most once and never deleted or overwritten; otherwise transactions may read stale values.
+     */
+    public void cachedAcrossTransactions() {
+        cachedAcrossTransactions = true;
+    }
+
+    public boolean isCachedAcrossTransactions() {
+        return cachedAcrossTransactions;
+    }
+
     protected abstract ConflictHandler defaultConflictHandler();
 
     void validateFirstRowComp(NameComponentDescription comp) {
@@ -39,6 +39,7 @@ public class TableMetadata implements Persistable {
     final SweepStrategy sweepStrategy;
     final boolean appendHeavyAndReadLight;
     final LogSafety nameLogSafety;
+    final boolean cachedAcrossTransactions;
 
     public TableMetadata() {
         this(LogSafety.UNSAFE);
@@ -112,6 +113,36 @@ public class TableMetadata implements Persistable {
                          SweepStrategy sweepStrategy,
                          boolean appendHeavyAndReadLight,
                          LogSafety nameLogSafety) {
+        this(
+                rowMetadata,
+                columns,
+                conflictHandler,
+                cachePriority,
+                rangeScanAllowed,
+                explicitCompressionBlockSizeKB,
+                negativeLookups,
+                sweepStrategy,
+                appendHeavyAndReadLight,
+                nameLogSafety,
+                false);
+    }
+
+    /**
+     * @param cachedAcrossTransactions if true, committed values read from this table may be served to later
+     * transactions from a process-wide cache. This is only safe for tables whose cells are written at most once and
+     * never deleted or overwritten afterwards (immutable or append-only tables).
+     */
+    public TableMetadata(NameMetadataDescription rowMetadata,
+                         ColumnMetadataDescription columns,
+                         ConflictHandler conflictHandler,
+                         CachePriority cachePriority,
+                         boolean rangeScanAllowed,
+                         int explicitCompressionBlockSizeKB,
+                         boolean negativeLookups,
+                         SweepStrategy sweepStrategy,
+                         boolean appendHeavyAndReadLight,
+                         LogSafety nameLogSafety,
+                         boolean cachedAcrossTransactions) {
         this.rowMetadata = rowMetadata;
         this.columns = columns;
         this.conflictHandler = conflictHandler;
@@ -122,6 +153,7 @@ public class TableMetadata implements Persistable {
         this.sweepStrategy = sweepStrategy;
         this.appendHeavyAndReadLight = appendHeavyAndReadLight;
         this.nameLogSafety = nameLogSafety;
+        this.cachedAcrossTransactions = cachedAcrossTransactions;
     }
 
     public NameMetadataDescription getRowMetadata() {
@@ -168,6 +200,10 @@ public class TableMetadata implements Persistable {
         return nameLogSafety;
     }
 
+    public boolean isCachedAcrossTransactions() {
+        return cachedAcrossTransactions;
+    }
+
     @Override
     public byte[] persistToBytes() {
         return persistToProto().build().toByteArray();
@@ -197,6 +233,9 @@ public class TableMetadata implements Persistable {
         // expiration strategy doesn't need to be persisted.
         builder.setAppendHeavyAndReadLight(appendHeavyAndReadLight);
         builder.setNameLogSafety(nameLogSafety);
+        if (cachedAcrossTransactions) {
+            builder.setCachedAcrossTransactions(true);
+        }
         return builder;
     }
 
@@ -229,6 +268,10 @@ public class TableMetadata implements Persistable {
         if (message.hasNameLogSafety()) {
             nameLogSafety = message.getNameLogSafety();
         }
+        boolean cachedAcrossTransactions = false;
+        if (message.hasCachedAcrossTransactions()) {
+            cachedAcrossTransactions = message.getCachedAcrossTransactions();
+        }
 
         return new TableMetadata(
                 NameMetadataDescription.hydrateFromProto(message.getRowName()),
@@ -240,7 +283,8 @@ public class TableMetadata implements Persistable {
                 negativeLookups,
                 sweepStrategy,
                 appendHeavyAndReadLight,
-                nameLogSafety);
+                nameLogSafety,
+                cachedAcrossTransactions);
     }
 
     @Override
@@ -256,6 +300,7 @@ public class TableMetadata implements Persistable {
                 + ", sweepStrategy = " + sweepStrategy
                 + ", appendHeavyAndReadLight = " + appendHeavyAndReadLight
                 + ", nameLogSafety = " + nameLogSafety
+                + ", cachedAcrossTransactions = " + cachedAcrossTransactions
                 + "]";
     }
 
@@ -274,6 +319,7 @@ public class TableMetadata implements Persistable {
         result = prime * result + sweepStrategy.hashCode();
         result = prime * result + (appendHeavyAndReadLight ? 0 : 1);
         result = prime * result + nameLogSafety.hashCode(); // Nonnull, because it has a default value
+        result = prime * result + (cachedAcrossTransactions ? 0 : 1);
         return result;
     }
 
@@ -327,6 +373,9 @@ public class TableMetadata implements Persistable {
         if (nameLogSafety != other.nameLogSafety) {
             return false;
         }
+        if (cachedAcrossTransactions != other.cachedAcrossTransactions) {
+            return false;
+        }
         return true;
     }
 
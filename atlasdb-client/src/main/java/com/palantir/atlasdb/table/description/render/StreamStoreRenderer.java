@@ -182,6 +182,8 @@ public class StreamStoreRenderer {
                         line();
                         loadStreamsWithCompression();
                         line();
+                        loadStreamRangeWithCompression();
+                        line();
                         tryWriteStreamToFile();
                         line();
                         makeStreamUsingTransaction();
@@ -266,13 +268,14 @@ public class StreamStoreRenderer {
             }
 
             private void touchMetadataWhileStoringForConflicts() {
-                line("private void touchMetadataWhileStoringForConflicts(Transaction t, ", StreamId, " id, long blockNumber) {"); {
+                line("@Override");
+                line("protected void touchMetadataWhileStoringForConflicts(Transaction t, ", StreamId, " id, long blockNumber) {"); {
                     line(StreamMetadataTable, " metaTable = tables.get", StreamMetadataTable, "(t);");
                     line(StreamMetadataRow, " row = ", StreamMetadataRow, ".of(id);");
                     line("StreamMetadata metadata = metaTable.getMetadatas(ImmutableSet.of(row)).values().iterator().next();");
                     line("Preconditions.checkState(metadata.getStatus() == Status.STORING, \"This stream is being cleaned up while storing blocks: %s\", id);");
                     line("StreamMetadata.Builder builder = StreamMetadata.newBuilder(metadata);");
-                    line("builder.setLength(blockNumber * BLOCK_SIZE_IN_BYTES + 1);");
+                    line("builder.setLength(Math.max(metadata.getLength(), blockNumber * BLOCK_SIZE_IN_BYTES + 1));");
                     line("metaTable.putMetadata(row, builder.build());");
                 } line("}");
             }
@@ -599,6 +602,14 @@ public class StreamStoreRenderer {
                 } line("}");
             }
 
+            private void loadStreamRangeWithCompression() {
+                line("@Override");
+                line("public InputStream loadStreamRange(Transaction t, final ", StreamId, " id, long offset, long length) {"); {
+                    line("// Offsets are into the decompressed stream, so the blocks before the range must be read too");
+                    line("return sliceStream(new LZ4BlockInputStream(super.loadStream(t, id)), offset, length);");
+                } line("}");
+            }
+
             private void tryWriteStreamToFile() {
                 line("@Override");
                 line("protected void tryWriteStreamToFile(Transaction transaction, ", StreamId, " id, StreamMetadata metadata, FileOutputStream fos) throws IOException {"); {
@@ -30,6 +30,9 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
@@ -39,6 +42,7 @@ import com.palantir.atlasdb.keyvalue.impl.Cells;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionFailedException;
 import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.common.annotation.Output;
 import com.palantir.util.Pair;
 
 public class CachingTransaction extends ForwardingTransaction {
@@ -79,30 +83,9 @@ public class CachingTransaction extends ForwardingTransaction {
             cacheLoadedRows(tableRef, loaded.values());
             return loaded;
         } else {
-            Set<byte[]> toLoad = Sets.newHashSet();
             ImmutableSortedMap.Builder<byte[], RowResult<byte[]>> inCache =
                     ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
-            for (byte[] row : rows) {
-                ImmutableSortedMap.Builder<byte[], byte[]> matches =
-                        ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
-                boolean nonEmpty = false;
-                boolean shouldLoad = false;
-                for (byte[] col : columnSelection.getSelectedColumns()) {
-                    byte[] val = getCachedCellIfPresent(tableRef, Cell.create(row, col));
-                    if (val == null) {
-                        shouldLoad = true;
-                        break;
-                    } else if (val.length != 0) {
-                        matches.put(col, val);
-                        nonEmpty = true;
-                    }
-                }
-                if (shouldLoad) {
-                    toLoad.add(row);
-                } else if (nonEmpty) {
-                    inCache.put(row, RowResult.create(row, matches.build()));
-                }
-            }
+            Set<byte[]> toLoad = getCachedRows(tableRef, rows, columnSelection, inCache);
             SortedMap<byte[], RowResult<byte[]>> results = super.getRows(tableRef, toLoad, columnSelection);
             cacheLoadedRows(tableRef, results.values());
             inCache.putAll(results);
@@ -110,14 +93,100 @@ public class CachingTransaction extends ForwardingTransaction {
         }
     }
 
+    @Override
+    public ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> getRowsAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        if (Iterables.isEmpty(rows)) {
+            return Futures.immediateFuture(AbstractTransaction.EMPTY_SORTED_ROWS);
+        }
+
+        if (columnSelection.allColumnsSelected()) {
+            return Futures.transform(super.getRowsAsync(tableRef, rows, columnSelection), loaded -> {
+                cacheLoadedRows(tableRef, loaded.values());
+                return loaded;
+            }, MoreExecutors.directExecutor());
+        } else {
+            ImmutableSortedMap.Builder<byte[], RowResult<byte[]>> inCache =
+                    ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
+            Set<byte[]> toLoad = getCachedRows(tableRef, rows, columnSelection, inCache);
+            return Futures.transform(super.getRowsAsync(tableRef, toLoad, columnSelection), results -> {
+                cacheLoadedRows(tableRef, results.values());
+                inCache.putAll(results);
+                return inCache.build();
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    /**
+     * Adds the rows that are fully cached to the builder, and returns the rows that still need to be loaded.
+     */
+    private Set<byte[]> getCachedRows(TableReference tableRef,
+                                      Iterable<byte[]> rows,
+                                      ColumnSelection columnSelection,
+                                      @Output ImmutableSortedMap.Builder<byte[], RowResult<byte[]>> inCache) {
+        Set<byte[]> toLoad = Sets.newHashSet();
+        for (byte[] row : rows) {
+            ImmutableSortedMap.Builder<byte[], byte[]> matches =
+                    ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
+            boolean nonEmpty = false;
+            boolean shouldLoad = false;
+            for (byte[] col : columnSelection.getSelectedColumns()) {
+                byte[] val = getCachedCellIfPresent(tableRef, Cell.create(row, col));
+                if (val == null) {
+                    shouldLoad = true;
+                    break;
+                } else if (val.length != 0) {
+                    matches.put(col, val);
+                    nonEmpty = true;
+                }
+            }
+            if (shouldLoad) {
+                toLoad.add(row);
+            } else if (nonEmpty) {
+                inCache.put(row, RowResult.create(row, matches.build()));
+            }
+        }
+        return toLoad;
+    }
+
     @Override
     public Map<Cell, byte[]> get(TableReference tableRef, Set<Cell> cells) {
         if (cells.isEmpty()) {
             return ImmutableMap.of();
         }
 
-        Set<Cell> toLoad = Sets.newHashSet();
         Map<Cell, byte[]> cacheHit = Maps.newHashMapWithExpectedSize(cells.size());
+        Set<Cell> toLoad = getCachedCells(tableRef, cells, cacheHit);
+
+        final Map<Cell, byte[]> loaded = super.get(tableRef, toLoad);
+
+        cacheLoadedCells(tableRef, toLoad, loaded);
+        cacheHit.putAll(loaded);
+        return cacheHit;
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, byte[]>> getAsync(TableReference tableRef, Set<Cell> cells) {
+        if (cells.isEmpty()) {
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+
+        Map<Cell, byte[]> cacheHit = Maps.newHashMapWithExpectedSize(cells.size());
+        Set<Cell> toLoad = getCachedCells(tableRef, cells, cacheHit);
+
+        return Futures.transform(super.getAsync(tableRef, toLoad), loaded -> {
+            cacheLoadedCells(tableRef, toLoad, loaded);
+            cacheHit.putAll(loaded);
+            return cacheHit;
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Adds the non-deleted cached values to the map, and returns the cells that still need to be loaded.
+     */
+    private Set<Cell> getCachedCells(TableReference tableRef, Set<Cell> cells, @Output Map<Cell, byte[]> cacheHit) {
+        Set<Cell> toLoad = Sets.newHashSet();
         for (Cell cell : cells) {
             byte[] val = getCachedCellIfPresent(tableRef, cell);
             if (val != null) {
@@ -128,12 +197,7 @@ public class CachingTransaction extends ForwardingTransaction {
                 toLoad.add(cell);
             }
         }
-
-        final Map<Cell, byte[]> loaded = super.get(tableRef, toLoad);
-
-        cacheLoadedCells(tableRef, toLoad, loaded);
-        cacheHit.putAll(loaded);
-        return cacheHit;
+        return toLoad;
     }
 
     @Override
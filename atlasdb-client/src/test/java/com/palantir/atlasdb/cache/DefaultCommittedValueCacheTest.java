@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.NameMetadataDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+import com.palantir.atlasdb.util.MetricsManagers;
+
+public class DefaultCommittedValueCacheTest {
+    private static final TableReference CACHED_TABLE = TableReference.createFromFullyQualifiedName("ns.cached");
+    private static final TableReference UNCACHED_TABLE = TableReference.createFromFullyQualifiedName("ns.uncached");
+    private static final Cell CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col"));
+    private static final byte[] CONTENTS = PtBytes.toBytes("value");
+    private static final long START_TS = 10L;
+    private static final long COMMIT_TS = 20L;
+
+    private final CommittedValueCache cache = new DefaultCommittedValueCache(
+            MetricsManagers.createForTests(),
+            () -> 100L,
+            CACHED_TABLE::equals);
+
+    @Test
+    public void returnsValuesCommittedBeforeStartTimestamp() {
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+
+        Map<Cell, byte[]> visible = cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), COMMIT_TS + 1);
+        assertThat(visible).containsOnlyKeys(CELL);
+        assertThat(visible.get(CELL)).isEqualTo(CONTENTS);
+    }
+
+    @Test
+    public void doesNotReturnValuesCommittedAtOrAfterStartTimestamp() {
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+
+        assertThat(cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), COMMIT_TS)).isEmpty();
+        assertThat(cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), START_TS)).isEmpty();
+    }
+
+    @Test
+    public void doesNotCacheValuesForTablesNotCachedAcrossTransactions() {
+        cache.putCommittedValue(UNCACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+
+        assertThat(cache.getVisibleValues(UNCACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void doesNotCacheDeletes() {
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(PtBytes.EMPTY_BYTE_ARRAY, START_TS), COMMIT_TS);
+
+        assertThat(cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void invalidateRemovesCachedValues() {
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+        cache.invalidate(CACHED_TABLE, ImmutableSet.of(CELL));
+
+        assertThat(cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void dropsCachedValueIfCellIsCommittedByAnotherTransaction() {
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, COMMIT_TS + 1), COMMIT_TS + 2);
+
+        assertThat(cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    public void startsCachingOnceTheKeyValueServiceCanServeMetadata() {
+        KeyValueService keyValueService = mock(KeyValueService.class);
+        byte[] metadata = new TableMetadata(
+                new NameMetadataDescription(),
+                new ColumnMetadataDescription(),
+                ConflictHandler.RETRY_ON_WRITE_WRITE,
+                CachePriority.WARM,
+                false,
+                0,
+                false,
+                SweepStrategy.CONSERVATIVE,
+                false,
+                LogSafety.UNSAFE,
+                true).persistToBytes();
+        when(keyValueService.getMetadataForTable(CACHED_TABLE))
+                .thenThrow(new IllegalStateException("not initialized"))
+                .thenReturn(metadata);
+        CommittedValueCache lazyCache = DefaultCommittedValueCache.create(
+                MetricsManagers.createForTests(),
+                keyValueService,
+                () -> 100L);
+
+        lazyCache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+        assertThat(lazyCache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE)).isEmpty();
+
+        lazyCache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+        assertThat(lazyCache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE))
+                .containsOnlyKeys(CELL);
+    }
+
+    @Test
+    public void clearRemovesAllValues() {
+        cache.putCommittedValue(CACHED_TABLE, CELL, Value.create(CONTENTS, START_TS), COMMIT_TS);
+        cache.clear();
+
+        assertThat(cache.getVisibleValues(CACHED_TABLE, ImmutableSet.of(CELL), Long.MAX_VALUE)).isEmpty();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class PrimitiveTimestampCacheTest {
+    private static final long CACHE_SIZE = 1_000L;
+
+    private final AtomicLong size = new AtomicLong(CACHE_SIZE);
+    private final PrimitiveTimestampCache cache = new PrimitiveTimestampCache(new MetricRegistry(), size::get);
+
+    @Test
+    public void returnsNullForUnknownTimestamps() {
+        assertThat(cache.getCommitTimestampIfPresent(1L)).isNull();
+    }
+
+    @Test
+    public void returnsCachedCommitTimestamps() {
+        cache.putAlreadyCommittedTransaction(1L, 2L);
+        cache.putAlreadyCommittedTransaction(3L, -1L);
+
+        assertThat(cache.getCommitTimestampIfPresent(1L)).isEqualTo(2L);
+        assertThat(cache.getCommitTimestampIfPresent(3L)).isEqualTo(-1L);
+        assertThat(cache.getCommitTimestampIfPresent(2L)).isNull();
+    }
+
+    @Test
+    public void distinguishesZeroFromAbsent() {
+        assertThat(cache.getCommitTimestampIfPresent(0L)).isNull();
+
+        cache.putAlreadyCommittedTransaction(0L, 5L);
+
+        assertThat(cache.getCommitTimestampIfPresent(0L)).isEqualTo(5L);
+    }
+
+    @Test
+    public void clearRemovesAllTimestamps() {
+        cache.putAlreadyCommittedTransaction(1L, 2L);
+        cache.clear();
+
+        assertThat(cache.getCommitTimestampIfPresent(1L)).isNull();
+    }
+
+    @Test
+    public void doesNotHoldMoreThanItsCapacity() {
+        LongStream.range(0, 10 * CACHE_SIZE).forEach(ts -> cache.putAlreadyCommittedTransaction(ts, ts + 1));
+
+        long cached = LongStream.range(0, 10 * CACHE_SIZE)
+                .filter(ts -> cache.getCommitTimestampIfPresent(ts) != null)
+                .count();
+        assertThat(cached).isLessThanOrEqualTo(cache.capacity());
+        assertThat(cache.capacity()).isLessThan(CACHE_SIZE + PrimitiveTimestampCache.WAYS);
+    }
+
+    @Test
+    public void prefersEvictingTimestampsThatHaveNotBeenRead() {
+        cache.putAlreadyCommittedTransaction(1L, 2L);
+        LongStream.range(100, 100 + 10 * CACHE_SIZE).forEach(ts -> {
+            cache.getCommitTimestampIfPresent(1L);
+            cache.putAlreadyCommittedTransaction(ts, ts + 1);
+        });
+
+        assertThat(cache.getCommitTimestampIfPresent(1L)).isEqualTo(2L);
+    }
+
+    @Test
+    public void resizesWhenConfiguredSizeChanges() {
+        cache.putAlreadyCommittedTransaction(1L, 2L);
+        size.set(10 * CACHE_SIZE);
+
+        assertThat(cache.getCommitTimestampIfPresent(1L)).isNull();
+        assertThat(cache.capacity()).isGreaterThanOrEqualTo(10 * CACHE_SIZE);
+    }
+
+    @Test
+    public void concurrentReadersNeverSeeIncorrectCommitTimestamps() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        for (int i = 0; i < 100_000; i++) {
+                            long startTs = ThreadLocalRandom.current().nextLong(5 * CACHE_SIZE);
+                            if (thread % 2 == 0) {
+                                cache.putAlreadyCommittedTransaction(startTs, startTs * 2);
+                            } else {
+                                Long commitTs = cache.getCommitTimestampIfPresent(startTs);
+                                assertThat(commitTs).isIn(null, startTs * 2);
+                            }
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
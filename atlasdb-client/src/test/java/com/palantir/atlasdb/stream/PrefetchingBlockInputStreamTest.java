@@ -0,0 +1,231 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class PrefetchingBlockInputStreamTest {
+    private static final int BLOCK_SIZE = 3;
+
+    private final byte[] stored = "the quick brown fox jumps over the lazy dog!".getBytes(StandardCharsets.UTF_8);
+    private final long numBlocks = (stored.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final AtomicInteger outstandingFetches = new AtomicInteger();
+    private final AtomicInteger maxOutstandingFetches = new AtomicInteger();
+
+    private final BlockGetter blockGetter = new BlockGetter() {
+        @Override
+        public void get(long firstBlock, long blocks, OutputStream destination) {
+            maxOutstandingFetches.accumulateAndGet(outstandingFetches.incrementAndGet(), Math::max);
+            try {
+                int start = (int) firstBlock * BLOCK_SIZE;
+                int end = (int) Math.min(stored.length, (firstBlock + blocks) * BLOCK_SIZE);
+                destination.write(stored, start, end - start);
+            } catch (IOException e) {
+                fail();
+            } finally {
+                outstandingFetches.decrementAndGet();
+            }
+        }
+
+        @Override
+        public int expectedBlockLength() {
+            return BLOCK_SIZE;
+        }
+    };
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void readsWholeStreamAcrossBatches() throws IOException {
+        InputStream stream = PrefetchingBlockInputStream.create(blockGetter, numBlocks, 4, 2, executor);
+
+        assertArrayEquals(stored, readFully(stream, 5));
+    }
+
+    @Test
+    public void readsWholeStreamOneByteAtATime() throws IOException {
+        InputStream stream = PrefetchingBlockInputStream.create(blockGetter, numBlocks, 6, 3, executor);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int value;
+        while ((value = stream.read()) != -1) {
+            output.write(value);
+        }
+        assertArrayEquals(stored, output.toByteArray());
+    }
+
+    @Test
+    public void handlesBlocksLargerThanExpected() throws IOException {
+        BlockGetter largeBlocks = new BlockGetter() {
+            @Override
+            public void get(long firstBlock, long blocks, OutputStream destination) {
+                blockGetter.get(firstBlock, blocks, destination);
+            }
+
+            @Override
+            public int expectedBlockLength() {
+                return 1;
+            }
+        };
+        InputStream stream = PrefetchingBlockInputStream.create(largeBlocks, numBlocks, 4, 2, executor);
+
+        assertArrayEquals(stored, readFully(stream, 7));
+    }
+
+    @Test
+    public void emptyStreamReturnsEndOfStream() throws IOException {
+        InputStream stream = PrefetchingBlockInputStream.create(blockGetter, 0, 4, 2, executor);
+
+        assertEquals(-1, stream.read());
+        assertEquals(-1, stream.read(new byte[4], 0, 4));
+    }
+
+    @Test
+    public void neverHasMoreBatchesOutstandingThanRequested() throws IOException {
+        InputStream stream = PrefetchingBlockInputStream.create(blockGetter, numBlocks, 2, 2, executor);
+
+        readFully(stream, 1);
+        assertTrue(maxOutstandingFetches.get() <= 2);
+    }
+
+    @Test
+    public void neverHasMoreBatchesOutstandingThanBlocksInMemory() throws Exception {
+        AtomicInteger fetchesStarted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockGetter blockingGetter = new BlockGetter() {
+            @Override
+            public void get(long firstBlock, long blocks, OutputStream destination) {
+                fetchesStarted.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+                blockGetter.get(firstBlock, blocks, destination);
+            }
+
+            @Override
+            public int expectedBlockLength() {
+                return BLOCK_SIZE;
+            }
+        };
+        InputStream stream = PrefetchingBlockInputStream.create(blockingGetter, numBlocks, 2, 4, executor);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(2, fetchesStarted.get());
+
+        release.countDown();
+        assertArrayEquals(stored, readFully(stream, 5));
+    }
+
+    @Test
+    public void loadsOnReadingThreadUntilAllowedToLoadInBackground() throws IOException {
+        Set<Thread> loadingThreads = ConcurrentHashMap.newKeySet();
+        BlockGetter recordingGetter = new BlockGetter() {
+            @Override
+            public void get(long firstBlock, long blocks, OutputStream destination) {
+                loadingThreads.add(Thread.currentThread());
+                blockGetter.get(firstBlock, blocks, destination);
+            }
+
+            @Override
+            public int expectedBlockLength() {
+                return BLOCK_SIZE;
+            }
+        };
+        AtomicBoolean canLoadInBackground = new AtomicBoolean(false);
+        InputStream stream = PrefetchingBlockInputStream.create(
+                recordingGetter, numBlocks, 4, 2, executor, canLoadInBackground::get);
+
+        byte[] start = new byte[10];
+        assertEquals(start.length, stream.read(start, 0, start.length));
+        assertEquals(1, loadingThreads.size());
+        assertTrue(loadingThreads.contains(Thread.currentThread()));
+
+        canLoadInBackground.set(true);
+        byte[] rest = readFully(stream, 5);
+        assertEquals(stored.length, start.length + rest.length);
+        assertTrue(loadingThreads.size() > 1);
+    }
+
+    @Test
+    public void propagatesLoadingFailures() throws IOException {
+        RuntimeException failure = new IllegalStateException("boom");
+        BlockGetter failingGetter = new BlockGetter() {
+            @Override
+            public void get(long firstBlock, long blocks, OutputStream destination) {
+                throw failure;
+            }
+
+            @Override
+            public int expectedBlockLength() {
+                return BLOCK_SIZE;
+            }
+        };
+        InputStream stream = PrefetchingBlockInputStream.create(failingGetter, numBlocks, 4, 2, executor);
+
+        try {
+            stream.read();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(failure, e);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotPrefetchZeroBatches() {
+        PrefetchingBlockInputStream.create(blockGetter, numBlocks, 4, 0, executor);
+    }
+
+    private static byte[] readFully(InputStream stream, int chunkSize) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] chunk = new byte[chunkSize];
+        int read;
+        while ((read = stream.read(chunk, 0, chunkSize)) != -1) {
+            output.write(chunk, 0, read);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.util.paging;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.Throwables;
+
+/**
+ * Iterates over the elements of a sequence of pages, loading up to pagesToPrefetch pages on the given executor ahead
+ * of the page being consumed.
+ * <p>
+ * Pages are still loaded one after another, since each page generally depends on the previous one, but the next
+ * page is loaded while the current one is consumed rather than after it. The underlying page iterator is only ever
+ * called by one thread at a time, so it need not be thread safe.
+ * <p>
+ * If the executor rejects a page, that page and all the pages after it are loaded by the consumer when it reaches
+ * them, as if nothing were prefetched. Bounded executors can therefore be shared between many iterators.
+ * <p>
+ * Failures loading a page are rethrown once the consumer reaches that page. This iterator should be closed if it is
+ * not exhausted, to stop loading pages that will not be consumed.
+ *
+ * @param <T> element type
+ */
+public final class PrefetchingPageIterator<T> extends AbstractIterator<T> implements ClosableIterator<T> {
+    private final Iterator<? extends Iterator<T>> pages;
+    private final ListeningExecutorService executor;
+    // A page that completes with null was not loaded, and must be loaded by the consumer.
+    private final Deque<ListenableFuture<Optional<Iterator<T>>>> pagesInFlight;
+
+    private ListenableFuture<Optional<Iterator<T>>> lastPageRequested = null;
+    private Iterator<T> currentPage = Collections.emptyIterator();
+    private boolean closed = false;
+
+    private PrefetchingPageIterator(
+            Iterator<? extends Iterator<T>> pages,
+            ExecutorService executor,
+            int pagesToPrefetch) {
+        this.pages = pages;
+        this.executor = MoreExecutors.listeningDecorator(executor);
+        this.pagesInFlight = new ArrayDeque<>(pagesToPrefetch + 1);
+        for (int i = 0; i < pagesToPrefetch; i++) {
+            requestNextPage();
+        }
+    }
+
+    /**
+     * Prefetches from an iterator over pages, each of which is an iterator over elements.
+     */
+    public static <T> PrefetchingPageIterator<T> create(
+            Iterator<? extends Iterator<T>> pages,
+            ExecutorService executor,
+            int pagesToPrefetch) {
+        Preconditions.checkArgument(pagesToPrefetch > 0, "Must prefetch at least one page");
+        return new PrefetchingPageIterator<>(pages, executor, pagesToPrefetch);
+    }
+
+    /**
+     * Prefetches the pages of an {@link AbstractPagingIterable}.
+     */
+    public static <T, P extends BasicResultsPage<T>> PrefetchingPageIterator<T> create(
+            AbstractPagingIterable<T, P> pagingIterable,
+            ExecutorService executor,
+            int pagesToPrefetch) {
+        Iterator<Iterator<T>> pages = Iterators.transform(
+                new PageIterator<>(pagingIterable),
+                page -> page.getResults().iterator());
+        return create(pages, executor, pagesToPrefetch);
+    }
+
+    @Override
+    protected T computeNext() {
+        while (!currentPage.hasNext()) {
+            if (closed) {
+                return endOfData();
+            }
+            ListenableFuture<Optional<Iterator<T>>> nextPage = pagesInFlight.poll();
+            requestNextPage();
+            Optional<Iterator<T>> page = getPage(nextPage);
+            if (page == null) {
+                page = loadPage();
+            }
+            if (!page.isPresent()) {
+                close();
+                return endOfData();
+            }
+            currentPage = page.get();
+        }
+        return currentPage.next();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            // Pages already loading are left to finish, rather than interrupting their reads.
+            pagesInFlight.forEach(page -> page.cancel(false));
+            pagesInFlight.clear();
+            currentPage = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * Requests the page after the last one requested, to be loaded once that page has been loaded. If the last page
+     * requested was not loaded, neither is this one, so that the consumer loads the pages in order.
+     */
+    private void requestNextPage() {
+        ListenableFuture<Optional<Iterator<T>>> previous = lastPageRequested;
+        lastPageRequested = previous == null
+                ? submitLoadPage()
+                : Futures.transformAsync(
+                        previous,
+                        page -> page != null && page.isPresent() ? submitLoadPage() : Futures.immediateFuture(page),
+                        MoreExecutors.directExecutor());
+        pagesInFlight.add(lastPageRequested);
+    }
+
+    private ListenableFuture<Optional<Iterator<T>>> submitLoadPage() {
+        try {
+            return executor.submit(this::loadPage);
+        } catch (RejectedExecutionException e) {
+            return Futures.immediateFuture(null);
+        }
+    }
+
+    private Optional<Iterator<T>> loadPage() {
+        return pages.hasNext() ? Optional.of(pages.next()) : Optional.empty();
+    }
+
+    private Optional<Iterator<T>> getPage(ListenableFuture<Optional<Iterator<T>>> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            close();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } catch (ExecutionException e) {
+            close();
+            throw Throwables.throwUncheckedException(e.getCause());
+        }
+    }
+
+    /**
+     * The pages of an {@link AbstractPagingIterable}, as returned by its getFirstPage and getNextPage methods.
+     */
+    private static final class PageIterator<T, P extends BasicResultsPage<T>> extends AbstractIterator<P> {
+        private final AbstractPagingIterable<T, P> pagingIterable;
+        private P previousPage = null;
+
+        private PageIterator(AbstractPagingIterable<T, P> pagingIterable) {
+            this.pagingIterable = pagingIterable;
+        }
+
+        @Override
+        protected P computeNext() {
+            try {
+                if (previousPage == null) {
+                    previousPage = Preconditions.checkNotNull(pagingIterable.getFirstPage());
+                } else if (previousPage.moreResultsAvailable()) {
+                    previousPage = Preconditions.checkNotNull(pagingIterable.getNextPage(previousPage));
+                } else {
+                    return endOfData();
+                }
+                return previousPage;
+            } catch (Exception e) {
+                throw Throwables.throwUncheckedException(e);
+            }
+        }
+    }
+}
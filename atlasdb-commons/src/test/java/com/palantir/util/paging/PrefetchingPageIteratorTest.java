@@ -0,0 +1,181 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.util.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+public class PrefetchingPageIteratorTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void returnsElementsOfAllPagesInOrder() {
+        List<List<Integer>> pages = ImmutableList.of(
+                ImmutableList.of(1, 2),
+                ImmutableList.of(),
+                ImmutableList.of(3),
+                ImmutableList.of(4, 5, 6));
+
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(iteratorOf(pages), executor, 2);
+
+        assertThat(Lists.newArrayList(iterator)).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void handlesNoPages() {
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(
+                iteratorOf(ImmutableList.of()), executor, 3);
+
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void iteratesOverPagingIterable() {
+        AbstractPagingIterable<Integer, TokenBackedBasicResultsPage<Integer, Integer>> pagingIterable =
+                new AbstractPagingIterable<Integer, TokenBackedBasicResultsPage<Integer, Integer>>() {
+                    @Override
+                    protected TokenBackedBasicResultsPage<Integer, Integer> getFirstPage() {
+                        return page(0);
+                    }
+
+                    @Override
+                    protected TokenBackedBasicResultsPage<Integer, Integer> getNextPage(
+                            TokenBackedBasicResultsPage<Integer, Integer> previous) {
+                        return page(previous.getTokenForNextPage());
+                    }
+
+                    private TokenBackedBasicResultsPage<Integer, Integer> page(int start) {
+                        return new SimpleTokenBackedResultsPage<>(
+                                start + 2, ImmutableList.of(start, start + 1), start + 2 < 10);
+                    }
+                };
+
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(pagingIterable, executor, 2);
+
+        assertThat(Lists.newArrayList(iterator)).isEqualTo(Lists.newArrayList(pagingIterable));
+    }
+
+    @Test
+    public void prefetchesUpToTheGivenNumberOfPages() throws InterruptedException {
+        AtomicInteger pagesLoaded = new AtomicInteger();
+        Iterator<Iterator<Integer>> pages = Iterators.transform(
+                Iterators.forArray(1, 2, 3, 4, 5, 6),
+                element -> {
+                    pagesLoaded.incrementAndGet();
+                    return Iterators.singletonIterator(element);
+                });
+
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(pages, executor, 2);
+        assertThat(iterator.next()).isEqualTo(1);
+        waitForPagesLoaded(pagesLoaded, 3);
+
+        Thread.sleep(100);
+        assertThat(pagesLoaded.get()).isEqualTo(3);
+        iterator.close();
+    }
+
+    @Test
+    public void rethrowsFailuresWhenTheFailedPageIsReached() {
+        RuntimeException failure = new IllegalStateException("failed to load page");
+        Iterator<Iterator<Integer>> pages = Iterators.transform(
+                Iterators.forArray(1, 2, 3),
+                element -> {
+                    if (element == 2) {
+                        throw failure;
+                    }
+                    return Iterators.singletonIterator(element);
+                });
+
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(pages, executor, 2);
+
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThatThrownBy(iterator::next).isEqualTo(failure);
+    }
+
+    @Test
+    public void stopsLoadingPagesWhenClosed() throws InterruptedException {
+        AtomicInteger pagesLoaded = new AtomicInteger();
+        Iterator<Iterator<Integer>> pages = Iterators.transform(
+                Iterators.forArray(1, 2, 3, 4, 5, 6),
+                element -> {
+                    pagesLoaded.incrementAndGet();
+                    return Iterators.singletonIterator(element);
+                });
+
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(pages, executor, 1);
+        assertThat(iterator.next()).isEqualTo(1);
+        waitForPagesLoaded(pagesLoaded, 2);
+        iterator.close();
+
+        Thread.sleep(100);
+        assertThat(pagesLoaded.get()).isEqualTo(2);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void loadsPagesOnTheConsumingThreadIfTheExecutorRejectsThem() {
+        ExecutorService rejectingExecutor = Executors.newSingleThreadExecutor();
+        rejectingExecutor.shutdown();
+        List<Thread> loadingThreads = new CopyOnWriteArrayList<>();
+        Iterator<Iterator<Integer>> pages = Iterators.transform(
+                Iterators.forArray(1, 2, 3),
+                element -> {
+                    loadingThreads.add(Thread.currentThread());
+                    return Iterators.singletonIterator(element);
+                });
+
+        PrefetchingPageIterator<Integer> iterator = PrefetchingPageIterator.create(pages, rejectingExecutor, 2);
+
+        assertThat(loadingThreads).isEmpty();
+        assertThat(Lists.newArrayList(iterator)).containsExactly(1, 2, 3);
+        assertThat(loadingThreads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    public void mustPrefetchAtLeastOnePage() {
+        assertThatThrownBy(() -> PrefetchingPageIterator.create(iteratorOf(ImmutableList.of()), executor, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Iterator<Iterator<Integer>> iteratorOf(List<List<Integer>> pages) {
+        return Iterators.transform(pages.iterator(), List::iterator);
+    }
+
+    private static void waitForPagesLoaded(AtomicInteger pagesLoaded, int expected) throws InterruptedException {
+        while (pagesLoaded.get() < expected) {
+            Thread.sleep(10);
+        }
+    }
+}
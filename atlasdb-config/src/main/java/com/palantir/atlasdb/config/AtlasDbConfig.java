@@ -168,6 +168,36 @@ public abstract class AtlasDbConfig {
         return AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC;
     }
 
+    /**
+     * If true, commit timestamps of previously read transactions are cached in flat arrays of primitive longs,
+     * rather than in a Caffeine cache of boxed values. This uses far less heap per cached timestamp and creates no
+     * garbage per entry; entries are evicted using the CLOCK algorithm, which approximates LRU.
+     * The size of the cache is still controlled by {@link AtlasDbRuntimeConfig#getTimestampCacheSize()}.
+     */
+    @Value.Default
+    public boolean usePrimitiveTimestampCache() {
+        return false;
+    }
+
+    /**
+     * If true, concurrent lookups of commit timestamps in the transactions table are merged into a single read,
+     * and each start timestamp is only looked up once per batch however many transactions need it.
+     */
+    @Value.Default
+    public boolean batchTransactionTableLookups() {
+        return false;
+    }
+
+    /**
+     * If true, concurrent transaction starts are merged into a single request to TimeLock, and the transactions in
+     * each such request share one immutable timestamp lock. This requires a TimeLock server that supports starting
+     * transactions in batches.
+     */
+    @Value.Default
+    public boolean batchTransactionStarts() {
+        return false;
+    }
+
     /**
      * Install time configurations for targeted sweep.
      */
@@ -68,7 +68,8 @@ public abstract class AtlasDbRuntimeConfig {
     /**
      * The number of timestamps to cache that we have seen in previous reads.
      * This will use somewhere around 90MB of heap memory per million timestamps because of various overheads
-     * from Java Objects and the cache's LRU tracking.
+     * from Java Objects and the cache's LRU tracking, or around 28MB per million timestamps if
+     * {@link AtlasDbConfig#usePrimitiveTimestampCache()} is set.
      *
      * Probably the only reason to configure away from the default would be a service that can afford the heap usage,
      * and has read patterns that deal with a very large working set of existing transactions.
@@ -74,6 +74,31 @@ public class TargetedSweepInstallConfig {
                 thoroughThreads());
     }
 
+    /**
+     * The maximum number of partitions of a batch of targeted sweep that each background thread deletes at the same
+     * time. Each partition covers up to 1,000 cells of a single table. The default of 1 deletes partitions one
+     * after another.
+     */
+    @Value.Default
+    public int deleteParallelism() {
+        return 1;
+    }
+
+    @Value.Check
+    void checkDeleteParallelism() {
+        Preconditions.checkArgument(deleteParallelism() > 0,
+                "Targeted sweep delete parallelism must be positive, but is %s instead.", deleteParallelism());
+    }
+
+    /**
+     * If true, each background thread reads the next batch of its shard from the sweep queue while it deletes the
+     * current batch. Progress is still only persisted once the current batch has been deleted.
+     */
+    @Value.Default
+    public boolean readAhead() {
+        return false;
+    }
+
     public static TargetedSweepInstallConfig defaultTargetedSweepConfig() {
         return ImmutableTargetedSweepInstallConfig.builder().build();
     }
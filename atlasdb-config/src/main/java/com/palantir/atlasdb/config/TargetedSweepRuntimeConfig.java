@@ -45,12 +45,48 @@ public abstract class TargetedSweepRuntimeConfig {
         return AtlasDbConstants.DEFAULT_SWEEP_QUEUE_SHARDS;
     }
 
+    /**
+     * If true, the batch size of targeted sweep and the pause between iterations of the background threads are
+     * adjusted per shard, based on how long batches take, whether they fail, and whether the shard is behind. If false,
+     * background threads read full batches every five seconds.
+     */
+    @Value.Default
+    public boolean enableAdaptiveBatching() {
+        return false;
+    }
+
+    /**
+     * Duration that a single batch of targeted sweep should take when adaptive batching is enabled. Slower batches
+     * cause the batch size to shrink and the pause between iterations to grow, and faster batches the converse.
+     */
+    @Value.Default
+    public long targetBatchMillis() {
+        return 5_000L;
+    }
+
+    /**
+     * Upper bound on the number of cells deleted per second by background targeted sweep, across all shards and
+     * threads of this node. Zero means that deletes are not rate limited.
+     */
+    @Value.Default
+    public double maxCellDeletesPerSecond() {
+        return 0.0;
+    }
+
     @Value.Check
     void checkShardSize() {
         Preconditions.checkArgument(shards() >= 1 && shards() <= 256,
                 "Shard number must be between 1 and 256 inclusive, but it is %s.", shards());
     }
 
+    @Value.Check
+    void checkPacing() {
+        Preconditions.checkArgument(targetBatchMillis() > 0,
+                "Target batch duration must be positive, but it is %s.", targetBatchMillis());
+        Preconditions.checkArgument(maxCellDeletesPerSecond() >= 0,
+                "Maximum cell deletes per second must be non-negative, but it is %s.", maxCellDeletesPerSecond());
+    }
+
     public static TargetedSweepRuntimeConfig defaultTargetedSweepRuntimeConfig() {
         return ImmutableTargetedSweepRuntimeConfig.builder().build();
     }
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.factory;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -121,7 +122,7 @@ public final class Leaders {
 
         PaxosAcceptor ourAcceptor = AtlasDbMetrics.instrument(metricsManager.getRegistry(),
                 PaxosAcceptor.class,
-                PaxosAcceptorImpl.newAcceptor(config.acceptorLogDir().getPath()));
+                PaxosAcceptorImpl.newAcceptor(config.acceptorLogDir().getPath(), getAcceptorLeaseGuard(config)));
         PaxosLearner ourLearner = AtlasDbMetrics.instrument(metricsManager.getRegistry(),
                 PaxosLearner.class,
                 PaxosLearnerImpl.newLearner(config.learnerLogDir().getPath(), leadershipEventRecorder));
@@ -200,6 +201,21 @@ public final class Leaders {
                 .build();
     }
 
+    /**
+     * Returns how long services proxied by {@link com.palantir.leader.proxy.AwaitingLeadershipProxy} may be served
+     * after verifying leadership, before leadership must be verified again.
+     */
+    public static Duration getLeaderLease(LeaderConfig config) {
+        return Duration.ofMillis(config.leaderLeaseMs());
+    }
+
+    private static Duration getAcceptorLeaseGuard(LeaderConfig config) {
+        if (config.leaderLeaseMs() == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(config.leaderLeaseMs() + config.leaderLeaseMaxClockDriftMs());
+    }
+
     public static <T> List<T> createProxyAndLocalList(
             MetricRegistry metrics,
             T localObject,
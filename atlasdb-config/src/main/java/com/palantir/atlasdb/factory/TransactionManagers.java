@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.factory;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -43,6 +44,8 @@ import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.async.initializer.AsyncInitializer;
 import com.palantir.async.initializer.Callback;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.cache.DefaultTimestampCache;
+import com.palantir.atlasdb.cache.PrimitiveTimestampCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.CleanupFollower;
 import com.palantir.atlasdb.cleaner.DefaultCleanerBuilder;
@@ -91,6 +94,7 @@ import com.palantir.atlasdb.sweep.AdjustableSweepBatchConfigSource;
 import com.palantir.atlasdb.sweep.BackgroundSweeperImpl;
 import com.palantir.atlasdb.sweep.BackgroundSweeperPerformanceLogger;
 import com.palantir.atlasdb.sweep.CellsSweeper;
+import com.palantir.atlasdb.sweep.CommitTsCache;
 import com.palantir.atlasdb.sweep.ImmutableSweepBatchConfig;
 import com.palantir.atlasdb.sweep.NoOpBackgroundSweeperPerformanceLogger;
 import com.palantir.atlasdb.sweep.PersistentLockManager;
@@ -99,6 +103,8 @@ import com.palantir.atlasdb.sweep.SweepBatchConfig;
 import com.palantir.atlasdb.sweep.SweepTaskRunner;
 import com.palantir.atlasdb.sweep.SweeperServiceImpl;
 import com.palantir.atlasdb.sweep.metrics.LegacySweepMetrics;
+import com.palantir.atlasdb.sweep.queue.AdaptiveSweepConfig;
+import com.palantir.atlasdb.sweep.queue.ImmutableAdaptiveSweepConfig;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
 import com.palantir.atlasdb.sweep.queue.TargetedSweeper;
 import com.palantir.atlasdb.sweep.queue.clear.SafeTableClearerKeyValueService;
@@ -113,6 +119,7 @@ import com.palantir.atlasdb.transaction.impl.SweepStrategyManager;
 import com.palantir.atlasdb.transaction.impl.SweepStrategyManagers;
 import com.palantir.atlasdb.transaction.impl.TimelockTimestampServiceAdapter;
 import com.palantir.atlasdb.transaction.impl.consistency.ImmutableTimestampCorroborationConsistencyCheck;
+import com.palantir.atlasdb.transaction.service.BatchingTransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionServices;
 import com.palantir.atlasdb.util.AtlasDbMetrics;
@@ -331,10 +338,9 @@ public abstract class TransactionManagers {
         CoordinationService<InternalSchemaMetadata> coordinationService = getSchemaMetadataCoordinationService(
                 metricsManager, lockAndTimestampServices, keyValueService);
 
-        TransactionService transactionService = AtlasDbMetrics.instrument(
-                metricsManager.getRegistry(),
-                TransactionService.class,
-                TransactionServices.createTransactionService(keyValueService, coordinationService));
+        TimestampCache timestampCache = createTimestampCache(metricsManager, runtimeConfigSupplier);
+        TransactionService transactionService = createTransactionService(
+                metricsManager, keyValueService, coordinationService, timestampCache, closeables);
         ConflictDetectionManager conflictManager = ConflictDetectionManagers.create(keyValueService);
         SweepStrategyManager sweepStrategyManager = SweepStrategyManagers.createDefault(keyValueService);
 
@@ -355,7 +361,8 @@ public abstract class TransactionManagers {
 
         MultiTableSweepQueueWriter targetedSweep = initializeCloseable(
                 () -> uninitializedTargetedSweeper(metricsManager, config().targetedSweep(), follower,
-                        Suppliers.compose(AtlasDbRuntimeConfig::targetedSweep, runtimeConfigSupplier::get)),
+                        Suppliers.compose(AtlasDbRuntimeConfig::targetedSweep, runtimeConfigSupplier::get),
+                        timestampCache),
                 closeables);
 
         Callback<TransactionManager> callbacks = new Callback.CallChain<>(
@@ -383,8 +390,7 @@ public abstract class TransactionManagers {
                         config().keyValueService().concurrentGetRangesThreadPoolSize(),
                         config().keyValueService().defaultGetRangesConcurrency(),
                         config().initializeAsync(),
-                        new TimestampCache(metricsManager.getRegistry(),
-                                () -> runtimeConfigSupplier.get().getTimestampCacheSize()),
+                        timestampCache,
                         targetedSweep,
                         callbacks,
                         validateLocksOnReads(),
@@ -396,6 +402,10 @@ public abstract class TransactionManagers {
 
         instrumentedTransactionManager.registerClosingCallback(lockAndTimestampServices.close());
         instrumentedTransactionManager.registerClosingCallback(targetedSweep::close);
+        if (transactionService instanceof BatchingTransactionService) {
+            instrumentedTransactionManager.registerClosingCallback(
+                    ((BatchingTransactionService) transactionService)::close);
+        }
 
         PersistentLockManager persistentLockManager = initializeCloseable(
                 () -> new PersistentLockManager(
@@ -411,6 +421,7 @@ public abstract class TransactionManagers {
                         registrar(),
                         keyValueService,
                         transactionService,
+                        timestampCache,
                         sweepStrategyManager,
                         follower,
                         instrumentedTransactionManager,
@@ -428,6 +439,34 @@ public abstract class TransactionManagers {
         return instrumentedTransactionManager;
     }
 
+    private TransactionService createTransactionService(
+            MetricsManager metricsManager,
+            KeyValueService keyValueService,
+            CoordinationService<InternalSchemaMetadata> coordinationService,
+            TimestampCache timestampCache,
+            @Output List<AutoCloseable> closeables) {
+        TransactionService transactionService = AtlasDbMetrics.instrument(
+                metricsManager.getRegistry(),
+                TransactionService.class,
+                TransactionServices.createTransactionService(keyValueService, coordinationService));
+        if (!config().batchTransactionTableLookups()) {
+            return transactionService;
+        }
+        return initializeCloseable(
+                () -> BatchingTransactionService.create(transactionService, timestampCache),
+                closeables);
+    }
+
+    private TimestampCache createTimestampCache(
+            MetricsManager metricsManager, Supplier<AtlasDbRuntimeConfig> runtimeConfigSupplier) {
+        if (config().usePrimitiveTimestampCache()) {
+            return new PrimitiveTimestampCache(metricsManager.getRegistry(),
+                    () -> runtimeConfigSupplier.get().getTimestampCacheSize());
+        }
+        return new DefaultTimestampCache(metricsManager.getRegistry(),
+                () -> runtimeConfigSupplier.get().getTimestampCacheSize());
+    }
+
     private CoordinationService<InternalSchemaMetadata> getSchemaMetadataCoordinationService(
             MetricsManager metricsManager, LockAndTimestampServices lockAndTimestampServices,
             KeyValueService keyValueService) {
@@ -494,6 +533,7 @@ public abstract class TransactionManagers {
             Consumer<Object> env,
             KeyValueService kvs,
             TransactionService transactionService,
+            TimestampCache timestampCache,
             SweepStrategyManager sweepStrategyManager,
             CleanupFollower follower,
             TransactionManager transactionManager,
@@ -510,10 +550,10 @@ public abstract class TransactionManagers {
                 kvs,
                 transactionManager::getUnreadableTimestamp,
                 transactionManager::getImmutableTimestamp,
-                transactionService,
                 sweepStrategyManager,
                 cellsSweeper,
-                sweepMetrics);
+                sweepMetrics,
+                CommitTsCache.create(transactionService, timestampCache));
         BackgroundSweeperPerformanceLogger sweepPerfLogger = new NoOpBackgroundSweeperPerformanceLogger();
         AdjustableSweepBatchConfigSource sweepBatchConfigSource = AdjustableSweepBatchConfigSource.create(
                 metricsManager,
@@ -672,7 +712,7 @@ public abstract class TransactionManagers {
                 userAgent);
         return withMetrics(metricsManager,
                 withCorroboratingTimestampService(
-                        withRefreshingLockService(lockAndTimestampServices)));
+                        withRefreshingLockService(lockAndTimestampServices, config.batchTransactionStarts())));
     }
 
     private static LockAndTimestampServices withCorroboratingTimestampService(
@@ -689,8 +729,10 @@ public abstract class TransactionManagers {
     }
 
     private static LockAndTimestampServices withRefreshingLockService(
-            LockAndTimestampServices lockAndTimestampServices) {
-        TimeLockClient timeLockClient = TimeLockClient.createDefault(lockAndTimestampServices.timelock());
+            LockAndTimestampServices lockAndTimestampServices,
+            boolean batchTransactionStarts) {
+        TimeLockClient timeLockClient = TimeLockClient.createDefault(
+                lockAndTimestampServices.timelock(), batchTransactionStarts);
         return ImmutableLockAndTimestampServices.builder()
                 .from(lockAndTimestampServices)
                 .timestamp(new TimelockTimestampServiceAdapter(timeLockClient))
@@ -823,17 +865,19 @@ public abstract class TransactionManagers {
                 () -> defaultRuntime,
                 userAgent);
         LeaderElectionService leader = localPaxosServices.leaderElectionService();
+        Duration leaderLease = Leaders.getLeaderLease(leaderConfig);
         LockService localLock = ServiceCreator.createInstrumentedService(metricsManager.getRegistry(),
-                AwaitingLeadershipProxy.newProxyInstance(LockService.class, lock, leader),
+                AwaitingLeadershipProxy.newProxyInstance(LockService.class, lock, leader, leaderLease),
                 LockService.class);
         TimestampService localTime = ServiceCreator.createInstrumentedService(metricsManager.getRegistry(),
-                AwaitingLeadershipProxy.newProxyInstance(TimestampService.class, time, leader),
+                AwaitingLeadershipProxy.newProxyInstance(TimestampService.class, time, leader, leaderLease),
                 TimestampService.class);
         TimestampManagementService localManagement = ServiceCreator.createInstrumentedService(
                 metricsManager.getRegistry(),
                 AwaitingLeadershipProxy.newProxyInstance(TimestampManagementService.class,
                         timeManagement,
-                        leader),
+                        leader,
+                        leaderLease),
                 TimestampManagementService.class);
         env.accept(localLock);
         env.accept(localTime);
@@ -961,7 +1005,8 @@ public abstract class TransactionManagers {
             MetricsManager metricsManager,
             TargetedSweepInstallConfig config,
             Follower follower,
-            Supplier<TargetedSweepRuntimeConfig> runtime) {
+            Supplier<TargetedSweepRuntimeConfig> runtime,
+            TimestampCache timestampCache) {
         if (!config.enableSweepQueueWrites()) {
             return MultiTableSweepQueueWriter.NO_OP;
         }
@@ -971,9 +1016,21 @@ public abstract class TransactionManagers {
                 Suppliers.compose(TargetedSweepRuntimeConfig::shards, runtime::get),
                 config.conservativeThreads(),
                 config.thoroughThreads(),
+                config.deleteParallelism(),
+                config.readAhead(),
+                Suppliers.compose(TransactionManagers::toAdaptiveSweepConfig, runtime::get),
+                timestampCache,
                 ImmutableList.of(follower));
     }
 
+    private static AdaptiveSweepConfig toAdaptiveSweepConfig(TargetedSweepRuntimeConfig runtime) {
+        return ImmutableAdaptiveSweepConfig.builder()
+                .enabled(runtime.enableAdaptiveBatching())
+                .targetBatchMillis(runtime.targetBatchMillis())
+                .maxCellDeletesPerSecond(runtime.maxCellDeletesPerSecond())
+                .build();
+    }
+
     @Value.Immutable
     @Value.Style(stagedBuilder = false)
     public interface LockAndTimestampServices {
@@ -20,9 +20,12 @@ import java.util.concurrent.atomic.LongAccumulator;
 import java.util.function.Supplier;
 import java.util.function.ToLongFunction;
 
+import com.google.common.collect.Iterables;
 import com.palantir.lock.v2.AutoDelegate_TimelockService;
 import com.palantir.lock.v2.IdentifiedTimeLockRequest;
 import com.palantir.lock.v2.StartAtlasDbTransactionResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
 import com.palantir.lock.v2.TimelockService;
@@ -78,6 +81,14 @@ public final class TimestampCorroboratingTimelockService implements AutoDelegate
                 r -> r.startTimestampAndPartition().timestamp());
     }
 
+    @Override
+    public StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request) {
+        return checkAndUpdateLowerBound(() -> delegate.startIdentifiedAtlasDbTransactionBatch(request),
+                r -> r.startTimestampsAndPartitions().get(0).timestamp(),
+                r -> Iterables.getLast(r.startTimestampsAndPartitions()).timestamp());
+    }
+
     private <T> T checkAndUpdateLowerBound(Supplier<T> timestampContainerSupplier,
             ToLongFunction<T> lowerBoundExtractor,
             ToLongFunction<T> upperBoundExtractor) {
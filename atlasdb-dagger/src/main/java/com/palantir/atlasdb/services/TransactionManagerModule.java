@@ -22,6 +22,8 @@ import javax.inject.Singleton;
 
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.cache.DefaultTimestampCache;
+import com.palantir.atlasdb.cache.PrimitiveTimestampCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.CleanupFollower;
 import com.palantir.atlasdb.cleaner.DefaultCleanerBuilder;
@@ -104,8 +106,7 @@ public class TransactionManagerModule {
                 conflictManager,
                 sweepStrategyManager,
                 cleaner,
-                new TimestampCache(metricsManager.getRegistry(),
-                        () -> config.atlasDbRuntimeConfig().getTimestampCacheSize()),
+                createTimestampCache(config, metricsManager),
                 config.allowAccessToHiddenTables(),
                 config.atlasDbConfig().keyValueService().concurrentGetRangesThreadPoolSize(),
                 config.atlasDbConfig().keyValueService().defaultGetRangesConcurrency(),
@@ -116,4 +117,12 @@ public class TransactionManagerModule {
                 () -> config.atlasDbRuntimeConfig().transaction());
     }
 
+    private static TimestampCache createTimestampCache(ServicesConfig config, MetricsManager metricsManager) {
+        if (config.atlasDbConfig().usePrimitiveTimestampCache()) {
+            return new PrimitiveTimestampCache(metricsManager.getRegistry(),
+                    () -> config.atlasDbRuntimeConfig().getTimestampCacheSize());
+        }
+        return new DefaultTimestampCache(metricsManager.getRegistry(),
+                () -> config.atlasDbRuntimeConfig().getTimestampCacheSize());
+    }
 }
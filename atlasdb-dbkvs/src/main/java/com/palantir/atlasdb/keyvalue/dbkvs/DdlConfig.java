@@ -47,6 +47,17 @@ public abstract class DdlConfig {
         return 256;
     }
 
+    /**
+     * The number of pages that getRange loads in the background ahead of the page being consumed. If 0, each page is
+     * only loaded once the previous one has been consumed. At most {@link #poolSize()} pages are loaded in the
+     * background at once, across all range scans; a scan that finds them all busy loads its remaining pages as they
+     * are consumed.
+     */
+    @Value.Default
+    public int rangePagesToPrefetch() {
+        return 0;
+    }
+
     @Value.Default
     public int mutationBatchCount() {
         return 1000;
@@ -62,6 +73,7 @@ public abstract class DdlConfig {
         Preconditions.checkState(
                 metadataTable().getNamespace().isEmptyNamespace(),
                 "'metadataTable' should have empty namespace'");
+        Preconditions.checkState(rangePagesToPrefetch() >= 0, "'rangePagesToPrefetch' must be non-negative");
     }
 
     public interface Visitor<T> {
@@ -38,6 +38,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -70,6 +71,9 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Atomics;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
@@ -129,6 +133,7 @@ import com.palantir.nexus.db.sql.AgnosticResultSet;
 import com.palantir.nexus.db.sql.SqlConnection;
 import com.palantir.util.crypto.Sha256Hash;
 import com.palantir.util.paging.AbstractPagingIterable;
+import com.palantir.util.paging.PrefetchingPageIterator;
 import com.palantir.util.paging.SimpleTokenBackedResultsPage;
 import com.palantir.util.paging.TokenBackedBasicResultsPage;
 
@@ -150,6 +155,7 @@ public final class DbKvs extends AbstractKeyValueService {
     private final OverflowValueLoader overflowValueLoader;
     private final DbKvsGetRange getRangeStrategy;
     private final DbKvsGetCandidateCellsForSweeping getCandidateCellsForSweepingStrategy;
+    @Nullable private final ExecutorService rangePrefetchExecutor;
 
     public static DbKvs create(DbKeyValueServiceConfig config, SqlConnectionSupplier sqlConnSupplier) {
         DbKvs dbKvs = createNoInit(config.ddl(), sqlConnSupplier);
@@ -240,6 +246,20 @@ public final class DbKvs extends AbstractKeyValueService {
         this.overflowValueLoader = overflowValueLoader;
         this.getRangeStrategy = getRangeStrategy;
         this.getCandidateCellsForSweepingStrategy = getCandidateCellsForSweepingStrategy;
+        this.rangePrefetchExecutor = config.rangePagesToPrefetch() > 0
+                ? newRangePrefetchExecutor(config.poolSize())
+                : null;
+    }
+
+    /**
+     * Each page being prefetched holds a connection, so no more pages are loaded at once than there are connections.
+     * Pages that the executor rejects are loaded by the range scan's consumer instead.
+     */
+    private static ExecutorService newRangePrefetchExecutor(int maxPoolSize) {
+        return PTExecutors.newThreadPoolExecutor(0, maxPoolSize,
+                15L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new NamedThreadFactory("Atlas DbKvs range prefetch", true /* daemon */));
     }
 
     private static ThreadPoolExecutor newFixedThreadPool(int maxPoolSize) {
@@ -278,6 +298,9 @@ public final class DbKvs extends AbstractKeyValueService {
     @Override
     public void close() {
         super.close();
+        if (rangePrefetchExecutor != null) {
+            rangePrefetchExecutor.shutdownNow();
+        }
         dbTables.close();
         connections.close();
         batchingQueryRunner.close();
@@ -302,6 +325,30 @@ public final class DbKvs extends AbstractKeyValueService {
                         table.getLatestCells(cellBatch, true)));
     }
 
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getRowsAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection,
+            long timestamp) {
+        return batchingQueryRunner.runTaskAsync(
+                rows,
+                BatchingStrategies.forIterable(),
+                AccumulatorStrategies.forMap(),
+                rowBatch -> runReadAndExtractResults(tableRef, table ->
+                        table.getLatestRows(rowBatch, columnSelection, timestamp, true)));
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        return batchingQueryRunner.runTaskAsync(
+                timestampByCell,
+                BatchingStrategies.forMap(),
+                AccumulatorStrategies.forMap(),
+                cellBatch -> runReadAndExtractResults(tableRef, table ->
+                        table.getLatestCells(cellBatch, true)));
+    }
+
     private Map<Cell, Value> getRowsBatching(TableReference tableRef,
                                              Iterable<byte[]> rows,
                                              ColumnSelection columnSelection,
@@ -622,6 +669,12 @@ public final class DbKvs extends AbstractKeyValueService {
             TableReference tableRef,
             RangeRequest rangeRequest,
             long timestamp) {
+        if (rangePrefetchExecutor != null) {
+            return PrefetchingPageIterator.create(
+                    getRangeStrategy.getRangePages(tableRef, rangeRequest, timestamp),
+                    rangePrefetchExecutor,
+                    config.rangePagesToPrefetch());
+        }
         return ClosableIterators.wrap(getRangeStrategy.getRange(tableRef, rangeRequest, timestamp));
     }
 
@@ -791,8 +844,38 @@ public final class DbKvs extends AbstractKeyValueService {
         List<byte[]> rowList = ImmutableList.copyOf(rows);
         Map<byte[], List<Map.Entry<Cell, Value>>> firstPage =
                 getFirstRowsColumnRangePage(tableRef, rowList, batchColumnRangeSelection, timestamp);
+        return getRowsColumnRangeIterators(tableRef, batchColumnRangeSelection, timestamp, firstPage);
+    }
 
-        Map<byte[], RowColumnRangeIterator> ret = Maps.newHashMapWithExpectedSize(rowList.size());
+    @Override
+    public ListenableFuture<Map<byte[], RowColumnRangeIterator>> getRowsColumnRangeAsync(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        List<byte[]> rowList = ImmutableList.copyOf(rows);
+        ListenableFuture<Map<byte[], List<Map.Entry<Cell, Value>>>> firstPage = batchingQueryRunner.runTaskAsync(
+                Maps.toMap(rowList, Functions.constant(batchColumnRangeSelection)),
+                BatchingStrategies.forMap(),
+                AccumulatorStrategies.forMap(),
+                batch -> runRead(tableRef, table ->
+                        extractRowColumnRangePageInternal(
+                                table,
+                                tableRef,
+                                () -> table.getRowsColumnRange(batch, timestamp),
+                                batch.keySet())));
+        return Futures.transform(
+                firstPage,
+                page -> getRowsColumnRangeIterators(tableRef, batchColumnRangeSelection, timestamp, page),
+                MoreExecutors.directExecutor());
+    }
+
+    private Map<byte[], RowColumnRangeIterator> getRowsColumnRangeIterators(
+            TableReference tableRef,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp,
+            Map<byte[], List<Map.Entry<Cell, Value>>> firstPage) {
+        Map<byte[], RowColumnRangeIterator> ret = Maps.newHashMapWithExpectedSize(firstPage.size());
         for (Entry<byte[], List<Map.Entry<Cell, Value>>> e : firstPage.entrySet()) {
             List<Map.Entry<Cell, Value>> results = e.getValue();
             if (results.isEmpty()) {
@@ -18,6 +18,9 @@ package com.palantir.atlasdb.keyvalue.dbkvs.impl.batch;
 import java.io.Closeable;
 import java.util.function.Function;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 public interface BatchingTaskRunner extends Closeable {
 
     interface BatchingStrategy<InT> {
@@ -34,6 +37,21 @@ public interface BatchingTaskRunner extends Closeable {
                              ResultAccumulatorStrategy<OutT> resultAccumulatingStrategy,
                              Function<InT, OutT> task);
 
+    /**
+     * Asynchronous equivalent of {@link #runTask}. By default, runs {@link #runTask} on the calling thread and returns
+     * a completed future; implementations with an executor of their own should run the batches on it instead.
+     */
+    default <InT, OutT> ListenableFuture<OutT> runTaskAsync(InT input,
+                                                            BatchingStrategy<InT> batchingStrategy,
+                                                            ResultAccumulatorStrategy<OutT> resultAccumulatingStrategy,
+                                                            Function<InT, OutT> task) {
+        try {
+            return Futures.immediateFuture(runTask(input, batchingStrategy, resultAccumulatingStrategy, task));
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
     @Override
     void close();
 }
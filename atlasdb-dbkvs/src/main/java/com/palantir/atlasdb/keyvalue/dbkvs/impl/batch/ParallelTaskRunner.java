@@ -23,13 +23,18 @@ import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class ParallelTaskRunner implements BatchingTaskRunner {
-    private final ExecutorService executor;
+    private final ListeningExecutorService executor;
     private final int batchSize;
 
     public ParallelTaskRunner(ExecutorService executor, int batchSize) {
-        this.executor = executor;
+        this.executor = MoreExecutors.listeningDecorator(executor);
         this.batchSize = batchSize;
     }
 
@@ -52,6 +57,39 @@ public class ParallelTaskRunner implements BatchingTaskRunner {
         return result;
     }
 
+    @Override
+    public <InT, OutT> ListenableFuture<OutT> runTaskAsync(InT input,
+                                                           BatchingStrategy<InT> batchingStrategy,
+                                                           ResultAccumulatorStrategy<OutT> resultAccumulatingStrategy,
+                                                           Function<InT, OutT> task) {
+        Iterable<? extends InT> batches = batchingStrategy.partitionIntoBatches(input, batchSize);
+        List<ListenableFuture<OutT>> futures = new ArrayList<>();
+        for (InT batch : batches) {
+            futures.add(executor.submit(() -> task.apply(batch)));
+        }
+        ListenableFuture<List<OutT>> allBatchResults = Futures.allAsList(futures);
+        Futures.addCallback(allBatchResults, new FutureCallback<List<OutT>>() {
+            @Override
+            public void onSuccess(List<OutT> batchResults) {
+                // nothing to do
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                // Batches that have not started yet are skipped. Running batches are not interrupted, as interrupting
+                // a thread in the middle of a query can leave its connection unusable.
+                futures.forEach(future -> future.cancel(false));
+            }
+        }, MoreExecutors.directExecutor());
+        return Futures.transform(allBatchResults, batchResults -> {
+            OutT result = resultAccumulatingStrategy.createEmptyResult();
+            for (OutT batchResult : batchResults) {
+                resultAccumulatingStrategy.accumulateResult(result, batchResult);
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
+
     private static <T> T getFutureUnchecked(Future<T> future) {
         try {
             return future.get();
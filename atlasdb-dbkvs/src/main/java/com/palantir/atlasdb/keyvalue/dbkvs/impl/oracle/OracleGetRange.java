@@ -28,7 +28,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableSortedMap;
-import com.google.common.collect.Iterators;
 import com.google.common.primitives.UnsignedBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
@@ -147,9 +146,10 @@ public class OracleGetRange implements DbKvsGetRange {
     }
 
     @Override
-    public Iterator<RowResult<Value>> getRange(TableReference tableRef, RangeRequest rangeRequest, long timestamp) {
+    public Iterator<Iterator<RowResult<Value>>> getRangePages(TableReference tableRef, RangeRequest rangeRequest,
+            long timestamp) {
         boolean haveOverflow = checkIfTableHasOverflowUsingNewConnection(tableRef);
-        return Iterators.concat(new PageIterator(
+        return new PageIterator(
                 rangeRequest.getStartInclusive(),
                 rangeRequest.getEndExclusive(),
                 rangeRequest.getColumnNames(),
@@ -157,7 +157,7 @@ public class OracleGetRange implements DbKvsGetRange {
                 tableRef,
                 haveOverflow,
                 RangeHelpers.getMaxRowsPerPage(rangeRequest),
-                timestamp));
+                timestamp);
     }
 
     private boolean checkIfTableHasOverflowUsingNewConnection(TableReference tableRef) {
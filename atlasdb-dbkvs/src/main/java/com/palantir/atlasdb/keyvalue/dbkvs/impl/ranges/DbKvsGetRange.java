@@ -17,13 +17,23 @@ package com.palantir.atlasdb.keyvalue.dbkvs.impl.ranges;
 
 import java.util.Iterator;
 
+import com.google.common.collect.Iterators;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 
 public interface DbKvsGetRange {
-    Iterator<RowResult<Value>> getRange(TableReference tableRef,
-                                        RangeRequest rangeRequest,
-                                        long timestamp);
+    default Iterator<RowResult<Value>> getRange(TableReference tableRef,
+                                                RangeRequest rangeRequest,
+                                                long timestamp) {
+        return Iterators.concat(getRangePages(tableRef, rangeRequest, timestamp));
+    }
+
+    /**
+     * Returns the pages of the range, each of which is loaded from the database when the iterator reaches it.
+     */
+    Iterator<Iterator<RowResult<Value>>> getRangePages(TableReference tableRef,
+                                                       RangeRequest rangeRequest,
+                                                       long timestamp);
 }
@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.dbkvs.impl.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+
+public class ParallelTaskRunnerTest {
+    private static final List<Integer> INPUT = ImmutableList.of(1, 2, 3);
+
+    private final ParallelTaskRunner runner = new ParallelTaskRunner(Executors.newSingleThreadExecutor(), 1);
+    private final AtomicInteger batchesRun = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        runner.close();
+    }
+
+    @Test
+    public void runTaskAsyncAccumulatesResultsOfAllBatches() throws Exception {
+        ListenableFuture<Map<Integer, Integer>> result = runner.runTaskAsync(
+                INPUT,
+                BatchingStrategies.forList(),
+                AccumulatorStrategies.forMap(),
+                this::squares);
+
+        assertThat(result.get()).isEqualTo(ImmutableMap.of(1, 1, 2, 4, 3, 9));
+        assertThat(batchesRun.get()).isEqualTo(INPUT.size());
+    }
+
+    @Test
+    public void runTaskAsyncFailsAndSkipsRemainingBatchesIfOneBatchFails() {
+        ListenableFuture<Map<Integer, Integer>> result = runner.runTaskAsync(
+                INPUT,
+                BatchingStrategies.forList(),
+                AccumulatorStrategies.forMap(),
+                batch -> {
+                    batchesRun.incrementAndGet();
+                    throw new IllegalStateException("failed");
+                });
+
+        assertThatThrownBy(result::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(batchesRun.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void defaultRunTaskAsyncReturnsFailedFutureIfTaskFails() {
+        ListenableFuture<Map<Integer, Integer>> result = new ImmediateSingleBatchTaskRunner().runTaskAsync(
+                INPUT,
+                BatchingStrategies.forList(),
+                AccumulatorStrategies.forMap(),
+                batch -> {
+                    throw new IllegalStateException("failed");
+                });
+
+        assertThat(result.isDone()).isTrue();
+        assertThatThrownBy(result::get).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private Map<Integer, Integer> squares(List<Integer> batch) {
+        batchesRun.incrementAndGet();
+        ImmutableMap.Builder<Integer, Integer> squares = ImmutableMap.builder();
+        batch.forEach(value -> squares.put(value, value * value));
+        return squares.build();
+    }
+}
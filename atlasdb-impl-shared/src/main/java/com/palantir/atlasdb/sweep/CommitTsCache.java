@@ -16,33 +16,57 @@
 package com.palantir.atlasdb.sweep;
 
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.cache.PrimitiveTimestampCache;
+import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.transaction.service.TransactionService;
-import com.palantir.common.base.Throwables;
 
+/**
+ * Resolves the commit timestamps of transactions for sweep, rolling back transactions that have not committed.
+ * Commit timestamps are kept in a {@link TimestampCache}, which may be shared with other components resolving commit
+ * timestamps, such as transactions and the other kind of sweep, so that a node holds a single copy of each mapping.
+ * This is safe since the cache only ever contains commit timestamps that are already persisted in the transaction
+ * table, and are therefore final, including the failed commit timestamp of transactions rolled back by sweep.
+ */
 public final class CommitTsCache {
     private static final Long ONE_MILLION = 1_000_000L;
-    private LoadingCache<Long, Long> cache;
+    private final TimestampCache cache;
+    private final AbortingCommitTsLoader loader;
 
-    private CommitTsCache(TransactionService transactionService, long maxSize) {
-        cache = CacheBuilder.newBuilder().maximumSize(maxSize).build(new AbortingCommitTsLoader(transactionService));
+    private CommitTsCache(TransactionService transactionService, TimestampCache cache) {
+        this.cache = cache;
+        this.loader = new AbortingCommitTsLoader(transactionService);
     }
 
     public static CommitTsCache create(TransactionService transactionService) {
-        return new CommitTsCache(transactionService, ONE_MILLION);
+        return create(transactionService, new PrimitiveTimestampCache(new MetricRegistry(), () -> ONE_MILLION));
+    }
+
+    /**
+     * Creates a cache that keeps commit timestamps in the given, possibly shared, timestamp cache.
+     */
+    public static CommitTsCache create(TransactionService transactionService, TimestampCache timestampCache) {
+        return new CommitTsCache(transactionService, timestampCache);
     }
 
     public Optional<Long> loadIfCached(long startTs) {
-        return Optional.ofNullable(cache.getIfPresent(startTs));
+        return Optional.ofNullable(cache.getCommitTimestampIfPresent(startTs));
     }
 
     public long load(long startTs) {
-        return cache.getUnchecked(startTs);
+        Long cached = cache.getCommitTimestampIfPresent(startTs);
+        if (cached != null) {
+            return cached;
+        }
+        long commitTs = loader.load(startTs);
+        cache.putAlreadyCommittedTransaction(startTs, commitTs);
+        return commitTs;
     }
 
     /**
@@ -50,10 +74,21 @@ public final class CommitTsCache {
      * does batched lookups for non-cached start timestamps.
      */
     public Map<Long, Long> loadBatch(Collection<Long> timestamps) {
-        try {
-            return cache.getAll(timestamps);
-        } catch (ExecutionException e) {
-            throw Throwables.rewrapAndThrowUncheckedException(e);
+        Map<Long, Long> result = Maps.newHashMapWithExpectedSize(timestamps.size());
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long startTs : timestamps) {
+            Long cached = cache.getCommitTimestampIfPresent(startTs);
+            if (cached != null) {
+                result.put(startTs, cached);
+            } else {
+                missing.add(startTs);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = loader.loadAll(missing);
+            loaded.forEach(cache::putAlreadyCommittedTransaction);
+            result.putAll(loaded);
         }
+        return result;
     }
 }
@@ -88,12 +88,33 @@ public class SweepTaskRunner {
             SweepStrategyManager sweepStrategyManager,
             CellsSweeper cellsSweeper,
             LegacySweepMetrics metricsManager) {
+        this(keyValueService,
+                unreadableTsSupplier,
+                immutableTsSupplier,
+                sweepStrategyManager,
+                cellsSweeper,
+                metricsManager,
+                CommitTsCache.create(transactionService));
+    }
+
+    /**
+     * Creates a sweep task runner that resolves commit timestamps through the given cache, which may be shared with
+     * other components of this node.
+     */
+    public SweepTaskRunner(
+            KeyValueService keyValueService,
+            LongSupplier unreadableTsSupplier,
+            LongSupplier immutableTsSupplier,
+            SweepStrategyManager sweepStrategyManager,
+            CellsSweeper cellsSweeper,
+            LegacySweepMetrics metricsManager,
+            CommitTsCache commitTsCache) {
         this.keyValueService = keyValueService;
         this.specialTimestampsSupplier = new SpecialTimestampsSupplier(unreadableTsSupplier, immutableTsSupplier);
         this.sweepStrategyManager = sweepStrategyManager;
         this.cellsSweeper = cellsSweeper;
         this.metricsManager = Optional.ofNullable(metricsManager);
-        this.commitTsCache = CommitTsCache.create(transactionService);
+        this.commitTsCache = commitTsCache;
     }
 
     /**
@@ -102,6 +102,14 @@ public class TargetedSweepMetrics {
         getMetrics(shardStrategy).updateProgressForShard(shardStrategy.shard(), lastSweptTs);
     }
 
+    public void updateBatchSize(ShardAndStrategy shardStrategy, long batchSize) {
+        getMetrics(shardStrategy).updateBatchSize(batchSize);
+    }
+
+    public void updateSweepDelay(ShardAndStrategy shardStrategy, long delayMillis) {
+        getMetrics(shardStrategy).updateSweepDelay(delayMillis);
+    }
+
     public void registerOccurrenceOf(SweepOutcome outcome) {
         outcomeMetrics.registerOccurrenceOf(outcome);
     }
@@ -121,6 +129,8 @@ public class TargetedSweepMetrics {
         private final AccumulatingValueMetric tombstonesPut;
         private final AccumulatingValueMetric abortedWritesDeleted;
         private final CurrentValueMetric<Long> sweepTimestamp;
+        private final CurrentValueMetric<Long> batchSize;
+        private final CurrentValueMetric<Long> sweepDelay;
         private final AggregatingVersionedMetric<Long> lastSweptTs;
 
         private MetricsForStrategy(MetricsManager manager, String strategy, Function<Long, Long> tsToMillis,
@@ -132,6 +142,8 @@ public class TargetedSweepMetrics {
             tombstonesPut = registerAccumulating(AtlasDbMetricNames.TOMBSTONES_PUT, tag);
             abortedWritesDeleted = registerAccumulating(AtlasDbMetricNames.ABORTED_WRITES_DELETED, tag);
             sweepTimestamp = register(AtlasDbMetricNames.SWEEP_TS, new CurrentValueMetric<>(), tag);
+            batchSize = register(AtlasDbMetricNames.BATCH_SIZE, new CurrentValueMetric<>(), tag);
+            sweepDelay = register(AtlasDbMetricNames.SWEEP_DELAY, new CurrentValueMetric<>(), tag);
 
             AggregatingVersionedSupplier<Long> lastSweptTsSupplier = new AggregatingVersionedSupplier<>(
                     TargetedSweepMetrics::minimum, recomputeMillis);
@@ -190,6 +202,14 @@ public class TargetedSweepMetrics {
             sweepTimestamp.setValue(value);
         }
 
+        private void updateBatchSize(long value) {
+            batchSize.setValue(value);
+        }
+
+        private void updateSweepDelay(long value) {
+            sweepDelay.setValue(value);
+        }
+
         private void updateProgressForShard(int shard, long sweptTs) {
             lastSweptTs.update(shard, sweptTs);
         }
@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Live reloadable configuration of the feedback controller that paces background targeted sweep.
+ */
+@Value.Immutable
+public abstract class AdaptiveSweepConfig {
+    /**
+     * If true, the batch size and the pause between iterations of each shard are adjusted according to how long the
+     * previous batches of the shard took, whether they failed, and whether the shard is still behind its sweep
+     * timestamp. If false, every iteration reads a full batch and iterations are a fixed five seconds apart.
+     */
+    @Value.Default
+    public boolean enabled() {
+        return false;
+    }
+
+    /**
+     * Duration that a single batch should take. Batches that take longer cause the batch size to shrink and the pause
+     * before the next iteration to grow.
+     */
+    @Value.Default
+    public long targetBatchMillis() {
+        return 5_000L;
+    }
+
+    /**
+     * Upper bound on the number of cells deleted per second by background targeted sweep, across all shards and
+     * threads. Zero means that deletes are not rate limited. This limit applies even if {@link #enabled()} is false.
+     */
+    @Value.Default
+    public double maxCellDeletesPerSecond() {
+        return 0.0;
+    }
+
+    @Value.Check
+    void check() {
+        Preconditions.checkArgument(targetBatchMillis() > 0,
+                "Target batch duration must be positive, but it is %s.", targetBatchMillis());
+        Preconditions.checkArgument(maxCellDeletesPerSecond() >= 0,
+                "Maximum cell deletes per second must be non-negative, but it is %s.", maxCellDeletesPerSecond());
+    }
+
+    public static AdaptiveSweepConfig defaultConfig() {
+        return ImmutableAdaptiveSweepConfig.builder().build();
+    }
+}
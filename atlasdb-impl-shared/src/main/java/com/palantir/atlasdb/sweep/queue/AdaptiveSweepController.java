@@ -0,0 +1,194 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.RateLimiter;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
+
+/**
+ * Paces background targeted sweep. For each shard and strategy, decides how many writes the next batch reads from the
+ * sweep queue, and how long the background thread pauses before the next iteration. While a shard is behind its
+ * sweep timestamp, batches that are fast relative to {@link AdaptiveSweepConfig#targetBatchMillis()} double the batch
+ * size and halve the pause, and batches that are slow halve the batch size and double the pause. Failed batches
+ * also halve the batch size, and back off to at least twice the default pause. Once a shard has caught up,
+ * iterations go back to the default pause.
+ *
+ * The pause applies to the shard that was swept: a shard is not due to be swept again until its pause has passed, and
+ * background threads pause until the earliest shard of their strategy is due.
+ *
+ * Deletes are also charged to a budget shared by all shards, as configured by
+ * {@link AdaptiveSweepConfig#maxCellDeletesPerSecond()}. Since the number of deletes is only known once a batch has
+ * been read, they are charged after the fact, and an exhausted budget delays the next iteration of any thread.
+ */
+final class AdaptiveSweepController {
+    static final int MIN_BATCH_SIZE = SweepQueueUtils.BATCH_SIZE_KVS;
+    static final int MAX_BATCH_SIZE = SweepQueueUtils.SWEEP_BATCH_SIZE;
+    static final long DEFAULT_PAUSE_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    static final long MIN_PAUSE_MILLIS = 100L;
+    static final long MAX_PAUSE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Pacing INITIAL_PACING = new Pacing(MAX_BATCH_SIZE, DEFAULT_PAUSE_MILLIS);
+
+    private final Supplier<AdaptiveSweepConfig> config;
+    private final TargetedSweepMetrics metrics;
+    private final Ticker ticker;
+    private final ConcurrentMap<ShardAndStrategy, Pacing> pacings = Maps.newConcurrentMap();
+    private final ConcurrentMap<ShardAndStrategy, Long> nextDueNanos = Maps.newConcurrentMap();
+    private final RateLimiter deleteBudget = RateLimiter.create(1.0);
+
+    AdaptiveSweepController(Supplier<AdaptiveSweepConfig> config, TargetedSweepMetrics metrics) {
+        this(config, metrics, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    AdaptiveSweepController(Supplier<AdaptiveSweepConfig> config, TargetedSweepMetrics metrics, Ticker ticker) {
+        this.config = config;
+        this.metrics = metrics;
+        this.ticker = ticker;
+    }
+
+    int getBatchSize(ShardAndStrategy shardStrategy) {
+        if (!config.get().enabled()) {
+            return MAX_BATCH_SIZE;
+        }
+        return pacings.getOrDefault(shardStrategy, INITIAL_PACING).batchSize;
+    }
+
+    long getPauseMillis(ShardAndStrategy shardStrategy) {
+        if (!config.get().enabled()) {
+            return DEFAULT_PAUSE_MILLIS;
+        }
+        return pacings.getOrDefault(shardStrategy, INITIAL_PACING).pauseMillis;
+    }
+
+    /**
+     * Returns true if the pause after the last batch swept for the shard and strategy has passed.
+     */
+    boolean isDue(ShardAndStrategy shardStrategy) {
+        return !config.get().enabled() || getMillisUntilDue(shardStrategy) == 0;
+    }
+
+    /**
+     * Returns how long a background thread sweeping the given strategy should pause before its next iteration: until
+     * the earliest of the given number of shards is due, but at most the default pause.
+     */
+    long getPauseMillis(SweepStrategy sweepStrategy, int numShards) {
+        if (!config.get().enabled()) {
+            return DEFAULT_PAUSE_MILLIS;
+        }
+        long millisUntilDue = IntStream.range(0, numShards)
+                .mapToLong(shard -> getMillisUntilDue(ShardAndStrategy.of(shard, sweepStrategy)))
+                .min()
+                .orElse(DEFAULT_PAUSE_MILLIS);
+        return Longs.constrainToRange(millisUntilDue, MIN_PAUSE_MILLIS, DEFAULT_PAUSE_MILLIS);
+    }
+
+    private long getMillisUntilDue(ShardAndStrategy shardStrategy) {
+        Long dueNanos = nextDueNanos.get(shardStrategy);
+        if (dueNanos == null) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(dueNanos - ticker.read()));
+    }
+
+    /**
+     * Records a batch that was swept successfully.
+     *
+     * @param shardStrategy shard and strategy that was swept
+     * @param hasBacklog true if the shard has not yet been swept up to the sweep timestamp
+     * @param durationMillis time taken to read and delete the batch
+     */
+    void recordSuccess(ShardAndStrategy shardStrategy, boolean hasBacklog, long durationMillis) {
+        AdaptiveSweepConfig currentConfig = config.get();
+        if (!currentConfig.enabled()) {
+            return;
+        }
+        long targetMillis = currentConfig.targetBatchMillis();
+        update(shardStrategy, pacing -> {
+            if (!hasBacklog) {
+                return new Pacing(pacing.batchSize, DEFAULT_PAUSE_MILLIS);
+            } else if (durationMillis > targetMillis) {
+                return pacing.slowDown();
+            } else if (durationMillis <= targetMillis / 2) {
+                return pacing.speedUp();
+            }
+            return pacing;
+        });
+    }
+
+    void recordFailure(ShardAndStrategy shardStrategy) {
+        if (config.get().enabled()) {
+            update(shardStrategy, Pacing::backOff);
+        }
+    }
+
+    /**
+     * Charges the given deletes to the shared budget, blocking until the budget allows them. Callers should not hold
+     * any sweep locks, since this can block for a while.
+     */
+    void chargeDeletes(int cellsDeleted) {
+        double maxDeletesPerSecond = config.get().maxCellDeletesPerSecond();
+        if (maxDeletesPerSecond <= 0 || cellsDeleted <= 0) {
+            return;
+        }
+        if (deleteBudget.getRate() != maxDeletesPerSecond) {
+            deleteBudget.setRate(maxDeletesPerSecond);
+        }
+        deleteBudget.acquire(cellsDeleted);
+    }
+
+    private void update(ShardAndStrategy shardStrategy, UnaryOperator<Pacing> adjustment) {
+        Pacing pacing = pacings.compute(shardStrategy,
+                (unused, current) -> adjustment.apply(current == null ? INITIAL_PACING : current));
+        nextDueNanos.put(shardStrategy, ticker.read() + TimeUnit.MILLISECONDS.toNanos(pacing.pauseMillis));
+        metrics.updateBatchSize(shardStrategy, pacing.batchSize);
+        metrics.updateSweepDelay(shardStrategy, pacing.pauseMillis);
+    }
+
+    private static final class Pacing {
+        private final int batchSize;
+        private final long pauseMillis;
+
+        private Pacing(int batchSize, long pauseMillis) {
+            this.batchSize = Ints.constrainToRange(batchSize, MIN_BATCH_SIZE, MAX_BATCH_SIZE);
+            this.pauseMillis = Longs.constrainToRange(pauseMillis, MIN_PAUSE_MILLIS, MAX_PAUSE_MILLIS);
+        }
+
+        private Pacing slowDown() {
+            return new Pacing(batchSize / 2, pauseMillis * 2);
+        }
+
+        private Pacing backOff() {
+            return new Pacing(batchSize / 2, Math.max(pauseMillis, DEFAULT_PAUSE_MILLIS) * 2);
+        }
+
+        private Pacing speedUp() {
+            return new Pacing(batchSize * 2, pauseMillis / 2);
+        }
+    }
+}
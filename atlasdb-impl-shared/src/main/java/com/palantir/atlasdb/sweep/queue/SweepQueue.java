@@ -16,6 +16,11 @@
 package com.palantir.atlasdb.sweep.queue;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -23,9 +28,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Suppliers;
+import com.google.common.collect.Maps;
 import com.palantir.atlasdb.internalschema.persistence.CoordinationServices;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.schema.TargetedSweepSchema;
+import com.palantir.atlasdb.sweep.CommitTsCache;
 import com.palantir.atlasdb.sweep.Sweeper;
 import com.palantir.atlasdb.sweep.metrics.SweepOutcome;
 import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
@@ -33,6 +40,9 @@ import com.palantir.atlasdb.sweep.queue.clear.DefaultTableClearer;
 import com.palantir.atlasdb.table.description.Schemas;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionServices;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.logsafe.SafeArg;
 
@@ -45,15 +55,21 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
     private final SweepQueueCleaner cleaner;
     private final Supplier<Integer> numShards;
     private final TargetedSweepMetrics metrics;
+    private final Optional<ExecutorService> readAheadExecutor;
+    private final ConcurrentMap<ShardAndStrategy, ReadAhead> readAheads = Maps.newConcurrentMap();
 
-    private SweepQueue(SweepQueueFactory factory, TargetedSweepFollower follower) {
+    private SweepQueue(SweepQueueFactory factory, TargetedSweepFollower follower, int deleteParallelism,
+            boolean readAhead) {
         this.progress = factory.progress;
         this.writer = factory.createWriter();
         this.reader = factory.createReader();
-        this.deleter = factory.createDeleter(follower);
+        this.deleter = factory.createDeleter(follower, deleteParallelism);
         this.cleaner = factory.createCleaner();
         this.numShards = factory.numShards;
         this.metrics = factory.metrics;
+        this.readAheadExecutor = readAhead
+                ? Optional.of(PTExecutors.newCachedThreadPool(new NamedThreadFactory("Targeted Sweep Reader", true)))
+                : Optional.empty();
     }
 
     public static SweepQueue create(
@@ -63,7 +79,31 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             Supplier<Integer> shardsConfig,
             TransactionService transaction,
             TargetedSweepFollower follower) {
-        return new SweepQueue(SweepQueueFactory.create(metrics, kvs, timelock, shardsConfig, transaction), follower);
+        return create(metrics, kvs, timelock, shardsConfig, follower, 1, false, CommitTsCache.create(transaction));
+    }
+
+    /**
+     * Creates a sweep queue that can delete the writes of a batch concurrently, and read the next batch of a shard
+     * while deleting the current one.
+     *
+     * @param deleteParallelism maximum number of partitions of a batch that are deleted at the same time.
+     * @param readAhead if true, the next batch of a shard is read in the background while the current batch is being
+     * deleted, and is used by the following call to {@link #sweepNextBatch(ShardAndStrategy, long)} for that shard
+     * if progress has not changed in the meantime.
+     * @param commitTsCache cache used to resolve the commit timestamps of swept writes, which may be shared with other
+     * components of this node.
+     */
+    public static SweepQueue create(
+            TargetedSweepMetrics metrics,
+            KeyValueService kvs,
+            TimelockService timelock,
+            Supplier<Integer> shardsConfig,
+            TargetedSweepFollower follower,
+            int deleteParallelism,
+            boolean readAhead,
+            CommitTsCache commitTsCache) {
+        return new SweepQueue(SweepQueueFactory.create(metrics, kvs, timelock, shardsConfig, commitTsCache),
+                follower, deleteParallelism, readAhead);
     }
 
     /**
@@ -102,17 +142,28 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
     /**
      * Sweep the next batch for the shard and strategy specified by shardStrategy, with the sweep timestamp sweepTs.
      * After successful deletes, the persisted information about the writes is removed, and progress is updated
-     * accordingly.
+     * accordingly. Progress is never updated before the deletes of the batch have completed, even if the next batch
+     * is read ahead.
      *
      * @param shardStrategy shard and strategy to use
      * @param sweepTs sweep timestamp, the upper limit to the start timestamp of writes to sweep
      */
     public void sweepNextBatch(ShardAndStrategy shardStrategy, long sweepTs) {
+        sweepNextBatch(shardStrategy, sweepTs, SweepQueueUtils.SWEEP_BATCH_SIZE);
+    }
+
+    /**
+     * Sweeps the next batch as {@link #sweepNextBatch(ShardAndStrategy, long)}, reading at most approximately
+     * maxBatchSize writes from the sweep queue.
+     *
+     * @return the batch that was swept, or empty if the shard was already swept up to sweepTs
+     */
+    public Optional<SweepBatch> sweepNextBatch(ShardAndStrategy shardStrategy, long sweepTs, int maxBatchSize) {
         metrics.updateSweepTimestamp(shardStrategy, sweepTs);
         long lastSweptTs = progress.getLastSweptTimestamp(shardStrategy);
 
         if (lastSweptTs + 1 >= sweepTs) {
-            return;
+            return Optional.empty();
         }
 
         log.debug("Beginning iteration of targeted sweep for {}, and sweep timestamp {}. Last previously swept "
@@ -120,7 +171,9 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                 SafeArg.of("shardStrategy", shardStrategy.toText()),
                 SafeArg.of("sweepTs", sweepTs), SafeArg.of("lastSweptTs", lastSweptTs));
 
-        SweepBatch sweepBatch = reader.getNextBatchToSweep(shardStrategy, lastSweptTs, sweepTs);
+        SweepBatch sweepBatch = getNextBatchToSweep(shardStrategy, lastSweptTs, sweepTs, maxBatchSize);
+        readAheadExecutor.ifPresent(executor ->
+                readNextBatchAhead(executor, shardStrategy, sweepBatch.lastSweptTimestamp(), sweepTs, maxBatchSize));
 
         deleter.sweep(sweepBatch.writes(), Sweeper.of(shardStrategy));
 
@@ -141,6 +194,7 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         } else {
             metrics.registerOccurrenceOf(SweepOutcome.SUCCESS);
         }
+        return Optional.of(sweepBatch);
     }
 
     /**
@@ -150,6 +204,69 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         return numShards.get();
     }
 
+    private SweepBatch getNextBatchToSweep(ShardAndStrategy shardStrategy, long lastSweptTs, long sweepTs,
+            int maxBatchSize) {
+        ReadAhead readAhead = readAheads.remove(shardStrategy);
+        if (readAhead != null) {
+            Optional<SweepBatch> batch = readAhead.getBatchIfValid(shardStrategy, lastSweptTs, sweepTs);
+            if (batch.isPresent()) {
+                return batch.get();
+            }
+        }
+        return reader.getNextBatchToSweep(shardStrategy, lastSweptTs, sweepTs, maxBatchSize);
+    }
+
+    private void readNextBatchAhead(
+            ExecutorService executor,
+            ShardAndStrategy shardStrategy,
+            long lastSweptTs,
+            long sweepTs,
+            int maxBatchSize) {
+        if (lastSweptTs + 1 >= sweepTs) {
+            return;
+        }
+        Future<SweepBatch> batch = executor.submit(
+                () -> reader.getNextBatchToSweep(shardStrategy, lastSweptTs, sweepTs, maxBatchSize));
+        ReadAhead previous = readAheads.put(shardStrategy, new ReadAhead(lastSweptTs, sweepTs, batch));
+        if (previous != null) {
+            previous.batch.cancel(true);
+        }
+    }
+
+    /**
+     * A batch read ahead of time, starting after lastSweptTs and with sweep timestamp sweepTs. Since the sweep queue
+     * below a sweep timestamp does not change other than by sweeping it, the batch remains valid for as long as the
+     * progress of the shard is lastSweptTs, and for any sweep timestamp at least as large as sweepTs.
+     */
+    private static final class ReadAhead {
+        private final long lastSweptTs;
+        private final long sweepTs;
+        private final Future<SweepBatch> batch;
+
+        private ReadAhead(long lastSweptTs, long sweepTs, Future<SweepBatch> batch) {
+            this.lastSweptTs = lastSweptTs;
+            this.sweepTs = sweepTs;
+            this.batch = batch;
+        }
+
+        private Optional<SweepBatch> getBatchIfValid(ShardAndStrategy shardStrategy, long currentLastSweptTs,
+                long currentSweepTs) {
+            if (lastSweptTs != currentLastSweptTs || sweepTs > currentSweepTs) {
+                batch.cancel(true);
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(batch.get());
+            } catch (InterruptedException e) {
+                throw Throwables.rewrapAndThrowUncheckedException(e);
+            } catch (ExecutionException e) {
+                log.info("Failed to read ahead the next batch to sweep for {}; reading it again.",
+                        SafeArg.of("shardStrategy", shardStrategy.toText()), e.getCause());
+                return Optional.empty();
+            }
+        }
+    }
+
     private static final class SweepQueueFactory {
         private final ShardProgress progress;
         private final Supplier<Integer> numShards;
@@ -181,7 +298,7 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             // as transaction services must not hold any local state in them that would affect correctness.
             TransactionService transaction = TransactionServices.createTransactionService(kvs,
                     CoordinationServices.createDefault(kvs, timelock::getFreshTimestamp, false));
-            return create(metrics, kvs, timelock, shardsConfig, transaction);
+            return create(metrics, kvs, timelock, shardsConfig, CommitTsCache.create(transaction));
         }
 
         static SweepQueueFactory create(
@@ -189,13 +306,13 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                 KeyValueService kvs,
                 TimelockService timelock,
                 Supplier<Integer> shardsConfig,
-                TransactionService transaction) {
+                CommitTsCache commitTsCache) {
             Schemas.createTablesAndIndexes(TargetedSweepSchema.INSTANCE.getLatestSchema(), kvs);
             ShardProgress shardProgress = new ShardProgress(kvs);
             Supplier<Integer> shards = createProgressUpdatingSupplier(shardsConfig, shardProgress,
                     SweepQueueUtils.REFRESH_TIME);
             WriteInfoPartitioner partitioner = new WriteInfoPartitioner(kvs, shards);
-            SweepableCells cells = new SweepableCells(kvs, partitioner, metrics, transaction);
+            SweepableCells cells = new SweepableCells(kvs, partitioner, metrics, commitTsCache);
             SweepableTimestamps timestamps = new SweepableTimestamps(kvs, partitioner);
             return new SweepQueueFactory(shardProgress, shards, cells, timestamps, metrics, kvs, timelock);
         }
@@ -208,8 +325,14 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             return new SweepQueueReader(timestamps, cells);
         }
 
-        private SweepQueueDeleter createDeleter(TargetedSweepFollower follower) {
-            return new SweepQueueDeleter(kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp));
+        private SweepQueueDeleter createDeleter(TargetedSweepFollower follower, int deleteParallelism) {
+            DefaultTableClearer filter = new DefaultTableClearer(kvs, timelock::getImmutableTimestamp);
+            if (deleteParallelism <= 1) {
+                return new SweepQueueDeleter(kvs, follower, filter);
+            }
+            return new SweepQueueDeleter(kvs, follower, filter,
+                    PTExecutors.newCachedThreadPool(new NamedThreadFactory("Targeted Sweep Deleter", true)),
+                    deleteParallelism);
         }
 
         private SweepQueueCleaner createCleaner() {
@@ -17,7 +17,14 @@ package com.palantir.atlasdb.sweep.queue;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -25,12 +32,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.sweep.Sweeper;
+import com.palantir.common.base.Throwables;
 
 public class SweepQueueDeleter {
     private static final Logger log = LoggerFactory.getLogger(SweepQueueDeleter.class);
@@ -38,17 +49,31 @@ public class SweepQueueDeleter {
     private final KeyValueService kvs;
     private final TargetedSweepFollower follower;
     private final TargetedSweepFilter filter;
+    private final ExecutorService executor;
+    private final int parallelism;
 
     SweepQueueDeleter(KeyValueService kvs, TargetedSweepFollower follower,
             TargetedSweepFilter filter) {
+        this(kvs, follower, filter, MoreExecutors.newDirectExecutorService(), 1);
+    }
+
+    /**
+     * @param executor executor on which partitions of a batch are deleted, if parallelism is greater than 1.
+     * @param parallelism maximum number of partitions of {@link SweepQueueUtils#BATCH_SIZE_KVS} cells that are
+     * deleted at the same time for a single call to {@link #sweep(Collection, Sweeper)}.
+     */
+    SweepQueueDeleter(KeyValueService kvs, TargetedSweepFollower follower,
+            TargetedSweepFilter filter, ExecutorService executor, int parallelism) {
         this.kvs = kvs;
         this.follower = follower;
         this.filter = filter;
+        this.executor = executor;
+        this.parallelism = parallelism;
     }
 
     /**
      * Executes targeted sweep, by inserting ranged tombstones corresponding to the given writes, using the sweep
-     * strategy determined by the sweeper.
+     * strategy determined by the sweeper. Returns once all the writes have been swept.
      *
      * @param unfilteredWrites individual writes to sweep for. Depending on the strategy, we will insert a ranged
      * tombstone for each write at either the write's timestamp - 1, or at its timestamp.
@@ -58,28 +83,89 @@ public class SweepQueueDeleter {
     public void sweep(Collection<WriteInfo> unfilteredWrites, Sweeper sweeper) {
         Collection<WriteInfo> writes = filter.filter(unfilteredWrites);
         Map<TableReference, Map<Cell, Long>> maxTimestampByCell = writesPerTable(writes, sweeper);
+        if (parallelism > 1) {
+            sweepConcurrently(maxTimestampByCell, sweeper);
+            return;
+        }
         for (Map.Entry<TableReference, Map<Cell, Long>> entry : maxTimestampByCell.entrySet()) {
             try {
                 Iterables.partition(entry.getValue().keySet(), SweepQueueUtils.BATCH_SIZE_KVS)
-                        .forEach(cells -> {
-                            Map<Cell, Long> maxTimestampByCellPartition = cells.stream()
-                                    .collect(Collectors.toMap(Function.identity(), entry.getValue()::get));
-                            follower.run(entry.getKey(), maxTimestampByCellPartition.keySet());
-                            if (sweeper.shouldAddSentinels()) {
-                                kvs.addGarbageCollectionSentinelValues(entry.getKey(),
-                                        maxTimestampByCellPartition.keySet());
-                                kvs.deleteAllTimestamps(entry.getKey(), maxTimestampByCellPartition, false);
-                            } else {
-                                kvs.deleteAllTimestamps(entry.getKey(), maxTimestampByCellPartition, true);
-                            }
-                        });
+                        .forEach(cells -> sweepPartition(entry.getKey(), entry.getValue(), cells, sweeper));
             } catch (Exception e) {
-                if (tableWasDropped(entry.getKey())) {
-                    log.info("The table {} has been deleted.", LoggingArgs.tableRef(entry.getKey()), e);
-                } else {
-                    throw e;
-                }
+                handleFailure(entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the partitions of all tables from up to parallelism tasks on the executor, each of which deletes one
+     * partition after another until none are left. Once a partition of a table fails, the remaining partitions of that
+     * table are skipped, as when deleting serially.
+     */
+    private void sweepConcurrently(Map<TableReference, Map<Cell, Long>> maxTimestampByCell, Sweeper sweeper) {
+        Queue<Runnable> partitions = new ConcurrentLinkedQueue<>();
+        ConcurrentMap<TableReference, Exception> failures = Maps.newConcurrentMap();
+        for (Map.Entry<TableReference, Map<Cell, Long>> entry : maxTimestampByCell.entrySet()) {
+            TableReference table = entry.getKey();
+            for (List<Cell> cells : Iterables.partition(entry.getValue().keySet(), SweepQueueUtils.BATCH_SIZE_KVS)) {
+                partitions.add(() -> {
+                    if (failures.containsKey(table)) {
+                        return;
+                    }
+                    try {
+                        sweepPartition(table, entry.getValue(), cells, sweeper);
+                    } catch (Exception e) {
+                        failures.putIfAbsent(table, e);
+                    }
+                });
+            }
+        }
+
+        int numTasks = Math.min(parallelism, partitions.size());
+        List<Future<?>> tasks = Lists.newArrayListWithCapacity(numTasks);
+        try {
+            for (int i = 0; i < numTasks; i++) {
+                tasks.add(executor.submit(() -> {
+                    Runnable partition;
+                    while ((partition = partitions.poll()) != null) {
+                        partition.run();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.throwUncheckedException(e.getCause());
+        } finally {
+            partitions.clear();
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        failures.forEach(this::handleFailure);
+    }
+
+    private void sweepPartition(TableReference table, Map<Cell, Long> maxTimestampByCellForTable, List<Cell> cells,
+            Sweeper sweeper) {
+        Map<Cell, Long> maxTimestampByCellPartition = cells.stream()
+                .collect(Collectors.toMap(Function.identity(), maxTimestampByCellForTable::get));
+        follower.run(table, maxTimestampByCellPartition.keySet());
+        if (sweeper.shouldAddSentinels()) {
+            kvs.addGarbageCollectionSentinelValues(table, maxTimestampByCellPartition.keySet());
+            kvs.deleteAllTimestamps(table, maxTimestampByCellPartition, false);
+        } else {
+            kvs.deleteAllTimestamps(table, maxTimestampByCellPartition, true);
+        }
+    }
+
+    private void handleFailure(TableReference table, Exception exception) {
+        if (tableWasDropped(table)) {
+            log.info("The table {} has been deleted.", LoggingArgs.tableRef(table), exception);
+        } else {
+            throw Throwables.throwUncheckedException(exception);
         }
     }
 
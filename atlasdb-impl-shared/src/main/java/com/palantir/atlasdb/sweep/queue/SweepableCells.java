@@ -76,8 +76,16 @@ public class SweepableCells extends SweepQueueTable {
             WriteInfoPartitioner partitioner,
             TargetedSweepMetrics metrics,
             TransactionService transactionService) {
+        this(kvs, partitioner, metrics, CommitTsCache.create(transactionService));
+    }
+
+    public SweepableCells(
+            KeyValueService kvs,
+            WriteInfoPartitioner partitioner,
+            TargetedSweepMetrics metrics,
+            CommitTsCache commitTsCache) {
         super(kvs, TargetedSweepTableFactory.of().getSweepableCellsTable(null).getTableRef(), partitioner, metrics);
-        this.commitTsCache = CommitTsCache.create(transactionService);
+        this.commitTsCache = commitTsCache;
         this.writeReferencePersister = new WriteReferencePersister(new SweepTableIndices(kvs));
     }
 
@@ -158,10 +166,16 @@ public class SweepableCells extends SweepQueueTable {
 
     SweepBatch getBatchForPartition(ShardAndStrategy shardStrategy, long partitionFine, long minTsExclusive,
             long sweepTs) {
+        return getBatchForPartition(shardStrategy, partitionFine, minTsExclusive, sweepTs,
+                SweepQueueUtils.SWEEP_BATCH_SIZE);
+    }
+
+    SweepBatch getBatchForPartition(ShardAndStrategy shardStrategy, long partitionFine, long minTsExclusive,
+            long sweepTs, int maxBatchSize) {
         SweepableCellsRow row = computeRow(partitionFine, shardStrategy);
         RowColumnRangeIterator resultIterator = getRowColumnRange(row, partitionFine, minTsExclusive, sweepTs);
         PeekingIterator<Map.Entry<Cell, Value>> peekingResultIterator = Iterators.peekingIterator(resultIterator);
-        WriteBatch writeBatch = getBatchOfWrites(row, peekingResultIterator, sweepTs);
+        WriteBatch writeBatch = getBatchOfWrites(row, peekingResultIterator, sweepTs, maxBatchSize);
         Multimap<Long, WriteInfo> writesByStartTs = writeBatch.writesByStartTs;
         maybeMetrics.ifPresent(metrics -> metrics.updateEntriesRead(shardStrategy, writesByStartTs.size()));
         log.debug("Read {} entries from the sweep queue.", SafeArg.of("number", writesByStartTs.size()));
@@ -185,9 +199,9 @@ public class SweepableCells extends SweepQueueTable {
     }
 
     private WriteBatch getBatchOfWrites(SweepableCellsRow row,
-            PeekingIterator<Map.Entry<Cell, Value>> resultIterator, long sweepTs) {
+            PeekingIterator<Map.Entry<Cell, Value>> resultIterator, long sweepTs, int maxBatchSize) {
         WriteBatch writeBatch = new WriteBatch();
-        while (resultIterator.hasNext() && writeBatch.writesByStartTs.size() < SweepQueueUtils.SWEEP_BATCH_SIZE) {
+        while (resultIterator.hasNext() && writeBatch.writesByStartTs.size() < maxBatchSize) {
             Map.Entry<Cell, Value> entry = resultIterator.next();
             SweepableCellsTable.SweepableCellsColumn col = computeColumn(entry);
             long startTs = getTimestamp(row, col);
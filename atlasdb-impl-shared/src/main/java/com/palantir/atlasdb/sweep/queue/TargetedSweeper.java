@@ -29,12 +29,14 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.Follower;
 import com.palantir.atlasdb.internalschema.persistence.CoordinationServices;
 import com.palantir.atlasdb.keyvalue.api.InsufficientConsistencyException;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.sweep.BackgroundSweeper;
+import com.palantir.atlasdb.sweep.CommitTsCache;
 import com.palantir.atlasdb.sweep.Sweeper;
 import com.palantir.atlasdb.sweep.metrics.SweepOutcome;
 import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
@@ -56,9 +58,14 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     private final Supplier<Integer> shardsConfig;
     private final List<Follower> followers;
     private final MetricsManager metricsManager;
+    private final int deleteParallelism;
+    private final boolean readAhead;
+    private final Supplier<AdaptiveSweepConfig> adaptiveConfig;
+    private final Optional<TimestampCache> commitTimestampCache;
 
     private TargetedSweepMetrics metrics;
     private SweepQueue queue;
+    private AdaptiveSweepController controller;
     private SpecialTimestampsSupplier timestampsSupplier;
     private TimelockService timeLock;
     private BackgroundSweepScheduler conservativeScheduler;
@@ -67,7 +74,9 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     private volatile boolean isInitialized = false;
 
     private TargetedSweeper(MetricsManager metricsManager, Supplier<Boolean> runSweep, Supplier<Integer> shardsConfig,
-            int conservativeThreads, int thoroughThreads, List<Follower> followers) {
+            int conservativeThreads, int thoroughThreads, int deleteParallelism, boolean readAhead,
+            Supplier<AdaptiveSweepConfig> adaptiveConfig, Optional<TimestampCache> commitTimestampCache,
+            List<Follower> followers) {
         this.metricsManager = metricsManager;
         this.runSweep = runSweep;
         this.shardsConfig = shardsConfig;
@@ -76,6 +85,10 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         this.thoroughScheduler = new BackgroundSweepScheduler(thoroughThreads,
                 TableMetadataPersistence.SweepStrategy.THOROUGH);
         this.followers = followers;
+        this.deleteParallelism = deleteParallelism;
+        this.readAhead = readAhead;
+        this.adaptiveConfig = adaptiveConfig;
+        this.commitTimestampCache = commitTimestampCache;
     }
 
     /**
@@ -94,7 +107,40 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
      */
     public static TargetedSweeper createUninitialized(MetricsManager metrics, Supplier<Boolean> enabled,
             Supplier<Integer> shardsConfig, int conservativeThreads, int thoroughThreads, List<Follower> followers) {
-        return new TargetedSweeper(metrics, enabled, shardsConfig, conservativeThreads, thoroughThreads, followers);
+        return createUninitialized(metrics, enabled, shardsConfig, conservativeThreads, thoroughThreads, 1, false,
+                followers);
+    }
+
+    /**
+     * Creates a targeted sweeper as {@link #createUninitialized(MetricsManager, Supplier, Supplier, int, int, List)},
+     * that additionally pipelines the work of each background thread.
+     *
+     * @param deleteParallelism maximum number of partitions of a batch that each thread deletes at the same time.
+     * @param readAhead if true, each thread reads the next batch of its shard while deleting the current one.
+     */
+    public static TargetedSweeper createUninitialized(MetricsManager metrics, Supplier<Boolean> enabled,
+            Supplier<Integer> shardsConfig, int conservativeThreads, int thoroughThreads, int deleteParallelism,
+            boolean readAhead, List<Follower> followers) {
+        return new TargetedSweeper(metrics, enabled, shardsConfig, conservativeThreads, thoroughThreads,
+                deleteParallelism, readAhead, AdaptiveSweepConfig::defaultConfig, Optional.empty(), followers);
+    }
+
+    /**
+     * Creates a targeted sweeper as {@link #createUninitialized(MetricsManager, Supplier, Supplier, int, int, int,
+     * boolean, List)}, whose background threads are paced according to the given configuration, and which resolves
+     * commit timestamps through the given shared cache.
+     *
+     * @param adaptiveConfig live reloadable config controlling the batch size and the pause between iterations of
+     * background targeted sweep, and the maximum rate of cell deletes.
+     * @param commitTimestampCache cache of commit timestamps shared with the other components of this node that
+     * resolve commit timestamps, such as transactions.
+     */
+    public static TargetedSweeper createUninitialized(MetricsManager metrics, Supplier<Boolean> enabled,
+            Supplier<Integer> shardsConfig, int conservativeThreads, int thoroughThreads, int deleteParallelism,
+            boolean readAhead, Supplier<AdaptiveSweepConfig> adaptiveConfig, TimestampCache commitTimestampCache,
+            List<Follower> followers) {
+        return new TargetedSweeper(metrics, enabled, shardsConfig, conservativeThreads, thoroughThreads,
+                deleteParallelism, readAhead, adaptiveConfig, Optional.of(commitTimestampCache), followers);
     }
 
     @VisibleForTesting
@@ -146,7 +192,12 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         Preconditions.checkState(kvs.isInitialized(),
                 "Attempted to initialize targeted sweeper with an uninitialized backing KVS.");
         metrics = TargetedSweepMetrics.create(metricsManager, timelockService, kvs, SweepQueueUtils.REFRESH_TIME);
-        queue = SweepQueue.create(metrics, kvs, timelockService, shardsConfig, transaction, follower);
+        CommitTsCache commitTsCache = commitTimestampCache
+                .map(cache -> CommitTsCache.create(transaction, cache))
+                .orElseGet(() -> CommitTsCache.create(transaction));
+        queue = SweepQueue.create(metrics, kvs, timelockService, shardsConfig, follower, deleteParallelism, readAhead,
+                commitTsCache);
+        controller = new AdaptiveSweepController(adaptiveConfig, metrics);
         timestampsSupplier = timestamps;
         timeLock = timelockService;
         isInitialized = true;
@@ -174,13 +225,33 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     @SuppressWarnings("checkstyle:RegexpMultiline") // Suppress VisibleForTesting warning
     @VisibleForTesting
     public void sweepNextBatch(ShardAndStrategy shardStrategy) {
+        controller.chargeDeletes(sweepNextBatchAndGetCellsDeleted(shardStrategy));
+    }
+
+    /**
+     * Like {@link #sweepNextBatch}, but leaves charging the deleted cells to the delete budget to the caller, so that
+     * it can be done after releasing the lock for the shard and strategy.
+     */
+    private int sweepNextBatchAndGetCellsDeleted(ShardAndStrategy shardStrategy) {
         assertInitialized();
         if (!runSweep.get()) {
             metrics.registerOccurrenceOf(SweepOutcome.DISABLED);
-            return;
+            return 0;
         }
         long maxTsExclusive = Sweeper.of(shardStrategy).getSweepTimestamp(timestampsSupplier);
-        queue.sweepNextBatch(shardStrategy, maxTsExclusive);
+        long startMillis = System.currentTimeMillis();
+        Optional<SweepBatch> sweptBatch;
+        try {
+            sweptBatch = queue.sweepNextBatch(shardStrategy, maxTsExclusive, controller.getBatchSize(shardStrategy));
+        } catch (RuntimeException e) {
+            controller.recordFailure(shardStrategy);
+            throw e;
+        }
+        long durationMillis = System.currentTimeMillis() - startMillis;
+        int cellsDeleted = sweptBatch.map(batch -> batch.writes().size()).orElse(0);
+        boolean hasBacklog = sweptBatch.map(batch -> batch.lastSweptTimestamp() + 1 < maxTsExclusive).orElse(false);
+        controller.recordSuccess(shardStrategy, hasBacklog, durationMillis);
+        return cellsDeleted;
     }
 
     @Override
@@ -217,16 +288,29 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                 executorService = PTExecutors
                         .newScheduledThreadPoolExecutor(numThreads, new NamedThreadFactory("Targeted Sweep", true));
                 for (int i = 0; i < numThreads; i++) {
-                    executorService.scheduleWithFixedDelay(this::runOneIteration, 1, 5, TimeUnit.SECONDS);
+                    executorService.schedule(this::runOneIterationAndReschedule, 1, TimeUnit.SECONDS);
                 }
             }
         }
 
-        private void runOneIteration() {
+        private void runOneIterationAndReschedule() {
+            long pauseMillis = runOneIteration();
+            if (!executorService.isShutdown()) {
+                executorService.schedule(this::runOneIterationAndReschedule, pauseMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Returns the number of milliseconds to pause before the next iteration.
+         */
+        private long runOneIteration() {
             Optional<TargetedSweeperLock> maybeLock = Optional.empty();
+            int cellsDeleted = 0;
             try {
                 maybeLock = tryToAcquireLockForNextShardAndStrategy();
-                maybeLock.ifPresent(lock -> sweepNextBatch(lock.getShardAndStrategy()));
+                if (maybeLock.isPresent()) {
+                    cellsDeleted = sweepNextBatchAndGetCellsDeleted(maybeLock.get().getShardAndStrategy());
+                }
             } catch (InsufficientConsistencyException e) {
                 metrics.registerOccurrenceOf(SweepOutcome.NOT_ENOUGH_DB_NODES_ONLINE);
                 logException(e, maybeLock);
@@ -240,11 +324,23 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                     logUnlockException(th, maybeLock);
                 }
             }
+            try {
+                controller.chargeDeletes(cellsDeleted);
+                return controller.getPauseMillis(sweepStrategy, queue.getNumShards());
+            } catch (Throwable th) {
+                log.warn("Failed to pace targeted sweep for sweep strategy {}.",
+                        SafeArg.of("sweepStrategy", sweepStrategy), th);
+                return AdaptiveSweepController.DEFAULT_PAUSE_MILLIS;
+            }
         }
 
+        /**
+         * Tries to lock the shards that are due to be swept, in round robin order, until one is locked.
+         */
         private Optional<TargetedSweeperLock> tryToAcquireLockForNextShardAndStrategy() {
             return IntStream.range(0, queue.getNumShards())
                     .map(ignore -> getShardAndIncrement())
+                    .filter(shard -> controller.isDue(ShardAndStrategy.of(shard, sweepStrategy)))
                     .mapToObj(shard -> TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock))
                     .filter(Optional::isPresent)
                     .map(Optional::get)
@@ -19,6 +19,7 @@ import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.AtlasDbConstants;
 
 @JsonDeserialize(as = ImmutableTransactionConfig.class)
@@ -35,4 +36,59 @@ public abstract class TransactionConfig {
     public int getThresholdForLoggingLargeNumberOfTransactionLookups() {
         return AtlasDbConstants.THRESHOLD_FOR_LOGGING_LARGE_NUMBER_OF_TRANSACTION_LOOKUPS;
     }
+
+    /**
+     * If true, commit stages that do not depend on each other (for example conflict checking and writing to the
+     * targeted sweep queue) are run concurrently rather than one after another. The ordering constraints that the
+     * transaction protocol relies on for correctness are preserved in both modes.
+     */
+    @Value.Default
+    public boolean isCommitPipeliningEnabled() {
+        return false;
+    }
+
+    /**
+     * If true and commit pipelining is enabled, the user pre-commit condition is evaluated on a separate thread,
+     * concurrently with the final lock check. Pre-commit conditions that depend on state of the committing thread
+     * (such as thread locals) must leave this disabled, in which case they run on the committing thread.
+     */
+    @Value.Default
+    public boolean isPreCommitConditionPipeliningEnabled() {
+        return false;
+    }
+
+    /**
+     * Maximum number of cells held by the cache of committed values shared between transactions. Only tables whose
+     * metadata allows caching across transactions are cached; the metadata is read when a table is first used and
+     * re-read periodically. The cache is not created at all if this is not positive.
+     */
+    @Value.Default
+    public long getCommittedValueCacheSize() {
+        return AtlasDbConstants.DEFAULT_COMMITTED_VALUE_CACHE_SIZE;
+    }
+
+    /**
+     * Maximum number of threads shared by all transactions for the blocking parts of {@code getAsync} and
+     * {@code getRowsAsync}, such as looking up commit timestamps. Async reads beyond this queue until a thread is free.
+     */
+    @Value.Default
+    public int getAsyncReadThreadPoolSize() {
+        return AtlasDbConstants.DEFAULT_ASYNC_READ_THREAD_POOL_SIZE;
+    }
+
+    /**
+     * If true, serializable transactions remember a SHA-256 digest of each value they read that is at least as
+     * long as the digest, rather than the value itself, and compare digests when checking for read-write conflicts
+     * at commit. This bounds the memory held per value read, at the cost of hashing values on read and at commit.
+     */
+    @Value.Default
+    public boolean isSerializableReadDigestsEnabled() {
+        return false;
+    }
+
+    @Value.Check
+    void check() {
+        Preconditions.checkArgument(getAsyncReadThreadPoolSize() > 0,
+                "Async read thread pool size must be positive, but it is %s.", getAsyncReadThreadPoolSize());
+    }
 }
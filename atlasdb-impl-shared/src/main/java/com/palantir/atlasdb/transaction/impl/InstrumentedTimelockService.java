@@ -27,6 +27,8 @@ import com.palantir.lock.v2.LockRequest;
 import com.palantir.lock.v2.LockResponse;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.v2.StartAtlasDbTransactionResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
 import com.palantir.lock.v2.TimelockService;
@@ -77,6 +79,12 @@ public class InstrumentedTimelockService implements TimelockService {
         return executeWithRecord(() -> timelockService.startIdentifiedAtlasDbTransaction(request));
     }
 
+    @Override
+    public StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request) {
+        return executeWithRecord(() -> timelockService.startIdentifiedAtlasDbTransactionBatch(request));
+    }
+
     @Override
     public long getImmutableTimestamp() {
         return executeWithRecord(() -> timelockService.getImmutableTimestamp());
@@ -87,6 +95,11 @@ public class InstrumentedTimelockService implements TimelockService {
         return executeWithRecord(() -> timelockService.lock(request));
     }
 
+    @Override
+    public LockResponse lockWithSharedLocks(LockRequest request) {
+        return executeWithRecord(() -> timelockService.lockWithSharedLocks(request));
+    }
+
     @Override
     public WaitForLocksResponse waitForLocks(WaitForLocksRequest request) {
         return executeWithRecord(() -> timelockService.waitForLocks(request));
@@ -52,7 +52,14 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.cache.CommittedValueCache;
+import com.palantir.atlasdb.cache.NoOpCommittedValueCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.cleaner.api.Cleaner;
@@ -102,6 +109,8 @@ public class SerializableTransaction extends SnapshotTransaction {
     private static final Logger log = LoggerFactory.getLogger(SerializableTransaction.class);
 
     private static final int BATCH_SIZE = 1000;
+    private static final HashFunction READ_DIGEST_FUNCTION = Hashing.sha256();
+    private static final int READ_DIGEST_LENGTH = READ_DIGEST_FUNCTION.bits() / Byte.SIZE;
 
     final ConcurrentMap<TableReference, ConcurrentNavigableMap<Cell, byte[]>> readsByTable = Maps.newConcurrentMap();
     final ConcurrentMap<TableReference, ConcurrentMap<RangeRequest, byte[]>> rangeEndByTable = Maps.newConcurrentMap();
@@ -109,6 +118,7 @@ public class SerializableTransaction extends SnapshotTransaction {
             columnRangeEndsByTable = Maps.newConcurrentMap();
     final ConcurrentMap<TableReference, Set<Cell>> cellsRead = Maps.newConcurrentMap();
     final ConcurrentMap<TableReference, Set<RowRead>> rowsRead = Maps.newConcurrentMap();
+    private final boolean recordReadDigests;
 
     public SerializableTransaction(MetricsManager metricsManager,
                                    KeyValueService keyValueService,
@@ -126,6 +136,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                                    TransactionReadSentinelBehavior readSentinelBehavior,
                                    boolean allowHiddenTableAccess,
                                    TimestampCache timestampCache,
+                                   CommittedValueCache committedValueCache,
                                    ExecutorService getRangesExecutor,
                                    int defaultGetRangesConcurrency,
                                    MultiTableSweepQueueWriter sweepQueue,
@@ -149,6 +160,7 @@ public class SerializableTransaction extends SnapshotTransaction {
               readSentinelBehavior,
               allowHiddenTableAccess,
               timestampCache,
+              committedValueCache,
               getRangesExecutor,
               defaultGetRangesConcurrency,
               sweepQueue,
@@ -156,6 +168,7 @@ public class SerializableTransaction extends SnapshotTransaction {
               commitProfileProcessor,
               validateLocksOnReads,
               transactionConfig);
+        this.recordReadDigests = transactionConfig.get().isSerializableReadDigestsEnabled();
     }
 
     @Override
@@ -215,6 +228,24 @@ public class SerializableTransaction extends SnapshotTransaction {
         return ret;
     }
 
+    @Override
+    protected ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> getRowsAsyncInternal(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        return Futures.transform(super.getRowsAsyncInternal(tableRef, rows, columnSelection), ret -> {
+            markRowsRead(tableRef, rows, columnSelection, ret.values());
+            return ret;
+        }, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    protected ListenableFuture<Map<Cell, byte[]>> getAsyncInternal(TableReference tableRef, Set<Cell> cells) {
+        return Futures.transform(super.getAsyncInternal(tableRef, cells), ret -> {
+            markCellsRead(tableRef, cells, ret);
+            return ret;
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     @Idempotent
     public BatchingVisitable<RowResult<byte[]>> getRange(TableReference tableRef, RangeRequest rangeRequest) {
@@ -318,11 +349,30 @@ public class SerializableTransaction extends SnapshotTransaction {
         return map;
     }
 
+    /**
+     * Returns the form in which values read are remembered, and compared at commit. If read digests are enabled,
+     * values at least as long as a digest are replaced by their digest. Shorter values are kept as they are; since
+     * they are shorter than any digest, they cannot be mistaken for one.
+     */
+    private byte[] toRecordedValue(byte[] value) {
+        if (!recordReadDigests || value.length < READ_DIGEST_LENGTH) {
+            return value;
+        }
+        return READ_DIGEST_FUNCTION.hashBytes(value).asBytes();
+    }
+
+    private Map<Cell, byte[]> toRecordedValues(Map<Cell, byte[]> values) {
+        if (!recordReadDigests) {
+            return values;
+        }
+        return ImmutableMap.copyOf(Maps.transformValues(values, this::toRecordedValue));
+    }
+
     private void markCellsRead(TableReference table, Set<Cell> searched, Map<Cell, byte[]> result) {
         if (!isSerializableTable(table)) {
             return;
         }
-        getReadsForTable(table).putAll(transformGetsForTesting(result));
+        getReadsForTable(table).putAll(toRecordedValues(transformGetsForTesting(result)));
         Set<Cell> cellsForTable = cellsRead.computeIfAbsent(table, unused -> Sets.newConcurrentHashSet());
         cellsForTable.addAll(searched);
     }
@@ -335,7 +385,7 @@ public class SerializableTransaction extends SnapshotTransaction {
         for (RowResult<byte[]> row : result) {
             Map<Cell, byte[]> map = Maps2.fromEntries(row.getCells());
             map = transformGetsForTesting(map);
-            reads.putAll(map);
+            reads.putAll(toRecordedValues(map));
         }
         setRangeEnd(table, range, Iterables.getLast(result).getRowName());
     }
@@ -350,7 +400,7 @@ public class SerializableTransaction extends SnapshotTransaction {
         }
         ConcurrentNavigableMap<Cell, byte[]> reads = getReadsForTable(table);
         Map<Cell, byte[]> map = Maps2.fromEntries(result);
-        reads.putAll(transformGetsForTesting(map));
+        reads.putAll(toRecordedValues(transformGetsForTesting(map)));
         setColumnRangeEnd(table, row, range, Iterables.getLast(result).getKey().getColumnName());
     }
 
@@ -375,7 +425,7 @@ public class SerializableTransaction extends SnapshotTransaction {
         ConcurrentNavigableMap<Cell, byte[]> reads = getReadsForTable(table);
         for (RowResult<byte[]> row : result) {
             Map<Cell, byte[]> map = Maps2.fromEntries(row.getCells());
-            reads.putAll(transformGetsForTesting(map));
+            reads.putAll(toRecordedValues(transformGetsForTesting(map)));
         }
 
         Set<RowRead> rowReads = rowsRead.computeIfAbsent(table, unused -> Sets.newConcurrentHashSet());
@@ -468,7 +518,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                     handleTransactionConflict(table);
                 }
 
-                Map<Cell, byte[]> currentCells = Maps2.fromEntries(currentRow.getCells());
+                Map<Cell, byte[]> currentCells = toRecordedValues(Maps2.fromEntries(currentRow.getCells()));
                 if (writesByTable.get(table) != null) {
                     // We don't want to verify any reads that we wrote to cause
                     // we will just read our own values.
@@ -513,7 +563,8 @@ public class SerializableTransaction extends SnapshotTransaction {
                         ? Iterables.filter(batch, Predicates.not(Predicates.in(writesByTable.get(table).keySet())))
                         : batch;
                 ImmutableSet<Cell> batchWithoutWritesSet = ImmutableSet.copyOf(batchWithoutWrites);
-                Map<Cell, byte[]> currentBatch = readOnlyTransaction.get(table, batchWithoutWritesSet);
+                Map<Cell, byte[]> currentBatch = toRecordedValues(
+                        readOnlyTransaction.get(table, batchWithoutWritesSet));
                 ImmutableMap<Cell, byte[]> originalReads = Maps.toMap(
                         Sets.intersection(batchWithoutWritesSet, readsForTable.keySet()),
                         Functions.forMap(readsForTable));
@@ -639,7 +690,7 @@ public class SerializableTransaction extends SnapshotTransaction {
         return filterWritesFromCells(cells, writesByTable.get(table));
     }
 
-    private static List<Entry<Cell, ByteBuffer>> filterWritesFromCells(
+    private List<Entry<Cell, ByteBuffer>> filterWritesFromCells(
             Iterable<Entry<Cell, byte[]>> cells,
             @Nullable Map<Cell, byte[]> writes) {
         List<Entry<Cell, ByteBuffer>> cellsWithoutWrites = Lists.newArrayList();
@@ -647,7 +698,8 @@ public class SerializableTransaction extends SnapshotTransaction {
             // NB: We filter our write set out here because our normal SI
             // checking handles this case to ensure the value hasn't changed.
             if (writes == null || !writes.containsKey(cell.getKey())) {
-                cellsWithoutWrites.add(Maps.immutableEntry(cell.getKey(), ByteBuffer.wrap(cell.getValue())));
+                cellsWithoutWrites.add(
+                        Maps.immutableEntry(cell.getKey(), ByteBuffer.wrap(toRecordedValue(cell.getValue()))));
             }
         }
         return cellsWithoutWrites;
@@ -703,6 +755,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                 getReadSentinelBehavior(),
                 allowHiddenTableAccess,
                 timestampValidationReadCache,
+                NoOpCommittedValueCache.INSTANCE,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
@@ -22,6 +22,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Supplier;
+import com.palantir.atlasdb.cache.NoOpCommittedValueCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
@@ -96,6 +97,7 @@ public class ShouldNotDeleteAndRollbackTransaction extends SnapshotTransaction {
                 readSentinelBehavior,
                 allowHiddenTableAccess,
                 timestampCache,
+                NoOpCommittedValueCache.INSTANCE,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
@@ -26,10 +26,16 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -73,9 +79,14 @@ import com.google.common.collect.Ordering;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbMetricNames;
 import com.palantir.atlasdb.AtlasDbPerformanceConstants;
+import com.palantir.atlasdb.cache.CommittedValueCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.api.Cleaner;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -127,9 +138,12 @@ import com.palantir.common.base.BatchingVisitables;
 import com.palantir.common.base.ClosableIterator;
 import com.palantir.common.base.ClosableIterators;
 import com.palantir.common.base.ForwardingClosableIterator;
+import com.palantir.common.base.Throwables;
 import com.palantir.common.collect.IterableUtils;
 import com.palantir.common.collect.IteratorUtils;
 import com.palantir.common.collect.MapEntries;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.streams.MoreStreams;
 import com.palantir.lock.AtlasCellLockDescriptor;
 import com.palantir.lock.AtlasRowLockDescriptor;
@@ -167,6 +181,33 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
     private static final int BATCH_SIZE_GET_FIRST_PAGE = 1000;
 
+    // Bounded so that many transactions committing at once cannot create an unbounded number of threads. Once it is
+    // saturated, pipelined stages run on the committing thread instead, as they would without pipelining.
+    private static final int MAX_COMMIT_PIPELINE_THREADS = 64;
+    private static final ExecutorService COMMIT_PIPELINE_EXECUTOR = PTExecutors.newThreadPoolExecutor(
+            0,
+            MAX_COMMIT_PIPELINE_THREADS,
+            1,
+            TimeUnit.MINUTES,
+            new SynchronousQueue<>(),
+            new NamedThreadFactory("atlas-commit-pipeline", true /* daemon */),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    // Bounded so that a burst of async reads cannot create an unbounded number of threads. Work beyond the pool size
+    // queues until a thread is free; the size follows TransactionConfig#getAsyncReadThreadPoolSize.
+    private static final ThreadPoolExecutor ASYNC_READ_POOL = PTExecutors.newThreadPoolExecutor(
+            AtlasDbConstants.DEFAULT_ASYNC_READ_THREAD_POOL_SIZE,
+            AtlasDbConstants.DEFAULT_ASYNC_READ_THREAD_POOL_SIZE,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory("atlas-async-read", true /* daemon */));
+    private static final ListeningExecutorService ASYNC_READ_EXECUTOR =
+            MoreExecutors.listeningDecorator(ASYNC_READ_POOL);
+
+    static {
+        ASYNC_READ_POOL.allowCoreThreadTimeOut(true);
+    }
+
     private enum State {
         UNCOMMITTED,
         COMMITTED,
@@ -203,12 +244,14 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
     private final AtomicReference<State> state = new AtomicReference<>(State.UNCOMMITTED);
     private final AtomicLong numWriters = new AtomicLong();
+    private final Set<ListenableFuture<?>> pendingAsyncReads = ConcurrentHashMap.newKeySet();
     protected final SweepStrategyManager sweepStrategyManager;
     protected final Long transactionReadTimeoutMillis;
     private final TransactionReadSentinelBehavior readSentinelBehavior;
     private volatile long commitTsForScrubbing = TransactionConstants.FAILED_COMMIT_TS;
     protected final boolean allowHiddenTableAccess;
     protected final TimestampCache timestampValidationReadCache;
+    protected final CommittedValueCache committedValueCache;
     protected final ExecutorService getRangesExecutor;
     protected final int defaultGetRangesConcurrency;
     private final Set<TableReference> involvedTables = Sets.newConcurrentHashSet();
@@ -243,6 +286,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             TransactionReadSentinelBehavior readSentinelBehavior,
             boolean allowHiddenTableAccess,
             TimestampCache timestampValidationReadCache,
+            CommittedValueCache committedValueCache,
             ExecutorService getRangesExecutor,
             int defaultGetRangesConcurrency,
             MultiTableSweepQueueWriter sweepQueue,
@@ -267,6 +311,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.readSentinelBehavior = readSentinelBehavior;
         this.allowHiddenTableAccess = allowHiddenTableAccess;
         this.timestampValidationReadCache = timestampValidationReadCache;
+        this.committedValueCache = committedValueCache;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
         this.sweepQueue = sweepQueue;
@@ -337,6 +382,52 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         return results;
     }
 
+    @Override
+    public final ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> getRowsAsync(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        return trackAsyncRead(() -> getRowsAsyncInternal(tableRef, rows, columnSelection));
+    }
+
+    protected ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> getRowsAsyncInternal(TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        Timer.Context timer = getTimer("getRowsAsync").time();
+        checkGetPreconditions(tableRef);
+        if (Iterables.isEmpty(rows)) {
+            return Futures.immediateFuture(AbstractTransaction.EMPTY_SORTED_ROWS);
+        }
+        hasReads = true;
+        ImmutableMap.Builder<Cell, byte[]> result = ImmutableSortedMap.naturalOrder();
+        SortedMap<Cell, byte[]> writes = writesByTable.get(tableRef);
+        if (writes != null) {
+            for (byte[] row : rows) {
+                extractLocalWritesForRow(result, writes, row, columnSelection);
+            }
+        }
+        Set<Cell> locallyWritten = result.build().keySet();
+
+        ListenableFuture<Map<Cell, Value>> rawResultsFuture =
+                keyValueService.getRowsAsync(tableRef, rows, columnSelection, getStartTimestamp());
+        return Futures.transformAsync(rawResultsFuture, kvsResults -> {
+            Map<Cell, Value> rawResults = Maps.newHashMap(kvsResults);
+            // We don't need to do work postFiltering if we have a write locally.
+            rawResults.keySet().removeAll(locallyWritten);
+            return Futures.transform(getWithPostFilteringAsync(tableRef, rawResults, result, Value.GET_VALUE),
+                    unused -> {
+                        SortedMap<byte[], RowResult<byte[]>> results = toRowResults(result);
+                        long getRowsMillis = TimeUnit.NANOSECONDS.toMillis(timer.stop());
+                        if (perfLogger.isDebugEnabled()) {
+                            perfLogger.debug("getRowsAsync({}, {} rows) found {} rows, took {} ms",
+                                    tableRef, Iterables.size(rows), results.size(), getRowsMillis);
+                        }
+                        validatePreCommitRequirementsOnReadIfNecessary(tableRef, getStartTimestamp());
+                        return results;
+                    },
+                    asyncReadExecutor());
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> getRowsColumnRange(
             TableReference tableRef,
@@ -516,6 +607,10 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                                                                   Map<Cell, Value> rawResults,
                                                                   ImmutableMap.Builder<Cell, byte[]> result) {
         getWithPostFiltering(tableRef, rawResults, result, Value.GET_VALUE);
+        return toRowResults(result);
+    }
+
+    private static SortedMap<byte[], RowResult<byte[]>> toRowResults(ImmutableMap.Builder<Cell, byte[]> result) {
         Map<Cell, byte[]> filterDeletedValues = Maps.filterValues(result.build(), Predicates.not(Value.IS_EMPTY));
         return RowResults.viewOfSortedMap(Cells.breakCellsUpByRow(filterDeletedValues));
     }
@@ -554,15 +649,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
         hasReads = true;
 
-        Map<Cell, byte[]> result = Maps.newHashMap();
-        SortedMap<Cell, byte[]> writes = writesByTable.get(tableRef);
-        if (writes != null) {
-            for (Cell cell : cells) {
-                if (writes.containsKey(cell)) {
-                    result.put(cell, writes.get(cell));
-                }
-            }
-        }
+        Map<Cell, byte[]> result = getLocalWritesForCells(tableRef, cells);
 
         // We don't need to read any cells that were written locally.
         result.putAll(getFromKeyValueService(tableRef, Sets.difference(cells, result.keySet())));
@@ -576,6 +663,94 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         return Maps.filterValues(result, Predicates.not(Value.IS_EMPTY));
     }
 
+    @Override
+    public final ListenableFuture<Map<Cell, byte[]>> getAsync(TableReference tableRef, Set<Cell> cells) {
+        return trackAsyncRead(() -> getAsyncInternal(tableRef, cells));
+    }
+
+    protected ListenableFuture<Map<Cell, byte[]>> getAsyncInternal(TableReference tableRef, Set<Cell> cells) {
+        Timer.Context timer = getTimer("getAsync").time();
+        checkGetPreconditions(tableRef);
+        if (Iterables.isEmpty(cells)) {
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+        hasReads = true;
+
+        Map<Cell, byte[]> result = getLocalWritesForCells(tableRef, cells);
+
+        // We don't need to read any cells that were written locally.
+        Set<Cell> cellsToRead = ImmutableSet.copyOf(Sets.difference(cells, result.keySet()));
+        return Futures.transform(getFromKeyValueServiceAsync(tableRef, cellsToRead), fromKeyValueService -> {
+            result.putAll(fromKeyValueService);
+
+            long getMillis = TimeUnit.NANOSECONDS.toMillis(timer.stop());
+            if (perfLogger.isDebugEnabled()) {
+                perfLogger.debug("getAsync({}, {} cells) found {} cells (some possibly deleted), took {} ms",
+                        tableRef, cells.size(), result.size(), getMillis);
+            }
+            validatePreCommitRequirementsOnReadIfNecessary(tableRef, getStartTimestamp());
+            return Maps.filterValues(result, Predicates.not(Value.IS_EMPTY));
+        }, asyncReadExecutor());
+    }
+
+    /**
+     * Registers an async read so that commit waits for it. Async reads may only be started before commit; a read
+     * that races with commit starting is cancelled, so that commit never checks conflicts while a read is still
+     * recording what it has read.
+     */
+    private <T> ListenableFuture<T> trackAsyncRead(Supplier<ListenableFuture<T>> read) {
+        ensureUncommitted();
+        ListenableFuture<T> future = read.get();
+        pendingAsyncReads.add(future);
+        future.addListener(() -> pendingAsyncReads.remove(future), MoreExecutors.directExecutor());
+        if (!isUncommitted()) {
+            future.cancel(true);
+            throw new CommittedTransactionException();
+        }
+        return future;
+    }
+
+    private void waitForPendingAsyncReads() {
+        try {
+            // Failed reads are reported to whoever started them; here we only need them to have finished.
+            Futures.successfulAsList(ImmutableList.copyOf(pendingAsyncReads)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.throwUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+
+    private ListeningExecutorService asyncReadExecutor() {
+        int poolSize = transactionConfig.get().getAsyncReadThreadPoolSize();
+        if (ASYNC_READ_POOL.getMaximumPoolSize() != poolSize) {
+            synchronized (ASYNC_READ_POOL) {
+                if (poolSize > ASYNC_READ_POOL.getMaximumPoolSize()) {
+                    ASYNC_READ_POOL.setMaximumPoolSize(poolSize);
+                    ASYNC_READ_POOL.setCorePoolSize(poolSize);
+                } else {
+                    ASYNC_READ_POOL.setCorePoolSize(poolSize);
+                    ASYNC_READ_POOL.setMaximumPoolSize(poolSize);
+                }
+            }
+        }
+        return ASYNC_READ_EXECUTOR;
+    }
+
+    private Map<Cell, byte[]> getLocalWritesForCells(TableReference tableRef, Set<Cell> cells) {
+        Map<Cell, byte[]> result = Maps.newHashMap();
+        SortedMap<Cell, byte[]> writes = writesByTable.get(tableRef);
+        if (writes != null) {
+            for (Cell cell : cells) {
+                if (writes.containsKey(cell)) {
+                    result.put(cell, writes.get(cell));
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public Map<Cell, byte[]> getIgnoringLocalWrites(TableReference tableRef, Set<Cell> cells) {
         checkGetPreconditions(tableRef);
@@ -597,12 +772,39 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
      */
     private Map<Cell, byte[]> getFromKeyValueService(TableReference tableRef, Set<Cell> cells) {
         ImmutableMap.Builder<Cell, byte[]> result = ImmutableMap.builderWithExpectedSize(cells.size());
-        Map<Cell, Long> toRead = Cells.constantValueMap(cells, getStartTimestamp());
+        Map<Cell, byte[]> cachedValues = committedValueCache.getVisibleValues(tableRef, cells, getStartTimestamp());
+        result.putAll(cachedValues);
+        Set<Cell> cellsToRead = Sets.difference(cells, cachedValues.keySet());
+        if (cellsToRead.isEmpty()) {
+            return result.build();
+        }
+        Map<Cell, Long> toRead = Cells.constantValueMap(cellsToRead, getStartTimestamp());
         Map<Cell, Value> rawResults = keyValueService.get(tableRef, toRead);
         getWithPostFiltering(tableRef, rawResults, result, Value.GET_VALUE);
         return result.build();
     }
 
+    /**
+     * Asynchronous version of {@link #getFromKeyValueService}.
+     */
+    private ListenableFuture<Map<Cell, byte[]>> getFromKeyValueServiceAsync(TableReference tableRef, Set<Cell> cells) {
+        ImmutableMap.Builder<Cell, byte[]> result = ImmutableMap.builderWithExpectedSize(cells.size());
+        Map<Cell, byte[]> cachedValues = committedValueCache.getVisibleValues(tableRef, cells, getStartTimestamp());
+        result.putAll(cachedValues);
+        Set<Cell> cellsToRead = Sets.difference(cells, cachedValues.keySet());
+        if (cellsToRead.isEmpty()) {
+            return Futures.immediateFuture(result.build());
+        }
+        Map<Cell, Long> toRead = Cells.constantValueMap(cellsToRead, getStartTimestamp());
+        return Futures.transformAsync(
+                keyValueService.getAsync(tableRef, toRead),
+                rawResults -> Futures.transform(
+                        getWithPostFilteringAsync(tableRef, rawResults, result, Value.GET_VALUE),
+                        unused -> result.build(),
+                        MoreExecutors.directExecutor()),
+                MoreExecutors.directExecutor());
+    }
+
     private static byte[] getNextStartRowName(
             RangeRequest range,
             TokenBackedBasicResultsPage<RowResult<Value>, byte[]> prePostFilter) {
@@ -1021,6 +1223,64 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                                           Map<Cell, Value> rawResults,
                                           @Output ImmutableMap.Builder<Cell, T> results,
                                           Function<Value, T> transformer) {
+        recordRawResultsRead(tableRef, rawResults);
+
+        if (AtlasDbConstants.HIDDEN_TABLES.contains(tableRef)) {
+            putHiddenTableResults(rawResults, results, transformer);
+            return;
+        }
+
+        Map<Cell, Value> remainingResultsToPostfilter = rawResults;
+        AtomicInteger resultCount = new AtomicInteger();
+        while (!remainingResultsToPostfilter.isEmpty()) {
+            remainingResultsToPostfilter = getWithPostFilteringInternal(
+                    tableRef, remainingResultsToPostfilter, results, resultCount, transformer);
+        }
+
+        getMeter(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_RETURNED, tableRef).mark(resultCount.get());
+    }
+
+    /**
+     * Asynchronous version of {@link #getWithPostFiltering}. The results builder is only written to by one thread at
+     * a time, and is complete once the returned future completes.
+     */
+    private <T> ListenableFuture<?> getWithPostFilteringAsync(TableReference tableRef,
+                                                              Map<Cell, Value> rawResults,
+                                                              @Output ImmutableMap.Builder<Cell, T> results,
+                                                              Function<Value, T> transformer) {
+        recordRawResultsRead(tableRef, rawResults);
+
+        if (AtlasDbConstants.HIDDEN_TABLES.contains(tableRef)) {
+            putHiddenTableResults(rawResults, results, transformer);
+            return Futures.immediateFuture(null);
+        }
+
+        AtomicInteger resultCount = new AtomicInteger();
+        return Futures.transform(
+                postFilterRemainingResultsAsync(tableRef, rawResults, results, resultCount, transformer),
+                unused -> {
+                    getMeter(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_RETURNED, tableRef)
+                            .mark(resultCount.get());
+                    return null;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    private <T> ListenableFuture<Void> postFilterRemainingResultsAsync(TableReference tableRef,
+            Map<Cell, Value> remainingResultsToPostfilter,
+            @Output ImmutableMap.Builder<Cell, T> results,
+            @Output AtomicInteger count,
+            Function<Value, T> transformer) {
+        if (remainingResultsToPostfilter.isEmpty()) {
+            return Futures.immediateFuture(null);
+        }
+        return Futures.transformAsync(
+                getWithPostFilteringInternalAsync(tableRef, remainingResultsToPostfilter, results, count, transformer),
+                nextResults -> postFilterRemainingResultsAsync(tableRef, nextResults, results, count, transformer),
+                MoreExecutors.directExecutor());
+    }
+
+    private void recordRawResultsRead(TableReference tableRef, Map<Cell, Value> rawResults) {
         long bytes = 0;
         for (Map.Entry<Cell, Value> e : rawResults.entrySet()) {
             bytes += e.getValue().getContents().length + Cells.getApproxSizeOfCell(e.getKey());
@@ -1040,26 +1300,18 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
 
         getMeter(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_READ, tableRef).mark(rawResults.size());
+    }
 
-        if (AtlasDbConstants.HIDDEN_TABLES.contains(tableRef)) {
-            Preconditions.checkState(allowHiddenTableAccess, "hidden tables cannot be read in this transaction");
-            // hidden tables are used outside of the transaction protocol, and in general have invalid timestamps,
-            // so do not apply post-filtering as post-filtering would rollback (actually delete) the data incorrectly
-            // this case is hit when reading a hidden table from console
-            for (Map.Entry<Cell, Value> e : rawResults.entrySet()) {
-                results.put(e.getKey(), transformer.apply(e.getValue()));
-            }
-            return;
-        }
-
-        Map<Cell, Value> remainingResultsToPostfilter = rawResults;
-        AtomicInteger resultCount = new AtomicInteger();
-        while (!remainingResultsToPostfilter.isEmpty()) {
-            remainingResultsToPostfilter = getWithPostFilteringInternal(
-                    tableRef, remainingResultsToPostfilter, results, resultCount, transformer);
+    private <T> void putHiddenTableResults(Map<Cell, Value> rawResults,
+                                           @Output ImmutableMap.Builder<Cell, T> results,
+                                           Function<Value, T> transformer) {
+        Preconditions.checkState(allowHiddenTableAccess, "hidden tables cannot be read in this transaction");
+        // hidden tables are used outside of the transaction protocol, and in general have invalid timestamps,
+        // so do not apply post-filtering as post-filtering would rollback (actually delete) the data incorrectly
+        // this case is hit when reading a hidden table from console
+        for (Map.Entry<Cell, Value> e : rawResults.entrySet()) {
+            results.put(e.getKey(), transformer.apply(e.getValue()));
         }
-
-        getMeter(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_RETURNED, tableRef).mark(resultCount.get());
     }
 
     /**
@@ -1093,10 +1345,80 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             Function<Value, T> transformer) {
         Set<Long> startTimestampsForValues = getStartTimestampsForValues(rawResults.values());
         Map<Long, Long> commitTimestamps = getCommitTimestamps(tableRef, startTimestampsForValues, true);
-        Map<Cell, Long> keysToReload = Maps.newHashMapWithExpectedSize(0);
         Map<Cell, Long> keysToDelete = Maps.newHashMapWithExpectedSize(0);
         ImmutableSet.Builder<Cell> keysAddedBuilder = ImmutableSet.builder();
+        Map<Cell, Long> keysToReload = collectVisibleResults(
+                tableRef, rawResults, commitTimestamps, results, keysAddedBuilder, keysToDelete, transformer);
+        Set<Cell> keysAddedToResults = keysAddedBuilder.build();
+        count.addAndGet(keysAddedToResults.size());
+
+        if (!keysToDelete.isEmpty()) {
+            // if we can't roll back the failed transactions, we should just try again
+            if (!rollbackFailedTransactions(tableRef, keysToDelete, commitTimestamps, defaultTransactionService)) {
+                return getRemainingResults(rawResults, keysAddedToResults);
+            }
+        }
+
+        if (!keysToReload.isEmpty()) {
+            Map<Cell, Value> nextRawResults = keyValueService.get(tableRef, keysToReload);
+            validatePreCommitRequirementsOnReadIfNecessary(tableRef, getStartTimestamp());
+            return getRemainingResults(nextRawResults, keysAddedToResults);
+        } else {
+            return ImmutableMap.of();
+        }
+    }
 
+    /**
+     * Asynchronous version of {@link #getWithPostFilteringInternal}. Commit timestamps that are not cached are looked
+     * up, and cells that have to be reloaded are read, without blocking the calling thread.
+     */
+    private <T> ListenableFuture<Map<Cell, Value>> getWithPostFilteringInternalAsync(TableReference tableRef,
+            Map<Cell, Value> rawResults,
+            @Output ImmutableMap.Builder<Cell, T> results,
+            @Output AtomicInteger count,
+            Function<Value, T> transformer) {
+        Set<Long> startTimestampsForValues = getStartTimestampsForValues(rawResults.values());
+        ListenableFuture<Map<Long, Long>> commitTimestampsFuture =
+                getCommitTimestampsAsync(tableRef, startTimestampsForValues);
+        return Futures.transformAsync(commitTimestampsFuture, commitTimestamps -> {
+            Map<Cell, Long> keysToDelete = Maps.newHashMapWithExpectedSize(0);
+            ImmutableSet.Builder<Cell> keysAddedBuilder = ImmutableSet.builder();
+            Map<Cell, Long> keysToReload = collectVisibleResults(
+                    tableRef, rawResults, commitTimestamps, results, keysAddedBuilder, keysToDelete, transformer);
+            Set<Cell> keysAddedToResults = keysAddedBuilder.build();
+            count.addAndGet(keysAddedToResults.size());
+
+            if (!keysToDelete.isEmpty()) {
+                // if we can't roll back the failed transactions, we should just try again
+                if (!rollbackFailedTransactions(tableRef, keysToDelete, commitTimestamps, defaultTransactionService)) {
+                    return Futures.immediateFuture(getRemainingResults(rawResults, keysAddedToResults));
+                }
+            }
+
+            if (!keysToReload.isEmpty()) {
+                return Futures.transform(keyValueService.getAsync(tableRef, keysToReload), nextRawResults -> {
+                    validatePreCommitRequirementsOnReadIfNecessary(tableRef, getStartTimestamp());
+                    return getRemainingResults(nextRawResults, keysAddedToResults);
+                }, asyncReadExecutor());
+            } else {
+                return Futures.immediateFuture(ImmutableMap.of());
+            }
+        }, asyncReadExecutor());
+    }
+
+    /**
+     * Outputs the values that are visible at our start timestamp to the results output param, and returns the keys
+     * that need to be reloaded at an earlier timestamp. Keys written by failed transactions that we should roll back
+     * are output to keysToDelete.
+     */
+    private <T> Map<Cell, Long> collectVisibleResults(TableReference tableRef,
+            Map<Cell, Value> rawResults,
+            Map<Long, Long> commitTimestamps,
+            @Output ImmutableMap.Builder<Cell, T> results,
+            @Output ImmutableSet.Builder<Cell> keysAddedBuilder,
+            @Output Map<Cell, Long> keysToDelete,
+            Function<Value, T> transformer) {
+        Map<Cell, Long> keysToReload = Maps.newHashMapWithExpectedSize(0);
         Set<Cell> orphanedSentinels = findOrphanedSweepSentinels(tableRef, rawResults);
         for (Map.Entry<Cell, Value> e : rawResults.entrySet()) {
             Cell key = e.getKey();
@@ -1145,27 +1467,12 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                     if (value.getContents().length != 0) {
                         results.put(key, transformer.apply(value));
                         keysAddedBuilder.add(key);
+                        committedValueCache.putCommittedValue(tableRef, key, value, theirCommitTimestamp);
                     }
                 }
             }
         }
-        Set<Cell> keysAddedToResults = keysAddedBuilder.build();
-        count.addAndGet(keysAddedToResults.size());
-
-        if (!keysToDelete.isEmpty()) {
-            // if we can't roll back the failed transactions, we should just try again
-            if (!rollbackFailedTransactions(tableRef, keysToDelete, commitTimestamps, defaultTransactionService)) {
-                return getRemainingResults(rawResults, keysAddedToResults);
-            }
-        }
-
-        if (!keysToReload.isEmpty()) {
-            Map<Cell, Value> nextRawResults = keyValueService.get(tableRef, keysToReload);
-            validatePreCommitRequirementsOnReadIfNecessary(tableRef, getStartTimestamp());
-            return getRemainingResults(nextRawResults, keysAddedToResults);
-        } else {
-            return ImmutableMap.of();
-        }
+        return keysToReload;
     }
 
     private Map<Cell, Value> getRemainingResults(Map<Cell, Value> rawResults, Set<Cell> keysAddedToResults) {
@@ -1311,6 +1618,10 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
         boolean success = false;
         try {
+            // Async reads started before commit record what they read as they complete, so they must all have
+            // completed before we check for conflicts.
+            waitForPendingAsyncReads();
+
             if (numWriters.get() > 0) {
                 // After we set state to committing we need to make sure no one is still writing.
                 throw new IllegalStateException("Cannot commit while other threads are still calling put.");
@@ -1381,74 +1692,20 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         LockToken commitLocksToken = acquireLocksForCommit();
         long microsForRowLocks = TimeUnit.NANOSECONDS.toMicros(acquireLocksTimer.stop());
         try {
-            // Conflict checking. We can actually do this later without compromising correctness, but there is
-            // no reason to postpone this check - we waste resources writing unnecessarily if these are going to fail.
-            long microsCheckingForConflicts = runAndReportTimeAndGetDurationMicros(
-                    () -> throwIfConflictOnCommit(commitLocksToken, transactionService),
-                    "commitCheckingForConflicts");
-
-            // Write to the targeted sweep queue. We must do this before writing to the key value service -
-            // otherwise we may have hanging values that targeted sweep won't know about.
-            long microsWritingToTargetedSweepQueue =
-                    runAndReportTimeAndGetDurationMicros(() -> sweepQueue.enqueue(writesByTable, getStartTimestamp()),
-                            "writingToSweepQueue");
-
-            // Write to the key value service. We must do this before getting the commit timestamp - otherwise
-            // we risk another transaction starting at a timestamp after our commit timestamp not seeing our writes.
-            long microsForWrites = runAndReportTimeAndGetDurationMicros(
-                    () -> keyValueService.multiPut(writesByTable, getStartTimestamp()), "commitWrite");
-
-            // Now that all writes are done, get the commit timestamp
-            // We must do this before we check that our locks are still valid to ensure that other transactions that
-            // will hold these locks are sure to have start timestamps after our commit timestamp.
-            Timer.Context commitTimestampTimer = getTimer("getCommitTimestamp").time();
-            long commitTimestamp = timelockService.getFreshTimestamp();
-            commitTsForScrubbing = commitTimestamp;
-            long microsForGetCommitTs = TimeUnit.NANOSECONDS.toMillis(commitTimestampTimer.stop());
-
-            // Punch on commit so that if hard delete is the only thing happening on a system,
-            // we won't block forever waiting for the unreadable timestamp to advance past the
-            // scrub timestamp (same as the hard delete transaction's start timestamp).
-            // May not need to be here specifically, but this is a very cheap operation - scheduling another thread
-            // might well cost more.
-            long microsForPunch = runAndReportTimeAndGetDurationMicros(
-                    () -> cleaner.punch(commitTimestamp),
-                    "microsForPunch");
-
-            // Serializable transactions need to check their reads haven't changed, by reading again at commitTs + 1.
-            // This must happen before the lock check for thorough tables, because the lock check verifies the
-            // immutable timestamp hasn't moved forward - thorough sweep might sweep a conflict out from underneath us.
-            long microsForReadWriteConflictCheck = runAndReportTimeAndGetDurationMicros(
-                    () -> throwIfReadWriteConflictForSerializable(commitTimestamp),
-                    "readWriteConflictCheck");
-
-            // Verify that our locks and pre-commit conditions are still valid before we actually commit;
-            // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness.
-            long microsForPreCommitLockCheck = runAndReportTimeAndGetDurationMicros(
-                    () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken), "preCommitLockCheck");
-            long microsForUserPreCommitCondition = runAndReportTimeAndGetDurationMicros(
-                    () -> throwIfPreCommitConditionInvalid(commitTimestamp), "userPreCommitCondition");
-
-            long microsForPutCommitTs = runAndReportTimeAndGetDurationMicros(
-                    () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService),
-                    "commitPutCommitTs");
+            ImmutableTransactionCommitProfile.Builder profileBuilder = ImmutableTransactionCommitProfile.builder()
+                    .startTimestamp(getTimestamp())
+                    .acquireRowLocksMicros(microsForRowLocks);
+            if (transactionConfig.get().isCommitPipeliningEnabled()) {
+                runPipelinedCommitStages(commitLocksToken, transactionService, profileBuilder);
+            } else {
+                runSerialCommitStages(commitLocksToken, transactionService, profileBuilder);
+            }
+            writesByTable.forEach((tableRef, writes) -> committedValueCache.invalidate(tableRef, writes.keySet()));
 
             long microsSinceCreation = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - timeCreated);
             getTimer("commitTotalTimeSinceTxCreation").update(microsSinceCreation, TimeUnit.MICROSECONDS);
             getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN).update(byteCount.get());
-            optionalProfile = Optional.of(ImmutableTransactionCommitProfile.builder()
-                    .startTimestamp(getTimestamp())
-                    .acquireRowLocksMicros(microsForRowLocks)
-                    .conflictCheckMicros(microsCheckingForConflicts)
-                    .writingToSweepQueueMicros(microsWritingToTargetedSweepQueue)
-                    .keyValueServiceWriteMicros(microsForWrites)
-                    .commitTimestampMicros(microsForGetCommitTs)
-                    .punchMicros(microsForPunch)
-                    .readWriteConflictCheckMicros(microsForReadWriteConflictCheck)
-                    .verifyPreCommitLockCheckMicros(microsForPreCommitLockCheck)
-                    .verifyUserPreCommitConditionMicros(microsForUserPreCommitCondition)
-                    .putCommitTimestampMicros(microsForPutCommitTs)
-                    .commitTimestamp(commitTimestamp)
+            optionalProfile = Optional.of(profileBuilder
                     .totalCommitStageMicros(TimeUnit.NANOSECONDS.toMicros(commitStageTimer.stop()))
                     .totalTimeSinceTransactionCreationMicros(microsSinceCreation)
                     .build());
@@ -1465,6 +1722,173 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
     }
 
+    private void runSerialCommitStages(
+            LockToken commitLocksToken,
+            TransactionService transactionService,
+            ImmutableTransactionCommitProfile.Builder profileBuilder) {
+        // Conflict checking. We can actually do this later without compromising correctness, but there is
+        // no reason to postpone this check - we waste resources writing unnecessarily if these are going to fail.
+        long microsCheckingForConflicts = runAndReportTimeAndGetDurationMicros(
+                () -> throwIfConflictOnCommit(commitLocksToken, transactionService),
+                "commitCheckingForConflicts");
+
+        // Write to the targeted sweep queue. We must do this before writing to the key value service -
+        // otherwise we may have hanging values that targeted sweep won't know about.
+        long microsWritingToTargetedSweepQueue =
+                runAndReportTimeAndGetDurationMicros(() -> sweepQueue.enqueue(writesByTable, getStartTimestamp()),
+                        "writingToSweepQueue");
+
+        // Write to the key value service. We must do this before getting the commit timestamp - otherwise
+        // we risk another transaction starting at a timestamp after our commit timestamp not seeing our writes.
+        long microsForWrites = runAndReportTimeAndGetDurationMicros(
+                () -> keyValueService.multiPut(writesByTable, getStartTimestamp()), "commitWrite");
+
+        // Now that all writes are done, get the commit timestamp
+        // We must do this before we check that our locks are still valid to ensure that other transactions that
+        // will hold these locks are sure to have start timestamps after our commit timestamp.
+        Timer.Context commitTimestampTimer = getTimer("getCommitTimestamp").time();
+        long commitTimestamp = timelockService.getFreshTimestamp();
+        commitTsForScrubbing = commitTimestamp;
+        long microsForGetCommitTs = TimeUnit.NANOSECONDS.toMillis(commitTimestampTimer.stop());
+
+        // Punch on commit so that if hard delete is the only thing happening on a system,
+        // we won't block forever waiting for the unreadable timestamp to advance past the
+        // scrub timestamp (same as the hard delete transaction's start timestamp).
+        // May not need to be here specifically, but this is a very cheap operation - scheduling another thread
+        // might well cost more.
+        long microsForPunch = runAndReportTimeAndGetDurationMicros(
+                () -> cleaner.punch(commitTimestamp),
+                "microsForPunch");
+
+        // Serializable transactions need to check their reads haven't changed, by reading again at commitTs + 1.
+        // This must happen before the lock check for thorough tables, because the lock check verifies the
+        // immutable timestamp hasn't moved forward - thorough sweep might sweep a conflict out from underneath us.
+        long microsForReadWriteConflictCheck = runAndReportTimeAndGetDurationMicros(
+                () -> throwIfReadWriteConflictForSerializable(commitTimestamp),
+                "readWriteConflictCheck");
+
+        // Verify that our locks and pre-commit conditions are still valid before we actually commit;
+        // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness.
+        long microsForPreCommitLockCheck = runAndReportTimeAndGetDurationMicros(
+                () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken), "preCommitLockCheck");
+        long microsForUserPreCommitCondition = runAndReportTimeAndGetDurationMicros(
+                () -> throwIfPreCommitConditionInvalid(commitTimestamp), "userPreCommitCondition");
+
+        long microsForPutCommitTs = runAndReportTimeAndGetDurationMicros(
+                () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService),
+                "commitPutCommitTs");
+
+        profileBuilder
+                .conflictCheckMicros(microsCheckingForConflicts)
+                .writingToSweepQueueMicros(microsWritingToTargetedSweepQueue)
+                .keyValueServiceWriteMicros(microsForWrites)
+                .commitTimestampMicros(microsForGetCommitTs)
+                .punchMicros(microsForPunch)
+                .readWriteConflictCheckMicros(microsForReadWriteConflictCheck)
+                .verifyPreCommitLockCheckMicros(microsForPreCommitLockCheck)
+                .verifyUserPreCommitConditionMicros(microsForUserPreCommitCondition)
+                .putCommitTimestampMicros(microsForPutCommitTs)
+                .commitTimestamp(commitTimestamp);
+    }
+
+    /**
+     * Runs the same commit stages as {@link #runSerialCommitStages}, but overlaps the stages that do not depend on
+     * each other. Each stage is still timed individually, so the resulting {@link TransactionCommitProfile} can be
+     * compared directly with the serial one.
+     * <p>
+     * Conflict checking may not overlap the key value service write (it reads the latest timestamps of the cells we
+     * are about to write, and would find our own uncommitted values), and the write must precede fetching the commit
+     * timestamp, which in turn must precede the lock check. What we can overlap is conflict checking with writing to
+     * the targeted sweep queue and, if {@link TransactionConfig#isPreCommitConditionPipeliningEnabled()}, the user
+     * pre-commit condition with punching, the serializable read-write conflict check and the lock check.
+     * <p>
+     * Unlike the serial mode, a transaction that fails its conflict check may already have written to the targeted
+     * sweep queue. This is intended: the serial mode may equally enqueue writes that never reach the key value
+     * service (if the write itself fails), and targeted sweep treats entries for transactions that never committed
+     * as having nothing to sweep.
+     */
+    private void runPipelinedCommitStages(
+            LockToken commitLocksToken,
+            TransactionService transactionService,
+            ImmutableTransactionCommitProfile.Builder profileBuilder) {
+        Future<Long> conflictCheck = COMMIT_PIPELINE_EXECUTOR.submit(() -> runAndReportTimeAndGetDurationMicros(
+                () -> throwIfConflictOnCommit(commitLocksToken, transactionService),
+                "commitCheckingForConflicts"));
+        long microsWritingToTargetedSweepQueue;
+        try {
+            microsWritingToTargetedSweepQueue = runAndReportTimeAndGetDurationMicros(
+                    () -> sweepQueue.enqueue(writesByTable, getStartTimestamp()), "writingToSweepQueue");
+        } catch (RuntimeException | Error e) {
+            conflictCheck.cancel(true);
+            throw e;
+        }
+        long microsCheckingForConflicts = getPipelinedStageResult(conflictCheck);
+
+        long microsForWrites = runAndReportTimeAndGetDurationMicros(
+                () -> keyValueService.multiPut(writesByTable, getStartTimestamp()), "commitWrite");
+
+        Timer.Context commitTimestampTimer = getTimer("getCommitTimestamp").time();
+        long commitTimestamp = timelockService.getFreshTimestamp();
+        commitTsForScrubbing = commitTimestamp;
+        long microsForGetCommitTs = TimeUnit.NANOSECONDS.toMillis(commitTimestampTimer.stop());
+
+        Optional<Future<Long>> userPreCommitCondition = Optional.empty();
+        if (transactionConfig.get().isPreCommitConditionPipeliningEnabled()) {
+            userPreCommitCondition = Optional.of(COMMIT_PIPELINE_EXECUTOR.submit(
+                    () -> runAndReportTimeAndGetDurationMicros(
+                            () -> throwIfPreCommitConditionInvalid(commitTimestamp), "userPreCommitCondition")));
+        }
+
+        long microsForPunch;
+        long microsForReadWriteConflictCheck;
+        long microsForPreCommitLockCheck;
+        try {
+            microsForPunch = runAndReportTimeAndGetDurationMicros(
+                    () -> cleaner.punch(commitTimestamp),
+                    "microsForPunch");
+            microsForReadWriteConflictCheck = runAndReportTimeAndGetDurationMicros(
+                    () -> throwIfReadWriteConflictForSerializable(commitTimestamp),
+                    "readWriteConflictCheck");
+            microsForPreCommitLockCheck = runAndReportTimeAndGetDurationMicros(
+                    () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken), "preCommitLockCheck");
+        } catch (RuntimeException | Error e) {
+            userPreCommitCondition.ifPresent(stage -> stage.cancel(true));
+            throw e;
+        }
+        long microsForUserPreCommitCondition = userPreCommitCondition.isPresent()
+                ? getPipelinedStageResult(userPreCommitCondition.get())
+                : runAndReportTimeAndGetDurationMicros(
+                        () -> throwIfPreCommitConditionInvalid(commitTimestamp), "userPreCommitCondition");
+
+        long microsForPutCommitTs = runAndReportTimeAndGetDurationMicros(
+                () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService),
+                "commitPutCommitTs");
+
+        profileBuilder
+                .conflictCheckMicros(microsCheckingForConflicts)
+                .writingToSweepQueueMicros(microsWritingToTargetedSweepQueue)
+                .keyValueServiceWriteMicros(microsForWrites)
+                .commitTimestampMicros(microsForGetCommitTs)
+                .punchMicros(microsForPunch)
+                .readWriteConflictCheckMicros(microsForReadWriteConflictCheck)
+                .verifyPreCommitLockCheckMicros(microsForPreCommitLockCheck)
+                .verifyUserPreCommitConditionMicros(microsForUserPreCommitCondition)
+                .putCommitTimestampMicros(microsForPutCommitTs)
+                .commitTimestamp(commitTimestamp);
+    }
+
+    private static long getPipelinedStageResult(Future<Long> stage) {
+        try {
+            return stage.get();
+        } catch (InterruptedException e) {
+            stage.cancel(true);
+            Thread.currentThread().interrupt();
+            throw Throwables.throwUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.throwUncheckedException(e.getCause());
+        }
+    }
+
     private long runAndReportTimeAndGetDurationMicros(Runnable runnable, String timerName) {
         Timer.Context timer = getTimer(timerName).time();
         runnable.run();
@@ -1967,6 +2391,34 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         return result;
     }
 
+    /**
+     * Asynchronous version of {@link #getCommitTimestamps} which waits for committers to complete. Commit timestamps
+     * that are cached are returned immediately; the rest are looked up on another thread.
+     */
+    private ListenableFuture<Map<Long, Long>> getCommitTimestampsAsync(@Nullable TableReference tableRef,
+                                                                      Set<Long> startTimestamps) {
+        Map<Long, Long> cached = Maps.newHashMapWithExpectedSize(startTimestamps.size());
+        Set<Long> uncached = Sets.newHashSet();
+        for (long startTs : startTimestamps) {
+            Long commitTs = timestampValidationReadCache.getCommitTimestampIfPresent(startTs);
+            if (commitTs != null) {
+                cached.put(startTs, commitTs);
+            } else {
+                uncached.add(startTs);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return Futures.immediateFuture(cached);
+        }
+        return Futures.transform(
+                asyncReadExecutor().submit(() -> getCommitTimestamps(tableRef, uncached, true)),
+                loaded -> {
+                    cached.putAll(loaded);
+                    return cached;
+                },
+                MoreExecutors.directExecutor());
+    }
+
     private Map<Long, Long> loadCommitTimestamps(Set<Long> startTimestamps) {
         // distinguish between a single timestamp and a batch, for more granular metrics
         if (startTimestamps.size() == 1) {
@@ -32,6 +32,8 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.palantir.atlasdb.cache.CommittedValueCache;
+import com.palantir.atlasdb.cache.DefaultCommittedValueCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.cleaner.api.Cleaner;
@@ -82,6 +84,7 @@ import com.palantir.timestamp.TimestampService;
     final MultiTableSweepQueueWriter sweepQueueWriter;
     final boolean validateLocksOnReads;
     final Supplier<TransactionConfig> transactionConfig;
+    final CommittedValueCache committedValueCache;
 
     final List<Runnable> closingCallbacks;
     final AtomicBoolean isClosed;
@@ -130,6 +133,10 @@ import com.palantir.timestamp.TimestampService;
         this.commitProfileProcessor = CommitProfileProcessor.createDefault(metricsManager);
         this.validateLocksOnReads = validateLocksOnReads;
         this.transactionConfig = transactionConfig;
+        this.committedValueCache = DefaultCommittedValueCache.create(
+                metricsManager,
+                keyValueService,
+                () -> transactionConfig.get().getCommittedValueCacheSize());
     }
 
     @Override
@@ -241,6 +248,7 @@ import com.palantir.timestamp.TimestampService;
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 allowHiddenTableAccess,
                 timestampValidationReadCache,
+                committedValueCache,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
@@ -272,6 +280,7 @@ import com.palantir.timestamp.TimestampService;
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 allowHiddenTableAccess,
                 timestampValidationReadCache,
+                committedValueCache,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
@@ -340,6 +349,7 @@ import com.palantir.timestamp.TimestampService;
     @Override
     public void clearTimestampCache() {
         timestampValidationReadCache.clear();
+        committedValueCache.clear();
     }
 
     private void closeLockServiceIfPossible() {
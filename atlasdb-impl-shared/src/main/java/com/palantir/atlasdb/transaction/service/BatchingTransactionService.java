@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.cache.TimestampCache;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.common.base.Throwables;
+
+/**
+ * A {@link TransactionService} that merges concurrent commit timestamp lookups into a single lookup against its
+ * delegate. Start timestamps requested by several callers in the same batch are only read once, and the commit
+ * timestamps that are found are added to the {@link TimestampCache} once per batch. Start timestamps that are
+ * already cached are answered without going through the batcher.
+ * <p>
+ * Writes are passed straight through to the delegate.
+ */
+@ThreadSafe
+public final class BatchingTransactionService implements TransactionService, AutoCloseable {
+    private final TransactionService delegate;
+    private final TimestampCache timestampCache;
+    private final DisruptorAutobatcher<Set<Long>, Map<Long, Long>> autobatcher;
+
+    private BatchingTransactionService(TransactionService delegate,
+            TimestampCache timestampCache,
+            DisruptorAutobatcher<Set<Long>, Map<Long, Long>> autobatcher) {
+        this.delegate = delegate;
+        this.timestampCache = timestampCache;
+        this.autobatcher = autobatcher;
+    }
+
+    public static BatchingTransactionService create(TransactionService delegate, TimestampCache timestampCache) {
+        return new BatchingTransactionService(
+                delegate,
+                timestampCache,
+                DisruptorAutobatcher.create(consumer(delegate, timestampCache)));
+    }
+
+    @CheckForNull
+    @Override
+    public Long get(long startTimestamp) {
+        return get(ImmutableSet.of(startTimestamp)).get(startTimestamp);
+    }
+
+    @Override
+    public Map<Long, Long> get(Iterable<Long> startTimestamps) {
+        Map<Long, Long> result = Maps.newHashMap();
+        Set<Long> uncached = Sets.newHashSet();
+        for (Long startTimestamp : startTimestamps) {
+            Long commitTimestamp = timestampCache.getCommitTimestampIfPresent(startTimestamp);
+            if (commitTimestamp != null) {
+                result.put(startTimestamp, commitTimestamp);
+            } else {
+                uncached.add(startTimestamp);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            result.putAll(getUnchecked(autobatcher.apply(uncached)));
+        }
+        return result;
+    }
+
+    @Override
+    public void putUnlessExists(long startTimestamp, long commitTimestamp) throws KeyAlreadyExistsException {
+        delegate.putUnlessExists(startTimestamp, commitTimestamp);
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+    }
+
+    @VisibleForTesting
+    static Consumer<List<BatchElement<Set<Long>, Map<Long, Long>>>> consumer(
+            TransactionService delegate,
+            TimestampCache timestampCache) {
+        return batch -> {
+            Set<Long> allStartTimestamps = Sets.newHashSet();
+            for (BatchElement<Set<Long>, Map<Long, Long>> element : batch) {
+                allStartTimestamps.addAll(element.argument());
+            }
+            Map<Long, Long> commitTimestamps = allStartTimestamps.size() == 1
+                    ? getSingle(delegate, allStartTimestamps.iterator().next())
+                    : delegate.get(allStartTimestamps);
+            commitTimestamps.forEach(timestampCache::putAlreadyCommittedTransaction);
+
+            for (BatchElement<Set<Long>, Map<Long, Long>> element : batch) {
+                Set<Long> requested = element.argument();
+                element.result().set(ImmutableMap.copyOf(Maps.filterKeys(commitTimestamps, requested::contains)));
+            }
+        };
+    }
+
+    private static Map<Long, Long> getSingle(TransactionService delegate, long startTimestamp) {
+        Long commitTimestamp = delegate.get(startTimestamp);
+        return commitTimestamp == null ? ImmutableMap.of() : ImmutableMap.of(startTimestamp, commitTimestamp);
+    }
+
+    private static <T> T getUnchecked(ListenableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUncheckedException(e.getCause());
+            throw new RuntimeException(e);
+        }
+    }
+}
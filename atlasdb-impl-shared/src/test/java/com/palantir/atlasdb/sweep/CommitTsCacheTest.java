@@ -37,8 +37,10 @@ import java.util.stream.LongStream;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
 import com.palantir.atlasdb.transaction.impl.TransactionConstants;
 import com.palantir.atlasdb.transaction.service.TransactionService;
@@ -178,6 +180,37 @@ public class CommitTsCacheTest {
         assertThat(loader.loadIfCached(VALID_START_TIMESTAMP)).contains(ROLLBACK_TIMESTAMP);
     }
 
+    @Test
+    public void sharedTimestampCacheIsReadAndPopulated() {
+        TimestampCache sharedCache = TimestampCache.createForTests();
+        CommitTsCache sharedLoader = CommitTsCache.create(mockTransactionService, sharedCache);
+        sharedCache.putAlreadyCommittedTransaction(VALID_START_TIMESTAMP, VALID_COMMIT_TIMESTAMP);
+        when(mockTransactionService.get(VALID_START_TIMESTAMP + 1)).thenReturn(VALID_COMMIT_TIMESTAMP + 1);
+
+        assertThat(sharedLoader.loadIfCached(VALID_START_TIMESTAMP)).contains(VALID_COMMIT_TIMESTAMP);
+        assertThat(sharedLoader.load(VALID_START_TIMESTAMP + 1)).isEqualTo(VALID_COMMIT_TIMESTAMP + 1);
+        assertThat(sharedCache.getCommitTimestampIfPresent(VALID_START_TIMESTAMP + 1))
+                .isEqualTo(VALID_COMMIT_TIMESTAMP + 1);
+        verify(mockTransactionService).get(VALID_START_TIMESTAMP + 1);
+        verifyNoMoreInteractions(mockTransactionService);
+    }
+
+    @Test
+    public void loadBatchCoalescesMissesIntoOneRequest() {
+        TimestampCache sharedCache = TimestampCache.createForTests();
+        CommitTsCache sharedLoader = CommitTsCache.create(mockTransactionService, sharedCache);
+        sharedCache.putAlreadyCommittedTransaction(1L, 1L);
+        sharedCache.putAlreadyCommittedTransaction(3L, 3L);
+        doAnswer(invocation -> assertRequestedTimestampsAndMapIdentity(invocation, ImmutableList.of(0L, 2L, 4L)))
+                .when(mockTransactionService).get(any());
+
+        assertThat(sharedLoader.loadBatch(ImmutableList.of(0L, 1L, 2L, 3L, 4L, 2L)))
+                .containsOnlyKeys(0L, 1L, 2L, 3L, 4L);
+        assertThat(sharedCache.getCommitTimestampIfPresent(4L)).isEqualTo(4L);
+        verify(mockTransactionService).get(anyList());
+        verifyNoMoreInteractions(mockTransactionService);
+    }
+
     @SuppressWarnings("unchecked")
     private Map<Long, Long> assertRequestedTimestampsAndMapIdentity(InvocationOnMock invocation,
             Collection<Long> expected) {
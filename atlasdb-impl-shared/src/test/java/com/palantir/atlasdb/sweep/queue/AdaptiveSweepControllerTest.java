@@ -0,0 +1,191 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import static com.palantir.atlasdb.sweep.queue.AdaptiveSweepController.DEFAULT_PAUSE_MILLIS;
+import static com.palantir.atlasdb.sweep.queue.AdaptiveSweepController.MAX_BATCH_SIZE;
+import static com.palantir.atlasdb.sweep.queue.AdaptiveSweepController.MAX_PAUSE_MILLIS;
+import static com.palantir.atlasdb.sweep.queue.AdaptiveSweepController.MIN_BATCH_SIZE;
+import static com.palantir.atlasdb.sweep.queue.AdaptiveSweepController.MIN_PAUSE_MILLIS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
+
+public class AdaptiveSweepControllerTest {
+    private static final long TARGET_MILLIS = 1_000L;
+    private static final ShardAndStrategy CONSERVATIVE = ShardAndStrategy.conservative(0);
+    private static final ShardAndStrategy THOROUGH = ShardAndStrategy.thorough(0);
+
+    private final TargetedSweepMetrics metrics = mock(TargetedSweepMetrics.class);
+    private final AtomicReference<AdaptiveSweepConfig> config = new AtomicReference<>();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+    private AdaptiveSweepController controller;
+
+    @Before
+    public void setup() {
+        config.set(ImmutableAdaptiveSweepConfig.builder().enabled(true).targetBatchMillis(TARGET_MILLIS).build());
+        controller = new AdaptiveSweepController(config::get, metrics, ticker);
+    }
+
+    @Test
+    public void startsWithFullBatchesAndDefaultPause() {
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE, DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void slowBatchesWithBacklogHalveBatchSizeAndDoublePause() {
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE / 2, 2 * DEFAULT_PAUSE_MILLIS);
+
+        verify(metrics).updateBatchSize(CONSERVATIVE, MAX_BATCH_SIZE / 2);
+        verify(metrics).updateSweepDelay(CONSERVATIVE, 2 * DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void fastBatchesWithBacklogHalvePauseUntilMinimum() {
+        for (int i = 0; i < 100; i++) {
+            controller.recordSuccess(CONSERVATIVE, true, 0);
+        }
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE, MIN_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void batchSizeAndPauseAreBounded() {
+        for (int i = 0; i < 100; i++) {
+            controller.recordFailure(CONSERVATIVE);
+        }
+        assertPacing(CONSERVATIVE, MIN_BATCH_SIZE, MAX_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void fastBatchesRecoverBatchSize() {
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS / 2);
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE / 2, 2 * DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void batchesCloseToTargetDoNotChangePacing() {
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS);
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE / 2, 2 * DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void failureBacksOffToAtLeastTwiceTheDefaultPause() {
+        controller.recordSuccess(CONSERVATIVE, true, 0);
+        controller.recordFailure(CONSERVATIVE);
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE / 2, 2 * DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void caughtUpShardReturnsToDefaultPauseAndKeepsBatchSize() {
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        controller.recordSuccess(CONSERVATIVE, false, TARGET_MILLIS + 1);
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE / 2, DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void shardsArePacedIndependently() {
+        controller.recordFailure(CONSERVATIVE);
+        assertPacing(THOROUGH, MAX_BATCH_SIZE, DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void disabledControllerUsesFullBatchesAndDefaultPause() {
+        controller.recordFailure(CONSERVATIVE);
+        config.set(AdaptiveSweepConfig.defaultConfig());
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE, DEFAULT_PAUSE_MILLIS);
+
+        controller.recordFailure(CONSERVATIVE);
+        controller.recordSuccess(CONSERVATIVE, true, 0);
+        config.set(ImmutableAdaptiveSweepConfig.builder().enabled(true).targetBatchMillis(TARGET_MILLIS).build());
+        assertPacing(CONSERVATIVE, MAX_BATCH_SIZE / 2, 2 * DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void shardIsNotDueUntilItsPauseHasPassed() {
+        assertThat(controller.isDue(CONSERVATIVE)).isTrue();
+
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        assertThat(controller.isDue(CONSERVATIVE)).isFalse();
+        assertThat(controller.isDue(ShardAndStrategy.conservative(1))).isTrue();
+        assertThat(controller.isDue(THOROUGH)).isTrue();
+
+        advanceMillis(2 * DEFAULT_PAUSE_MILLIS);
+        assertThat(controller.isDue(CONSERVATIVE)).isTrue();
+    }
+
+    @Test
+    public void threadPausesUntilTheEarliestShardIsDue() {
+        assertThat(controller.getPauseMillis(SweepStrategy.CONSERVATIVE, 2)).isEqualTo(MIN_PAUSE_MILLIS);
+
+        controller.recordSuccess(CONSERVATIVE, true, TARGET_MILLIS + 1);
+        assertThat(controller.getPauseMillis(SweepStrategy.CONSERVATIVE, 2)).isEqualTo(MIN_PAUSE_MILLIS);
+
+        controller.recordSuccess(ShardAndStrategy.conservative(1), true, TARGET_MILLIS);
+        assertThat(controller.getPauseMillis(SweepStrategy.CONSERVATIVE, 2)).isEqualTo(DEFAULT_PAUSE_MILLIS);
+
+        advanceMillis(DEFAULT_PAUSE_MILLIS - 1_000L);
+        assertThat(controller.getPauseMillis(SweepStrategy.CONSERVATIVE, 2)).isEqualTo(1_000L);
+    }
+
+    @Test
+    public void disabledControllerTreatsAllShardsAsDue() {
+        controller.recordFailure(CONSERVATIVE);
+        config.set(AdaptiveSweepConfig.defaultConfig());
+
+        assertThat(controller.isDue(CONSERVATIVE)).isTrue();
+        assertThat(controller.getPauseMillis(SweepStrategy.CONSERVATIVE, 1)).isEqualTo(DEFAULT_PAUSE_MILLIS);
+    }
+
+    @Test
+    public void deletesAreRateLimited() {
+        config.set(ImmutableAdaptiveSweepConfig.builder().maxCellDeletesPerSecond(100).build());
+        long start = System.currentTimeMillis();
+        controller.chargeDeletes(50);
+        controller.chargeDeletes(50);
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(400L);
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private void assertPacing(ShardAndStrategy shardStrategy, int batchSize, long pauseMillis) {
+        assertThat(controller.getBatchSize(shardStrategy)).isEqualTo(batchSize);
+        assertThat(controller.getPauseMillis(shardStrategy)).isEqualTo(pauseMillis);
+    }
+}
@@ -74,6 +74,7 @@ import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.schema.generated.SweepableCellsTable;
 import com.palantir.atlasdb.schema.generated.TargetedSweepTableFactory;
 import com.palantir.atlasdb.sweep.metrics.SweepOutcome;
+import com.palantir.atlasdb.util.MetricsManagers;
 import com.palantir.common.base.ClosableIterator;
 import com.palantir.exception.NotInitializedException;
 import com.palantir.lock.LockDescriptor;
@@ -888,6 +889,49 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
                 .isEqualTo(maxTsForFinePartition(0));
     }
 
+    @Test
+    public void pipelinedSweeperDeletesAllPartitionsOfBatch() {
+        TargetedSweeper sweeperConservative = getPipelinedSingleShardSweeper();
+
+        int numberOfTimestamps = 5 * BATCH_SIZE_KVS / MAX_CELLS_GENERIC + 1;
+
+        commitTransactionsWithWritesIntoUniqueCells(numberOfTimestamps, MAX_CELLS_GENERIC, sweeperConservative);
+        sweeperConservative.sweepNextBatch(ShardAndStrategy.conservative(0));
+        ArgumentCaptor<Map> map = ArgumentCaptor.forClass(Map.class);
+        verify(spiedKvs, times(6)).deleteAllTimestamps(eq(TABLE_CONS), map.capture(), eq(false));
+        assertThat(map.getAllValues().stream().map(Map::size).mapToInt(x -> x).sum())
+                .isEqualTo(5 * BATCH_SIZE_KVS + MAX_CELLS_GENERIC);
+        assertThat(progress.getLastSweptTimestamp(ShardAndStrategy.conservative(0)))
+                .isEqualTo(maxTsForFinePartition(0));
+    }
+
+    @Test
+    public void pipelinedSweeperDoesNotMissSingleWriteInNextIteration() {
+        TargetedSweeper sweeperConservative = getPipelinedSingleShardSweeper();
+
+        int minTsToReachBatchSize = (SWEEP_BATCH_SIZE - 1) / MAX_CELLS_GENERIC + 1;
+
+        commitTransactionsWithWritesIntoUniqueCells(minTsToReachBatchSize, MAX_CELLS_GENERIC, sweeperConservative);
+        putTimestampIntoTransactionTable(1000 + minTsToReachBatchSize, 1000 + minTsToReachBatchSize);
+        Cell cell = Cell.create(PtBytes.toBytes(1000 + minTsToReachBatchSize), PtBytes.toBytes(0));
+        sweeperConservative.enqueue(ImmutableList.of(WriteInfo.write(TABLE_CONS, cell, 1000 + minTsToReachBatchSize)));
+
+        // the first iteration reads the second batch ahead, which the second iteration then deletes
+        sweeperConservative.sweepNextBatch(ShardAndStrategy.conservative(0));
+        ArgumentCaptor<Map> map = ArgumentCaptor.forClass(Map.class);
+        verify(spiedKvs, atLeast(1)).deleteAllTimestamps(eq(TABLE_CONS), map.capture(), eq(false));
+        assertThat(map.getAllValues().stream().map(Map::size).mapToInt(x -> x).sum())
+                .isEqualTo(SWEEP_BATCH_SIZE);
+        assertThat(progress.getLastSweptTimestamp(ShardAndStrategy.conservative(0)))
+                .isEqualTo(1000 + minTsToReachBatchSize - 1);
+
+        sweeperConservative.sweepNextBatch(ShardAndStrategy.conservative(0));
+        verify(spiedKvs, atLeast(2)).deleteAllTimestamps(eq(TABLE_CONS), map.capture(), eq(false));
+        assertThat(map.getValue().size()).isEqualTo(1);
+        assertThat(progress.getLastSweptTimestamp(ShardAndStrategy.conservative(0)))
+                .isEqualTo(maxTsForFinePartition(0));
+    }
+
     @Test
     public void multipleSweepersSweepDifferentShardsAndCallUnlockAfterwards() throws InterruptedException {
         int shards = 128;
@@ -1111,6 +1155,18 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
         }
     }
 
+    private TargetedSweeper getPipelinedSingleShardSweeper() {
+        TargetedSweeper sweeper = TargetedSweeper.createUninitialized(
+                MetricsManagers.createForTests(), () -> true, () -> 1, 0, 0, 4, true, ImmutableList.of());
+        sweeper.initializeWithoutRunning(
+                timestampsSupplier,
+                mock(TimelockService.class),
+                spiedKvs,
+                txnService,
+                mock(TargetedSweepFollower.class));
+        return sweeper;
+    }
+
     private TargetedSweeper getSingleShardSweeper() {
         TargetedSweeper sweeper = TargetedSweeper.createUninitializedForTest(() -> 1);
         sweeper.initializeWithoutRunning(
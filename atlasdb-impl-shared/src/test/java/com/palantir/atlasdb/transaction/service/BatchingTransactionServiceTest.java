@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.service;
+
+import static java.util.stream.Collectors.toList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.immutables.value.Value;
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.cache.TimestampCache;
+
+@SuppressWarnings("unchecked") // Mocking
+public class BatchingTransactionServiceTest {
+    private final TransactionService delegate = mock(TransactionService.class);
+    private final TimestampCache timestampCache = TimestampCache.createForTests();
+    private final BatchingTransactionService transactionService =
+            BatchingTransactionService.create(delegate, timestampCache);
+
+    @After
+    public void after() {
+        transactionService.close();
+    }
+
+    @Test
+    public void returnsCommitTimestampsFromDelegate() {
+        when(delegate.get(any(Iterable.class))).thenReturn(ImmutableMap.of(1L, 2L));
+
+        assertThat(transactionService.get(ImmutableList.of(1L, 3L))).isEqualTo(ImmutableMap.of(1L, 2L));
+    }
+
+    @Test
+    public void singleUncommittedTimestampReturnsNull() {
+        assertThat(transactionService.get(5L)).isNull();
+        verify(delegate).get(5L);
+    }
+
+    @Test
+    public void doesNotLookUpCachedTimestamps() {
+        timestampCache.putAlreadyCommittedTransaction(1L, 2L);
+
+        assertThat(transactionService.get(1L)).isEqualTo(2L);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void populatesTimestampCache() {
+        when(delegate.get(1L)).thenReturn(2L);
+
+        assertThat(transactionService.get(1L)).isEqualTo(2L);
+        assertThat(timestampCache.getCommitTimestampIfPresent(1L)).isEqualTo(2L);
+    }
+
+    @Test
+    public void deduplicatesStartTimestampsAcrossCallers() {
+        when(delegate.get(any(Iterable.class))).thenReturn(ImmutableMap.of(1L, 10L, 2L, 20L));
+
+        List<BatchElement<Set<Long>, Map<Long, Long>>> elements = ImmutableList.of(
+                element(ImmutableSet.of(1L, 2L)),
+                element(ImmutableSet.of(2L, 3L)),
+                element(ImmutableSet.of(1L)));
+        BatchingTransactionService.consumer(delegate, timestampCache).accept(elements);
+
+        verify(delegate).get(ImmutableSet.of(1L, 2L, 3L));
+        verifyNoMoreInteractions(delegate);
+        assertThat(elements.stream().map(element -> Futures.getUnchecked(element.result())).collect(toList()))
+                .containsExactly(
+                        ImmutableMap.of(1L, 10L, 2L, 20L),
+                        ImmutableMap.of(2L, 20L),
+                        ImmutableMap.of(1L, 10L));
+        assertThat(timestampCache.getCommitTimestampIfPresent(2L)).isEqualTo(20L);
+    }
+
+    @Test
+    public void propagatesDelegateFailures() {
+        RuntimeException failure = new IllegalStateException("boom");
+        when(delegate.get(1L)).thenThrow(failure);
+
+        assertThatThrownBy(() -> transactionService.get(1L)).isEqualTo(failure);
+    }
+
+    @Test
+    public void passesWritesThrough() {
+        transactionService.putUnlessExists(1L, 2L);
+        verify(delegate).putUnlessExists(1L, 2L);
+    }
+
+    private static BatchElement<Set<Long>, Map<Long, Long>> element(Set<Long> startTimestamps) {
+        return ImmutableTestBatchElement.builder()
+                .argument(startTimestamps)
+                .result(SettableFuture.create())
+                .build();
+    }
+
+    @Value.Immutable
+    interface TestBatchElement extends BatchElement<Set<Long>, Map<Long, Long>> {}
+}
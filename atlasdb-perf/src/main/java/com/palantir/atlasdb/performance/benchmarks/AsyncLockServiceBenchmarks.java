@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.lock.TimeLimit;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockToken;
+
+/**
+ * Measures uncontended lock and unlock throughput of the TimeLock {@link AsyncLockService} for requests of
+ * different sizes. Each thread locks its own set of descriptors, so the cost measured is that of creating, looking
+ * up and discarding locks in the lock table rather than of waiting for other requests.
+ */
+public class AsyncLockServiceBenchmarks {
+    private static final TimeLimit TIMEOUT = TimeLimit.of(10_000L);
+
+    @State(Scope.Benchmark)
+    public static class LockService {
+        private ScheduledExecutorService reaperExecutor;
+        private ScheduledExecutorService timeoutExecutor;
+        private AsyncLockService lockService;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            reaperExecutor = Executors.newSingleThreadScheduledExecutor();
+            timeoutExecutor = Executors.newSingleThreadScheduledExecutor();
+            lockService = AsyncLockService.createDefault(
+                    new LockLog(new MetricRegistry(), () -> 10_000L),
+                    reaperExecutor,
+                    timeoutExecutor);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            lockService.close();
+            timeoutExecutor.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Descriptors {
+        @Param({"1", "100", "10000"})
+        public int numDescriptors;
+
+        private Set<LockDescriptor> descriptors;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            String prefix = UUID.randomUUID().toString();
+            descriptors = IntStream.range(0, numDescriptors)
+                    .mapToObj(i -> StringLockDescriptor.of(prefix + i))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(1)
+    public boolean singleThreadLockAndUnlock(LockService lockService, Descriptors descriptors) {
+        return lockAndUnlock(lockService.lockService, descriptors.descriptors);
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(16)
+    public boolean manyThreadsLockAndUnlock(LockService lockService, Descriptors descriptors) {
+        return lockAndUnlock(lockService.lockService, descriptors.descriptors);
+    }
+
+    private static boolean lockAndUnlock(AsyncLockService lockService, Set<LockDescriptor> descriptors) {
+        LockToken token = lockService.lock(UUID.randomUUID(), descriptors, TIMEOUT).get();
+        return lockService.unlock(token);
+    }
+}
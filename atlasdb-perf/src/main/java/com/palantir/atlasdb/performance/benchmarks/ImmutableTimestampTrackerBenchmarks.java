@@ -0,0 +1,104 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.palantir.atlasdb.timelock.lock.ImmutableTimestampTracker;
+
+/**
+ * Measures {@link ImmutableTimestampTracker} throughput as the number of threads starting and ending transactions
+ * grows. Each operation locks a fresh timestamp, reads the immutable timestamp and unlocks the timestamp again, as
+ * TimeLock does for a transaction. A long-running transaction holds the lowest timestamp throughout.
+ */
+public class ImmutableTimestampTrackerBenchmarks {
+    private static final long TIMESTAMPS_PER_THREAD = 1L << 40;
+
+    @State(Scope.Benchmark)
+    public static class Tracker {
+        private final AtomicLong threadIndex = new AtomicLong();
+        private ImmutableTimestampTracker tracker;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            tracker = new ImmutableTimestampTracker();
+            tracker.lock(0L, UUID.randomUUID());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Timestamps {
+        private final UUID requestId = UUID.randomUUID();
+        private long nextTimestamp;
+
+        @Setup(Level.Trial)
+        public void setup(Tracker tracker) {
+            nextTimestamp = 1 + tracker.threadIndex.getAndIncrement() * TIMESTAMPS_PER_THREAD;
+        }
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(1)
+    public Optional<Long> singleThreadLockAndUnlock(Tracker tracker, Timestamps timestamps) {
+        return lockAndUnlock(tracker.tracker, timestamps);
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(4)
+    public Optional<Long> fewThreadsLockAndUnlock(Tracker tracker, Timestamps timestamps) {
+        return lockAndUnlock(tracker.tracker, timestamps);
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(16)
+    public Optional<Long> severalThreadsLockAndUnlock(Tracker tracker, Timestamps timestamps) {
+        return lockAndUnlock(tracker.tracker, timestamps);
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(64)
+    public Optional<Long> manyThreadsLockAndUnlock(Tracker tracker, Timestamps timestamps) {
+        return lockAndUnlock(tracker.tracker, timestamps);
+    }
+
+    private static Optional<Long> lockAndUnlock(ImmutableTimestampTracker tracker, Timestamps timestamps) {
+        long timestamp = timestamps.nextTimestamp++;
+        tracker.lock(timestamp, timestamps.requestId);
+        Optional<Long> immutableTimestamp = tracker.getImmutableTimestamp();
+        tracker.unlock(timestamp, timestamps.requestId);
+        return immutableTimestamp;
+    }
+}
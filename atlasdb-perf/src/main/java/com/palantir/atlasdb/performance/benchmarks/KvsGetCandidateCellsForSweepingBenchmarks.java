@@ -39,6 +39,7 @@ import com.palantir.common.base.ClosableIterator;
 
 @State(Scope.Benchmark)
 public class KvsGetCandidateCellsForSweepingBenchmarks {
+    private static final int SCAN_PARALLELISM = 8;
 
     @Benchmark
     @Threads(1)
@@ -80,19 +81,64 @@ public class KvsGetCandidateCellsForSweepingBenchmarks {
         return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumCols(), true);
     }
 
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object fullTableScanCleanConservativeParallel(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return fullTableScan(table, false, SCAN_PARALLELISM);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object fullTableScanCleanThoroughParallel(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return fullTableScan(table, true, SCAN_PARALLELISM);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object fullTableScanDirtyConservativeParallel(ConsecutiveNarrowTable.DirtyNarrowTable table) {
+        return fullTableScan(table, false, SCAN_PARALLELISM);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object fullTableScanDirtyThoroughParallel(ConsecutiveNarrowTable.DirtyNarrowTable table) {
+        return fullTableScan(table, true, SCAN_PARALLELISM);
+    }
+
     private int fullTableScan(ConsecutiveNarrowTable table, boolean thorough) {
+        return fullTableScan(table, thorough, 1);
+    }
+
+    private int fullTableScan(ConsecutiveNarrowTable table, boolean thorough, int scanParallelism) {
         // TODO(gsheasby): consider extracting a common interface for WideRowTable and ConsecutiveNarrowTable
         // to avoid unpacking here
-        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumRows(), thorough);
+        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumRows(), thorough, scanParallelism);
     }
 
     private int fullTableScan(TableReference tableRef,
                               KeyValueService kvs,
                               int numCellsExpected,
                               boolean thorough) {
+        return fullTableScan(tableRef, kvs, numCellsExpected, thorough, 1);
+    }
+
+    private int fullTableScan(TableReference tableRef,
+                              KeyValueService kvs,
+                              int numCellsExpected,
+                              boolean thorough,
+                              int scanParallelism) {
         CandidateCellForSweepingRequest request = ImmutableCandidateCellForSweepingRequest.builder()
                     .startRowInclusive(PtBytes.EMPTY_BYTE_ARRAY)
                     .batchSizeHint(1000)
+                    .scanParallelismHint(scanParallelism)
                     .maxTimestampExclusive(Long.MAX_VALUE)
                     .shouldCheckIfLatestValueIsEmpty(thorough)
                     .shouldDeleteGarbageCollectionSentinels(thorough)
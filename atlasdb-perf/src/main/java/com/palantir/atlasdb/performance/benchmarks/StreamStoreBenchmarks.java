@@ -37,10 +37,16 @@ import org.openjdk.jmh.annotations.Warmup;
 import com.palantir.atlasdb.performance.benchmarks.table.StreamingTable;
 import com.palantir.atlasdb.performance.schema.generated.StreamTestTableFactory;
 import com.palantir.atlasdb.performance.schema.generated.ValueStreamStore;
+import com.palantir.atlasdb.stream.ImmutableStreamStorePersistenceConfiguration;
+import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 
 @State(Scope.Benchmark)
 public class StreamStoreBenchmarks {
+    private static final StreamStorePersistenceConfiguration PREFETCHING_CONFIG =
+            ImmutableStreamStorePersistenceConfiguration.builder()
+                    .numBlockBatchesToPrefetch(4)
+                    .build();
 
     @Benchmark
     @Threads(1)
@@ -93,4 +99,37 @@ public class StreamStoreBenchmarks {
             assertArrayEquals(table.getVeryLargeStreamFirstBytes(), firstBytes);
         }
     }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    public long readVeryLargeStream(StreamingTable table) throws IOException {
+        return readWholeVeryLargeStream(table, StreamStorePersistenceConfiguration.DEFAULT_CONFIG);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    public long readVeryLargeStreamWithPrefetching(StreamingTable table) throws IOException {
+        return readWholeVeryLargeStream(table, PREFETCHING_CONFIG);
+    }
+
+    private static long readWholeVeryLargeStream(StreamingTable table, StreamStorePersistenceConfiguration config)
+            throws IOException {
+        long id = table.getVeryLargeStreamId();
+        TransactionManager transactionManager = table.getTransactionManager();
+        StreamTestTableFactory tables = StreamTestTableFactory.of();
+        ValueStreamStore store = ValueStreamStore.of(transactionManager, tables, () -> config);
+        try (InputStream inputStream = transactionManager.runTaskThrowOnConflict(txn -> store.loadStream(txn, id))) {
+            byte[] buffer = new byte[64 * 1024];
+            long totalRead = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                totalRead += read;
+            }
+            return totalRead;
+        }
+    }
 }
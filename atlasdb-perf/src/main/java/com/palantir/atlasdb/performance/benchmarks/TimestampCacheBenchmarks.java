@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.palantir.atlasdb.cache.DefaultTimestampCache;
+import com.palantir.atlasdb.cache.PrimitiveTimestampCache;
+import com.palantir.atlasdb.cache.TimestampCache;
+
+/**
+ * Compares the Caffeine backed and primitive {@link TimestampCache} implementations under concurrent reads.
+ * Three quarters of the timestamps read are present in the cache; the remaining reads miss and insert the
+ * timestamp, as a transaction would after looking it up in the transaction table.
+ */
+public class TimestampCacheBenchmarks {
+    private static final long CACHE_SIZE = 1_000_000L;
+    private static final long KEY_SPACE = CACHE_SIZE * 4 / 3;
+
+    @State(Scope.Benchmark)
+    public static class Caches {
+        @Param({"CAFFEINE", "PRIMITIVE"})
+        public String implementation;
+
+        private TimestampCache cache;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            cache = implementation.equals("PRIMITIVE")
+                    ? new PrimitiveTimestampCache(new MetricRegistry(), () -> CACHE_SIZE)
+                    : new DefaultTimestampCache(new MetricRegistry(), () -> CACHE_SIZE);
+            for (long startTs = 0; startTs < CACHE_SIZE; startTs++) {
+                cache.putAlreadyCommittedTransaction(startTs, startTs + 1);
+            }
+        }
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(4)
+    public Long fewThreadsGetCommitTimestamp(Caches caches) {
+        return getCommitTimestamp(caches.cache);
+    }
+
+    @Benchmark
+    @Warmup(time = 5, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 30, timeUnit = TimeUnit.SECONDS)
+    @Threads(32)
+    public Long manyThreadsGetCommitTimestamp(Caches caches) {
+        return getCommitTimestamp(caches.cache);
+    }
+
+    private static Long getCommitTimestamp(TimestampCache cache) {
+        long startTs = ThreadLocalRandom.current().nextLong(KEY_SPACE);
+        Long commitTs = cache.getCommitTimestampIfPresent(startTs);
+        if (commitTs == null) {
+            cache.putAlreadyCommittedTransaction(startTs, startTs + 1);
+        }
+        return commitTs;
+    }
+}
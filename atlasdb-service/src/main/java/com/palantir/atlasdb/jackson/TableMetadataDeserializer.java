@@ -76,6 +76,8 @@ public class TableMetadataDeserializer extends StdDeserializer<TableMetadata> {
                 .map(JsonNode::booleanValue).orElse(false);
         LogSafety logSafety = Optional.ofNullable(node.get("nameLogSafety"))
                 .map(JsonNode::textValue).map(LogSafety::valueOf).orElse(LogSafety.UNSAFE);
+        boolean cachedAcrossTransactions = Optional.ofNullable(node.get("cachedAcrossTransactions"))
+                .map(JsonNode::booleanValue).orElse(false);
 
         return new TableMetadata(
                 row,
@@ -87,7 +89,8 @@ public class TableMetadataDeserializer extends StdDeserializer<TableMetadata> {
                 negativeLookups,
                 sweepStrategy,
                 appendHeavyAndReadLight,
-                logSafety);
+                logSafety,
+                cachedAcrossTransactions);
     }
 
     private NameMetadataDescription deserializeRowish(JsonNode node) {
@@ -62,6 +62,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Streams;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
@@ -283,6 +284,61 @@ public abstract class AbstractKeyValueServiceTest {
                 ByteBuffer.wrap(column(6))), columns);
     }
 
+    @Test
+    public void testGetAsync() {
+        putTestDataForSingleTimestamp();
+        Map<Cell, Long> timestampByCell = ImmutableMap.of(
+                TEST_CELL, TEST_TIMESTAMP + 1,
+                Cell.create(row(1), column(2)), TEST_TIMESTAMP + 1,
+                Cell.create(row(2), column(0)), TEST_TIMESTAMP + 1);
+        Map<Cell, Value> values = Futures.getUnchecked(keyValueService.getAsync(TEST_TABLE, timestampByCell));
+        assertEquals(keyValueService.get(TEST_TABLE, timestampByCell), values);
+        assertEquals(2, values.size());
+        assertArrayEquals(val(0, 0), values.get(TEST_CELL).getContents());
+        assertArrayEquals(val(1, 2), values.get(Cell.create(row(1), column(2))).getContents());
+    }
+
+    @Test
+    public void testGetRowsAsync() {
+        putTestDataForSingleTimestamp();
+        Map<Cell, Value> values = Futures.getUnchecked(keyValueService.getRowsAsync(TEST_TABLE,
+                Arrays.asList(row(1), row(2)),
+                ColumnSelection.create(ImmutableList.of(column(1), column(2))),
+                TEST_TIMESTAMP + 1));
+        assertEquals(ImmutableSet.of(
+                Cell.create(row(1), column(2)),
+                Cell.create(row(2), column(1)),
+                Cell.create(row(2), column(2))), values.keySet());
+        assertArrayEquals(val(2, 1), values.get(Cell.create(row(2), column(1))).getContents());
+    }
+
+    @Test
+    public void testGetRowsColumnRangeAsync() {
+        putTestDataForSingleTimestamp();
+        Map<byte[], RowColumnRangeIterator> values = Futures.getUnchecked(keyValueService.getRowsColumnRangeAsync(
+                TEST_TABLE,
+                ImmutableList.of(row(0), row(1), row(2)),
+                BatchColumnRangeSelection.create(PtBytes.EMPTY_BYTE_ARRAY, PtBytes.EMPTY_BYTE_ARRAY, 1),
+                TEST_TIMESTAMP + 1));
+        assertEquals(3, values.size());
+        // a batch hint of 1 means that all but the first cell of each row are loaded lazily
+        Map<Cell, Value> row0Values = getValuesForRow(values, row(0), 2);
+        assertEquals(ImmutableSet.of(TEST_CELL, Cell.create(row(0), column(1))), row0Values.keySet());
+        assertArrayEquals(val(0, 1), row0Values.get(Cell.create(row(0), column(1))).getContents());
+        assertEquals(ImmutableSet.of(Cell.create(row(1), column(0)), Cell.create(row(1), column(2))),
+                getValuesForRow(values, row(1), 2).keySet());
+        assertEquals(ImmutableSet.of(Cell.create(row(2), column(1)), Cell.create(row(2), column(2))),
+                getValuesForRow(values, row(2), 2).keySet());
+    }
+
+    @Test
+    public void testGetAsyncThrowsOnError() {
+        assertThatThrownBy(() -> Futures.getUnchecked(keyValueService.getAsync(
+                TEST_NONEXISTING_TABLE,
+                ImmutableMap.of(TEST_CELL, TEST_TIMESTAMP + 1))))
+                .isInstanceOf(RuntimeException.class);
+    }
+
     @Test
     public void testGetRowColumnRangeHistorical() {
         putTestDataForMultipleTimestamps();
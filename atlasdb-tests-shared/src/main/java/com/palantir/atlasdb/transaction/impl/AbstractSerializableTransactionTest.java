@@ -31,15 +31,18 @@ import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.common.base.Strings;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.cache.NoOpCommittedValueCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
@@ -53,6 +56,7 @@ import com.palantir.atlasdb.keyvalue.impl.TransactionManagerManager;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
 import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.transaction.ImmutableTransactionConfig;
+import com.palantir.atlasdb.transaction.TransactionConfig;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
 import com.palantir.atlasdb.transaction.api.Transaction;
@@ -120,13 +124,14 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 true,
                 timestampCache,
+                NoOpCommittedValueCache.INSTANCE,
                 AbstractTransactionTest.GET_RANGES_EXECUTOR,
                 AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY,
                 getSweepQueueWriterInitialized(),
                 MoreExecutors.newDirectExecutorService(),
                 CommitProfileProcessor.createNonLogging(metricsManager),
                 true,
-                () -> ImmutableTransactionConfig.builder().build()) {
+                this::getTransactionConfig) {
             @Override
             protected Map<Cell, byte[]> transformGetsForTesting(Map<Cell, byte[]> map) {
                 return Maps.transformValues(map, input -> input.clone());
@@ -134,6 +139,10 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
         };
     }
 
+    protected TransactionConfig getTransactionConfig() {
+        return ImmutableTransactionConfig.builder().build();
+    }
+
     protected MultiTableSweepQueueWriter getSweepQueueWriterUninitialized() {
         return MultiTableSweepQueueWriter.NO_OP;
     }
@@ -253,6 +262,31 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
         }
     }
 
+    @Test
+    public void testClassicWriteSkewCellAsync() throws Exception {
+        Transaction t0 = startTransaction();
+        put(t0, "row1", "col1", "100");
+        put(t0, "row2", "col1", "100");
+        t0.commit();
+
+        Cell row1 = Cell.create(PtBytes.toBytes("row1"), PtBytes.toBytes("col1"));
+        Cell row2 = Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("col1"));
+        Transaction t1 = startTransaction();
+        Transaction t2 = startTransaction();
+        assertEquals(2, t1.getAsync(TEST_TABLE, ImmutableSet.of(row1, row2)).get().size());
+        assertEquals(2, t2.getAsync(TEST_TABLE, ImmutableSet.of(row1, row2)).get().size());
+        put(t1, "row1", "col1", "0");
+        put(t2, "row2", "col1", "0");
+
+        t1.commit();
+        try {
+            t2.commit();
+            fail();
+        } catch (TransactionSerializableConflictException e) {
+            // this is expectecd to throw because it is a write skew
+        }
+    }
+
     @Test
     public void testClassicWriteSkew2Cell() {
         Transaction t0 = startTransaction();
@@ -480,6 +514,51 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
         }
     }
 
+    @Test
+    public void testLargeValueReadWriteConflict() {
+        Transaction t0 = startTransaction();
+        put(t0, "row1", "col1", Strings.repeat("a", 1000));
+        put(t0, "row2", "col1", Strings.repeat("a", 1000));
+        t0.commit();
+
+        Transaction t1 = startTransaction();
+        get(t1, "row1", "col1");
+        BatchingVisitables.copyToList(t1.getRange(TEST_TABLE, RangeRequest.builder().build()));
+        put(t1, "row3", "col1", "100");
+
+        Transaction t2 = startTransaction();
+        put(t2, "row2", "col1", Strings.repeat("a", 999) + "b");
+        t2.commit();
+
+        try {
+            t1.commit();
+            fail();
+        } catch (TransactionSerializableConflictException e) {
+            // this is expected to throw because a large value that was read has changed
+        }
+    }
+
+    @Test
+    public void testLargeValueRewrittenUnchangedIsNotAConflict() {
+        String largeValue = Strings.repeat("a", 1000);
+        Transaction t0 = startTransaction();
+        put(t0, "row1", "col1", largeValue);
+        put(t0, "row2", "col1", largeValue);
+        t0.commit();
+
+        Transaction t1 = startTransaction();
+        get(t1, "row1", "col1");
+        BatchingVisitables.copyToList(t1.getRange(TEST_TABLE, RangeRequest.builder().build()));
+        put(t1, "row3", "col1", "100");
+
+        Transaction t2 = startTransaction();
+        put(t2, "row1", "col1", largeValue);
+        put(t2, "row2", "col1", largeValue);
+        t2.commit();
+
+        t1.commit();
+    }
+
     @Test
     public void testCellReadWriteFailure2() {
         String initialValue = "100";
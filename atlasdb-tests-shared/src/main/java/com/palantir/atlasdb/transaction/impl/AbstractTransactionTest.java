@@ -54,6 +54,7 @@ import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.cache.NoOpCommittedValueCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
@@ -130,6 +131,7 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 false,
                 timestampCache,
+                NoOpCommittedValueCache.INSTANCE,
                 GET_RANGES_EXECUTOR,
                 DEFAULT_GET_RANGES_CONCURRENCY,
                 MultiTableSweepQueueWriter.NO_OP,
@@ -872,6 +874,57 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
         assertEquals("v3", get(t, "row2", "col1"));
     }
 
+    @Test
+    public void testReadMyWritesAsync() throws Exception {
+        Transaction t = startTransaction();
+        put(t, "row1", "col1", "v1");
+        put(t, "row2", "col1", "v2");
+        t.commit();
+
+        t = startTransaction();
+        put(t, "row1", "col1", "t_v1");
+        put(t, "row1", "col2", "t_v2");
+        delete(t, "row2", "col1");
+
+        Cell row1Col1 = Cell.create(PtBytes.toBytes("row1"), PtBytes.toBytes("col1"));
+        Cell row1Col2 = Cell.create(PtBytes.toBytes("row1"), PtBytes.toBytes("col2"));
+        Cell row2Col1 = Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("col1"));
+        Map<Cell, byte[]> cells = t.getAsync(TEST_TABLE, ImmutableSet.of(row1Col1, row1Col2, row2Col1)).get();
+        assertEquals(ImmutableSet.of(row1Col1, row1Col2), cells.keySet());
+        assertEquals("t_v1", PtBytes.toString(cells.get(row1Col1)));
+        assertEquals("t_v2", PtBytes.toString(cells.get(row1Col2)));
+
+        Map<byte[], RowResult<byte[]>> rows = t.getRowsAsync(
+                TEST_TABLE,
+                ImmutableList.of(PtBytes.toBytes("row1"), PtBytes.toBytes("row2")),
+                ColumnSelection.all()).get();
+        assertEquals(1, rows.size());
+        Map<byte[], byte[]> row1Columns = rows.get(PtBytes.toBytes("row1")).getColumns();
+        assertEquals("t_v1", PtBytes.toString(row1Columns.get(PtBytes.toBytes("col1"))));
+        assertEquals("t_v2", PtBytes.toString(row1Columns.get(PtBytes.toBytes("col2"))));
+    }
+
+    @Test
+    public void testGetAsyncMatchesGetAcrossTransactions() throws Exception {
+        Transaction t1 = startTransaction();
+        put(t1, "row1", "col1", "v1");
+        t1.commit();
+
+        Transaction reader = startTransaction();
+
+        Transaction t2 = startTransaction();
+        put(t2, "row1", "col1", "v2");
+        put(t2, "row2", "col1", "v3");
+        t2.commit();
+
+        Cell row1Col1 = Cell.create(PtBytes.toBytes("row1"), PtBytes.toBytes("col1"));
+        Cell row2Col1 = Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("col1"));
+        Map<Cell, byte[]> asyncResult = reader.getAsync(TEST_TABLE, ImmutableSet.of(row1Col1, row2Col1)).get();
+        assertEquals(ImmutableSet.of(row1Col1), asyncResult.keySet());
+        assertEquals("v1", PtBytes.toString(asyncResult.get(row1Col1)));
+        assertEquals("v1", get(reader, "row1", "col1"));
+    }
+
     @Test
     public void testReadMyWritesRange() {
         Transaction t = startTransaction();
@@ -144,6 +144,7 @@ public class TestTransactionManagerImpl extends SerializableTransactionManager i
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 false,
                 timestampValidationReadCache,
+                committedValueCache,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 sweepQueueWriter,
@@ -40,6 +40,7 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -84,11 +85,15 @@ import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamMeta
 import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamMetadataTable.TestHashComponentsStreamMetadataRow;
 import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamValueTable.TestHashComponentsStreamValueRow;
+import com.palantir.atlasdb.stream.ImmutableStreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.stream.PersistentStreamStore;
+import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.table.description.Schemas;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionConflictException;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.atlasdb.transaction.api.TransactionTask;
+import com.palantir.atlasdb.transaction.impl.WrappingTransactionManager;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.util.Pair;
 import com.palantir.util.crypto.Sha256Hash;
@@ -97,6 +102,11 @@ import com.palantir.util.crypto.Sha256Hash;
 public class StreamTest extends AtlasDbTestCase {
     public static final long TEST_ID = 5L;
     public static final long TEST_BLOCK_ID = 5L;
+    private static final StreamStorePersistenceConfiguration CONCURRENT_UPLOAD_CONFIG =
+            ImmutableStreamStorePersistenceConfiguration.builder()
+                    .numBlocksPerWriteTransaction(2)
+                    .numConcurrentWriteTransactions(2)
+                    .build();
     private PersistentStreamStore defaultStore;
     private boolean useStoreWithHashedComponents;
     private PersistentStreamStore compressedStore;
@@ -119,6 +129,8 @@ public class StreamTest extends AtlasDbTestCase {
     public void createSchema() {
         Schemas.deleteTablesAndIndexes(StreamTestSchema.getSchema(), keyValueService);
         Schemas.createTablesAndIndexes(StreamTestSchema.getSchema(), keyValueService);
+        StreamTestSchema.getSchema().getAllTablesAndIndexMetadata().forEach(
+                (table, metadata) -> overrideConflictHandlerForTable(table, metadata.getConflictHandler()));
 
         if (!useStoreWithHashedComponents) {
             defaultStore = StreamTestStreamStore.of(txManager, StreamTestTableFactory.of());
@@ -302,6 +314,111 @@ public class StreamTest extends AtlasDbTestCase {
         storeAndCheckByteStreams(maxMemStore, getIncompressibleBytes(20_000_000));
     }
 
+    @Test
+    public void testStoreStreamWithConcurrentWriteTransactions_defaultStream() throws IOException {
+        PersistentStreamStore store = StreamTestStreamStore.of(
+                txManager, StreamTestTableFactory.of(), () -> CONCURRENT_UPLOAD_CONFIG);
+        storeNonTransactionallyAndCheckByteStream(store, getIncompressibleBytes(5_000_000));
+    }
+
+    @Test
+    public void testStoreStreamWithConcurrentWriteTransactions_compressedStream() throws IOException {
+        PersistentStreamStore store = StreamTestWithHashStreamStore.of(
+                txManager, StreamTestTableFactory.of(), () -> CONCURRENT_UPLOAD_CONFIG);
+        storeNonTransactionallyAndCheckByteStream(store, getIncompressibleBytes(5_000_000));
+    }
+
+    @Test
+    public void testStoreStreamWithConcurrentWriteTransactions_exactMultipleOfBatch() throws IOException {
+        PersistentStreamStore store = StreamTestStreamStore.of(
+                txManager, StreamTestTableFactory.of(), () -> CONCURRENT_UPLOAD_CONFIG);
+        storeNonTransactionallyAndCheckByteStream(store,
+                getIncompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 4));
+    }
+
+    @Test
+    public void testConcurrentWriteTransactionsDoNotConflictWithEachOther() throws IOException {
+        AtomicInteger tasks = new AtomicInteger();
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionManager attemptCountingTxManager = new WrappingTransactionManager(txManager) {
+            @Override
+            public <T, E extends Exception> T runTaskWithRetry(TransactionTask<T, E> task) throws E {
+                tasks.incrementAndGet();
+                return super.runTaskWithRetry(task);
+            }
+
+            @Override
+            public <T, E extends Exception> T runTaskThrowOnConflict(TransactionTask<T, E> task) throws E {
+                tasks.incrementAndGet();
+                return super.runTaskThrowOnConflict(task);
+            }
+
+            @Override
+            protected Transaction wrap(Transaction transaction) {
+                attempts.incrementAndGet();
+                return transaction;
+            }
+        };
+        PersistentStreamStore store = StreamTestStreamStore.of(attemptCountingTxManager, StreamTestTableFactory.of(),
+                () -> ImmutableStreamStorePersistenceConfiguration.builder()
+                        .numBlocksPerWriteTransaction(1)
+                        .numConcurrentWriteTransactions(4)
+                        .build());
+        byte[] bytesToStore = getIncompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 16);
+
+        Pair<Long, Sha256Hash> idAndHash = store.storeStream(new ByteArrayInputStream(bytesToStore));
+
+        assertEquals(tasks.get(), attempts.get());
+        verifyLoadingStreams(store, idAndHash.lhSide, bytesToStore);
+    }
+
+    private void storeNonTransactionallyAndCheckByteStream(PersistentStreamStore store, byte[] bytesToStore)
+            throws IOException {
+        Pair<Long, Sha256Hash> idAndHash = store.storeStream(new ByteArrayInputStream(bytesToStore));
+
+        assertEquals(Sha256Hash.computeHash(bytesToStore), idAndHash.rhSide);
+        verifyLoadingStreams(store, idAndHash.lhSide, bytesToStore);
+    }
+
+    @Test
+    public void testLoadStreamRange_defaultStream() throws IOException {
+        checkLoadingStreamRanges(defaultStore);
+    }
+
+    @Test
+    public void testLoadStreamRange_compressedStream() throws IOException {
+        checkLoadingStreamRanges(compressedStore);
+    }
+
+    private void checkLoadingStreamRanges(PersistentStreamStore store) throws IOException {
+        int blockSize = StreamTestStreamStore.BLOCK_SIZE_IN_BYTES;
+        byte[] bytesToStore = getIncompressibleBytes(blockSize * 3 + 17);
+        long id = storeStream(store, bytesToStore, PtBytes.toBytes("ref"));
+
+        verifyLoadStreamRange(store, id, bytesToStore, 0, 10);
+        verifyLoadStreamRange(store, id, bytesToStore, blockSize - 5, 10);
+        verifyLoadStreamRange(store, id, bytesToStore, blockSize, blockSize * 2);
+        verifyLoadStreamRange(store, id, bytesToStore, 3, blockSize * 3);
+        verifyLoadStreamRange(store, id, bytesToStore, blockSize * 3 + 10, 100);
+        verifyLoadStreamRange(store, id, bytesToStore, bytesToStore.length, 10);
+        verifyLoadStreamRange(store, id, bytesToStore, bytesToStore.length + 10, 10);
+        verifyLoadStreamRange(store, id, bytesToStore, 5, 0);
+    }
+
+    private void verifyLoadStreamRange(PersistentStreamStore store, long id, byte[] bytesToStore, int offset,
+            int length) throws IOException {
+        InputStream stream = txManager.runTaskThrowOnConflict(t -> store.loadStreamRange(t, id, offset, length));
+        int start = Math.min(offset, bytesToStore.length);
+        int end = Math.min(offset + length, bytesToStore.length);
+        assertStreamHasBytes(stream, Arrays.copyOfRange(bytesToStore, start, end));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadStreamRangeWithNegativeOffsetThrows() {
+        long id = storeStream(defaultStore, getIncompressibleBytes(100), PtBytes.toBytes("ref"));
+        txManager.runTaskThrowOnConflict(t -> defaultStore.loadStreamRange(t, id, -1, 10));
+    }
+
     private long storeAndCheckByteStreams(PersistentStreamStore store, byte[] bytesToStore) throws IOException {
         byte[] reference = PtBytes.toBytes("ref");
 
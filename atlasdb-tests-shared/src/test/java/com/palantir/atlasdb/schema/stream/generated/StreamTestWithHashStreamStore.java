@@ -127,13 +127,14 @@ public final class StreamTestWithHashStreamStore extends AbstractPersistentStrea
         }
     }
 
-    private void touchMetadataWhileStoringForConflicts(Transaction t, Long id, long blockNumber) {
+    @Override
+    protected void touchMetadataWhileStoringForConflicts(Transaction t, Long id, long blockNumber) {
         StreamTestWithHashStreamMetadataTable metaTable = tables.getStreamTestWithHashStreamMetadataTable(t);
         StreamTestWithHashStreamMetadataTable.StreamTestWithHashStreamMetadataRow row = StreamTestWithHashStreamMetadataTable.StreamTestWithHashStreamMetadataRow.of(id);
         StreamMetadata metadata = metaTable.getMetadatas(ImmutableSet.of(row)).values().iterator().next();
         Preconditions.checkState(metadata.getStatus() == Status.STORING, "This stream is being cleaned up while storing blocks: %s", id);
         Builder builder = StreamMetadata.newBuilder(metadata);
-        builder.setLength(blockNumber * BLOCK_SIZE_IN_BYTES + 1);
+        builder.setLength(Math.max(metadata.getLength(), blockNumber * BLOCK_SIZE_IN_BYTES + 1));
         metaTable.putMetadata(row, builder.build());
     }
 
@@ -234,6 +235,12 @@ public final class StreamTestWithHashStreamStore extends AbstractPersistentStrea
         });
     }
 
+    @Override
+    public InputStream loadStreamRange(Transaction t, final Long id, long offset, long length) {
+        // Offsets are into the decompressed stream, so the blocks before the range must be read too
+        return sliceStream(new LZ4BlockInputStream(super.loadStream(t, id)), offset, length);
+    }
+
     @Override
     protected void tryWriteStreamToFile(Transaction transaction, Long id, StreamMetadata metadata, FileOutputStream fos) throws IOException {
         try (InputStream blockStream = makeStreamUsingTransaction(transaction, id, metadata);
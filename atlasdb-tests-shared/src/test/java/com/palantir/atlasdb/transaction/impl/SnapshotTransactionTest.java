@@ -24,6 +24,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -53,6 +54,9 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.mutable.MutableInt;
@@ -80,9 +84,15 @@ import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbTestCase;
+import com.palantir.atlasdb.cache.DefaultTimestampCache;
+import com.palantir.atlasdb.cache.CommittedValueCache;
+import com.palantir.atlasdb.cache.DefaultCommittedValueCache;
+import com.palantir.atlasdb.cache.NoOpCommittedValueCache;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -94,8 +104,10 @@ import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.impl.ForwardingKeyValueService;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
@@ -144,8 +156,16 @@ import com.palantir.timestamp.TimestampService;
 @SuppressWarnings("checkstyle:all")
 public class SnapshotTransactionTest extends AtlasDbTestCase {
     private static final TransactionConfig TRANSACTION_CONFIG = ImmutableTransactionConfig.builder().build();
-
-    protected final TimestampCache timestampCache = new TimestampCache(
+    private static final TransactionConfig PIPELINED_COMMIT_TRANSACTION_CONFIG = ImmutableTransactionConfig.builder()
+            .isCommitPipeliningEnabled(true)
+            .build();
+    private static final TransactionConfig PIPELINED_PRE_COMMIT_CONDITION_TRANSACTION_CONFIG =
+            ImmutableTransactionConfig.builder()
+                    .isCommitPipeliningEnabled(true)
+                    .isPreCommitConditionPipeliningEnabled(true)
+                    .build();
+
+    protected final TimestampCache timestampCache = new DefaultTimestampCache(
             metricsManager.getRegistry(), () -> AtlasDbConstants.DEFAULT_TIMESTAMP_CACHE_SIZE);
     protected final ExecutorService getRangesExecutor = Executors.newFixedThreadPool(8);
     protected final int defaultGetRangesConcurrency = 2;
@@ -297,6 +317,7 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 false,
                 timestampCache,
+                NoOpCommittedValueCache.INSTANCE,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
@@ -364,6 +385,7 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 false,
                 timestampCache,
+                NoOpCommittedValueCache.INSTANCE,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
@@ -1215,6 +1237,252 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
         assertThat(txn.get(TABLE, ImmutableSet.of(cell)), is(ImmutableMap.of()));
     }
 
+    @Test
+    public void pipelinedCommitWritesValues() {
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+
+        SnapshotTransaction snapshot = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                PreCommitConditions.NO_OP,
+                true,
+                PIPELINED_COMMIT_TRANSACTION_CONFIG);
+        snapshot.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        snapshot.commit();
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        Transaction readTransaction = txManager.createNewTransaction();
+        assertThat(readTransaction.get(TABLE, ImmutableSet.of(TEST_CELL)).get(TEST_CELL),
+                is(PtBytes.toBytes("value")));
+        assertThat(transactionService.get(transactionTs), is(snapshot.getCommitTimestamp()));
+    }
+
+    @Test
+    public void pipelinedCommitThrowsOnWriteWriteConflict() {
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+
+        SnapshotTransaction snapshot = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                PreCommitConditions.NO_OP,
+                true,
+                PIPELINED_COMMIT_TRANSACTION_CONFIG);
+        writeCells(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("theirs")));
+
+        snapshot.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("ours")));
+        assertThatExceptionOfType(TransactionConflictException.class).isThrownBy(snapshot::commit);
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        assertThat(transactionService.get(transactionTs), is((Long) null));
+    }
+
+    @Test
+    public void pipelinedCommitThrowsIfPreCommitConditionFails() {
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+
+        SnapshotTransaction snapshot = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                ALWAYS_FAILS_CONDITION,
+                true,
+                PIPELINED_COMMIT_TRANSACTION_CONFIG);
+        snapshot.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        assertThatExceptionOfType(TransactionFailedRetriableException.class)
+                .isThrownBy(snapshot::commit)
+                .withMessageContaining("Condition failed");
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        assertThat(transactionService.get(transactionTs), is((Long) null));
+    }
+
+    @Test
+    public void pipelinedCommitThrowsIfPreCommitConditionFailsWhenEvaluatedConcurrently() {
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+
+        SnapshotTransaction snapshot = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                ALWAYS_FAILS_CONDITION,
+                true,
+                PIPELINED_PRE_COMMIT_CONDITION_TRANSACTION_CONFIG);
+        snapshot.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        assertThatExceptionOfType(TransactionFailedRetriableException.class)
+                .isThrownBy(snapshot::commit)
+                .withMessageContaining("Condition failed");
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        assertThat(transactionService.get(transactionTs), is((Long) null));
+    }
+
+    @Test
+    public void pipelinedCommitEvaluatesPreCommitConditionOnCommittingThreadByDefault() {
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+
+        AtomicReference<Thread> conditionThread = new AtomicReference<>();
+        PreCommitCondition recordingCondition = timestamp -> conditionThread.set(Thread.currentThread());
+        SnapshotTransaction snapshot = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                recordingCondition,
+                true,
+                PIPELINED_COMMIT_TRANSACTION_CONFIG);
+        snapshot.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        snapshot.commit();
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+
+        assertThat(conditionThread.get(), is(Thread.currentThread()));
+    }
+
+    @Test
+    public void committedValueCacheIsOnlyCreatedIfItsSizeIsPositive() {
+        assertThat(DefaultCommittedValueCache.create(metricsManager, keyValueService, () -> 0L),
+                is(NoOpCommittedValueCache.INSTANCE));
+        assertThat(DefaultCommittedValueCache.create(metricsManager, keyValueService, () -> 100L),
+                is(not(NoOpCommittedValueCache.INSTANCE)));
+    }
+
+    @Test
+    public void committedValueCacheCachesTablesMarkedAsCachedAfterItWasCreated() {
+        CommittedValueCache cache = DefaultCommittedValueCache.create(metricsManager, keyValueService, () -> 100L);
+        keyValueService.putMetadataForTable(TABLE, getTableMetadataCachedAcrossTransactions().persistToBytes());
+        byte[] value = PtBytes.toBytes("value");
+
+        putAndCommitWithCommittedValueCache(cache, value);
+        assertThat(getWithCommittedValueCache(cache), is(value));
+
+        keyValueService.truncateTable(TABLE);
+        assertThat(getWithCommittedValueCache(cache), is(value));
+    }
+
+    @Test
+    public void readsOfTablesCachedAcrossTransactionsAreServedFromTheCommittedValueCache() {
+        keyValueService.putMetadataForTable(TABLE, getTableMetadataCachedAcrossTransactions().persistToBytes());
+        CommittedValueCache cache = DefaultCommittedValueCache.create(metricsManager, keyValueService, () -> 100L);
+        byte[] value = PtBytes.toBytes("value");
+
+        putAndCommitWithCommittedValueCache(cache, value);
+        assertThat(getWithCommittedValueCache(cache), is(value));
+
+        keyValueService.truncateTable(TABLE);
+        assertThat(getWithCommittedValueCache(cache), is(value));
+        assertThat(getWithCommittedValueCache(NoOpCommittedValueCache.INSTANCE), is(nullValue()));
+    }
+
+    @Test
+    public void committingAWriteInvalidatesTheCommittedValueCache() {
+        keyValueService.putMetadataForTable(TABLE, getTableMetadataCachedAcrossTransactions().persistToBytes());
+        CommittedValueCache cache = DefaultCommittedValueCache.create(metricsManager, keyValueService, () -> 100L);
+        byte[] firstValue = PtBytes.toBytes("first");
+        byte[] secondValue = PtBytes.toBytes("second");
+
+        putAndCommitWithCommittedValueCache(cache, firstValue);
+        assertThat(getWithCommittedValueCache(cache), is(firstValue));
+
+        putAndCommitWithCommittedValueCache(cache, secondValue);
+        assertThat(getWithCommittedValueCache(cache), is(secondValue));
+    }
+
+    private void putAndCommitWithCommittedValueCache(CommittedValueCache cache, byte[] value) {
+        runWithCommittedValueCache(cache, transaction -> {
+            transaction.put(TABLE, ImmutableMap.of(TEST_CELL, value));
+            return null;
+        });
+    }
+
+    @Test
+    public void commitWaitsForAsyncReadsStillInFlight() throws Exception {
+        SettableFuture<Map<Cell, Value>> pendingRead = SettableFuture.create();
+        KeyValueService slowAsyncReadKvs = new ForwardingKeyValueService() {
+            @Override
+            protected KeyValueService delegate() {
+                return keyValueService;
+            }
+
+            @Override
+            public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef,
+                    Map<Cell, Long> timestampByCell) {
+                return pendingRead;
+            }
+        };
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+        SnapshotTransaction snapshot = getSnapshotTransactionWith(
+                slowAsyncReadKvs,
+                timelockService,
+                () -> transactionTs,
+                res,
+                PreCommitConditions.NO_OP,
+                true,
+                TRANSACTION_CONFIG,
+                NoOpCommittedValueCache.INSTANCE);
+
+        ListenableFuture<Map<Cell, byte[]>> read = snapshot.getAsync(TABLE, ImmutableSet.of(TEST_CELL));
+        snapshot.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        ExecutorService committer = PTExecutors.newSingleThreadExecutor();
+        try {
+            Future<?> commit = committer.submit(() -> snapshot.commit());
+            assertThatThrownBy(() -> commit.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            assertThatThrownBy(() -> snapshot.getAsync(TABLE, ImmutableSet.of(TEST_CELL)))
+                    .isInstanceOf(CommittedTransactionException.class);
+
+            pendingRead.set(ImmutableMap.of());
+            commit.get(10, TimeUnit.SECONDS);
+            assertThat(read.get(), is(ImmutableMap.of()));
+        } finally {
+            committer.shutdownNow();
+            timelockService.unlock(ImmutableSet.of(res.getLock()));
+        }
+    }
+
+    private byte[] getWithCommittedValueCache(CommittedValueCache cache) {
+        return runWithCommittedValueCache(cache,
+                transaction -> transaction.get(TABLE, ImmutableSet.of(TEST_CELL)).get(TEST_CELL));
+    }
+
+    private <T> T runWithCommittedValueCache(CommittedValueCache cache, Function<SnapshotTransaction, T> task) {
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        LockImmutableTimestampResponse res =
+                timelockService.lockImmutableTimestamp(IdentifiedTimeLockRequest.create());
+        long transactionTs = timelockService.getFreshTimestamp();
+        try {
+            SnapshotTransaction transaction = getSnapshotTransactionWith(
+                    timelockService,
+                    () -> transactionTs,
+                    res,
+                    PreCommitConditions.NO_OP,
+                    true,
+                    TRANSACTION_CONFIG,
+                    cache);
+            T result = task.apply(transaction);
+            transaction.commit();
+            return result;
+        } finally {
+            timelockService.unlock(ImmutableSet.of(res.getLock()));
+        }
+    }
+
     private SnapshotTransaction getSnapshotTransactionWith(
             TimelockService timelockService,
             Supplier<Long> startTs,
@@ -1234,9 +1502,63 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
             LockImmutableTimestampResponse lockImmutableTimestampResponse,
             PreCommitCondition preCommitCondition,
             boolean validateLocksOnReads) {
+        return getSnapshotTransactionWith(
+                timelockService,
+                startTs,
+                lockImmutableTimestampResponse,
+                preCommitCondition,
+                validateLocksOnReads,
+                TRANSACTION_CONFIG);
+    }
+
+    private SnapshotTransaction getSnapshotTransactionWith(
+            TimelockService timelockService,
+            Supplier<Long> startTs,
+            LockImmutableTimestampResponse lockImmutableTimestampResponse,
+            PreCommitCondition preCommitCondition,
+            boolean validateLocksOnReads,
+            TransactionConfig transactionConfig) {
+        return getSnapshotTransactionWith(
+                timelockService,
+                startTs,
+                lockImmutableTimestampResponse,
+                preCommitCondition,
+                validateLocksOnReads,
+                transactionConfig,
+                NoOpCommittedValueCache.INSTANCE);
+    }
+
+    private SnapshotTransaction getSnapshotTransactionWith(
+            TimelockService timelockService,
+            Supplier<Long> startTs,
+            LockImmutableTimestampResponse lockImmutableTimestampResponse,
+            PreCommitCondition preCommitCondition,
+            boolean validateLocksOnReads,
+            TransactionConfig transactionConfig,
+            CommittedValueCache committedValueCache) {
+        return getSnapshotTransactionWith(
+                keyValueService,
+                timelockService,
+                startTs,
+                lockImmutableTimestampResponse,
+                preCommitCondition,
+                validateLocksOnReads,
+                transactionConfig,
+                committedValueCache);
+    }
+
+    private SnapshotTransaction getSnapshotTransactionWith(
+            KeyValueService kvs,
+            TimelockService timelockService,
+            Supplier<Long> startTs,
+            LockImmutableTimestampResponse lockImmutableTimestampResponse,
+            PreCommitCondition preCommitCondition,
+            boolean validateLocksOnReads,
+            TransactionConfig transactionConfig,
+            CommittedValueCache committedValueCache) {
         return new SnapshotTransaction(
                 metricsManager,
-                keyValueService,
+                kvs,
                 timelockService,
                 transactionService,
                 NoOpCleaner.INSTANCE,
@@ -1252,13 +1574,14 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 false,
                 timestampCache,
+                committedValueCache,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP,
                 MoreExecutors.newDirectExecutorService(),
                 CommitProfileProcessor.createNonLogging(metricsManager),
                 validateLocksOnReads,
-                () -> TRANSACTION_CONFIG);
+                () -> transactionConfig);
     }
 
     private void writeCells(TableReference table, ImmutableMap<Cell, byte[]> cellsToWrite) {
@@ -1286,6 +1609,21 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                 false);
     }
 
+    private TableMetadata getTableMetadataCachedAcrossTransactions() {
+        return new TableMetadata(
+                new NameMetadataDescription(),
+                new ColumnMetadataDescription(),
+                ConflictHandler.RETRY_ON_WRITE_WRITE,
+                CachePriority.WARM,
+                false,
+                0,
+                false,
+                SweepStrategy.CONSERVATIVE,
+                false,
+                LogSafety.UNSAFE,
+                true);
+    }
+
     private HeldLocksToken getExpiredHeldLocksToken() {
         ImmutableSortedMap.Builder<LockDescriptor, LockMode> builder = ImmutableSortedMap.naturalOrder();
         builder.put(
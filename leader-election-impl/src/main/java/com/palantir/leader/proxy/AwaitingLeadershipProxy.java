@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
+import com.google.common.base.Ticker;
 import com.google.common.net.HostAndPort;
 import com.google.common.reflect.AbstractInvocationHandler;
 import com.palantir.common.concurrent.PTExecutors;
@@ -54,10 +55,37 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
     public static <U> U newProxyInstance(Class<U> interfaceClass,
                                          Supplier<U> delegateSupplier,
                                          LeaderElectionService leaderElectionService) {
+        return newProxyInstance(interfaceClass, delegateSupplier, leaderElectionService, Duration.ZERO);
+    }
+
+    /**
+     * Creates a proxy that, after verifying with a quorum that it is still the leader, serves calls for up to
+     * {@code leaderLease} without verifying its leadership again. This is only safe if every acceptor in the
+     * leadership cluster refuses to promise new rounds for at least the lease plus the maximum clock drift after
+     * each verification (see {@link com.palantir.paxos.PaxosAcceptorImpl#newAcceptor(String, Duration)}).
+     * A lease of zero verifies leadership on every call.
+     */
+    public static <U> U newProxyInstance(Class<U> interfaceClass,
+                                         Supplier<U> delegateSupplier,
+                                         LeaderElectionService leaderElectionService,
+                                         Duration leaderLease) {
+        return newProxyInstance(interfaceClass, delegateSupplier, leaderElectionService, leaderLease,
+                Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    static <U> U newProxyInstance(Class<U> interfaceClass,
+                                  Supplier<U> delegateSupplier,
+                                  LeaderElectionService leaderElectionService,
+                                  Duration leaderLease,
+                                  Ticker ticker) {
         AwaitingLeadershipProxy<U> proxy = new AwaitingLeadershipProxy<>(
                 delegateSupplier,
                 leaderElectionService,
-                interfaceClass);
+                interfaceClass,
+                new AtomicReference<>(),
+                leaderLease,
+                ticker);
         proxy.tryToGainLeadership();
 
         return (U) Proxy.newProxyInstance(
@@ -72,7 +100,7 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
             Class<T> interfaceClass,
             AtomicReference<LeadershipToken> leadershipTokenRef) {
         return new AwaitingLeadershipProxy<>(delegateSupplier, leaderElectionService, interfaceClass,
-                leadershipTokenRef);
+                leadershipTokenRef, Duration.ZERO, Ticker.systemTicker());
     }
 
     final Supplier<T> delegateSupplier;
@@ -86,24 +114,30 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
     final AtomicReference<LeadershipToken> leadershipTokenRef;
     final AtomicReference<T> delegateRef;
     final Class<T> interfaceClass;
+    /**
+     * The lease obtained by the most recent successful verification of leadership, or null if there is none.
+     * Only used if the proxy was created with a positive lease duration.
+     */
+    final AtomicReference<LeadershipLease> leaseRef;
+    final long leaseNanos;
+    final Ticker ticker;
     volatile boolean isClosed;
 
-    private AwaitingLeadershipProxy(Supplier<T> delegateSupplier,
-                                    LeaderElectionService leaderElectionService,
-                                    Class<T> interfaceClass) {
-        this(delegateSupplier, leaderElectionService, interfaceClass, new AtomicReference<>());
-    }
-
     private AwaitingLeadershipProxy(Supplier<T> delegateSupplier, LeaderElectionService leaderElectionService,
-            Class<T> interfaceClass, AtomicReference<LeadershipToken> leadershipTokenRef) {
+            Class<T> interfaceClass, AtomicReference<LeadershipToken> leadershipTokenRef, Duration leaderLease,
+            Ticker ticker) {
         Preconditions.checkNotNull(delegateSupplier,
                 "Unable to create an AwaitingLeadershipProxy with no supplier");
+        Preconditions.checkArgument(!leaderLease.isNegative(), "Leader lease must not be negative");
         this.delegateSupplier = delegateSupplier;
         this.leaderElectionService = leaderElectionService;
         this.executor = PTExecutors.newSingleThreadExecutor(PTExecutors.newNamedThreadFactory(true));
         this.leadershipTokenRef = leadershipTokenRef;
         this.delegateRef = new AtomicReference<>();
         this.interfaceClass = interfaceClass;
+        this.leaseRef = new AtomicReference<>();
+        this.leaseNanos = leaderLease.toNanos();
+        this.ticker = ticker;
         this.isClosed = false;
     }
 
@@ -201,19 +235,8 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         final LeadershipToken leadershipToken = getLeadershipToken();
 
         Object delegate = delegateRef.get();
-        StillLeadingStatus leading = null;
-        for (int i = 0; i < MAX_NO_QUORUM_RETRIES; i++) {
-            // TODO(nziebart): check if leadershipTokenRef has been nulled out between iterations?
-            leading = leaderElectionService.isStillLeading(leadershipToken);
-            if (leading != StillLeadingStatus.NO_QUORUM) {
-                break;
-            }
-        }
-
-        // treat a repeated NO_QUORUM as NOT_LEADING; likely we've been cut off from the other nodes
-        // and should assume we're not the leader
-        if (leading == StillLeadingStatus.NOT_LEADING || leading == StillLeadingStatus.NO_QUORUM) {
-            markAsNotLeading(leadershipToken, null /* cause */);
+        if (!holdsLease(leadershipToken)) {
+            verifyStillLeading(leadershipToken);
         }
 
         if (isClosed) {
@@ -238,6 +261,46 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         }
     }
 
+    private boolean holdsLease(LeadershipToken leadershipToken) {
+        LeadershipLease lease = leaseRef.get();
+        return lease != null && lease.token == leadershipToken && ticker.read() - lease.expiryNanos < 0;
+    }
+
+    private void verifyStillLeading(LeadershipToken leadershipToken) {
+        // The lease runs from before the verification was requested, so it cannot outlast the acceptors' guard,
+        // which starts when they answer the verification.
+        long verificationStartNanos = ticker.read();
+        StillLeadingStatus leading = null;
+        for (int i = 0; i < MAX_NO_QUORUM_RETRIES; i++) {
+            // TODO(nziebart): check if leadershipTokenRef has been nulled out between iterations?
+            leading = leaderElectionService.isStillLeading(leadershipToken);
+            if (leading != StillLeadingStatus.NO_QUORUM) {
+                break;
+            }
+        }
+
+        // treat a repeated NO_QUORUM as NOT_LEADING; likely we've been cut off from the other nodes
+        // and should assume we're not the leader
+        if (leading == StillLeadingStatus.NOT_LEADING || leading == StillLeadingStatus.NO_QUORUM) {
+            markAsNotLeading(leadershipToken, null /* cause */);
+        }
+
+        if (leaseNanos > 0) {
+            extendLease(leadershipToken, verificationStartNanos + leaseNanos);
+        }
+    }
+
+    private void extendLease(LeadershipToken leadershipToken, long expiryNanos) {
+        LeadershipLease newLease = new LeadershipLease(leadershipToken, expiryNanos);
+        leaseRef.accumulateAndGet(newLease, (current, proposed) ->
+                current != null && current.token == proposed.token && current.expiryNanos - proposed.expiryNanos > 0
+                        ? current
+                        : proposed);
+        if (!isStillCurrentToken(leadershipToken)) {
+            leaseRef.compareAndSet(newLease, null);
+        }
+    }
+
     @VisibleForTesting
     LeadershipToken getLeadershipToken() {
         LeadershipToken leadershipToken = leadershipTokenRef.get();
@@ -282,6 +345,7 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
 
     private void markAsNotLeading(final LeadershipToken leadershipToken, @Nullable Throwable cause) {
         log.warn("Lost leadership", cause);
+        leaseRef.set(null);
         if (leadershipTokenRef.compareAndSet(leadershipToken, null)) {
             try {
                 clearDelegate();
@@ -293,4 +357,13 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         throw notCurrentLeaderException("method invoked on a non-leader (leadership lost)", cause);
     }
 
+    private static final class LeadershipLease {
+        private final LeadershipToken token;
+        private final long expiryNanos;
+
+        private LeadershipLease(LeadershipToken token, long expiryNanos) {
+            this.token = token;
+            this.expiryNanos = expiryNanos;
+        }
+    }
 }
@@ -16,38 +16,89 @@
 package com.palantir.paxos;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
 import com.palantir.logsafe.SafeArg;
 
 public final class PaxosAcceptorImpl implements PaxosAcceptor {
     private static final Logger logger = LoggerFactory.getLogger(PaxosAcceptorImpl.class);
 
     public static PaxosAcceptor newAcceptor(String logDir) {
-        PaxosStateLog<PaxosAcceptorState> log = new PaxosStateLogImpl<PaxosAcceptorState>(logDir);
+        return newAcceptor(new PaxosStateLogImpl<PaxosAcceptorState>(logDir));
+    }
+
+    public static PaxosAcceptor newAcceptor(PaxosStateLog<PaxosAcceptorState> log) {
+        return newAcceptor(log, Duration.ZERO, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates an acceptor for leader election that supports leader leases. Each time the leader verifies its
+     * leadership through {@link #getLatestSequencePreparedOrAccepted()}, the acceptor refuses to promise any later
+     * round for {@code leaseGuard}, so that no other node can be elected while the leader may still be serving
+     * requests under its lease. The guard must be at least the leader lease plus the maximum clock drift between
+     * nodes over that lease. A guard of zero disables this behaviour.
+     * <p>
+     * As the acceptor does not know whether it verified a leader just before it was restarted, it also refuses to
+     * promise rounds later than those in its log for {@code leaseGuard} after it is created.
+     */
+    public static PaxosAcceptor newAcceptor(String logDir, Duration leaseGuard) {
+        return newAcceptor(new PaxosStateLogImpl<PaxosAcceptorState>(logDir), leaseGuard, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    static PaxosAcceptor newAcceptor(PaxosStateLog<PaxosAcceptorState> log, Duration leaseGuard, Ticker ticker) {
+        Preconditions.checkArgument(!leaseGuard.isNegative(), "Lease guard must not be negative");
         return new PaxosAcceptorImpl(
                 new ConcurrentSkipListMap<Long, PaxosAcceptorState>(),
                 log,
-                log.getGreatestLogEntry());
+                log.getGreatestLogEntry(),
+                leaseGuard.toNanos(),
+                ticker);
     }
 
     final ConcurrentSkipListMap<Long, PaxosAcceptorState> state;
     final PaxosStateLog<PaxosAcceptorState> log;
     final long greatestInLogAtStartup;
+    final long leaseGuardNanos;
+    final Ticker ticker;
+    /**
+     * The latest round seen by the most recent leadership verification, and when that verification happened.
+     */
+    final AtomicReference<Verification> lastVerification = new AtomicReference<>();
 
     private PaxosAcceptorImpl(ConcurrentSkipListMap<Long, PaxosAcceptorState> state,
                               PaxosStateLog<PaxosAcceptorState> log,
-                              long greatestInLogAtStartup) {
+                              long greatestInLogAtStartup,
+                              long leaseGuardNanos,
+                              Ticker ticker) {
         this.state = state;
         this.log = log;
         this.greatestInLogAtStartup = greatestInLogAtStartup;
+        this.leaseGuardNanos = leaseGuardNanos;
+        this.ticker = ticker;
+        if (leaseGuardNanos > 0) {
+            // Verifications are not persisted, so we may have granted a lease just before restarting. Guard the rounds
+            // after those in the log as if the leader had verified its leadership just now.
+            lastVerification.set(new Verification(greatestInLogAtStartup, ticker.read()));
+        }
     }
 
     @Override
     public PaxosPromise prepare(long seq, PaxosProposalId pid) {
+        if (isGuardedByLease(seq)) {
+            logger.info("Refusing to promise round {} while the current leader may hold a lease",
+                    SafeArg.of("sequence", seq));
+            return PaxosPromise.reject(pid);
+        }
+
         try {
             checkLogIfNeeded(seq);
         } catch (Exception e) {
@@ -115,11 +166,26 @@ public final class PaxosAcceptorImpl implements PaxosAcceptor {
 
     @Override
     public long getLatestSequencePreparedOrAccepted() {
-        if (state.isEmpty()) {
-            return greatestInLogAtStartup;
-        } else {
-            return Math.max(greatestInLogAtStartup, state.lastKey());
+        long latestSequence = state.isEmpty()
+                ? greatestInLogAtStartup
+                : Math.max(greatestInLogAtStartup, state.lastKey());
+        if (leaseGuardNanos > 0) {
+            recordVerification(latestSequence);
         }
+        return latestSequence;
+    }
+
+    private void recordVerification(long latestSequence) {
+        Verification verification = new Verification(latestSequence, ticker.read());
+        lastVerification.accumulateAndGet(verification, (current, proposed) ->
+                current != null && current.timeNanos - proposed.timeNanos > 0 ? current : proposed);
+    }
+
+    private boolean isGuardedByLease(long seq) {
+        Verification verification = lastVerification.get();
+        return verification != null
+                && seq > verification.latestSequence
+                && ticker.read() - verification.timeNanos < leaseGuardNanos;
     }
 
     private void checkLogIfNeeded(long seq) throws TruncatedStateLogException, IOException {
@@ -140,4 +206,13 @@ public final class PaxosAcceptorImpl implements PaxosAcceptor {
         }
     }
 
+    private static final class Verification {
+        private final long latestSequence;
+        private final long timeNanos;
+
+        private Verification(long latestSequence, long timeNanos) {
+            this.latestSequence = latestSequence;
+            this.timeNanos = timeNanos;
+        }
+    }
 }
@@ -0,0 +1,653 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Longs;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.util.crypto.Sha256Hash;
+
+/**
+ * A {@link PaxosStateLog} that appends rounds to a small number of segment files, instead of writing each round to
+ * its own file as {@link PaxosStateLogImpl} does.
+ * <p>
+ * The location of the latest record for each sequence number is kept in an in-memory index, so finding the least and
+ * greatest log entries does not touch the disk. Concurrent calls to {@link #writeRound(long, Persistable)} share
+ * fsyncs: a writer that finds a sync in progress waits for it to finish, and the next sync then covers every record
+ * appended in the meantime. Rounds are only added to the index once they are durable, so a round is never read back
+ * before its write has been acknowledged; if a sync fails, the records it should have covered are discarded. {@link
+ * #truncate(long)} deletes a segment once none of its records are live any more.
+ * <p>
+ * Segments live in the {@value #SEGMENTS_DIRECTORY} subdirectory of the log directory. Rounds that were written to the
+ * log directory by {@link PaxosStateLogImpl} are copied into the segments when the log is opened, and their files are
+ * then deleted; this is not reversible.
+ */
+public class SegmentedPaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedPaxosStateLog.class);
+
+    @VisibleForTesting
+    static final String SEGMENTS_DIRECTORY = "segments";
+    @VisibleForTesting
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final long DEFAULT_SEGMENT_SIZE_BYTES = 16 * 1024 * 1024;
+    private static final String LEGACY_TMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Returns whether a segmented log has been opened in the given log directory. Once it has, the rounds in the
+     * directory are only in the segments, and opening the directory with {@link PaxosStateLogImpl} would lose them.
+     */
+    public static boolean existsIn(String path) {
+        return new File(path, SEGMENTS_DIRECTORY).isDirectory();
+    }
+
+    /**
+     * Version of rounds migrated from a {@link PaxosStateLogImpl}, which does not persist versions. Any later write
+     * replaces such a round, as it would have after restarting with the old log.
+     */
+    private static final long UNKNOWN_VERSION = Long.MIN_VALUE;
+
+    private static final byte ROUND = 0;
+    private static final byte PLACEHOLDER = 1;
+    private static final byte TRUNCATION = 2;
+
+    private static final int CHECKSUM_LENGTH = 32;
+    // sequence number, record type, version, payload length, payload checksum
+    private static final int HEADER_LENGTH = Long.BYTES + 1 + Long.BYTES + Integer.BYTES + CHECKSUM_LENGTH;
+
+    private final File directory;
+    private final File segmentDirectory;
+    private final long segmentSizeBytes;
+
+    private final ConcurrentSkipListMap<Long, Entry> index = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition syncCompleted = lock.newCondition();
+
+    @GuardedBy("lock")
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    @GuardedBy("lock")
+    private Segment activeSegment;
+    @GuardedBy("lock")
+    private long truncatedUpTo = Long.MIN_VALUE;
+    @GuardedBy("lock")
+    private long appendedRecords = 0;
+    @GuardedBy("lock")
+    private long durableRecords = 0;
+    @GuardedBy("lock")
+    private boolean syncInProgress = false;
+    @GuardedBy("lock")
+    private long failedSyncs = 0;
+    @GuardedBy("lock")
+    private final Deque<PendingRecord> pendingRecords = new ArrayDeque<>();
+
+    public SegmentedPaxosStateLog(String path) {
+        this(path, DEFAULT_SEGMENT_SIZE_BYTES);
+    }
+
+    @VisibleForTesting
+    SegmentedPaxosStateLog(String path, long segmentSizeBytes) {
+        this.directory = new File(path);
+        this.segmentDirectory = new File(directory, SEGMENTS_DIRECTORY);
+        this.segmentSizeBytes = segmentSizeBytes;
+
+        lock.lock();
+        try {
+            FileUtils.forceMkdir(segmentDirectory);
+            recoverSegments();
+            migrateLegacyRounds();
+            if (index.isEmpty()) {
+                // As in PaxosStateLogImpl, a brand new log has a lowest entry so that #getLeastLogEntry does not
+                // skip over sequence number 0 after a restart.
+                append(encode(PLACEHOLDER, PaxosAcceptor.NO_LOG_ENTRY, UNKNOWN_VERSION, new byte[0]));
+                forceActiveSegment();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IO problem related to the path " + directory.getAbsolutePath(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeRound(long seq, V round) {
+        long version = round.getVersion();
+        ByteBuffer record = encode(ROUND, seq, version, round.persistToBytes());
+
+        lock.lock();
+        try {
+            // reject old state
+            if (isOlderThanLatestVersion(seq, version)) {
+                return;
+            }
+
+            long recordNumber = append(record);
+            awaitDurable(recordNumber);
+        } catch (IOException e) {
+            log.error("problem writing paxos state", e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] readRound(long seq) throws IOException {
+        if (!index.containsKey(seq)) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            // the round may have been truncated, and its segment closed, since we last looked
+            Entry entry = index.get(seq);
+            if (entry == null || entry.placeholder) {
+                return null;
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + entry.length);
+            if (!readFully(entry.segment.channel, record, entry.offset)) {
+                throw new CorruptLogFileException();
+            }
+            record.flip();
+            byte[] payload = decodePayload(record);
+            if (payload == null) {
+                log.error("Problem reading paxos state, specifically when reading round {} from segment {}",
+                        SafeArg.of("round", seq),
+                        UnsafeArg.of("segment", entry.segment.file.getAbsolutePath()));
+                throw new CorruptLogFileException();
+            }
+            return payload;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getLeastLogEntry() {
+        Map.Entry<Long, Entry> least = index.firstEntry();
+        return least == null ? PaxosAcceptor.NO_LOG_ENTRY : least.getKey();
+    }
+
+    @Override
+    public long getGreatestLogEntry() {
+        Map.Entry<Long, Entry> greatest = index.lastEntry();
+        return greatest == null ? PaxosAcceptor.NO_LOG_ENTRY : greatest.getKey();
+    }
+
+    @SuppressWarnings("ParameterAssignment")
+    @Override
+    public void truncate(long toDeleteInclusive) {
+        lock.lock();
+        try {
+            long greatestLogEntry = getGreatestLogEntry();
+            if (greatestLogEntry >= 0) {
+                // We never want to remove our most recent entry
+                toDeleteInclusive = Math.min(greatestLogEntry - 1, toDeleteInclusive);
+            }
+            if (index.isEmpty() || index.firstKey() > toDeleteInclusive) {
+                return;
+            }
+
+            // The truncation record is not synced: if it is lost, the truncated rounds are merely read back again.
+            append(encode(TRUNCATION, toDeleteInclusive, UNKNOWN_VERSION, new byte[0]));
+            deleteUnusedSegments();
+        } catch (IOException e) {
+            log.error("problem truncating paxos state", e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    int getNumberOfSegments() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void recoverSegments() throws IOException {
+        File[] files = segmentDirectory.listFiles();
+        if (files == null) {
+            throw new IOException("Could not list the segments in " + segmentDirectory.getAbsolutePath());
+        }
+        for (File file : files) {
+            Long segmentId = getSegmentId(file);
+            if (segmentId != null) {
+                segments.put(segmentId, openSegment(segmentId));
+            }
+        }
+
+        for (Iterator<Segment> iterator = segments.values().iterator(); iterator.hasNext();) {
+            Segment segment = iterator.next();
+            replay(segment, !iterator.hasNext());
+        }
+
+        activeSegment = segments.isEmpty() ? createSegment(0L) : segments.lastEntry().getValue();
+    }
+
+    @GuardedBy("lock")
+    private void replay(Segment segment, boolean isLastSegment) throws IOException {
+        long size = segment.channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        while (position < size) {
+            header.clear();
+            int payloadLength = readFully(segment.channel, header, position) ? header.getInt(Long.BYTES * 2 + 1) : -1;
+            ByteBuffer record = payloadLength >= 0 && position + HEADER_LENGTH + payloadLength <= size
+                    ? ByteBuffer.allocate(HEADER_LENGTH + payloadLength)
+                    : null;
+            if (record == null || !readFully(segment.channel, record, position) || !isValid(record)) {
+                if (!isLastSegment) {
+                    throw new CorruptLogFileException();
+                }
+                // Only the end of the last segment can have been partially written when we crashed.
+                log.warn("Discarding a partially written record at offset {} of paxos log segment {}",
+                        SafeArg.of("offset", position),
+                        UnsafeArg.of("segment", segment.file.getAbsolutePath()));
+                segment.channel.truncate(position);
+                segment.channel.force(false);
+                break;
+            }
+            record.flip();
+            apply(segment, position, record);
+            position += record.limit();
+        }
+        segment.size = position;
+    }
+
+    @GuardedBy("lock")
+    private void migrateLegacyRounds() throws IOException {
+        File[] legacyFiles = directory.listFiles(File::isFile);
+        if (legacyFiles == null) {
+            throw new IOException("Could not list the files in " + directory.getAbsolutePath());
+        }
+        long[] legacySeqs = Arrays.stream(legacyFiles)
+                .map(SegmentedPaxosStateLog::getLegacySeq)
+                .filter(seq -> seq != null)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+
+        if (legacySeqs.length > 0) {
+            PaxosStateLogImpl<V> legacyLog = new PaxosStateLogImpl<>(directory.getPath());
+            for (long seq : legacySeqs) {
+                if (new File(directory, Long.toString(seq)).length() == 0) {
+                    append(encode(PLACEHOLDER, seq, UNKNOWN_VERSION, new byte[0]));
+                    continue;
+                }
+                // A corrupt round must not be skipped, as that would forget a promise or acceptance.
+                byte[] round = legacyLog.readRound(seq);
+                if (round != null) {
+                    append(encode(ROUND, seq, UNKNOWN_VERSION, round));
+                }
+            }
+            forceActiveSegment();
+            log.info("Migrated {} paxos rounds from {} to a segmented log",
+                    SafeArg.of("numRounds", legacySeqs.length),
+                    UnsafeArg.of("directory", directory.getAbsolutePath()));
+        }
+
+        for (File file : legacyFiles) {
+            if (getLegacySeq(file) != null || file.getName().endsWith(LEGACY_TMP_FILE_SUFFIX)) {
+                FileUtils.forceDelete(file);
+            }
+        }
+    }
+
+    /**
+     * Writes the given record to the end of the active segment, starting a new segment first if the active one is
+     * full, and returns the number of records appended to this log so far.
+     */
+    @GuardedBy("lock")
+    private long append(ByteBuffer record) throws IOException {
+        if (activeSegment.size >= segmentSizeBytes) {
+            rollOver();
+        }
+        writeTo(activeSegment, record);
+        return appendedRecords;
+    }
+
+    @GuardedBy("lock")
+    private void rollOver() throws IOException {
+        // everything in earlier segments is durable, so syncs only ever need to force the active segment
+        forceActiveSegment();
+        activeSegment = createSegment(activeSegment.id + 1);
+        if (truncatedUpTo != Long.MIN_VALUE) {
+            // the segments holding earlier truncation records may be deleted
+            writeTo(activeSegment, encode(TRUNCATION, truncatedUpTo, UNKNOWN_VERSION, new byte[0]));
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean isOlderThanLatestVersion(long seq, long version) {
+        for (Iterator<PendingRecord> iterator = pendingRecords.descendingIterator(); iterator.hasNext();) {
+            PendingRecord pending = iterator.next();
+            if (pending.record.getLong(0) == seq) {
+                return version < pending.record.getLong(Long.BYTES + 1);
+            }
+        }
+        Entry existing = index.get(seq);
+        return existing != null && version < existing.version;
+    }
+
+    @GuardedBy("lock")
+    private void writeTo(Segment segment, ByteBuffer record) throws IOException {
+        long offset = segment.size;
+        record.rewind();
+        while (record.hasRemaining()) {
+            segment.channel.write(record, offset + record.position());
+        }
+        segment.size += record.limit();
+        appendedRecords++;
+
+        record.rewind();
+        if (record.get(Long.BYTES) == TRUNCATION) {
+            // Applying a truncation before it is durable is safe: if it is lost, the truncated rounds are merely
+            // read back again.
+            apply(segment, offset, record);
+        } else {
+            pendingRecords.addLast(new PendingRecord(appendedRecords, segment, offset, record, truncatedUpTo));
+        }
+    }
+
+    /**
+     * Adds the records that have become durable to the index, in the order in which they were appended.
+     */
+    @GuardedBy("lock")
+    private void applyDurableRecords() {
+        while (!pendingRecords.isEmpty() && pendingRecords.peekFirst().recordNumber <= durableRecords) {
+            PendingRecord pending = pendingRecords.removeFirst();
+            if (pending.record.getLong(0) <= truncatedUpTo && pending.truncatedUpTo < truncatedUpTo) {
+                // truncated after it was appended, just as it would be when replaying the segment
+                continue;
+            }
+            apply(pending.segment, pending.offset, pending.record);
+        }
+    }
+
+    /**
+     * Discards every record that is not known to be durable, after a sync failed. Writers waiting for these records
+     * fail rather than having their rounds become visible.
+     */
+    @GuardedBy("lock")
+    private void discardPendingRecords() {
+        PendingRecord first = pendingRecords.peekFirst();
+        if (first == null) {
+            return;
+        }
+        pendingRecords.clear();
+        appendedRecords = durableRecords;
+        failedSyncs++;
+        // records are only pending in the active segment, as rolling over syncs the previous one
+        first.segment.size = first.offset;
+        try {
+            first.segment.channel.truncate(first.offset);
+        } catch (IOException e) {
+            log.warn("Failed to discard unsynced records from paxos log segment {}; they may be read back after"
+                    + " a restart",
+                    UnsafeArg.of("segment", first.segment.file.getAbsolutePath()),
+                    e);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void apply(Segment segment, long offset, ByteBuffer record) {
+        long seq = record.getLong(0);
+        byte type = record.get(Long.BYTES);
+        long version = record.getLong(Long.BYTES + 1);
+        int length = record.getInt(Long.BYTES * 2 + 1);
+
+        if (type == TRUNCATION) {
+            truncatedUpTo = Math.max(truncatedUpTo, seq);
+            Map<Long, Entry> truncated = index.headMap(seq, true);
+            truncated.values().forEach(entry -> entry.segment.liveEntries--);
+            truncated.clear();
+            return;
+        }
+
+        Entry previous = index.put(seq, new Entry(segment, offset, length, version, type == PLACEHOLDER));
+        if (previous != null) {
+            previous.segment.liveEntries--;
+        }
+        segment.liveEntries++;
+    }
+
+    /**
+     * Waits until the given number of records are durable, syncing the active segment if no other writer is. Writers
+     * that arrive while a sync is in progress are all covered by the next one.
+     */
+    @GuardedBy("lock")
+    private void awaitDurable(long recordNumber) throws IOException {
+        long failedSyncsAtAppend = failedSyncs;
+        while (durableRecords < recordNumber) {
+            if (failedSyncs != failedSyncsAtAppend) {
+                throw new IOException("Failed to sync the paxos log, so the round was not written");
+            }
+            if (syncInProgress) {
+                syncCompleted.awaitUninterruptibly();
+                continue;
+            }
+
+            syncInProgress = true;
+            long syncedRecords = appendedRecords;
+            FileChannel channel = activeSegment.channel;
+            boolean synced = false;
+            lock.unlock();
+            try {
+                force(channel);
+                synced = true;
+            } finally {
+                lock.lock();
+                if (synced) {
+                    durableRecords = Math.max(durableRecords, syncedRecords);
+                    applyDurableRecords();
+                } else {
+                    discardPendingRecords();
+                }
+                syncInProgress = false;
+                syncCompleted.signalAll();
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private void forceActiveSegment() throws IOException {
+        boolean synced = false;
+        try {
+            force(activeSegment.channel);
+            synced = true;
+        } finally {
+            if (synced) {
+                durableRecords = appendedRecords;
+                applyDurableRecords();
+            } else {
+                discardPendingRecords();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void force(FileChannel channel) throws IOException {
+        channel.force(false);
+    }
+
+    @GuardedBy("lock")
+    private void deleteUnusedSegments() throws IOException {
+        // a sync in progress may be forcing a segment we are about to close
+        while (syncInProgress) {
+            syncCompleted.awaitUninterruptibly();
+        }
+
+        for (Iterator<Segment> iterator = segments.values().iterator(); iterator.hasNext();) {
+            Segment segment = iterator.next();
+            if (segment != activeSegment && segment.liveEntries == 0) {
+                segment.channel.close();
+                if (!segment.file.delete()) {
+                    log.warn("failed to delete paxos log segment {}", UnsafeArg.of("segment", segment.file));
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private Segment createSegment(long segmentId) throws IOException {
+        Segment segment = openSegment(segmentId);
+        segments.put(segmentId, segment);
+        return segment;
+    }
+
+    private Segment openSegment(long segmentId) throws IOException {
+        File file = new File(segmentDirectory, segmentId + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(segmentId, file, channel);
+    }
+
+    private static ByteBuffer encode(byte type, long seq, long version, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+        record.putLong(seq);
+        record.put(type);
+        record.putLong(version);
+        record.putInt(payload.length);
+        record.put(Sha256Hash.computeHash(payload).getBytes());
+        record.put(payload);
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Returns the payload of the given record, or null if it does not match the record's checksum.
+     */
+    private static byte[] decodePayload(ByteBuffer record) {
+        byte[] checksum = new byte[CHECKSUM_LENGTH];
+        record.position(HEADER_LENGTH - CHECKSUM_LENGTH);
+        record.get(checksum);
+        byte[] payload = new byte[record.remaining()];
+        record.get(payload);
+        return Arrays.equals(checksum, Sha256Hash.computeHash(payload).getBytes()) ? payload : null;
+    }
+
+    private static boolean isValid(ByteBuffer record) {
+        byte type = record.get(Long.BYTES);
+        if (type != ROUND && type != PLACEHOLDER && type != TRUNCATION) {
+            return false;
+        }
+        ByteBuffer copy = record.duplicate();
+        copy.flip();
+        return decodePayload(copy) != null;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Long getSegmentId(File file) {
+        String name = file.getName();
+        if (!name.endsWith(SEGMENT_SUFFIX)) {
+            return null;
+        }
+        return Longs.tryParse(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static Long getLegacySeq(File file) {
+        return Longs.tryParse(file.getName());
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+
+        private long size = 0;
+        private int liveEntries = 0;
+
+        Segment(long id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    private static final class PendingRecord {
+        private final long recordNumber;
+        private final Segment segment;
+        private final long offset;
+        private final ByteBuffer record;
+        private final long truncatedUpTo;
+
+        PendingRecord(long recordNumber, Segment segment, long offset, ByteBuffer record, long truncatedUpTo) {
+            this.recordNumber = recordNumber;
+            this.segment = segment;
+            this.offset = offset;
+            this.record = record;
+            this.truncatedUpTo = truncatedUpTo;
+        }
+    }
+
+    private static final class Entry {
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+        private final long version;
+        private final boolean placeholder;
+
+        Entry(Segment segment, long offset, int length, long version, boolean placeholder) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.version = version;
+            this.placeholder = placeholder;
+        }
+    }
+}
@@ -23,9 +23,11 @@ import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -33,6 +35,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 
@@ -42,6 +45,7 @@ import org.mockito.stubbing.Answer;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.base.Ticker;
 import com.google.common.net.HostAndPort;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.leader.LeaderElectionService;
@@ -57,6 +61,13 @@ public class AwaitingLeadershipProxyTest {
     private final Runnable mockRunnable = mock(Runnable.class);
     private final Supplier<Runnable> delegateSupplier = Suppliers.ofInstance(mockRunnable);
     private final LeaderElectionService mockLeader = mock(LeaderElectionService.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
 
     @Before
     public void before() throws InterruptedException {
@@ -214,6 +225,57 @@ public class AwaitingLeadershipProxyTest {
         verify(leaderElectionService, atLeast(2)).blockOnBecomingLeader();
     }
 
+    @Test
+    public void shouldNotVerifyLeadershipAgainWhileHoldingLease() throws Exception {
+        when(leaderElectionService.getCurrentTokenIfLeading()).thenReturn(Optional.of(leadershipToken));
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Duration.ofSeconds(1), ticker);
+
+        proxy.run();
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        proxy.run();
+
+        verify(leaderElectionService, times(1)).isStillLeading(leadershipToken);
+        verify(mockRunnable, times(2)).run();
+    }
+
+    @Test
+    public void shouldVerifyLeadershipAgainOnceLeaseExpires() throws Exception {
+        when(leaderElectionService.getCurrentTokenIfLeading()).thenReturn(Optional.of(leadershipToken));
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Duration.ofSeconds(1), ticker);
+
+        proxy.run();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        proxy.run();
+
+        verify(leaderElectionService, times(2)).isStillLeading(leadershipToken);
+    }
+
+    @Test
+    public void shouldNotObtainLeaseIfNotLeading() throws Exception {
+        when(leaderElectionService.getCurrentTokenIfLeading()).thenReturn(Optional.of(leadershipToken));
+        when(leaderElectionService.isStillLeading(leadershipToken))
+                .thenReturn(LeaderElectionService.StillLeadingStatus.NOT_LEADING);
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Duration.ofSeconds(1), ticker);
+
+        assertThatThrownBy(proxy::run).isInstanceOf(NotCurrentLeaderException.class);
+        verify(mockRunnable, never()).run();
+    }
+
+    @Test
+    public void shouldVerifyLeadershipOnEveryCallWithoutLease() throws Exception {
+        when(leaderElectionService.getCurrentTokenIfLeading()).thenReturn(Optional.of(leadershipToken));
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Duration.ZERO, ticker);
+
+        proxy.run();
+        proxy.run();
+
+        verify(leaderElectionService, times(2)).isStillLeading(leadershipToken);
+    }
+
     @SuppressWarnings("IllegalThrows")
     private Void loseLeadershipDuringCallToProxyFor(Callable<Void> delegate) throws Throwable {
         CountDownLatch delegateCallStarted = new CountDownLatch(1);
@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Ticker;
+
+public class PaxosAcceptorImplTest {
+    private static final Duration LEASE_GUARD = Duration.ofSeconds(1);
+    private static final PaxosProposalId PROPOSAL_ID = new PaxosProposalId(1L, "proposer");
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    private PaxosStateLog<PaxosAcceptorState> log;
+
+    @Before
+    public void setUp() throws IOException {
+        log = new PaxosStateLogImpl<>(temporaryFolder.newFolder().getPath());
+    }
+
+    @Test
+    public void refusesToPromiseLaterRoundsUntilLeaseGuardHasPassedSinceStartup() {
+        PaxosAcceptor acceptor = PaxosAcceptorImpl.newAcceptor(log, LEASE_GUARD, ticker);
+
+        assertThat(acceptor.prepare(1L, PROPOSAL_ID).isSuccessful()).isFalse();
+
+        nanos.addAndGet(LEASE_GUARD.toNanos());
+
+        assertThat(acceptor.prepare(1L, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void refusesToPromiseLaterRoundsAfterRestartWhileLeaseMayBeHeld() {
+        PaxosAcceptor acceptor = PaxosAcceptorImpl.newAcceptor(log, LEASE_GUARD, ticker);
+        nanos.addAndGet(LEASE_GUARD.toNanos());
+        acceptor.prepare(1L, PROPOSAL_ID);
+        acceptor.getLatestSequencePreparedOrAccepted();
+
+        PaxosAcceptor restarted = PaxosAcceptorImpl.newAcceptor(log, LEASE_GUARD, ticker);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+
+        assertThat(restarted.prepare(2L, PROPOSAL_ID).isSuccessful()).isFalse();
+        assertThat(restarted.prepare(1L, new PaxosProposalId(2L, "proposer")).isSuccessful()).isTrue();
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(restarted.prepare(2L, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void refusesToPromiseLaterRoundsWhileLeaseMayBeHeld() {
+        PaxosAcceptor acceptor = createAcceptorAfterStartupGuard();
+        acceptor.prepare(1L, PROPOSAL_ID);
+        acceptor.getLatestSequencePreparedOrAccepted();
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+
+        assertThat(acceptor.prepare(2L, PROPOSAL_ID).isSuccessful()).isFalse();
+    }
+
+    @Test
+    public void promisesLaterRoundsOnceLeaseGuardHasPassed() {
+        PaxosAcceptor acceptor = createAcceptorAfterStartupGuard();
+        acceptor.prepare(1L, PROPOSAL_ID);
+        acceptor.getLatestSequencePreparedOrAccepted();
+
+        nanos.addAndGet(LEASE_GUARD.toNanos());
+
+        assertThat(acceptor.prepare(2L, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void stillPromisesVerifiedRoundWhileLeaseMayBeHeld() {
+        PaxosAcceptor acceptor = createAcceptorAfterStartupGuard();
+        acceptor.prepare(1L, PROPOSAL_ID);
+        acceptor.getLatestSequencePreparedOrAccepted();
+
+        assertThat(acceptor.prepare(1L, new PaxosProposalId(2L, "proposer")).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void doesNotGuardRoundsWithoutLease() {
+        PaxosAcceptor acceptor = PaxosAcceptorImpl.newAcceptor(log, Duration.ZERO, ticker);
+        acceptor.prepare(1L, PROPOSAL_ID);
+        acceptor.getLatestSequencePreparedOrAccepted();
+
+        assertThat(acceptor.prepare(2L, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    private PaxosAcceptor createAcceptorAfterStartupGuard() {
+        PaxosAcceptor acceptor = PaxosAcceptorImpl.newAcceptor(log, LEASE_GUARD, ticker);
+        nanos.addAndGet(LEASE_GUARD.toNanos());
+        return acceptor;
+    }
+}
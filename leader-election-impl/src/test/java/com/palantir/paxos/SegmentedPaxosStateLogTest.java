@@ -0,0 +1,251 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.util.concurrent.Futures;
+
+public class SegmentedPaxosStateLogTest {
+    private static final String LEADER = "leader";
+    private static final long SMALL_SEGMENT_SIZE_BYTES = 1024;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = temporaryFolder.newFolder().getPath();
+    }
+
+    @Test
+    public void newLogHasOnlyTheInitialEntry() {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+
+        assertThat(log.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void canReadWrittenRounds() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+        log.writeRound(1L, value(1L));
+        log.writeRound(2L, value(2L));
+
+        assertThat(readValue(log, 1L)).isEqualTo(value(1L));
+        assertThat(readValue(log, 2L)).isEqualTo(value(2L));
+        assertThat(log.getGreatestLogEntry()).isEqualTo(2L);
+    }
+
+    @Test
+    public void readingUnknownRoundReturnsNull() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+
+        assertThat(log.readRound(5L)).isNull();
+        assertThat(log.readRound(PaxosAcceptor.NO_LOG_ENTRY)).isNull();
+    }
+
+    @Test
+    public void rejectsRoundsWithOlderVersions() throws IOException {
+        SegmentedPaxosStateLog<PaxosAcceptorState> log = new SegmentedPaxosStateLog<>(path);
+        PaxosAcceptorState state = PaxosAcceptorState.newState(new PaxosProposalId(1L, LEADER));
+        PaxosAcceptorState newerState = state.withPromise(new PaxosProposalId(2L, LEADER));
+
+        log.writeRound(1L, newerState);
+        log.writeRound(1L, state);
+
+        // versions are not persisted, so compare the promises instead
+        assertThat(PaxosAcceptorState.BYTES_HYDRATOR.hydrateFromBytes(log.readRound(1L)).lastPromisedId)
+                .isEqualTo(newerState.lastPromisedId);
+    }
+
+    @Test
+    public void recoversRoundsAfterRestart() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path, SMALL_SEGMENT_SIZE_BYTES);
+        LongStream.range(0, 100).forEach(seq -> log.writeRound(seq, value(seq)));
+        log.writeRound(50L, value(500L));
+
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path, SMALL_SEGMENT_SIZE_BYTES);
+
+        assertThat(recovered.getNumberOfSegments()).isGreaterThan(1);
+        assertThat(recovered.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(recovered.getGreatestLogEntry()).isEqualTo(99L);
+        assertThat(readValue(recovered, 49L)).isEqualTo(value(49L));
+        assertThat(readValue(recovered, 50L)).isEqualTo(value(500L));
+    }
+
+    @Test
+    public void discardsPartiallyWrittenRecordOnRecovery() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+        log.writeRound(1L, value(1L));
+        File segment = new File(new File(path, SegmentedPaxosStateLog.SEGMENTS_DIRECTORY),
+                "0" + SegmentedPaxosStateLog.SEGMENT_SUFFIX);
+        long validLength = segment.length();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(validLength);
+            file.write(new byte[] {0, 0, 0, 0, 0, 0, 0, 2, 0});
+        }
+
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path);
+
+        assertThat(segment.length()).isEqualTo(validLength);
+        assertThat(recovered.getGreatestLogEntry()).isEqualTo(1L);
+        recovered.writeRound(2L, value(2L));
+        assertThat(readValue(recovered, 2L)).isEqualTo(value(2L));
+    }
+
+    @Test
+    public void throwsIfRoundIsCorrupted() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+        log.writeRound(1L, value(1L));
+        File segment = new File(new File(path, SegmentedPaxosStateLog.SEGMENTS_DIRECTORY),
+                "0" + SegmentedPaxosStateLog.SEGMENT_SUFFIX);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            long lastByte = file.length() - 1;
+            file.seek(lastByte);
+            int value = file.read();
+            file.seek(lastByte);
+            file.write(~value);
+        }
+
+        assertThatThrownBy(() -> log.readRound(1L)).isInstanceOf(PaxosStateLog.CorruptLogFileException.class);
+    }
+
+    @Test
+    public void truncationKeepsGreatestEntryAndSurvivesRestart() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+        LongStream.range(0, 10).forEach(seq -> log.writeRound(seq, value(seq)));
+
+        log.truncate(5L);
+        assertThat(log.getLeastLogEntry()).isEqualTo(6L);
+        assertThat(log.readRound(5L)).isNull();
+
+        log.truncate(20L);
+        assertThat(log.getLeastLogEntry()).isEqualTo(9L);
+
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path);
+        assertThat(recovered.getLeastLogEntry()).isEqualTo(9L);
+        assertThat(readValue(recovered, 9L)).isEqualTo(value(9L));
+    }
+
+    @Test
+    public void truncationDeletesSegmentsWithoutLiveRounds() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path, SMALL_SEGMENT_SIZE_BYTES);
+        LongStream.range(0, 100).forEach(seq -> log.writeRound(seq, value(seq)));
+        int segmentsBeforeTruncation = log.getNumberOfSegments();
+
+        log.truncate(98L);
+
+        assertThat(log.getNumberOfSegments()).isLessThan(segmentsBeforeTruncation);
+        assertThat(new File(path, SegmentedPaxosStateLog.SEGMENTS_DIRECTORY).list())
+                .hasSize(log.getNumberOfSegments());
+
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path, SMALL_SEGMENT_SIZE_BYTES);
+        assertThat(recovered.getLeastLogEntry()).isEqualTo(99L);
+        assertThat(readValue(recovered, 99L)).isEqualTo(value(99L));
+    }
+
+    @Test
+    public void migratesRoundsFromLegacyLog() throws IOException {
+        PaxosStateLogImpl<PaxosValue> legacyLog = new PaxosStateLogImpl<>(path);
+        legacyLog.writeRound(1L, value(1L));
+        legacyLog.writeRound(2L, value(2L));
+
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path);
+
+        assertThat(log.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(2L);
+        assertThat(readValue(log, 1L)).isEqualTo(value(1L));
+        assertThat(readValue(log, 2L)).isEqualTo(value(2L));
+        assertThat(new File(path).list()).containsExactly(SegmentedPaxosStateLog.SEGMENTS_DIRECTORY);
+
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path);
+        assertThat(readValue(recovered, 2L)).isEqualTo(value(2L));
+    }
+
+    @Test
+    public void concurrentWritesAreAllPersisted() throws Exception {
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path, SMALL_SEGMENT_SIZE_BYTES);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> writes = LongStream.range(0, 500)
+                    .mapToObj(seq -> executor.submit(() -> log.writeRound(seq, value(seq))))
+                    .collect(Collectors.toList());
+            writes.forEach(Futures::getUnchecked);
+        } finally {
+            executor.shutdown();
+        }
+
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path, SMALL_SEGMENT_SIZE_BYTES);
+        for (long seq = 0; seq < 500; seq++) {
+            assertThat(readValue(recovered, seq)).isEqualTo(value(seq));
+        }
+    }
+
+    @Test
+    public void roundIsNotVisibleIfSyncFails() throws IOException {
+        AtomicBoolean failSyncs = new AtomicBoolean(false);
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<PaxosValue>(path) {
+            @Override
+            void force(FileChannel channel) throws IOException {
+                if (failSyncs.get()) {
+                    throw new IOException("sync failed");
+                }
+                super.force(channel);
+            }
+        };
+        log.writeRound(1L, value(1L));
+
+        failSyncs.set(true);
+        assertThatThrownBy(() -> log.writeRound(2L, value(2L))).isInstanceOf(RuntimeException.class);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(1L);
+        assertThat(log.readRound(2L)).isNull();
+
+        failSyncs.set(false);
+        log.writeRound(3L, value(3L));
+        SegmentedPaxosStateLog<PaxosValue> recovered = new SegmentedPaxosStateLog<>(path);
+        assertThat(recovered.readRound(2L)).isNull();
+        assertThat(readValue(recovered, 3L)).isEqualTo(value(3L));
+    }
+
+    private static PaxosValue readValue(PaxosStateLog<PaxosValue> log, long seq) throws IOException {
+        return PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(log.readRound(seq));
+    }
+
+    private static PaxosValue value(long seq) {
+        return new PaxosValue(LEADER, seq, new byte[] {(byte) seq});
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.common.base.Throwables;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.v2.TimestampAndPartition;
+
+/**
+ * Coalesces concurrent requests to start transactions into calls to
+ * {@link TimelockService#startIdentifiedAtlasDbTransactionBatch(StartIdentifiedAtlasDbTransactionBatchRequest)}.
+ *
+ * All transactions started by one batch request share a single immutable timestamp lock on the server. Each
+ * transaction is handed a {@link LockTokenShare} of that lock instead; the shared lock is registered with the
+ * {@link LockRefresher} here, and must be unregistered and unlocked once its last share has been unlocked.
+ *
+ * The request ids of the individual requests are not sent to the server; each batch request has its own request id.
+ */
+final class BatchingIdentifiedAtlasDbTransactionStarter implements AutoCloseable {
+    private final DisruptorAutobatcher<StartIdentifiedAtlasDbTransactionRequest,
+            StartIdentifiedAtlasDbTransactionResponse> autobatcher;
+
+    private BatchingIdentifiedAtlasDbTransactionStarter(DisruptorAutobatcher<StartIdentifiedAtlasDbTransactionRequest,
+            StartIdentifiedAtlasDbTransactionResponse> autobatcher) {
+        this.autobatcher = autobatcher;
+    }
+
+    static BatchingIdentifiedAtlasDbTransactionStarter create(
+            TimelockService timelockService,
+            LockRefresher lockRefresher) {
+        return new BatchingIdentifiedAtlasDbTransactionStarter(
+                DisruptorAutobatcher.create(consumer(timelockService, lockRefresher)));
+    }
+
+    StartIdentifiedAtlasDbTransactionResponse startIdentifiedAtlasDbTransaction(
+            StartIdentifiedAtlasDbTransactionRequest request) {
+        try {
+            return autobatcher.apply(request).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUncheckedException(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+    }
+
+    @VisibleForTesting
+    static Consumer<List<BatchElement<StartIdentifiedAtlasDbTransactionRequest,
+            StartIdentifiedAtlasDbTransactionResponse>>> consumer(
+            TimelockService timelockService,
+            LockRefresher lockRefresher) {
+        return batch -> {
+            Map<UUID, List<BatchElement<StartIdentifiedAtlasDbTransactionRequest,
+                    StartIdentifiedAtlasDbTransactionResponse>>> elementsByRequestor = batch.stream()
+                    .collect(Collectors.groupingBy(element -> element.argument().requestorId()));
+            elementsByRequestor.forEach((requestorId, elements) -> {
+                try {
+                    startTransactions(timelockService, lockRefresher, requestorId, elements);
+                } catch (Throwable t) {
+                    elements.forEach(element -> element.result().setException(t));
+                }
+            });
+        };
+    }
+
+    private static void startTransactions(
+            TimelockService timelockService,
+            LockRefresher lockRefresher,
+            UUID requestorId,
+            List<BatchElement<StartIdentifiedAtlasDbTransactionRequest,
+                    StartIdentifiedAtlasDbTransactionResponse>> elements) {
+        int numStarted = 0;
+        while (numStarted < elements.size()) {
+            int numRemaining = elements.size() - numStarted;
+            StartIdentifiedAtlasDbTransactionBatchResponse response =
+                    timelockService.startIdentifiedAtlasDbTransactionBatch(
+                            StartIdentifiedAtlasDbTransactionBatchRequest.createForRequestor(
+                                    requestorId, numRemaining));
+            LockToken immutableTsLock = response.immutableTimestamp().getLock();
+            List<TimestampAndPartition> startTimestamps = response.startTimestampsAndPartitions();
+            int numStartedInResponse = Math.min(startTimestamps.size(), numRemaining);
+            if (numStartedInResponse == 0) {
+                timelockService.tryUnlock(ImmutableSet.of(immutableTsLock));
+                throw new IllegalStateException(
+                        "TimeLock did not start any transactions when asked to start " + numRemaining);
+            }
+
+            lockRefresher.registerLock(immutableTsLock);
+            List<LockToken> shares = LockTokenShare.share(immutableTsLock, numStartedInResponse);
+            for (int i = 0; i < numStartedInResponse; i++) {
+                elements.get(numStarted + i).result().set(StartIdentifiedAtlasDbTransactionResponse.of(
+                        LockImmutableTimestampResponse.of(
+                                response.immutableTimestamp().getImmutableTimestamp(), shares.get(i)),
+                        startTimestamps.get(i)));
+            }
+            numStarted += numStartedInResponse;
+        }
+    }
+}
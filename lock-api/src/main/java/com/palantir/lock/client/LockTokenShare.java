@@ -0,0 +1,85 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.client;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.palantir.lock.v2.LockToken;
+
+/**
+ * One of several client-side handles on a single lock token held on the server, for example the immutable timestamp
+ * lock shared by a batch of transactions. Each share can be unlocked independently; the shared token should only be
+ * unlocked on the server once every share has been unlocked.
+ *
+ * Shares only have meaning to the client that created them, and must never be sent to the server.
+ */
+final class LockTokenShare implements LockToken {
+    private final UUID requestId = UUID.randomUUID();
+    private final LockToken sharedLockToken;
+    private final AtomicInteger referenceCount;
+    private final AtomicBoolean unlocked = new AtomicBoolean(false);
+
+    private LockTokenShare(LockToken sharedLockToken, AtomicInteger referenceCount) {
+        this.sharedLockToken = sharedLockToken;
+        this.referenceCount = referenceCount;
+    }
+
+    static List<LockToken> share(LockToken sharedLockToken, int numShares) {
+        Preconditions.checkArgument(numShares > 0, "Must create at least one share, but asked for %s", numShares);
+        AtomicInteger referenceCount = new AtomicInteger(numShares);
+        return IntStream.range(0, numShares)
+                .mapToObj(unused -> new LockTokenShare(sharedLockToken, referenceCount))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public UUID getRequestId() {
+        return requestId;
+    }
+
+    LockToken sharedLockToken() {
+        return sharedLockToken;
+    }
+
+    boolean isUnlocked() {
+        return unlocked.get();
+    }
+
+    /**
+     * Releases this share. This has no effect if the share has already been released.
+     *
+     * @return true if and only if this was the last share to be released, in which case the caller is responsible
+     * for unlocking the shared lock token
+     */
+    boolean unlock() {
+        return unlocked.compareAndSet(false, true) && referenceCount.decrementAndGet() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("requestId", requestId)
+                .add("sharedLockToken", sharedLockToken)
+                .toString();
+    }
+}
@@ -17,12 +17,19 @@ package com.palantir.lock.client;
 
 import java.net.ConnectException;
 import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.common.annotation.Output;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.leader.NotCurrentLeaderException;
@@ -32,6 +39,8 @@ import com.palantir.lock.v2.LockRequest;
 import com.palantir.lock.v2.LockResponse;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.v2.StartAtlasDbTransactionResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
 import com.palantir.lock.v2.TimelockService;
@@ -49,13 +58,29 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
     private final CloseableTimestampService timestampService;
     private final LockRefresher lockRefresher;
     private final TimeLockUnlocker unlocker;
+    private final Optional<BatchingIdentifiedAtlasDbTransactionStarter> transactionStarter;
 
     public static TimeLockClient createDefault(TimelockService timelockService) {
+        return createDefault(timelockService, false);
+    }
+
+    /**
+     * Creates a {@link TimeLockClient} which batches timestamp requests and unlocks. If batchTransactionStarts is
+     * set, concurrent calls to {@link #startIdentifiedAtlasDbTransaction(StartIdentifiedAtlasDbTransactionRequest)}
+     * are also batched, and the transactions started in each batch share an immutable timestamp lock; this requires
+     * a TimeLock server that supports
+     * {@link TimelockService#startIdentifiedAtlasDbTransactionBatch(StartIdentifiedAtlasDbTransactionBatchRequest)}.
+     */
+    public static TimeLockClient createDefault(TimelockService timelockService, boolean batchTransactionStarts) {
         AsyncTimeLockUnlocker asyncUnlocker = AsyncTimeLockUnlocker.create(timelockService);
         RequestBatchingTimestampService timestampService =
                 RequestBatchingTimestampService.create(new TimelockServiceErrorDecorator(timelockService));
+        LockRefresher lockRefresher = createLockRefresher(timelockService);
+        Optional<BatchingIdentifiedAtlasDbTransactionStarter> transactionStarter = batchTransactionStarts
+                ? Optional.of(BatchingIdentifiedAtlasDbTransactionStarter.create(timelockService, lockRefresher))
+                : Optional.empty();
         return new TimeLockClient(
-                timelockService, timestampService, createLockRefresher(timelockService), asyncUnlocker);
+                timelockService, timestampService, lockRefresher, asyncUnlocker, transactionStarter);
     }
 
     public static TimeLockClient withSynchronousUnlocker(TimelockService timelockService) {
@@ -67,10 +92,18 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
     @VisibleForTesting
     TimeLockClient(TimelockService delegate, CloseableTimestampService timestampService,
             LockRefresher lockRefresher, TimeLockUnlocker unlocker) {
+        this(delegate, timestampService, lockRefresher, unlocker, Optional.empty());
+    }
+
+    @VisibleForTesting
+    TimeLockClient(TimelockService delegate, CloseableTimestampService timestampService,
+            LockRefresher lockRefresher, TimeLockUnlocker unlocker,
+            Optional<BatchingIdentifiedAtlasDbTransactionStarter> transactionStarter) {
         this.delegate = delegate;
         this.timestampService = timestampService;
         this.lockRefresher = lockRefresher;
         this.unlocker = unlocker;
+        this.transactionStarter = transactionStarter;
     }
 
     @Override
@@ -105,12 +138,24 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
     @Override
     public StartIdentifiedAtlasDbTransactionResponse startIdentifiedAtlasDbTransaction(
             StartIdentifiedAtlasDbTransactionRequest request) {
+        if (transactionStarter.isPresent()) {
+            return executeOnTimeLock(() -> transactionStarter.get().startIdentifiedAtlasDbTransaction(request));
+        }
         StartIdentifiedAtlasDbTransactionResponse response = executeOnTimeLock(
                 () -> delegate.startIdentifiedAtlasDbTransaction(request));
         lockRefresher.registerLock(response.immutableTimestamp().getLock());
         return response;
     }
 
+    @Override
+    public StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request) {
+        StartIdentifiedAtlasDbTransactionBatchResponse response = executeOnTimeLock(
+                () -> delegate.startIdentifiedAtlasDbTransactionBatch(request));
+        lockRefresher.registerLock(response.immutableTimestamp().getLock());
+        return response;
+    }
+
     @Override
     public long getImmutableTimestamp() {
         return executeOnTimeLock(delegate::getImmutableTimestamp);
@@ -118,7 +163,18 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
 
     @Override
     public LockResponse lock(LockRequest request) {
-        LockResponse response = executeOnTimeLock(() -> delegate.lock(request));
+        if (!request.getSharedLockDescriptors().isEmpty()) {
+            return lockWithSharedLocks(request);
+        }
+        return registerIfSuccessful(executeOnTimeLock(() -> delegate.lock(request)));
+    }
+
+    @Override
+    public LockResponse lockWithSharedLocks(LockRequest request) {
+        return registerIfSuccessful(executeOnTimeLock(() -> delegate.lockWithSharedLocks(request)));
+    }
+
+    private LockResponse registerIfSuccessful(LockResponse response) {
         if (response.wasSuccessful()) {
             lockRefresher.registerLock(response.getToken());
         }
@@ -132,19 +188,54 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
 
     @Override
     public Set<LockToken> refreshLockLeases(Set<LockToken> tokens) {
-        return executeOnTimeLock(() -> delegate.refreshLockLeases(tokens));
+        if (tokens.stream().noneMatch(LockTokenShare.class::isInstance)) {
+            return executeOnTimeLock(() -> delegate.refreshLockLeases(tokens));
+        }
+
+        ImmutableMap.Builder<LockToken, LockToken> serverTokens = ImmutableMap.builder();
+        for (LockToken token : tokens) {
+            if (!(token instanceof LockTokenShare)) {
+                serverTokens.put(token, token);
+            } else if (!((LockTokenShare) token).isUnlocked()) {
+                serverTokens.put(token, ((LockTokenShare) token).sharedLockToken());
+            }
+        }
+        Map<LockToken, LockToken> serverTokensByToken = serverTokens.build();
+        Set<LockToken> refreshed = executeOnTimeLock(
+                () -> delegate.refreshLockLeases(ImmutableSet.copyOf(serverTokensByToken.values())));
+        return serverTokensByToken.entrySet().stream()
+                .filter(entry -> refreshed.contains(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
     }
 
     @Override
     public Set<LockToken> unlock(Set<LockToken> tokens) {
-        lockRefresher.unregisterLocks(tokens);
-        return executeOnTimeLock(() -> delegate.unlock(tokens));
+        if (tokens.stream().noneMatch(LockTokenShare.class::isInstance)) {
+            lockRefresher.unregisterLocks(tokens);
+            return executeOnTimeLock(() -> delegate.unlock(tokens));
+        }
+
+        Set<LockToken> releasedShares = Sets.newHashSet();
+        Set<LockToken> serverTokens = releaseShares(tokens, releasedShares);
+        lockRefresher.unregisterLocks(serverTokens);
+        Set<LockToken> unlocked = serverTokens.isEmpty()
+                ? ImmutableSet.of()
+                : executeOnTimeLock(() -> delegate.unlock(serverTokens));
+        return tokens.stream()
+                .filter(token -> token instanceof LockTokenShare
+                        ? releasedShares.contains(token) && wasUnlocked((LockTokenShare) token, serverTokens, unlocked)
+                        : unlocked.contains(token))
+                .collect(Collectors.toSet());
     }
 
     @Override
     public void tryUnlock(Set<LockToken> tokens) {
-        lockRefresher.unregisterLocks(tokens);
-        unlocker.enqueue(tokens);
+        Set<LockToken> serverTokens = tokens.stream().noneMatch(LockTokenShare.class::isInstance)
+                ? tokens
+                : releaseShares(tokens, Sets.newHashSet());
+        lockRefresher.unregisterLocks(serverTokens);
+        unlocker.enqueue(serverTokens);
     }
 
     @Override
@@ -166,8 +257,36 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
         }
     }
 
+    private static boolean wasUnlocked(LockTokenShare share, Set<LockToken> serverTokens, Set<LockToken> unlocked) {
+        return !serverTokens.contains(share.sharedLockToken()) || unlocked.contains(share.sharedLockToken());
+    }
+
+    /**
+     * Releases any {@link LockTokenShare}s among the provided tokens, returning the tokens that should be unlocked on
+     * the server: tokens that are not shares, and shared lock tokens whose last share was released in this call.
+     */
+    private static Set<LockToken> releaseShares(Set<LockToken> tokens, @Output Set<LockToken> releasedShares) {
+        Set<LockToken> serverTokens = Sets.newHashSet();
+        for (LockToken token : tokens) {
+            if (!(token instanceof LockTokenShare)) {
+                serverTokens.add(token);
+                continue;
+            }
+            LockTokenShare share = (LockTokenShare) token;
+            if (share.isUnlocked()) {
+                continue;
+            }
+            releasedShares.add(share);
+            if (share.unlock()) {
+                serverTokens.add(share.sharedLockToken());
+            }
+        }
+        return serverTokens;
+    }
+
     @Override
     public void close() {
+        transactionStarter.ifPresent(BatchingIdentifiedAtlasDbTransactionStarter::close);
         lockRefresher.close();
         unlocker.close();
         timestampService.close();
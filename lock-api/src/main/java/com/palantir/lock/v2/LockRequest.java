@@ -21,8 +21,12 @@ import java.util.UUID;
 
 import org.immutables.value.Value;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.palantir.lock.LockDescriptor;
 
 @Value.Immutable
@@ -33,6 +37,9 @@ public interface LockRequest {
     @Value.Parameter
     UUID getRequestId();
 
+    /**
+     * Descriptors to lock exclusively. No other request may hold any of these locks, in either mode, at the same time.
+     */
     @Value.Parameter
     Set<LockDescriptor> getLockDescriptors();
 
@@ -42,6 +49,28 @@ public interface LockRequest {
     @Value.Parameter
     Optional<String> getClientDescription();
 
+    /**
+     * Descriptors to lock in shared mode. Any number of requests may hold a shared lock on a descriptor at the same
+     * time, provided that no request holds it exclusively. Shared locks are queued fairly with exclusive ones, so a
+     * request waiting for an exclusive lock is not starved by a stream of shared lock requests.
+     *
+     * Omitted from the serialized form when empty, so that requests without shared locks can still be sent to servers
+     * that predate shared locks. Requests with shared locks must be sent with
+     * {@link TimelockService#lockWithSharedLocks(LockRequest)}, which such servers do not serve.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @Value.Default
+    default Set<LockDescriptor> getSharedLockDescriptors() {
+        return ImmutableSet.of();
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(
+                Sets.intersection(getLockDescriptors(), getSharedLockDescriptors()).isEmpty(),
+                "A lock descriptor may not be requested both exclusively and in shared mode");
+    }
+
     static LockRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs) {
         return ImmutableLockRequest.of(
                 UUID.randomUUID(),
@@ -58,4 +87,17 @@ public interface LockRequest {
                 Optional.of(clientDescription));
     }
 
+    static LockRequest of(
+            Set<LockDescriptor> lockDescriptors,
+            Set<LockDescriptor> sharedLockDescriptors,
+            long acquireTimeoutMs) {
+        return ImmutableLockRequest.builder()
+                .requestId(UUID.randomUUID())
+                .lockDescriptors(lockDescriptors)
+                .sharedLockDescriptors(sharedLockDescriptors)
+                .acquireTimeoutMs(acquireTimeoutMs)
+                .clientDescription("Thread: " + Thread.currentThread().getName())
+                .build();
+    }
+
 }
@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.v2;
+
+import java.util.UUID;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableStartIdentifiedAtlasDbTransactionBatchRequest.class)
+@JsonDeserialize(as = ImmutableStartIdentifiedAtlasDbTransactionBatchRequest.class)
+public interface StartIdentifiedAtlasDbTransactionBatchRequest {
+    @Value.Parameter
+    UUID requestId();
+
+    @Value.Parameter
+    UUID requestorId();
+
+    @Value.Parameter
+    int numTransactions();
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(numTransactions() > 0,
+                "Must request at least one transaction, but requested %s", numTransactions());
+    }
+
+    static StartIdentifiedAtlasDbTransactionBatchRequest createForRequestor(UUID requestorUuid, int numTransactions) {
+        return ImmutableStartIdentifiedAtlasDbTransactionBatchRequest.of(
+                UUID.randomUUID(), requestorUuid, numTransactions);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.v2;
+
+import java.util.List;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableStartIdentifiedAtlasDbTransactionBatchResponse.class)
+@JsonDeserialize(as = ImmutableStartIdentifiedAtlasDbTransactionBatchResponse.class)
+public interface StartIdentifiedAtlasDbTransactionBatchResponse {
+    /**
+     * A single immutable timestamp lock, shared by all of the transactions started in the batch. It must only be
+     * released once none of those transactions are still running.
+     */
+    @Value.Parameter
+    LockImmutableTimestampResponse immutableTimestamp();
+
+    /**
+     * Start timestamps for the transactions in the batch, in increasing order. There is always at least one
+     * timestamp, but there may be fewer than the number of transactions requested.
+     */
+    @Value.Parameter
+    List<TimestampAndPartition> startTimestampsAndPartitions();
+
+    static StartIdentifiedAtlasDbTransactionBatchResponse of(
+            LockImmutableTimestampResponse immutableTimestamp,
+            List<TimestampAndPartition> startTimestampsAndPartitions) {
+        return ImmutableStartIdentifiedAtlasDbTransactionBatchResponse.of(
+                immutableTimestamp, startTimestampsAndPartitions);
+    }
+}
@@ -71,14 +71,42 @@ public interface TimelockService {
     StartIdentifiedAtlasDbTransactionResponse startIdentifiedAtlasDbTransaction(
             StartIdentifiedAtlasDbTransactionRequest request);
 
+    /**
+     * Starts up to {@link StartIdentifiedAtlasDbTransactionBatchRequest#numTransactions()} transactions for the
+     * requestor, using a single immutable timestamp lock for all of them. At least one transaction will be started;
+     * callers that need more must make further requests for the remainder.
+     *
+     * The returned immutable timestamp lock is shared by every transaction started in the batch, and so must only be
+     * unlocked once all of those transactions have completed.
+     */
+    @POST
+    @Path("start-identified-atlasdb-transaction-batch")
+    StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request);
+
     @POST
     @Path("immutable-timestamp")
     long getImmutableTimestamp();
 
+    /**
+     * Acquires the locks of the given request. Remote TimeLock servers only grant shared locks through
+     * {@link #lockWithSharedLocks(LockRequest)}, and reject requests to this endpoint that have
+     * {@link LockRequest#getSharedLockDescriptors() shared lock descriptors}; {@link
+     * com.palantir.lock.client.TimeLockClient} sends such requests to the right endpoint.
+     */
     @POST
     @Path("lock")
     LockResponse lock(LockRequest request);
 
+    /**
+     * Acquires the exclusive and shared locks of the given request. This is a separate endpoint so that a server that
+     * predates shared locks fails the request, rather than ignoring the shared lock descriptors and returning a token
+     * that does not hold them.
+     */
+    @POST
+    @Path("lock-with-shared-locks")
+    LockResponse lockWithSharedLocks(LockRequest request);
+
     @POST
     @Path("await-locks")
     WaitForLocksResponse waitForLocks(WaitForLocksRequest request);
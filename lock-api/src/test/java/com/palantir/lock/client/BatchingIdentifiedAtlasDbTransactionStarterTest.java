@@ -0,0 +1,198 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.v2.TimestampAndPartition;
+
+public class BatchingIdentifiedAtlasDbTransactionStarterTest {
+    private static final UUID REQUESTOR_ONE = UUID.randomUUID();
+    private static final UUID REQUESTOR_TWO = UUID.randomUUID();
+    private static final LockToken IMMUTABLE_TS_LOCK_1 = LockToken.of(UUID.randomUUID());
+    private static final LockToken IMMUTABLE_TS_LOCK_2 = LockToken.of(UUID.randomUUID());
+    private static final long IMMUTABLE_TS = 5L;
+
+    private final TimelockService timelockService = mock(TimelockService.class);
+    private final LockRefresher lockRefresher = mock(LockRefresher.class);
+
+    @Test
+    public void startsAllTransactionsForARequestorInOneRequest() {
+        when(timelockService.startIdentifiedAtlasDbTransactionBatch(any()))
+                .thenReturn(response(IMMUTABLE_TS_LOCK_1, 10L, 11L, 12L));
+
+        List<TestBatchElement> elements = elements(REQUESTOR_ONE, 3);
+        runBatch(elements);
+
+        ArgumentCaptor<StartIdentifiedAtlasDbTransactionBatchRequest> captor =
+                ArgumentCaptor.forClass(StartIdentifiedAtlasDbTransactionBatchRequest.class);
+        verify(timelockService).startIdentifiedAtlasDbTransactionBatch(captor.capture());
+        assertThat(captor.getValue().requestorId()).isEqualTo(REQUESTOR_ONE);
+        assertThat(captor.getValue().numTransactions()).isEqualTo(3);
+        verify(lockRefresher).registerLock(IMMUTABLE_TS_LOCK_1);
+
+        List<StartIdentifiedAtlasDbTransactionResponse> responses = results(elements);
+        assertThat(responses.stream().map(r -> r.startTimestampAndPartition().timestamp()))
+                .containsExactly(10L, 11L, 12L);
+        assertThat(responses.stream().map(r -> r.immutableTimestamp().getImmutableTimestamp()))
+                .containsOnly(IMMUTABLE_TS);
+        assertThat(responses.stream().map(r -> r.immutableTimestamp().getLock()).distinct().count())
+                .isEqualTo(3);
+        assertThat(responses.stream().map(r -> ((LockTokenShare) r.immutableTimestamp().getLock()).sharedLockToken()))
+                .containsOnly(IMMUTABLE_TS_LOCK_1);
+    }
+
+    @Test
+    public void requestsRemainingTransactionsIfFewerWereStarted() {
+        when(timelockService.startIdentifiedAtlasDbTransactionBatch(any()))
+                .thenReturn(response(IMMUTABLE_TS_LOCK_1, 10L))
+                .thenReturn(response(IMMUTABLE_TS_LOCK_2, 20L, 21L));
+
+        List<TestBatchElement> elements = elements(REQUESTOR_ONE, 3);
+        runBatch(elements);
+
+        ArgumentCaptor<StartIdentifiedAtlasDbTransactionBatchRequest> captor =
+                ArgumentCaptor.forClass(StartIdentifiedAtlasDbTransactionBatchRequest.class);
+        verify(timelockService, times(2)).startIdentifiedAtlasDbTransactionBatch(captor.capture());
+        assertThat(captor.getAllValues().stream().map(StartIdentifiedAtlasDbTransactionBatchRequest::numTransactions))
+                .containsExactly(3, 2);
+        verify(lockRefresher).registerLock(IMMUTABLE_TS_LOCK_1);
+        verify(lockRefresher).registerLock(IMMUTABLE_TS_LOCK_2);
+
+        assertThat(results(elements).stream().map(r -> r.startTimestampAndPartition().timestamp()))
+                .containsExactly(10L, 20L, 21L);
+    }
+
+    @Test
+    public void makesSeparateRequestsForEachRequestor() {
+        when(timelockService.startIdentifiedAtlasDbTransactionBatch(any()))
+                .thenReturn(response(IMMUTABLE_TS_LOCK_1, 10L))
+                .thenReturn(response(IMMUTABLE_TS_LOCK_2, 20L));
+
+        runBatch(ImmutableList.<TestBatchElement>builder()
+                .addAll(elements(REQUESTOR_ONE, 1))
+                .addAll(elements(REQUESTOR_TWO, 1))
+                .build());
+
+        ArgumentCaptor<StartIdentifiedAtlasDbTransactionBatchRequest> captor =
+                ArgumentCaptor.forClass(StartIdentifiedAtlasDbTransactionBatchRequest.class);
+        verify(timelockService, times(2)).startIdentifiedAtlasDbTransactionBatch(captor.capture());
+        assertThat(captor.getAllValues().stream().map(StartIdentifiedAtlasDbTransactionBatchRequest::requestorId))
+                .containsExactlyInAnyOrder(REQUESTOR_ONE, REQUESTOR_TWO);
+    }
+
+    @Test
+    public void propagatesFailuresToAllElements() {
+        RuntimeException failure = new IllegalStateException("boom");
+        when(timelockService.startIdentifiedAtlasDbTransactionBatch(any())).thenThrow(failure);
+
+        List<TestBatchElement> elements = elements(REQUESTOR_ONE, 2);
+        runBatch(elements);
+
+        for (TestBatchElement element : elements) {
+            assertThatThrownBy(() -> element.result().get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(failure);
+        }
+    }
+
+    @Test
+    public void startsTransactionsThroughAutobatcher() {
+        when(timelockService.startIdentifiedAtlasDbTransactionBatch(any()))
+                .thenReturn(response(IMMUTABLE_TS_LOCK_1, 10L));
+
+        try (BatchingIdentifiedAtlasDbTransactionStarter starter =
+                BatchingIdentifiedAtlasDbTransactionStarter.create(timelockService, lockRefresher)) {
+            StartIdentifiedAtlasDbTransactionResponse response = starter.startIdentifiedAtlasDbTransaction(
+                    StartIdentifiedAtlasDbTransactionRequest.createForRequestor(REQUESTOR_ONE));
+            assertThat(response.startTimestampAndPartition().timestamp()).isEqualTo(10L);
+        }
+    }
+
+    private void runBatch(List<TestBatchElement> elements) {
+        BatchingIdentifiedAtlasDbTransactionStarter.consumer(timelockService, lockRefresher)
+                .accept(ImmutableList.<BatchElement<StartIdentifiedAtlasDbTransactionRequest,
+                        StartIdentifiedAtlasDbTransactionResponse>>copyOf(elements));
+    }
+
+    private static List<StartIdentifiedAtlasDbTransactionResponse> results(List<TestBatchElement> elements) {
+        return elements.stream()
+                .map(element -> Futures.getUnchecked(element.result()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<TestBatchElement> elements(UUID requestorId, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(unused -> new TestBatchElement(
+                        StartIdentifiedAtlasDbTransactionRequest.createForRequestor(requestorId)))
+                .collect(Collectors.toList());
+    }
+
+    private static StartIdentifiedAtlasDbTransactionBatchResponse response(LockToken lock, long... timestamps) {
+        return StartIdentifiedAtlasDbTransactionBatchResponse.of(
+                LockImmutableTimestampResponse.of(IMMUTABLE_TS, lock),
+                Arrays.stream(timestamps)
+                        .mapToObj(timestamp -> TimestampAndPartition.of(timestamp, 0))
+                        .collect(Collectors.toList()));
+    }
+
+    private static final class TestBatchElement implements
+            BatchElement<StartIdentifiedAtlasDbTransactionRequest, StartIdentifiedAtlasDbTransactionResponse> {
+        private final StartIdentifiedAtlasDbTransactionRequest argument;
+        private final SettableFuture<StartIdentifiedAtlasDbTransactionResponse> result = SettableFuture.create();
+
+        private TestBatchElement(StartIdentifiedAtlasDbTransactionRequest argument) {
+            this.argument = argument;
+        }
+
+        @Override
+        public StartIdentifiedAtlasDbTransactionRequest argument() {
+            return argument;
+        }
+
+        @Override
+        public SettableFuture<StartIdentifiedAtlasDbTransactionResponse> result() {
+            return result;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,6 +30,7 @@ import static org.mockito.Mockito.when;
 
 import java.net.ConnectException;
 import java.net.UnknownHostException;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.Test;
@@ -96,6 +98,18 @@ public class TimeLockClientTest {
         verify(refresher).registerLock(TOKEN_1);
     }
 
+    @Test
+    public void sendsRequestsWithSharedLocksToTheSharedLockEndpoint() {
+        LockRequest request = LockRequest.of(
+                ImmutableSet.of(), ImmutableSet.of(StringLockDescriptor.of("bar")), TIMEOUT);
+        when(delegate.lockWithSharedLocks(request)).thenReturn(LockResponse.successful(TOKEN_1));
+
+        assertThat(timelock.lock(request)).isEqualTo(LockResponse.successful(TOKEN_1));
+
+        verify(delegate, never()).lock(any());
+        verify(refresher).registerLock(TOKEN_1);
+    }
+
     @Test
     public void unregistersLockBeforeUnlocking() {
         InOrder inOrder = Mockito.inOrder(refresher, delegate);
@@ -106,6 +120,59 @@ public class TimeLockClientTest {
         inOrder.verify(delegate).unlock(TOKENS);
     }
 
+    @Test
+    public void unlocksSharedTokenOnlyWhenAllSharesAreUnlocked() {
+        List<LockToken> shares = LockTokenShare.share(TOKEN_1, 2);
+        when(delegate.unlock(ImmutableSet.of(TOKEN_1))).thenReturn(ImmutableSet.of(TOKEN_1));
+
+        assertThat(timelock.unlock(ImmutableSet.of(shares.get(0)))).containsExactly(shares.get(0));
+        verify(delegate, never()).unlock(any());
+
+        assertThat(timelock.unlock(ImmutableSet.of(shares.get(1)))).containsExactly(shares.get(1));
+        verify(refresher).unregisterLocks(ImmutableSet.of(TOKEN_1));
+        verify(delegate).unlock(ImmutableSet.of(TOKEN_1));
+    }
+
+    @Test
+    public void unlockingShareTwiceHasNoEffect() {
+        List<LockToken> shares = LockTokenShare.share(TOKEN_1, 2);
+
+        timelock.unlock(ImmutableSet.of(shares.get(0)));
+
+        assertThat(timelock.unlock(ImmutableSet.of(shares.get(0)))).isEmpty();
+        verify(delegate, never()).unlock(any());
+    }
+
+    @Test
+    public void tryUnlockEnqueuesSharedTokenWhenAllSharesAreUnlocked() {
+        List<LockToken> shares = LockTokenShare.share(TOKEN_1, 2);
+
+        timelock.tryUnlock(ImmutableSet.of(shares.get(0), TOKEN_2));
+        verify(unlocker).enqueue(ImmutableSet.of(TOKEN_2));
+
+        timelock.tryUnlock(ImmutableSet.of(shares.get(1)));
+        verify(unlocker).enqueue(ImmutableSet.of(TOKEN_1));
+    }
+
+    @Test
+    public void refreshesSharedTokenForShares() {
+        List<LockToken> shares = LockTokenShare.share(TOKEN_1, 2);
+        when(delegate.refreshLockLeases(TOKENS)).thenReturn(ImmutableSet.of(TOKEN_1));
+
+        assertThat(timelock.refreshLockLeases(ImmutableSet.of(shares.get(0), TOKEN_2)))
+                .containsExactly(shares.get(0));
+        verify(delegate).refreshLockLeases(TOKENS);
+    }
+
+    @Test
+    public void doesNotRefreshUnlockedShares() {
+        List<LockToken> shares = LockTokenShare.share(TOKEN_1, 2);
+        timelock.unlock(ImmutableSet.of(shares.get(0)));
+        when(delegate.refreshLockLeases(ImmutableSet.of(TOKEN_1))).thenReturn(ImmutableSet.of(TOKEN_1));
+
+        assertThat(timelock.refreshLockLeases(ImmutableSet.copyOf(shares))).containsExactly(shares.get(1));
+    }
+
     @Test
     public void refreshDelegates() {
         timelock.refreshLockLeases(TOKENS);
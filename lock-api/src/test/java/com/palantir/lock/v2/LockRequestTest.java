@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.v2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.remoting3.ext.jackson.ObjectMappers;
+
+public class LockRequestTest {
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.newServerObjectMapper();
+
+    private static final LockDescriptor LOCK_A = StringLockDescriptor.of("a");
+    private static final LockDescriptor LOCK_B = StringLockDescriptor.of("b");
+
+    @Test
+    public void hasNoSharedLocksByDefault() {
+        assertThat(LockRequest.of(ImmutableSet.of(LOCK_A), 10L).getSharedLockDescriptors()).isEmpty();
+    }
+
+    @Test
+    public void canRequestExclusiveAndSharedLocks() {
+        LockRequest request = LockRequest.of(ImmutableSet.of(LOCK_A), ImmutableSet.of(LOCK_B), 10L);
+
+        assertThat(request.getLockDescriptors()).containsExactly(LOCK_A);
+        assertThat(request.getSharedLockDescriptors()).containsExactly(LOCK_B);
+    }
+
+    @Test
+    public void cannotRequestSameLockInBothModes() {
+        assertThatThrownBy(() -> LockRequest.of(ImmutableSet.of(LOCK_A), ImmutableSet.of(LOCK_A, LOCK_B), 10L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void doesNotSerializeEmptySharedLocks() throws Exception {
+        String json = OBJECT_MAPPER.writeValueAsString(LockRequest.of(ImmutableSet.of(), 10L));
+
+        assertThat(json).doesNotContain("sharedLockDescriptors");
+        assertThat(OBJECT_MAPPER.readValue(json, LockRequest.class).getSharedLockDescriptors()).isEmpty();
+    }
+}
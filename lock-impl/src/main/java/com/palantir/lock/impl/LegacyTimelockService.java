@@ -15,10 +15,12 @@
  */
 package com.palantir.lock.impl;
 
+import java.util.List;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Maps;
@@ -39,6 +41,8 @@ import com.palantir.lock.v2.LockResponse;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
 import com.palantir.lock.v2.StartAtlasDbTransactionResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.lock.v2.TimestampAndPartition;
@@ -120,6 +124,21 @@ public class LegacyTimelockService implements TimelockService {
                 TimestampAndPartition.of(getFreshTimestamp(), 0));
     }
 
+    @Override
+    public StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request) {
+        LockImmutableTimestampResponse immutableTimestampResponse =
+                lockImmutableTimestamp(ImmutableIdentifiedTimeLockRequest.of(request.requestId()));
+        TimestampRange startTimestamps = getFreshTimestamps(request.numTransactions());
+        List<TimestampAndPartition> startTimestampsAndPartitions = LongStream
+                .rangeClosed(startTimestamps.getLowerBound(), startTimestamps.getUpperBound())
+                .limit(request.numTransactions())
+                .mapToObj(timestamp -> TimestampAndPartition.of(timestamp, 0))
+                .collect(Collectors.toList());
+        return StartIdentifiedAtlasDbTransactionBatchResponse.of(
+                immutableTimestampResponse, startTimestampsAndPartitions);
+    }
+
     @Override
     public long getImmutableTimestamp() {
         long ts = timestampService.getFreshTimestamp();
@@ -136,6 +155,11 @@ public class LegacyTimelockService implements TimelockService {
         }
     }
 
+    @Override
+    public LockResponse lockWithSharedLocks(LockRequest request) {
+        return lock(request);
+    }
+
     @Override
     public WaitForLocksResponse waitForLocks(WaitForLocksRequest request) {
         com.palantir.lock.LockRequest legacyRequest = toLegacyWaitForLocksRequest(request.getLockDescriptors());
@@ -147,6 +171,7 @@ public class LegacyTimelockService implements TimelockService {
 
     private com.palantir.lock.LockRequest toLegacyLockRequest(LockRequest request) {
         SortedMap<LockDescriptor, LockMode> locks = buildLockMap(request.getLockDescriptors(), LockMode.WRITE);
+        locks.putAll(buildLockMap(request.getSharedLockDescriptors(), LockMode.READ));
         return com.palantir.lock.LockRequest.builder(locks)
                 .blockForAtMost(SimpleTimeDuration.of(request.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS))
                 .build();
@@ -134,6 +134,20 @@ public class LegacyTimelockServiceTest {
         verify(lockService).lock(LockClient.ANONYMOUS.getClientId(), legacyRequest);
     }
 
+    @Test
+    public void lockTranslatesSharedLocksToReadLocks() throws InterruptedException {
+        com.palantir.lock.LockRequest legacyRequest = com.palantir.lock.LockRequest.builder(
+                ImmutableSortedMap.of(LOCK_A, LockMode.WRITE, LOCK_B, LockMode.READ))
+                .blockForAtMost(SimpleTimeDuration.of(TIMEOUT, TimeUnit.MILLISECONDS))
+                .build();
+
+        when(lockService.lock(LockClient.ANONYMOUS.getClientId(), legacyRequest)).thenReturn(LOCK_REFRESH_TOKEN);
+
+        assertEquals(LockResponse.successful(LOCK_TOKEN_V2), timelock.lock(
+                LockRequest.of(ImmutableSet.of(LOCK_A), ImmutableSet.of(LOCK_B), TIMEOUT)));
+        verify(lockService).lock(LockClient.ANONYMOUS.getClientId(), legacyRequest);
+    }
+
     @Test
     public void waitForLocksDelegatesToLockService() throws InterruptedException {
         com.palantir.lock.LockRequest legacyRequest = com.palantir.lock.LockRequest.builder(buildLockMap(LockMode.READ)).lockAndRelease().build();
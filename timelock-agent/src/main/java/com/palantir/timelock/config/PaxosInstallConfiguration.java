@@ -44,8 +44,71 @@ public interface PaxosInstallConfiguration {
     @JsonProperty("is-new-service")
     boolean isNewService();
 
+    /**
+     * Set to true to store each client's Paxos rounds in a few append-only segment files that share fsyncs between
+     * concurrent writes, rather than in one file per round. Existing rounds are migrated on startup, after which the
+     * data directory can no longer be read with this set to false: clients whose rounds have been migrated then fail
+     * to start rather than lose their Paxos state.
+     */
+    @JsonProperty("use-segmented-log")
+    @Value.Default
+    default boolean useSegmentedLog() {
+        return false;
+    }
+
+    /**
+     * Set to true to batch the timestamp bound Paxos requests of all clients: requests to each other node are merged
+     * into a single request per node, and all clients share one thread pool. Every node must already serve the batch
+     * endpoints (i.e. run a version that supports this setting) before it is enabled on any node.
+     */
+    @JsonProperty("batch-timestamp-paxos")
+    @Value.Default
+    default boolean batchTimestampPaxos() {
+        return false;
+    }
+
+    /**
+     * Fraction of the timestamp buffer that may be handed out before the timestamp bound of a client is extended in
+     * the background, so that requests for timestamps need not wait for Paxos. While this is below 1, the buffer is
+     * also sized from the rate at which timestamps are handed out. 1 extends the bound only once it is reached.
+     */
+    @JsonProperty("timestamp-bound-extension-threshold")
+    @Value.Default
+    default double timestampBoundExtensionThreshold() {
+        return 1.0;
+    }
+
+    /**
+     * How long, in milliseconds, the leader may serve requests after verifying its leadership with a quorum before
+     * it must verify again. Followers refuse to elect a new leader until this lease, plus
+     * {@link #leaderLeaseMaxClockDriftMs()}, has passed since the leader last verified with them. This must be the
+     * same on every node, and should only be enabled once every node supports it. 0 disables leader leases.
+     */
+    @JsonProperty("leader-lease-ms")
+    @Value.Default
+    default long leaderLeaseMs() {
+        return 0L;
+    }
+
+    /**
+     * The most, in milliseconds, that the clocks of any two nodes may drift apart over one leader lease.
+     */
+    @JsonProperty("leader-lease-max-clock-drift-ms")
+    @Value.Default
+    default long leaderLeaseMaxClockDriftMs() {
+        return 100L;
+    }
+
     @Value.Check
     default void check() {
+        Preconditions.checkArgument(leaderLeaseMs() >= 0,
+                "Leader lease must not be negative, but was %s ms", leaderLeaseMs());
+        Preconditions.checkArgument(leaderLeaseMaxClockDriftMs() >= 0,
+                "Leader lease clock drift must not be negative, but was %s ms", leaderLeaseMaxClockDriftMs());
+        Preconditions.checkArgument(timestampBoundExtensionThreshold() > 0 && timestampBoundExtensionThreshold() <= 1,
+                "Timestamp bound extension threshold must be in (0, 1], but was %s",
+                timestampBoundExtensionThreshold());
+
         if (isNewService() && dataDirectory().isDirectory()) {
             throw new IllegalArgumentException(
                     "This timelock server has been configured as a new stack (the 'is-new-service' property is set to "
@@ -16,6 +16,7 @@
 package com.palantir.timelock.paxos;
 
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -92,7 +93,8 @@ public class PaxosLeadershipCreator {
         return AwaitingLeadershipProxy.newProxyInstance(
                 clazz,
                 delegateSupplier::get,
-                leaderElectionService);
+                leaderElectionService,
+                Duration.ofMillis(install.paxos().leaderLeaseMs()));
     }
 
     private LeaderConfig getLeaderConfig() {
@@ -113,6 +115,8 @@ public class PaxosLeadershipCreator {
                 .quorumSize(PaxosRemotingUtils.getQuorumSize(PaxosRemotingUtils.getClusterAddresses(install)))
                 .leaderPingResponseWaitMs(paxosRuntimeConfiguration.pingRateMs())
                 .randomWaitBeforeProposingLeadershipMs(paxosRuntimeConfiguration.pingRateMs())
+                .leaderLeaseMs(install.paxos().leaderLeaseMs())
+                .leaderLeaseMaxClockDriftMs(install.paxos().leaderLeaseMaxClockDriftMs())
                 .build();
     }
 
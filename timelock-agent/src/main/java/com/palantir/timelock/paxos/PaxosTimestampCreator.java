@@ -20,13 +20,26 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.immutables.value.Value;
 
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.config.LeaderConfig;
 import com.palantir.atlasdb.factory.Leaders;
+import com.palantir.atlasdb.http.AtlasDbHttpClients;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosAcceptor;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosLearner;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosResource;
+import com.palantir.atlasdb.timelock.paxos.BatchingPaxosAcceptor;
+import com.palantir.atlasdb.timelock.paxos.BatchingPaxosLearner;
 import com.palantir.atlasdb.timelock.paxos.DelegatingManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.PaxosResource;
@@ -46,25 +59,68 @@ import com.palantir.timestamp.PersistentTimestampServiceImpl;
 import com.palantir.timestamp.TimestampBoundStore;
 
 public class PaxosTimestampCreator implements TimestampCreator {
+    private static final String BATCH_USER_AGENT = "timestamp-bound-store.batch";
+    /**
+     * Bounds the requests to acceptors and learners that the timestamp bound stores of all clients can have in flight
+     * at once when using batched paxos. Each such request blocks a thread until its batch completes or times out.
+     * Requests beyond this are rejected, and count as failed responses towards the quorum.
+     */
+    private static final int MAX_BATCHED_PAXOS_THREADS = 256;
+
     private final MetricRegistry metricRegistry;
     private final PaxosResource paxosResource;
     private final Set<String> remoteServers;
     private final Optional<TrustContext> optionalSecurity;
     private final Supplier<PaxosRuntimeConfiguration> paxosRuntime;
+    private final Supplier<BatchedPaxosComponents> batchedComponents;
+    private final boolean useBatchedPaxos;
+    private final double boundExtensionThreshold;
 
     public PaxosTimestampCreator(MetricRegistry metricRegistry, PaxosResource paxosResource,
             Set<String> remoteServers,
             Optional<TrustContext> optionalSecurity,
             Supplier<PaxosRuntimeConfiguration> paxosRuntime) {
+        this(metricRegistry, paxosResource, remoteServers, optionalSecurity, paxosRuntime, false);
+    }
+
+    /**
+     * If useBatchedPaxos is set, the timestamp bound stores of all clients share one executor, and their requests
+     * to each remote node are merged into batched requests to that node's {@link BatchPaxosResource}.
+     */
+    public PaxosTimestampCreator(MetricRegistry metricRegistry, PaxosResource paxosResource,
+            Set<String> remoteServers,
+            Optional<TrustContext> optionalSecurity,
+            Supplier<PaxosRuntimeConfiguration> paxosRuntime,
+            boolean useBatchedPaxos) {
+        this(metricRegistry, paxosResource, remoteServers, optionalSecurity, paxosRuntime, useBatchedPaxos, 1.0);
+    }
+
+    /**
+     * Timestamp services created by this creator extend their timestamp bound in the background once the given
+     * fraction of the buffer above the last extension has been handed out; 1 disables this.
+     */
+    public PaxosTimestampCreator(MetricRegistry metricRegistry, PaxosResource paxosResource,
+            Set<String> remoteServers,
+            Optional<TrustContext> optionalSecurity,
+            Supplier<PaxosRuntimeConfiguration> paxosRuntime,
+            boolean useBatchedPaxos,
+            double boundExtensionThreshold) {
         this.metricRegistry = metricRegistry;
         this.paxosResource = paxosResource;
         this.remoteServers = remoteServers;
         this.optionalSecurity = optionalSecurity;
         this.paxosRuntime = paxosRuntime;
+        this.batchedComponents = Suppliers.memoize(this::createBatchedComponents);
+        this.useBatchedPaxos = useBatchedPaxos;
+        this.boundExtensionThreshold = boundExtensionThreshold;
     }
 
     @Override
     public Supplier<ManagedTimestampService> createTimestampService(String client, LeaderConfig unused) {
+        if (useBatchedPaxos) {
+            return createBatchedTimestampService(client);
+        }
+
         ExecutorService executor = PTExecutors.newCachedThreadPool(new ThreadFactoryBuilder()
                 .setNameFormat("atlas-consensus-" + client + "-%d")
                 .setDaemon(true)
@@ -100,14 +156,76 @@ public class PaxosTimestampCreator implements TimestampCreator {
 
         PaxosSynchronizer.synchronizeLearner(ourLearner, learners);
 
-        return () -> createManagedPaxosTimestampService(proposer, client, acceptors, learners);
+        return () -> createManagedPaxosTimestampService(proposer, client, acceptors, learners,
+                PTExecutors.newCachedThreadPool(PTExecutors.newNamedThreadFactory(true)));
+    }
+
+    private Supplier<ManagedTimestampService> createBatchedTimestampService(String client) {
+        BatchedPaxosComponents components = batchedComponents.get();
+
+        List<PaxosAcceptor> acceptors = ImmutableList.<PaxosAcceptor>builder()
+                .addAll(components.remoteAcceptors().stream()
+                        .map(acceptor -> acceptor.forClient(client))
+                        .collect(Collectors.toList()))
+                .add(paxosResource.getPaxosAcceptor(client))
+                .build();
+
+        PaxosLearner ourLearner = paxosResource.getPaxosLearner(client);
+        List<PaxosLearner> learners = ImmutableList.<PaxosLearner>builder()
+                .addAll(components.remoteLearners().stream()
+                        .map(learner -> learner.forClient(client))
+                        .collect(Collectors.toList()))
+                .add(ourLearner)
+                .build();
+
+        PaxosProposer proposer = instrument(PaxosProposer.class,
+                PaxosProposerImpl.newProposer(
+                        ourLearner,
+                        acceptors,
+                        learners,
+                        PaxosRemotingUtils.getQuorumSize(acceptors),
+                        UUID.randomUUID(),
+                        components.executor()),
+                client);
+
+        PaxosSynchronizer.synchronizeLearner(ourLearner, learners, components.executor());
+
+        return () -> createManagedPaxosTimestampService(proposer, client, acceptors, learners,
+                components.executor());
+    }
+
+    private BatchedPaxosComponents createBatchedComponents() {
+        Set<String> batchUris = PaxosTimeLockUriUtils.getBatchClientPaxosUris(remoteServers);
+        return ImmutableBatchedPaxosComponents.builder()
+                .executor(PTExecutors.newThreadPoolExecutor(
+                        0,
+                        MAX_BATCHED_PAXOS_THREADS,
+                        1,
+                        TimeUnit.MINUTES,
+                        new SynchronousQueue<>(),
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("atlas-consensus-batch-%d")
+                                .setDaemon(true)
+                                .build()))
+                .remoteAcceptors(AtlasDbHttpClients.createProxies(
+                        metricRegistry, optionalSecurity, batchUris, true, BatchPaxosAcceptor.class, BATCH_USER_AGENT)
+                        .stream()
+                        .map(BatchingPaxosAcceptor::create)
+                        .collect(Collectors.toList()))
+                .remoteLearners(AtlasDbHttpClients.createProxies(
+                        metricRegistry, optionalSecurity, batchUris, true, BatchPaxosLearner.class, BATCH_USER_AGENT)
+                        .stream()
+                        .map(BatchingPaxosLearner::create)
+                        .collect(Collectors.toList()))
+                .build();
     }
 
     private ManagedTimestampService createManagedPaxosTimestampService(
             PaxosProposer proposer,
             String client,
             List<PaxosAcceptor> acceptors,
-            List<PaxosLearner> learners) {
+            List<PaxosLearner> learners,
+            ExecutorService executor) {
         // TODO (jkong): live reload ping
         TimestampBoundStore boundStore = instrument(TimestampBoundStore.class,
                 new PaxosTimestampBoundStore(
@@ -115,9 +233,11 @@ public class PaxosTimestampCreator implements TimestampCreator {
                         paxosResource.getPaxosLearner(client),
                         ImmutableList.copyOf(acceptors),
                         ImmutableList.copyOf(learners),
-                        paxosRuntime.get().maximumWaitBeforeProposalMs()),
+                        paxosRuntime.get().maximumWaitBeforeProposalMs(),
+                        executor),
                 client);
-        PersistentTimestampService persistentTimestampService = PersistentTimestampServiceImpl.create(boundStore);
+        PersistentTimestampService persistentTimestampService = PersistentTimestampServiceImpl.create(
+                boundStore, AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC, boundExtensionThreshold);
         return new DelegatingManagedTimestampService(persistentTimestampService, persistentTimestampService);
     }
 
@@ -125,4 +245,13 @@ public class PaxosTimestampCreator implements TimestampCreator {
         // TODO(nziebart): tag with the client name, when tritium supports it
         return AtlasDbMetrics.instrument(metricRegistry, serviceClass, service, MetricRegistry.name(serviceClass));
     }
+
+    @Value.Immutable
+    interface BatchedPaxosComponents {
+        ExecutorService executor();
+
+        List<BatchingPaxosAcceptor> remoteAcceptors();
+
+        List<BatchingPaxosLearner> remoteLearners();
+    }
 }
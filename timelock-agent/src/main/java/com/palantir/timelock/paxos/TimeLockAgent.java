@@ -28,6 +28,7 @@ import com.palantir.atlasdb.timelock.TimeLockResource;
 import com.palantir.atlasdb.timelock.TimeLockServices;
 import com.palantir.atlasdb.timelock.TooManyRequestsExceptionMapper;
 import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosResource;
 import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.PaxosResource;
 import com.palantir.atlasdb.util.MetricsManager;
@@ -81,7 +82,8 @@ public class TimeLockAgent {
         this.registrar = registrar;
 
         this.paxosResource = PaxosResource.create(metricsManager.getRegistry(),
-                install.paxos().dataDirectory().toString());
+                install.paxos().dataDirectory().toString(),
+                install.paxos().useSegmentedLog());
         this.leadershipCreator = new PaxosLeadershipCreator(this.metricsManager, install, runtime, registrar);
         this.lockCreator = new LockCreator(runtime, deprecated);
         this.timestampCreator = getTimestampCreator(metricsManager.getRegistry());
@@ -109,7 +111,9 @@ public class TimeLockAgent {
         return new PaxosTimestampCreator(metrics, paxosResource,
                 PaxosRemotingUtils.getRemoteServerPaths(install),
                 PaxosRemotingUtils.getSslConfigurationOptional(install).map(SslSocketFactories::createTrustContext),
-                Suppliers.compose(TimeLockRuntimeConfiguration::paxos, runtime::get));
+                Suppliers.compose(TimeLockRuntimeConfiguration::paxos, runtime::get),
+                install.paxos().batchTimestampPaxos(),
+                install.paxos().timestampBoundExtensionThreshold());
     }
 
     private void createAndRegisterResources() {
@@ -162,6 +166,7 @@ public class TimeLockAgent {
     // No runtime configuration at the moment.
     private void registerPaxosResource() {
         registrar.accept(paxosResource);
+        registrar.accept(BatchPaxosResource.create(paxosResource));
     }
 
     private void registerExceptionMappers() {
@@ -26,6 +26,7 @@ import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
+import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.timelock.lock.AsyncResult;
 import com.palantir.atlasdb.timelock.lock.LockLog;
 import com.palantir.lock.v2.IdentifiedTimeLockRequest;
@@ -33,6 +34,8 @@ import com.palantir.lock.v2.LockImmutableTimestampResponse;
 import com.palantir.lock.v2.LockRequest;
 import com.palantir.lock.v2.LockResponse;
 import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
 import com.palantir.lock.v2.StartAtlasDbTransactionResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
@@ -84,6 +87,13 @@ public class AsyncTimelockResource {
         return timelock.startIdentifiedAtlasDbTransaction(request);
     }
 
+    @POST
+    @Path("start-identified-atlasdb-transaction-batch")
+    public StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request) {
+        return timelock.startIdentifiedAtlasDbTransactionBatch(request);
+    }
+
     @POST
     @Path("immutable-timestamp")
     public long getImmutableTimestamp() {
@@ -93,6 +103,14 @@ public class AsyncTimelockResource {
     @POST
     @Path("lock")
     public void lock(@Suspended final AsyncResponse response, LockRequest request) {
+        Preconditions.checkArgument(request.getSharedLockDescriptors().isEmpty(),
+                "Shared locks must be requested with lock-with-shared-locks");
+        lockWithSharedLocks(response, request);
+    }
+
+    @POST
+    @Path("lock-with-shared-locks")
+    public void lockWithSharedLocks(@Suspended final AsyncResponse response, LockRequest request) {
         AsyncResult<LockToken> result = timelock.lock(request);
         lockLog.registerRequest(request, result);
         result.onComplete(() -> {
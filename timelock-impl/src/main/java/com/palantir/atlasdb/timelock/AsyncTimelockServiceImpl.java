@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.timelock;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -31,6 +32,8 @@ import com.palantir.lock.v2.LockImmutableTimestampResponse;
 import com.palantir.lock.v2.LockRequest;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.v2.StartAtlasDbTransactionResponse;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchRequest;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionBatchResponse;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionRequest;
 import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
 import com.palantir.lock.v2.TimestampAndPartition;
@@ -69,6 +72,11 @@ public class AsyncTimelockServiceImpl implements AsyncTimelockService {
         return timestampService.getFreshTimestampForClient(clientIdentifier);
     }
 
+    @Override
+    public List<TimestampAndPartition> getFreshTimestampsForClient(UUID clientIdentifier, int numTimestampsRequested) {
+        return timestampService.getFreshTimestampsForClient(clientIdentifier, numTimestampsRequested);
+    }
+
     @Override
     public LockImmutableTimestampResponse lockImmutableTimestamp(IdentifiedTimeLockRequest request) {
         long timestamp = timestampService.getFreshTimestamp();
@@ -91,6 +99,7 @@ public class AsyncTimelockServiceImpl implements AsyncTimelockService {
         return lockService.lock(
                 request.getRequestId(),
                 request.getLockDescriptors(),
+                request.getSharedLockDescriptors(),
                 TimeLimit.of(request.getAcquireTimeoutMs()));
     }
 
@@ -127,6 +136,14 @@ public class AsyncTimelockServiceImpl implements AsyncTimelockService {
                 getFreshTimestampForClient(request.requestorId()));
     }
 
+    @Override
+    public StartIdentifiedAtlasDbTransactionBatchResponse startIdentifiedAtlasDbTransactionBatch(
+            StartIdentifiedAtlasDbTransactionBatchRequest request) {
+        return StartIdentifiedAtlasDbTransactionBatchResponse.of(
+                lockImmutableTimestamp(ImmutableIdentifiedTimeLockRequest.of(request.requestId())),
+                getFreshTimestampsForClient(request.requestorId(), request.numTransactions()));
+    }
+
     @Override
     public long currentTimeMillis() {
         return System.currentTimeMillis();
@@ -81,9 +81,21 @@ public class AsyncLockService implements Closeable {
     }
 
     public AsyncResult<LockToken> lock(UUID requestId, Set<LockDescriptor> lockDescriptors, TimeLimit timeout) {
+        return lock(requestId, lockDescriptors, ImmutableSet.of(), timeout);
+    }
+
+    /**
+     * Acquires the locks for {@code lockDescriptors} exclusively, and those for {@code sharedLockDescriptors} in
+     * shared mode, under a single lock token.
+     */
+    public AsyncResult<LockToken> lock(
+            UUID requestId,
+            Set<LockDescriptor> lockDescriptors,
+            Set<LockDescriptor> sharedLockDescriptors,
+            TimeLimit timeout) {
         return heldLocks.getExistingOrAcquire(
                 requestId,
-                () -> acquireLocks(requestId, lockDescriptors, timeout));
+                () -> acquireLocks(requestId, lockDescriptors, sharedLockDescriptors, timeout));
     }
 
     public AsyncResult<LockToken> lockImmutableTimestamp(UUID requestId, long timestamp) {
@@ -103,8 +115,8 @@ public class AsyncLockService implements Closeable {
     }
 
     private AsyncResult<HeldLocks> acquireLocks(UUID requestId, Set<LockDescriptor> lockDescriptors,
-            TimeLimit timeout) {
-        OrderedLocks orderedLocks = locks.getAll(lockDescriptors);
+            Set<LockDescriptor> sharedLockDescriptors, TimeLimit timeout) {
+        OrderedLocks orderedLocks = locks.getAll(lockDescriptors, sharedLockDescriptors);
         return lockAcquirer.acquireLocks(requestId, orderedLocks, timeout);
     }
 
@@ -17,6 +17,7 @@ package com.palantir.atlasdb.timelock.lock;
 
 import java.util.LinkedHashMap;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.annotation.concurrent.GuardedBy;
@@ -24,18 +25,41 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.palantir.atlasdb.timelock.util.LoggableIllegalStateException;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.logsafe.SafeArg;
 
+/**
+ * The lock for a single lock descriptor. Implemented as an {@link AsyncLock}, this lock is held exclusively; the same
+ * lock may also be held in shared mode by any number of requests through its {@link #shared()} view. Requests for
+ * either mode are served in the order they arrive, so a request for the exclusive lock is not starved by later
+ * requests for the shared lock.
+ */
 public class ExclusiveLock implements AsyncLock {
 
+    /**
+     * Returned for requests that are granted without ever being queued. Nothing completes or registers callbacks that
+     * are retained on the results of {@link #lock(UUID)} or {@link #waitUntilAvailable(UUID)}, so this can be shared.
+     */
+    private static final AsyncResult<Void> GRANTED_IMMEDIATELY = AsyncResult.completedResult();
+
     private final LockDescriptor descriptor;
 
     @GuardedBy("this")
     private final LockRequestQueue queue = new LockRequestQueue();
     @GuardedBy("this")
     private UUID currentHolder = null;
+    @GuardedBy("this")
+    private Set<UUID> sharedHolders = null;
+
+    private final SharedLock sharedLock = new SharedLock(this);
+
+    /**
+     * The number of requests using this lock, maintained by the {@link LockCollection} that owns it. Only read or
+     * written inside atomic operations on that collection's map entry for this lock's descriptor.
+     */
+    private int referenceCount = 0;
 
     public ExclusiveLock(LockDescriptor descriptor) {
         this.descriptor = descriptor;
@@ -43,12 +67,12 @@ public class ExclusiveLock implements AsyncLock {
 
     @Override
     public synchronized AsyncResult<Void> lock(UUID requestId) {
-        return submit(new LockRequest(requestId, false));
+        return submit(requestId, false, false);
     }
 
     @Override
     public synchronized AsyncResult<Void> waitUntilAvailable(UUID requestId) {
-        return submit(new LockRequest(requestId, true));
+        return submit(requestId, false, true);
     }
 
     @Override
@@ -62,6 +86,8 @@ public class ExclusiveLock implements AsyncLock {
     @Override
     public synchronized void timeout(UUID requestId) {
         queue.timeoutAndRemoveIfStillQueued(requestId);
+        // requests for the shared lock may have been queued behind the request that timed out
+        processQueue();
     }
 
     @Override
@@ -69,13 +95,56 @@ public class ExclusiveLock implements AsyncLock {
         return descriptor;
     }
 
+    /**
+     * Returns a view of this lock that is held in shared mode.
+     */
+    public SharedLock shared() {
+        return sharedLock;
+    }
+
+    synchronized AsyncResult<Void> lockShared(UUID requestId) {
+        return submit(requestId, true, false);
+    }
+
+    synchronized AsyncResult<Void> waitUntilAvailableShared(UUID requestId) {
+        return submit(requestId, true, true);
+    }
+
+    synchronized void unlockShared(UUID requestId) {
+        if (sharedHolders != null && sharedHolders.remove(requestId) && sharedHolders.isEmpty()) {
+            processQueue();
+        }
+    }
+
     @VisibleForTesting
     synchronized UUID getCurrentHolder() {
         return currentHolder;
     }
 
+    @VisibleForTesting
+    synchronized boolean isSharedHolder(UUID requestId) {
+        return sharedHolders != null && sharedHolders.contains(requestId);
+    }
+
+    void retain() {
+        referenceCount++;
+    }
+
+    /**
+     * Returns true if no requests are using this lock any more.
+     */
+    boolean release() {
+        return --referenceCount == 0;
+    }
+
     @GuardedBy("this")
-    private AsyncResult<Void> submit(LockRequest request) {
+    private AsyncResult<Void> submit(UUID requestId, boolean shared, boolean releaseImmediately) {
+        if (queue.isEmpty() && isAvailable(shared)) {
+            grant(requestId, shared, releaseImmediately);
+            return GRANTED_IMMEDIATELY;
+        }
+
+        LockRequest request = new LockRequest(requestId, shared, releaseImmediately);
         queue.enqueue(request);
         processQueue();
 
@@ -84,35 +153,59 @@ public class ExclusiveLock implements AsyncLock {
 
     @GuardedBy("this")
     private void processQueue() {
-        while (!queue.isEmpty() && currentHolder == null) {
+        while (!queue.isEmpty() && isAvailable(queue.peek().shared)) {
             LockRequest head = queue.dequeue();
+            grant(head.requestId, head.shared, head.releaseImmediately);
+            head.result.complete(null);
+        }
+    }
 
-            if (!head.releaseImmediately) {
-                currentHolder = head.requestId;
-            }
+    @GuardedBy("this")
+    private boolean isAvailable(boolean shared) {
+        return currentHolder == null && (shared || sharedHolders == null || sharedHolders.isEmpty());
+    }
 
-            head.result.complete(null);
+    @GuardedBy("this")
+    private void grant(UUID requestId, boolean shared, boolean releaseImmediately) {
+        if (releaseImmediately) {
+            return;
+        }
+        if (!shared) {
+            currentHolder = requestId;
+            return;
+        }
+        if (sharedHolders == null) {
+            sharedHolders = Sets.newHashSet();
         }
+        sharedHolders.add(requestId);
     }
 
     private static class LockRequest {
         private final AsyncResult<Void> result = new AsyncResult<>();
         private final UUID requestId;
+        private final boolean shared;
         private final boolean releaseImmediately;
 
-        LockRequest(UUID requestId, boolean releaseImmediately) {
+        LockRequest(UUID requestId, boolean shared, boolean releaseImmediately) {
             this.requestId = requestId;
+            this.shared = shared;
             this.releaseImmediately = releaseImmediately;
         }
     }
 
+    /**
+     * Only allocates its backing map once a request has had to queue for the lock.
+     */
     @NotThreadSafe
     private static class LockRequestQueue {
 
         @SuppressWarnings("checkstyle:illegaltype")
-        private final LinkedHashMap<UUID, LockRequest> queue = Maps.newLinkedHashMap();
+        private LinkedHashMap<UUID, LockRequest> queue = null;
 
         public void enqueue(LockRequest request) {
+            if (queue == null) {
+                queue = Maps.newLinkedHashMap();
+            }
             LockRequest existingRequest = queue.put(request.requestId, request);
             if (existingRequest != null) {
                 queue.put(request.requestId, existingRequest);
@@ -123,7 +216,11 @@ public class ExclusiveLock implements AsyncLock {
         }
 
         public boolean isEmpty() {
-            return queue.isEmpty();
+            return queue == null || queue.isEmpty();
+        }
+
+        public LockRequest peek() {
+            return queue.values().iterator().next();
         }
 
         public LockRequest dequeue() {
@@ -131,6 +228,9 @@ public class ExclusiveLock implements AsyncLock {
         }
 
         public void timeoutAndRemoveIfStillQueued(UUID requestId) {
+            if (queue == null) {
+                return;
+            }
             LockRequest request = queue.remove(requestId);
             if (request != null) {
                 request.result.timeout();
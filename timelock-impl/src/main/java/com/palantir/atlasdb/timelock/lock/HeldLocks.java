@@ -31,21 +31,35 @@ public class HeldLocks {
     private final Collection<AsyncLock> acquiredLocks;
     private final LockToken token;
     private final LeaseExpirationTimer expirationTimer;
+    private final Runnable releaser;
 
     @GuardedBy("this")
     private boolean isUnlocked = false;
 
     public HeldLocks(LockLog lockLog, Collection<AsyncLock> acquiredLocks, UUID requestId) {
-        this(lockLog, acquiredLocks, requestId, new LeaseExpirationTimer(System::currentTimeMillis));
+        this(lockLog, acquiredLocks, requestId, () -> { });
+    }
+
+    /**
+     * @param releaser run once the locks have been unlocked; see {@link OrderedLocks#release()}
+     */
+    public HeldLocks(LockLog lockLog, Collection<AsyncLock> acquiredLocks, UUID requestId, Runnable releaser) {
+        this(lockLog, acquiredLocks, requestId, new LeaseExpirationTimer(System::currentTimeMillis), releaser);
     }
 
     @VisibleForTesting
     HeldLocks(LockLog lockLog, Collection<AsyncLock> acquiredLocks,
             UUID requestId, LeaseExpirationTimer expirationTimer) {
+        this(lockLog, acquiredLocks, requestId, expirationTimer, () -> { });
+    }
+
+    private HeldLocks(LockLog lockLog, Collection<AsyncLock> acquiredLocks,
+            UUID requestId, LeaseExpirationTimer expirationTimer, Runnable releaser) {
         this.lockLog = lockLog;
         this.acquiredLocks = acquiredLocks;
         this.token = LockToken.of(requestId);
         this.expirationTimer = expirationTimer;
+        this.releaser = releaser;
     }
 
     /**
@@ -79,6 +93,7 @@ public class HeldLocks {
         for (AsyncLock lock : acquiredLocks) {
             lock.unlock(token.getRequestId());
         }
+        releaser.run();
 
         return true;
     }
@@ -15,33 +15,39 @@
  */
 package com.palantir.atlasdb.timelock.lock;
 
+import java.util.Map;
 import java.util.Optional;
-import java.util.SortedMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
-import com.google.common.collect.Maps;
 import com.palantir.atlasdb.timelock.util.LoggableIllegalStateException;
 import com.palantir.logsafe.SafeArg;
 
-import net.jcip.annotations.GuardedBy;
-
+/**
+ * Tracks the timestamps locked by transactions that are in progress, so that the immutable timestamp (the lowest
+ * such timestamp) can be computed.
+ * <p>
+ * Holders are kept in a {@link ConcurrentSkipListMap} rather than behind a monitor, as every transaction start and
+ * end passes through here. Locking and unlocking are single atomic operations on the map, and the immutable
+ * timestamp is read from the head of the skip list without blocking writers.
+ */
 public class ImmutableTimestampTracker {
 
-    @GuardedBy("this")
-    private final SortedMap<Long, UUID> holdersByTimestamp = Maps.newTreeMap();
+    private final ConcurrentNavigableMap<Long, UUID> holdersByTimestamp = new ConcurrentSkipListMap<>();
 
-    public synchronized void lock(long timestamp, UUID requestId) {
-        boolean wasAdded = holdersByTimestamp.putIfAbsent(timestamp, requestId) == null;
-        if (!wasAdded) {
+    public void lock(long timestamp, UUID requestId) {
+        UUID currentHolder = holdersByTimestamp.putIfAbsent(timestamp, requestId);
+        if (currentHolder != null) {
             throw new LoggableIllegalStateException(
                     "A request attempted to lock a timestamp that was already locked",
                     SafeArg.of("timestamp", timestamp),
                     SafeArg.of("requestId", requestId),
-                    SafeArg.of("currentHolder", holdersByTimestamp.get(timestamp)));
+                    SafeArg.of("currentHolder", currentHolder));
         }
     }
 
-    public synchronized void unlock(long timestamp, UUID requestId) {
+    public void unlock(long timestamp, UUID requestId) {
         boolean wasRemoved = holdersByTimestamp.remove(timestamp, requestId);
         if (!wasRemoved) {
             throw new LoggableIllegalStateException(
@@ -52,11 +58,8 @@ public class ImmutableTimestampTracker {
         }
     }
 
-    public synchronized Optional<Long> getImmutableTimestamp() {
-        if (holdersByTimestamp.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(holdersByTimestamp.firstKey());
+    public Optional<Long> getImmutableTimestamp() {
+        return Optional.ofNullable(holdersByTimestamp.firstEntry()).map(Map.Entry::getKey);
     }
 
     // TODO(nziebart): should these locks should be created by LockCollection for consistency?
@@ -41,12 +41,14 @@ public class LockAcquirer {
 
     public AsyncResult<HeldLocks> acquireLocks(UUID requestId, OrderedLocks locks, TimeLimit timeout) {
         return new Acquisition(requestId, locks, timeout, lock -> lock.lock(requestId)).execute()
-                .map(ignored -> new HeldLocks(lockLog, locks.get(), requestId));
+                .map(ignored -> new HeldLocks(lockLog, locks.get(), requestId, locks::release));
     }
 
     public AsyncResult<Void> waitForLocks(UUID requestId, OrderedLocks locks, TimeLimit timeout) {
-        return new Acquisition(requestId, locks, timeout, lock -> lock.waitUntilAvailable(requestId))
-                .execute();
+        AsyncResult<Void> result = new Acquisition(
+                requestId, locks, timeout, lock -> lock.waitUntilAvailable(requestId)).execute();
+        result.onComplete(locks::release);
+        return result;
     }
 
     private class Acquisition {
@@ -86,6 +88,7 @@ public class LockAcquirer {
             } catch (Throwable t) {
                 log.error("Error while acquiring locks");
                 unlockAll();
+                locks.release();
                 throw Throwables.propagate(t);
             }
         }
@@ -94,10 +97,12 @@ public class LockAcquirer {
             result.onError(error -> {
                 log.warn("Error while acquiring locks", SafeArg.of("requestId", requestId), error);
                 unlockAll();
+                locks.release();
             });
             result.onTimeout(() -> {
                 log.info("Lock request timed out", SafeArg.of("requestId", requestId));
                 unlockAll();
+                locks.release();
             });
         }
 
@@ -15,50 +15,81 @@
  */
 package com.palantir.atlasdb.timelock.lock;
 
-
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.collect.Lists;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.palantir.lock.LockDescriptor;
 
+/**
+ * The {@link ExclusiveLock}s for all lock descriptors that are currently in use.
+ * <p>
+ * Each lock is reference counted: {@link #getAll(Set)} takes a reference to each lock for the request, which is
+ * dropped when the request calls {@link OrderedLocks#release()}. A lock is removed once no request holds a reference
+ * to it, and a new one is created if its descriptor is requested again. Reference counts are only changed inside
+ * atomic operations on the lock's map entry, so a lock can never be removed while a request is using it.
+ * <p>
+ * Locks requested in shared mode are returned as the {@link ExclusiveLock#shared()} view of the same lock, and are
+ * ordered together with exclusive locks by descriptor, so requests for a mix of modes can not deadlock each other.
+ */
 public class LockCollection {
 
-    private final LoadingCache<LockDescriptor, ExclusiveLock> locksById;
+    private static final BiFunction<LockDescriptor, ExclusiveLock, ExclusiveLock> RETAIN = (descriptor, lock) -> {
+        ExclusiveLock retained = lock == null ? new ExclusiveLock(descriptor) : lock;
+        retained.retain();
+        return retained;
+    };
+    private static final BiFunction<LockDescriptor, ExclusiveLock, ExclusiveLock> RELEASE =
+            (descriptor, lock) -> lock.release() ? null : lock;
 
-    public LockCollection() {
-        locksById = CacheBuilder.newBuilder()
-                .weakValues()
-                .build(new CacheLoader<LockDescriptor, ExclusiveLock>() {
-                    @Override
-                    public ExclusiveLock load(LockDescriptor descriptor) throws Exception {
-                        return new ExclusiveLock(descriptor);
-                    }
-                });
-    }
+    private final ConcurrentMap<LockDescriptor, ExclusiveLock> locksById = new ConcurrentHashMap<>();
 
     public OrderedLocks getAll(Set<LockDescriptor> descriptors) {
-        List<LockDescriptor> orderedDescriptors = sort(descriptors);
+        return getAll(descriptors, ImmutableSet.of());
+    }
 
-        List<AsyncLock> locks = Lists.newArrayListWithExpectedSize(descriptors.size());
+    /**
+     * Returns the locks for the given descriptors, in lock order. Descriptors that are present in both sets are
+     * locked exclusively.
+     */
+    public OrderedLocks getAll(Set<LockDescriptor> descriptors, Set<LockDescriptor> sharedDescriptors) {
+        LockDescriptor[] orderedDescriptors = sharedDescriptors.isEmpty()
+                ? descriptors.toArray(new LockDescriptor[0])
+                : Sets.union(descriptors, sharedDescriptors).toArray(new LockDescriptor[0]);
+        Arrays.sort(orderedDescriptors);
+
+        ImmutableList.Builder<AsyncLock> locks = ImmutableList.builderWithExpectedSize(orderedDescriptors.length);
         for (LockDescriptor descriptor : orderedDescriptors) {
-            locks.add(getLock(descriptor));
+            ExclusiveLock lock = locksById.compute(descriptor, RETAIN);
+            locks.add(descriptors.contains(descriptor) ? lock : lock.shared());
         }
-        return OrderedLocks.fromOrderedList(locks);
+        List<AsyncLock> orderedLocks = locks.build();
+
+        AtomicBoolean released = new AtomicBoolean(false);
+        return OrderedLocks.fromOrderedList(orderedLocks, () -> {
+            if (released.compareAndSet(false, true)) {
+                releaseAll(orderedLocks);
+            }
+        });
     }
 
-    private List<LockDescriptor> sort(Set<LockDescriptor> descriptors) {
-        List<LockDescriptor> orderedDescriptors = Lists.newArrayList(descriptors);
-        orderedDescriptors.sort(Comparator.naturalOrder());
-        return orderedDescriptors;
+    @VisibleForTesting
+    int size() {
+        return locksById.size();
     }
 
-    private AsyncLock getLock(LockDescriptor descriptor) {
-        return locksById.getUnchecked(descriptor);
+    private void releaseAll(List<AsyncLock> locks) {
+        for (AsyncLock lock : locks) {
+            locksById.computeIfPresent(lock.getDescriptor(), RELEASE);
+        }
     }
 
 }
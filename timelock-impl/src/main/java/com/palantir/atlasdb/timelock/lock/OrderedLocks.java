@@ -28,6 +28,17 @@ public interface OrderedLocks {
         return ImmutableOrderedLocks.of(orderedLocks);
     }
 
+    /**
+     * Creates an instance whose {@link #release()} runs {@code releaser}. This is used by {@link LockCollection} to
+     * drop its references to the locks once the request that asked for them has finished with them.
+     */
+    static OrderedLocks fromOrderedList(List<AsyncLock> orderedLocks, Runnable releaser) {
+        return ImmutableOrderedLocks.builder()
+                .get(orderedLocks)
+                .releaser(releaser)
+                .build();
+    }
+
     static OrderedLocks fromSingleLock(AsyncLock lock) {
         return fromOrderedList(ImmutableList.of(lock));
     }
@@ -35,4 +46,18 @@ public interface OrderedLocks {
     @Value.Parameter
     List<AsyncLock> get();
 
+    @Value.Auxiliary
+    @Value.Default
+    default Runnable releaser() {
+        return () -> { };
+    }
+
+    /**
+     * Signals that the request these locks were obtained for no longer needs them: it has either unlocked them, or
+     * stopped trying to acquire them. Must only be called after the request has finished operating on the locks.
+     */
+    default void release() {
+        releaser().run();
+    }
+
 }
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosPromise;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+
+/**
+ * Performs the operations of a {@link com.palantir.paxos.PaxosAcceptor} for many clients in a single request.
+ * Each client's Paxos instance is independent; the results for each client are exactly those that the client's
+ * own acceptor would have returned.
+ */
+@Path("/acceptor")
+public interface BatchPaxosAcceptor {
+    /**
+     * @see com.palantir.paxos.PaxosAcceptor#prepare(long, PaxosProposalId)
+     */
+    @POST
+    @Path("prepare")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    Map<String, PaxosPromise> prepare(Map<String, PrepareRequest> requests);
+
+    /**
+     * @see com.palantir.paxos.PaxosAcceptor#accept(long, PaxosProposal)
+     */
+    @POST
+    @Path("accept")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    Map<String, BooleanPaxosResponse> accept(Map<String, AcceptRequest> requests);
+
+    /**
+     * @see com.palantir.paxos.PaxosAcceptor#getLatestSequencePreparedOrAccepted()
+     */
+    @POST
+    @Path("latest-sequences-prepared-or-accepted")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    Map<String, Long> getLatestSequencesPreparedOrAccepted(Set<String> clients);
+
+    @Value.Immutable
+    @JsonSerialize(as = ImmutablePrepareRequest.class)
+    @JsonDeserialize(as = ImmutablePrepareRequest.class)
+    interface PrepareRequest {
+        @Value.Parameter
+        long seq();
+
+        @Value.Parameter
+        PaxosProposalId proposalId();
+    }
+
+    @Value.Immutable
+    @JsonSerialize(as = ImmutableAcceptRequest.class)
+    @JsonDeserialize(as = ImmutableAcceptRequest.class)
+    interface AcceptRequest {
+        @Value.Parameter
+        long seq();
+
+        @Value.Parameter
+        PaxosProposal proposal();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import com.palantir.paxos.PaxosValue;
+
+/**
+ * Performs the operations of a {@link com.palantir.paxos.PaxosLearner} for many clients in a single request.
+ * Clients for which no value is known are omitted from the returned maps.
+ */
+@Path("/learner")
+public interface BatchPaxosLearner {
+    /**
+     * Learns each value for its round, for the client it is keyed by.
+     *
+     * @see com.palantir.paxos.PaxosLearner#learn(long, PaxosValue)
+     */
+    @POST
+    @Path("learn")
+    @Consumes(MediaType.APPLICATION_JSON)
+    void learn(Map<String, PaxosValue> values);
+
+    /**
+     * @see com.palantir.paxos.PaxosLearner#getLearnedValue(long)
+     */
+    @POST
+    @Path("learned-values")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    Map<String, PaxosValue> getLearnedValues(Map<String, Long> seqs);
+
+    /**
+     * @see com.palantir.paxos.PaxosLearner#getGreatestLearnedValue()
+     */
+    @POST
+    @Path("greatest-learned-values")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    Map<String, PaxosValue> getGreatestLearnedValues(Set<String> clients);
+}
@@ -0,0 +1,51 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import javax.ws.rs.Path;
+
+/**
+ * Exposes the Paxos acceptors and learners of every client in {@link PaxosResource} through
+ * {@link BatchPaxosAcceptor} and {@link BatchPaxosLearner}, so that other nodes can act on many clients with a single
+ * request.
+ */
+@Path("/" + PaxosTimeLockConstants.INTERNAL_NAMESPACE
+        + "/" + PaxosTimeLockConstants.BATCH_CLIENT_PAXOS_NAMESPACE)
+public final class BatchPaxosResource {
+    private final BatchPaxosAcceptor acceptor;
+    private final BatchPaxosLearner learner;
+
+    private BatchPaxosResource(BatchPaxosAcceptor acceptor, BatchPaxosLearner learner) {
+        this.acceptor = acceptor;
+        this.learner = learner;
+    }
+
+    public static BatchPaxosResource create(PaxosResource paxosResource) {
+        return new BatchPaxosResource(
+                new LocalBatchPaxosAcceptor(paxosResource),
+                new LocalBatchPaxosLearner(paxosResource));
+    }
+
+    @Path("/acceptor")
+    public BatchPaxosAcceptor getBatchPaxosAcceptor() {
+        return acceptor;
+    }
+
+    @Path("/learner")
+    public BatchPaxosLearner getBatchPaxosLearner() {
+        return learner;
+    }
+}
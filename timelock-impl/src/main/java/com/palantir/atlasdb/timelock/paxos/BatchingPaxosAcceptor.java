@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.io.Closeable;
+import java.util.Optional;
+
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosPromise;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+
+/**
+ * Provides a {@link PaxosAcceptor} for each client of a single remote node. Calls made concurrently through the
+ * acceptors of different clients are merged into one request to the node's {@link BatchPaxosAcceptor}.
+ */
+public final class BatchingPaxosAcceptor implements Closeable {
+    private final ClientKeyedBatcher<BatchPaxosAcceptor.PrepareRequest, PaxosPromise> prepares;
+    private final ClientKeyedBatcher<BatchPaxosAcceptor.AcceptRequest, BooleanPaxosResponse> accepts;
+    private final ClientKeyedBatcher<String, Long> latestSequences;
+
+    private BatchingPaxosAcceptor(
+            ClientKeyedBatcher<BatchPaxosAcceptor.PrepareRequest, PaxosPromise> prepares,
+            ClientKeyedBatcher<BatchPaxosAcceptor.AcceptRequest, BooleanPaxosResponse> accepts,
+            ClientKeyedBatcher<String, Long> latestSequences) {
+        this.prepares = prepares;
+        this.accepts = accepts;
+        this.latestSequences = latestSequences;
+    }
+
+    public static BatchingPaxosAcceptor create(BatchPaxosAcceptor delegate) {
+        return new BatchingPaxosAcceptor(
+                ClientKeyedBatcher.create(delegate::prepare),
+                ClientKeyedBatcher.create(delegate::accept),
+                ClientKeyedBatcher.create(
+                        clients -> delegate.getLatestSequencesPreparedOrAccepted(clients.keySet())));
+    }
+
+    public PaxosAcceptor forClient(String client) {
+        return new ClientAcceptor(client);
+    }
+
+    @Override
+    public void close() {
+        prepares.close();
+        accepts.close();
+        latestSequences.close();
+    }
+
+    private static <T> T getResult(String client, Optional<T> result) {
+        return result.orElseThrow(() -> new IllegalStateException(
+                "Remote acceptor did not return a result for client " + client));
+    }
+
+    private final class ClientAcceptor implements PaxosAcceptor {
+        private final String client;
+
+        private ClientAcceptor(String client) {
+            this.client = client;
+        }
+
+        @Override
+        public PaxosPromise prepare(long seq, PaxosProposalId pid) {
+            return getResult(client, prepares.apply(client, ImmutablePrepareRequest.of(seq, pid)));
+        }
+
+        @Override
+        public BooleanPaxosResponse accept(long seq, PaxosProposal proposal) {
+            return getResult(client, accepts.apply(client, ImmutableAcceptRequest.of(seq, proposal)));
+        }
+
+        @Override
+        public long getLatestSequencePreparedOrAccepted() {
+            // The client is the whole request; the batch function only needs the set of clients.
+            return getResult(client, latestSequences.apply(client, client));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.io.Closeable;
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosValue;
+
+/**
+ * Provides a {@link PaxosLearner} for each client of a single remote node. Calls made concurrently through the
+ * learners of different clients are merged into one request to the node's {@link BatchPaxosLearner}.
+ * <p>
+ * The learners returned do not support {@link PaxosLearner#getLearnedValuesSince(long)}, which is only needed for
+ * leader election.
+ */
+public final class BatchingPaxosLearner implements Closeable {
+    private final ClientKeyedBatcher<PaxosValue, Void> learns;
+    private final ClientKeyedBatcher<Long, PaxosValue> learnedValues;
+    private final ClientKeyedBatcher<String, PaxosValue> greatestLearnedValues;
+
+    private BatchingPaxosLearner(
+            ClientKeyedBatcher<PaxosValue, Void> learns,
+            ClientKeyedBatcher<Long, PaxosValue> learnedValues,
+            ClientKeyedBatcher<String, PaxosValue> greatestLearnedValues) {
+        this.learns = learns;
+        this.learnedValues = learnedValues;
+        this.greatestLearnedValues = greatestLearnedValues;
+    }
+
+    public static BatchingPaxosLearner create(BatchPaxosLearner delegate) {
+        return new BatchingPaxosLearner(
+                ClientKeyedBatcher.create(values -> {
+                    delegate.learn(values);
+                    return ImmutableMap.of();
+                }),
+                ClientKeyedBatcher.create(delegate::getLearnedValues),
+                ClientKeyedBatcher.create(clients -> delegate.getGreatestLearnedValues(clients.keySet())));
+    }
+
+    public PaxosLearner forClient(String client) {
+        return new ClientLearner(client);
+    }
+
+    @Override
+    public void close() {
+        learns.close();
+        learnedValues.close();
+        greatestLearnedValues.close();
+    }
+
+    private final class ClientLearner implements PaxosLearner {
+        private final String client;
+
+        private ClientLearner(String client) {
+            this.client = client;
+        }
+
+        @Override
+        public void learn(long seq, PaxosValue val) {
+            learns.apply(client, val);
+        }
+
+        @Nullable
+        @Override
+        public PaxosValue getLearnedValue(long seq) {
+            return learnedValues.apply(client, seq).orElse(null);
+        }
+
+        @Nullable
+        @Override
+        public PaxosValue getGreatestLearnedValue() {
+            // The client is the whole request; the batch function only needs the set of clients.
+            return greatestLearnedValues.apply(client, client).orElse(null);
+        }
+
+        @Nonnull
+        @Override
+        public Collection<PaxosValue> getLearnedValuesSince(long seq) {
+            throw new UnsupportedOperationException("Batched learners do not support getting learned values since a"
+                    + " given round");
+        }
+    }
+}
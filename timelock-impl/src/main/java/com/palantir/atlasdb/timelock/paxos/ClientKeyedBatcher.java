@@ -0,0 +1,138 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.common.base.Throwables;
+import com.palantir.paxos.PaxosQuorumChecker;
+
+/**
+ * Merges requests made concurrently on behalf of different clients into a single call of a batch function. The batch
+ * function takes one request per client, and returns results for those clients that it has a result for.
+ * <p>
+ * If several requests for the same client are waiting at once, they are sent in successive calls of the batch
+ * function, in the order in which they were made.
+ * <p>
+ * Batches are sent one at a time, so a slow remote node holds up every request queued for it. Callers therefore give
+ * up after a timeout, and requests that have been given up on are dropped from later batches rather than sent.
+ */
+final class ClientKeyedBatcher<Q, R> implements Closeable {
+    @VisibleForTesting
+    static final Duration DEFAULT_TIMEOUT =
+            Duration.ofSeconds(PaxosQuorumChecker.DEFAULT_REMOTE_REQUESTS_TIMEOUT_IN_SECONDS);
+
+    private final DisruptorAutobatcher<Map.Entry<String, Q>, Optional<R>> autobatcher;
+    private final Duration timeout;
+
+    private ClientKeyedBatcher(DisruptorAutobatcher<Map.Entry<String, Q>, Optional<R>> autobatcher, Duration timeout) {
+        this.autobatcher = autobatcher;
+        this.timeout = timeout;
+    }
+
+    static <Q, R> ClientKeyedBatcher<Q, R> create(Function<Map<String, Q>, Map<String, R>> batchFunction) {
+        return create(batchFunction, DEFAULT_TIMEOUT);
+    }
+
+    @VisibleForTesting
+    static <Q, R> ClientKeyedBatcher<Q, R> create(
+            Function<Map<String, Q>, Map<String, R>> batchFunction,
+            Duration timeout) {
+        return new ClientKeyedBatcher<>(DisruptorAutobatcher.create(consumer(batchFunction)), timeout);
+    }
+
+    Optional<R> apply(String client, Q request) {
+        return getUnchecked(autobatcher.apply(Maps.immutableEntry(client, request)), timeout);
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+    }
+
+    @VisibleForTesting
+    static <Q, R> Consumer<List<BatchElement<Map.Entry<String, Q>, Optional<R>>>> consumer(
+            Function<Map<String, Q>, Map<String, R>> batchFunction) {
+        return batch -> {
+            // callers that timed out or were interrupted have cancelled their results
+            List<BatchElement<Map.Entry<String, Q>, Optional<R>>> remaining = batch.stream()
+                    .filter(element -> !element.result().isDone())
+                    .collect(Collectors.toList());
+            while (!remaining.isEmpty()) {
+                Map<String, Q> requests = Maps.newHashMapWithExpectedSize(remaining.size());
+                List<BatchElement<Map.Entry<String, Q>, Optional<R>>> included = new ArrayList<>(remaining.size());
+                List<BatchElement<Map.Entry<String, Q>, Optional<R>>> deferred = new ArrayList<>();
+                for (BatchElement<Map.Entry<String, Q>, Optional<R>> element : remaining) {
+                    Map.Entry<String, Q> request = element.argument();
+                    if (requests.putIfAbsent(request.getKey(), request.getValue()) == null) {
+                        included.add(element);
+                    } else {
+                        deferred.add(element);
+                    }
+                }
+                complete(included, requests, batchFunction);
+                remaining = deferred;
+            }
+        };
+    }
+
+    private static <Q, R> void complete(
+            List<BatchElement<Map.Entry<String, Q>, Optional<R>>> elements,
+            Map<String, Q> requests,
+            Function<Map<String, Q>, Map<String, R>> batchFunction) {
+        Map<String, R> results;
+        try {
+            results = batchFunction.apply(requests);
+        } catch (Throwable t) {
+            elements.forEach(element -> element.result().setException(t));
+            return;
+        }
+        elements.forEach(element -> element.result().set(
+                Optional.ofNullable(results.get(element.argument().getKey()))));
+    }
+
+    private static <T> T getUnchecked(ListenableFuture<T> future, Duration timeout) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new RuntimeException("Timed out waiting for a batched request to a remote node", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUncheckedException(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Maps;
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosPromise;
+
+public final class LocalBatchPaxosAcceptor implements BatchPaxosAcceptor {
+    private final PaxosResource paxosResource;
+
+    public LocalBatchPaxosAcceptor(PaxosResource paxosResource) {
+        this.paxosResource = paxosResource;
+    }
+
+    @Override
+    public Map<String, PaxosPromise> prepare(Map<String, PrepareRequest> requests) {
+        Map<String, PaxosPromise> promises = Maps.newHashMapWithExpectedSize(requests.size());
+        requests.forEach((client, request) -> promises.put(client,
+                paxosResource.getPaxosAcceptor(client).prepare(request.seq(), request.proposalId())));
+        return promises;
+    }
+
+    @Override
+    public Map<String, BooleanPaxosResponse> accept(Map<String, AcceptRequest> requests) {
+        Map<String, BooleanPaxosResponse> responses = Maps.newHashMapWithExpectedSize(requests.size());
+        requests.forEach((client, request) -> responses.put(client,
+                paxosResource.getPaxosAcceptor(client).accept(request.seq(), request.proposal())));
+        return responses;
+    }
+
+    @Override
+    public Map<String, Long> getLatestSequencesPreparedOrAccepted(Set<String> clients) {
+        Map<String, Long> sequences = Maps.newHashMapWithExpectedSize(clients.size());
+        clients.forEach(client -> sequences.put(client,
+                paxosResource.getPaxosAcceptor(client).getLatestSequencePreparedOrAccepted()));
+        return sequences;
+    }
+}
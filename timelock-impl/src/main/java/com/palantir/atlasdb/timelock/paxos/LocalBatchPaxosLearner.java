@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Maps;
+import com.palantir.paxos.PaxosValue;
+
+public final class LocalBatchPaxosLearner implements BatchPaxosLearner {
+    private final PaxosResource paxosResource;
+
+    public LocalBatchPaxosLearner(PaxosResource paxosResource) {
+        this.paxosResource = paxosResource;
+    }
+
+    @Override
+    public void learn(Map<String, PaxosValue> values) {
+        values.forEach((client, value) -> paxosResource.getPaxosLearner(client).learn(value.getRound(), value));
+    }
+
+    @Override
+    public Map<String, PaxosValue> getLearnedValues(Map<String, Long> seqs) {
+        Map<String, PaxosValue> values = Maps.newHashMapWithExpectedSize(seqs.size());
+        seqs.forEach((client, seq) -> {
+            PaxosValue value = paxosResource.getPaxosLearner(client).getLearnedValue(seq);
+            if (value != null) {
+                values.put(client, value);
+            }
+        });
+        return values;
+    }
+
+    @Override
+    public Map<String, PaxosValue> getGreatestLearnedValues(Set<String> clients) {
+        Map<String, PaxosValue> values = Maps.newHashMapWithExpectedSize(clients.size());
+        clients.forEach(client -> {
+            PaxosValue value = paxosResource.getPaxosLearner(client).getGreatestLearnedValue();
+            if (value != null) {
+                values.put(client, value);
+            }
+        });
+        return values;
+    }
+}
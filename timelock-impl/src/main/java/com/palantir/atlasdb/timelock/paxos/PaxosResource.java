@@ -24,12 +24,19 @@ import javax.ws.rs.PathParam;
 import org.immutables.value.Value;
 
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import com.palantir.atlasdb.util.AtlasDbMetrics;
+import com.palantir.common.persist.Persistable;
+import com.palantir.leader.PaxosKnowledgeEventRecorder;
 import com.palantir.paxos.PaxosAcceptor;
 import com.palantir.paxos.PaxosAcceptorImpl;
 import com.palantir.paxos.PaxosLearner;
 import com.palantir.paxos.PaxosLearnerImpl;
+import com.palantir.paxos.PaxosStateLog;
+import com.palantir.paxos.PaxosStateLogImpl;
+import com.palantir.paxos.SegmentedPaxosStateLog;
+import com.palantir.paxos.Versionable;
 
 @Path("/" + PaxosTimeLockConstants.INTERNAL_NAMESPACE
         + "/" + PaxosTimeLockConstants.CLIENT_PAXOS_NAMESPACE
@@ -37,15 +44,21 @@ import com.palantir.paxos.PaxosLearnerImpl;
 public final class PaxosResource {
     private final MetricRegistry metricRegistry;
     private final String logDirectory;
+    private final boolean useSegmentedLog;
     private final Map<String, PaxosComponents> paxosComponentsByClient = Maps.newConcurrentMap();
 
-    private PaxosResource(MetricRegistry metricRegistry, String logDirectory) {
+    private PaxosResource(MetricRegistry metricRegistry, String logDirectory, boolean useSegmentedLog) {
         this.metricRegistry = metricRegistry;
         this.logDirectory = logDirectory;
+        this.useSegmentedLog = useSegmentedLog;
     }
 
     public static PaxosResource create(MetricRegistry metricRegistry, String logDirectory) {
-        return new PaxosResource(metricRegistry, logDirectory);
+        return create(metricRegistry, logDirectory, false);
+    }
+
+    public static PaxosResource create(MetricRegistry metricRegistry, String logDirectory, boolean useSegmentedLog) {
+        return new PaxosResource(metricRegistry, logDirectory, useSegmentedLog);
     }
 
     public PaxosComponents createInstrumentedComponents(String client) {
@@ -54,7 +67,9 @@ public final class PaxosResource {
         PaxosLearner learner = instrument(
                 metricRegistry,
                 PaxosLearner.class,
-                PaxosLearnerImpl.newLearner(learnerLogDir),
+                PaxosLearnerImpl.newLearner(
+                        createLog(learnerLogDir),
+                        PaxosKnowledgeEventRecorder.NO_OP),
                 client);
 
         String acceptorLogDir = Paths.get(logDirectory, client, PaxosTimeLockConstants.ACCEPTOR_SUBDIRECTORY_PATH)
@@ -62,7 +77,7 @@ public final class PaxosResource {
         PaxosAcceptor acceptor = instrument(
                 metricRegistry,
                 PaxosAcceptor.class,
-                PaxosAcceptorImpl.newAcceptor(acceptorLogDir),
+                PaxosAcceptorImpl.newAcceptor(createLog(acceptorLogDir)),
                 client);
 
         return ImmutablePaxosComponents.builder()
@@ -71,6 +86,17 @@ public final class PaxosResource {
                 .build();
     }
 
+    private <V extends Persistable & Versionable> PaxosStateLog<V> createLog(String logDir) {
+        if (useSegmentedLog) {
+            return new SegmentedPaxosStateLog<V>(logDir);
+        }
+        // The legacy log would start with no rounds, so this node would forget the promises it has made.
+        Preconditions.checkState(!SegmentedPaxosStateLog.existsIn(logDir),
+                "The paxos log in %s has been migrated to a segmented log, so use-segmented-log cannot be turned off",
+                logDir);
+        return new PaxosStateLogImpl<V>(logDir);
+    }
+
     private static <T> T instrument(MetricRegistry metricRegistry, Class<T> serviceClass, T service, String client) {
         // TODO(nziebart): tag with the client name, when tritium supports it
         return AtlasDbMetrics.instrument(metricRegistry, serviceClass, service, MetricRegistry.name(serviceClass));
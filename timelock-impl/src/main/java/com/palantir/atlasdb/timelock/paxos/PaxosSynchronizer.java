@@ -43,7 +43,13 @@ public final class PaxosSynchronizer {
 
     public static void synchronizeLearner(PaxosLearner learnerToSynchronize,
                                           List<PaxosLearner> paxosLearners) {
-        Optional<PaxosValue> mostRecentValue = getMostRecentLearnedValue(paxosLearners);
+        synchronizeLearner(learnerToSynchronize, paxosLearners, PTExecutors.newCachedThreadPool());
+    }
+
+    public static void synchronizeLearner(PaxosLearner learnerToSynchronize,
+                                          List<PaxosLearner> paxosLearners,
+                                          ExecutorService executor) {
+        Optional<PaxosValue> mostRecentValue = getMostRecentLearnedValue(paxosLearners, executor);
         if (mostRecentValue.isPresent()) {
             PaxosValue paxosValue = mostRecentValue.get();
             if (paxosValue.equals(learnerToSynchronize.getGreatestLearnedValue())) {
@@ -59,8 +65,8 @@ public final class PaxosSynchronizer {
         }
     }
 
-    private static Optional<PaxosValue> getMostRecentLearnedValue(List<PaxosLearner> paxosLearners) {
-        ExecutorService executor = PTExecutors.newCachedThreadPool();
+    private static Optional<PaxosValue> getMostRecentLearnedValue(List<PaxosLearner> paxosLearners,
+                                                                  ExecutorService executor) {
         List<PaxosValueResponse> responses = PaxosQuorumChecker.collectAsManyResponsesAsPossible(
                 ImmutableList.copyOf(paxosLearners),
                 learner -> ImmutablePaxosValueResponse.of(learner.getGreatestLearnedValue()),
@@ -25,6 +25,7 @@ public final class PaxosTimeLockConstants {
     public static final String INTERNAL_NAMESPACE = ".internal";
     public static final String LEADER_PAXOS_NAMESPACE = "leaderPaxos";
     public static final String CLIENT_PAXOS_NAMESPACE = "clientPaxos";
+    public static final String BATCH_CLIENT_PAXOS_NAMESPACE = "batchClientPaxos";
 
     private PaxosTimeLockConstants() {
     }
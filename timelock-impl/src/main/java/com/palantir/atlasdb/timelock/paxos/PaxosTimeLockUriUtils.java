@@ -37,6 +37,13 @@ public final class PaxosTimeLockUriUtils {
                 client);
     }
 
+    public static Set<String> getBatchClientPaxosUris(Set<String> addresses) {
+        return getNamespacedUris(
+                addresses,
+                PaxosTimeLockConstants.INTERNAL_NAMESPACE,
+                PaxosTimeLockConstants.BATCH_CLIENT_PAXOS_NAMESPACE);
+    }
+
     private static Set<String> getNamespacedUris(Set<String> addresses, String... suffixes) {
         String joinedSuffix = String.join("/", suffixes);
         return addresses.stream()
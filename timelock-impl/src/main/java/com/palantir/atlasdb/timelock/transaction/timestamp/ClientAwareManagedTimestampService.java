@@ -16,6 +16,7 @@
 
 package com.palantir.atlasdb.timelock.transaction.timestamp;
 
+import java.util.List;
 import java.util.UUID;
 
 import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
@@ -38,4 +39,18 @@ public interface ClientAwareManagedTimestampService extends ManagedTimestampServ
      * @return a suitable timestamp
      */
     TimestampAndPartition getFreshTimestampForClient(UUID clientIdentifier);
+
+    /**
+     * Returns fresh timestamps that are suitable for use by the client with the provided identifier, in increasing
+     * order. This offers the same freshness guarantees as {@link #getFreshTimestampForClient(UUID)}.
+     *
+     * At least one timestamp will be returned; however, like
+     * {@link com.palantir.timestamp.TimestampService#getFreshTimestamps(int)}, fewer timestamps than were requested
+     * may be returned.
+     *
+     * @param clientIdentifier UUID identifying the client; should be consistent across the client's lifetime
+     * @param numTimestampsRequested the maximum number of timestamps to return; must be positive
+     * @return a non-empty list of suitable timestamps
+     */
+    List<TimestampAndPartition> getFreshTimestampsForClient(UUID clientIdentifier, int numTimestampsRequested);
 }
@@ -16,13 +16,17 @@
 
 package com.palantir.atlasdb.timelock.transaction.timestamp;
 
+import java.util.List;
 import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.timelock.paxos.AutoDelegate_ManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
 import com.palantir.atlasdb.timelock.transaction.client.CachingPartitionAllocator;
@@ -40,6 +44,8 @@ public class DelegatingClientAwareManagedTimestampService
     @VisibleForTesting
     static final int NUM_PARTITIONS = TransactionConstants.V2_TRANSACTION_NUM_PARTITIONS;
 
+    private static final int MAX_TIMESTAMPS_PER_REQUEST = 10_000;
+
     private NumericPartitionAllocator<UUID> allocator;
     private ManagedTimestampService delegate;
 
@@ -58,15 +64,27 @@ public class DelegatingClientAwareManagedTimestampService
 
     @Override
     public TimestampAndPartition getFreshTimestampForClient(UUID clientIdentifier) {
+        return getFreshTimestampsForClient(clientIdentifier, 1).get(0);
+    }
+
+    @Override
+    public List<TimestampAndPartition> getFreshTimestampsForClient(UUID clientIdentifier, int numTimestampsRequested) {
+        Preconditions.checkArgument(numTimestampsRequested > 0,
+                "Must request a positive number of timestamps, but requested %s", numTimestampsRequested);
+        int numTimestampsToFetch = NUM_PARTITIONS * Math.min(numTimestampsRequested, MAX_TIMESTAMPS_PER_REQUEST);
         while (true) {
-            TimestampRange timestampRange = delegate.getFreshTimestamps(NUM_PARTITIONS);
+            TimestampRange timestampRange = delegate.getFreshTimestamps(numTimestampsToFetch);
             int targetResidue = allocator.getRelevantModuli(clientIdentifier).iterator().next();
             OptionalLong relevantTimestamp = TimestampRanges.getTimestampMatchingModulus(
                     timestampRange,
                     targetResidue,
                     NUM_PARTITIONS);
             if (relevantTimestamp.isPresent()) {
-                return TimestampAndPartition.of(relevantTimestamp.getAsLong(), targetResidue);
+                return LongStream.iterate(relevantTimestamp.getAsLong(), timestamp -> timestamp + NUM_PARTITIONS)
+                        .limit(numTimestampsRequested)
+                        .filter(timestamp -> timestamp <= timestampRange.getUpperBound())
+                        .mapToObj(timestamp -> TimestampAndPartition.of(timestamp, targetResidue))
+                        .collect(Collectors.toList());
             }
 
             // Not a bug - getFreshTimestamps is permitted to return less than the number of timestamps asked for,
@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.codahale.metrics.MetricRegistry;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+import com.palantir.paxos.PaxosValue;
+
+public class BatchPaxosResourceTest {
+    private static final String CLIENT_1 = "alice";
+    private static final String CLIENT_2 = "bob";
+
+    private static final long PAXOS_ROUND_ONE = 1;
+    private static final String PAXOS_UUID = "paxos";
+    private static final PaxosValue PAXOS_VALUE = new PaxosValue(PAXOS_UUID, PAXOS_ROUND_ONE, new byte[] { 0 });
+    private static final PaxosProposalId PROPOSAL_ID = new PaxosProposalId(1L, PAXOS_UUID);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PaxosResource paxosResource;
+    private BatchingPaxosAcceptor batchingAcceptor;
+    private BatchingPaxosLearner batchingLearner;
+
+    @Before
+    public void setUp() throws IOException {
+        paxosResource = PaxosResource.create(new MetricRegistry(), temporaryFolder.newFolder().getPath());
+        BatchPaxosResource batchPaxosResource = BatchPaxosResource.create(paxosResource);
+        batchingAcceptor = BatchingPaxosAcceptor.create(batchPaxosResource.getBatchPaxosAcceptor());
+        batchingLearner = BatchingPaxosLearner.create(batchPaxosResource.getBatchPaxosLearner());
+    }
+
+    @After
+    public void tearDown() {
+        batchingAcceptor.close();
+        batchingLearner.close();
+    }
+
+    @Test
+    public void acceptorRoundsAreAppliedToTheClientsAcceptor() {
+        PaxosAcceptor acceptor = batchingAcceptor.forClient(CLIENT_1);
+
+        assertThat(acceptor.prepare(PAXOS_ROUND_ONE, PROPOSAL_ID).isSuccessful()).isTrue();
+        assertThat(acceptor.accept(PAXOS_ROUND_ONE, new PaxosProposal(PROPOSAL_ID, PAXOS_VALUE)).isSuccessful())
+                .isTrue();
+
+        assertThat(acceptor.getLatestSequencePreparedOrAccepted()).isEqualTo(PAXOS_ROUND_ONE);
+        assertThat(paxosResource.getPaxosAcceptor(CLIENT_1).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(PAXOS_ROUND_ONE);
+        assertThat(batchingAcceptor.forClient(CLIENT_2).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void acceptorRejectsProposalsLowerThanItsPromise() {
+        PaxosAcceptor acceptor = batchingAcceptor.forClient(CLIENT_1);
+        acceptor.prepare(PAXOS_ROUND_ONE, new PaxosProposalId(2L, PAXOS_UUID));
+
+        assertThat(acceptor.prepare(PAXOS_ROUND_ONE, PROPOSAL_ID).isSuccessful()).isFalse();
+    }
+
+    @Test
+    public void learnedValuesAreVisibleOnlyToTheirClient() {
+        batchingLearner.forClient(CLIENT_1).learn(PAXOS_ROUND_ONE, PAXOS_VALUE);
+
+        PaxosLearner learner = batchingLearner.forClient(CLIENT_1);
+        assertThat(learner.getLearnedValue(PAXOS_ROUND_ONE)).isEqualTo(PAXOS_VALUE);
+        assertThat(learner.getGreatestLearnedValue()).isEqualTo(PAXOS_VALUE);
+        assertThat(paxosResource.getPaxosLearner(CLIENT_1).getLearnedValue(PAXOS_ROUND_ONE)).isEqualTo(PAXOS_VALUE);
+
+        PaxosLearner otherLearner = batchingLearner.forClient(CLIENT_2);
+        assertThat(otherLearner.getLearnedValue(PAXOS_ROUND_ONE)).isNull();
+        assertThat(otherLearner.getGreatestLearnedValue()).isNull();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * (c) Copyright 2018 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.immutables.value.Value;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.autobatch.BatchElement;
+
+public class ClientKeyedBatcherTest {
+    private static final String CLIENT_1 = "alice";
+    private static final String CLIENT_2 = "bob";
+
+    private final List<Map<String, Long>> calls = Lists.newArrayList();
+
+    @Test
+    public void mergesRequestsForDifferentClientsIntoOneCall() {
+        List<BatchElement<Map.Entry<String, Long>, Optional<Long>>> elements = ImmutableList.of(
+                element(CLIENT_1, 1L),
+                element(CLIENT_2, 2L));
+
+        ClientKeyedBatcher.consumer(this::increment).accept(elements);
+
+        assertThat(calls).containsExactly(ImmutableMap.of(CLIENT_1, 1L, CLIENT_2, 2L));
+        assertThat(results(elements)).containsExactly(Optional.of(2L), Optional.of(3L));
+    }
+
+    @Test
+    public void sendsRequestsForTheSameClientInSuccessiveCalls() {
+        List<BatchElement<Map.Entry<String, Long>, Optional<Long>>> elements = ImmutableList.of(
+                element(CLIENT_1, 1L),
+                element(CLIENT_1, 5L),
+                element(CLIENT_2, 2L));
+
+        ClientKeyedBatcher.consumer(this::increment).accept(elements);
+
+        assertThat(calls).containsExactly(
+                ImmutableMap.of(CLIENT_1, 1L, CLIENT_2, 2L),
+                ImmutableMap.of(CLIENT_1, 5L));
+        assertThat(results(elements)).containsExactly(Optional.of(2L), Optional.of(6L), Optional.of(3L));
+    }
+
+    @Test
+    public void returnsEmptyForClientsWithoutResults() {
+        List<BatchElement<Map.Entry<String, Long>, Optional<Long>>> elements = ImmutableList.of(
+                element(CLIENT_1, 1L));
+
+        ClientKeyedBatcher.<Long, Long>consumer(requests -> ImmutableMap.of()).accept(elements);
+
+        assertThat(results(elements)).containsExactly(Optional.empty());
+    }
+
+    @Test
+    public void failsEveryRequestInAFailedCall() {
+        RuntimeException failure = new IllegalStateException("boom");
+        List<BatchElement<Map.Entry<String, Long>, Optional<Long>>> elements = ImmutableList.of(
+                element(CLIENT_1, 1L),
+                element(CLIENT_2, 2L));
+
+        ClientKeyedBatcher.<Long, Long>consumer(requests -> {
+            throw failure;
+        }).accept(elements);
+
+        elements.forEach(element -> assertThatThrownBy(() -> element.result().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(failure));
+    }
+
+    @Test
+    public void returnsResultsThroughAutobatcher() {
+        try (ClientKeyedBatcher<Long, Long> batcher = ClientKeyedBatcher.create(this::increment)) {
+            assertThat(batcher.apply(CLIENT_1, 1L)).contains(2L);
+        }
+    }
+
+    @Test
+    public void doesNotSendRequestsThatHaveBeenGivenUpOn() {
+        BatchElement<Map.Entry<String, Long>, Optional<Long>> abandoned = element(CLIENT_1, 1L);
+        abandoned.result().cancel(false);
+        List<BatchElement<Map.Entry<String, Long>, Optional<Long>>> elements = ImmutableList.of(
+                abandoned,
+                element(CLIENT_2, 2L));
+
+        ClientKeyedBatcher.consumer(this::increment).accept(elements);
+
+        assertThat(calls).containsExactly(ImmutableMap.of(CLIENT_2, 2L));
+    }
+
+    @Test
+    public void timesOutWaitingForSlowBatch() {
+        CountDownLatch slowBatch = new CountDownLatch(1);
+        try (ClientKeyedBatcher<Long, Long> batcher = ClientKeyedBatcher.create(requests -> {
+            Uninterruptibles.awaitUninterruptibly(slowBatch);
+            return increment(requests);
+        }, Duration.ofMillis(10))) {
+            assertThatThrownBy(() -> batcher.apply(CLIENT_1, 1L)).hasCauseInstanceOf(TimeoutException.class);
+            slowBatch.countDown();
+        }
+    }
+
+    private Map<String, Long> increment(Map<String, Long> requests) {
+        calls.add(ImmutableMap.copyOf(requests));
+        return Maps.transformValues(requests, value -> value + 1);
+    }
+
+    private static List<Optional<Long>> results(
+            List<BatchElement<Map.Entry<String, Long>, Optional<Long>>> elements) {
+        return elements.stream()
+                .map(element -> Futures.getUnchecked(element.result()))
+                .collect(Collectors.toList());
+    }
+
+    private static BatchElement<Map.Entry<String, Long>, Optional<Long>> element(String client, long request) {
+        return ImmutableTestBatchElement.builder()
+                .argument(Maps.immutableEntry(client, request))
+                .result(SettableFuture.create())
+                .build();
+    }
+
+    @Value.Immutable
+    interface TestBatchElement extends BatchElement<Map.Entry<String, Long>, Optional<Long>> {}
+}
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.timelock.paxos;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
 import java.io.IOException;
@@ -81,4 +82,25 @@ public class PaxosResourceTest {
         assertThat(expectedLearnerLogDir.exists()).isTrue();
     }
 
+    @Test
+    public void segmentedLogPreservesStateAcrossRestarts() {
+        PaxosResource segmentedResource = PaxosResource.create(new MetricRegistry(), logDirectory.getPath(), true);
+        segmentedResource.getPaxosLearner(CLIENT_2).learn(PAXOS_ROUND_ONE, PAXOS_VALUE);
+
+        PaxosResource restartedResource = PaxosResource.create(new MetricRegistry(), logDirectory.getPath(), true);
+        assertThat(restartedResource.getPaxosLearner(CLIENT_2).getGreatestLearnedValue()).isEqualTo(PAXOS_VALUE);
+    }
+
+    @Test
+    public void cannotTurnOffSegmentedLogOnceClientHasMigrated() {
+        PaxosResource segmentedResource = PaxosResource.create(new MetricRegistry(), logDirectory.getPath(), true);
+        segmentedResource.getPaxosAcceptor(CLIENT_2).accept(PAXOS_ROUND_TWO, PAXOS_PROPOSAL);
+
+        PaxosResource legacyResource = PaxosResource.create(new MetricRegistry(), logDirectory.getPath(), false);
+        assertThatThrownBy(() -> legacyResource.getPaxosAcceptor(CLIENT_2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("use-segmented-log");
+        assertThat(legacyResource.getPaxosAcceptor(CLIENT_1)).isNotNull();
+    }
+
 }
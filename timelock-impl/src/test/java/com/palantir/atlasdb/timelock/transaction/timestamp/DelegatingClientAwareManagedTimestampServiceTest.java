@@ -116,4 +116,31 @@ public class DelegatingClientAwareManagedTimestampServiceTest {
         verify(timestamps, times(3)).getFreshTimestamps(anyInt());
 
     }
+
+    @Test
+    public void getsMultipleTimestampsMatchingResidueFromOneRange() {
+        when(allocator.getRelevantModuli(UUID_ONE)).thenReturn(RESIDUE_ONE);
+        when(timestamps.getFreshTimestamps(anyInt())).thenReturn(TimestampRange.createInclusiveRange(
+                DelegatingClientAwareManagedTimestampService.NUM_PARTITIONS,
+                4 * DelegatingClientAwareManagedTimestampService.NUM_PARTITIONS - 1));
+
+        assertThat(service.getFreshTimestampsForClient(UUID_ONE, 3)).containsExactly(
+                TimestampAndPartition.of(DelegatingClientAwareManagedTimestampService.NUM_PARTITIONS + 1, 1),
+                TimestampAndPartition.of(2 * DelegatingClientAwareManagedTimestampService.NUM_PARTITIONS + 1, 1),
+                TimestampAndPartition.of(3 * DelegatingClientAwareManagedTimestampService.NUM_PARTITIONS + 1, 1));
+
+        verify(allocator).getRelevantModuli(UUID_ONE);
+        verify(timestamps).getFreshTimestamps(eq(3 * DelegatingClientAwareManagedTimestampService.NUM_PARTITIONS));
+    }
+
+    @Test
+    public void returnsFewerTimestampsIfRangeIsTooSmall() {
+        when(allocator.getRelevantModuli(UUID_TWO)).thenReturn(RESIDUE_TWO);
+        when(timestamps.getFreshTimestamps(anyInt())).thenReturn(TIMESTAMP_RANGE);
+
+        assertThat(service.getFreshTimestampsForClient(UUID_TWO, 5)).containsExactly(RESIDUE_TWO_TIMESTAMP_IN_RANGE);
+
+        verify(allocator).getRelevantModuli(UUID_TWO);
+        verify(timestamps).getFreshTimestamps(anyInt());
+    }
 }
@@ -61,8 +61,9 @@ public class AsyncLockServiceEteTest {
 
     private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
 
+    private final LockCollection lockCollection = new LockCollection();
     private final AsyncLockService service = new AsyncLockService(
-            new LockCollection(),
+            lockCollection,
             new ImmutableTimestampTracker(),
             new LockAcquirer(
                     new LockLog(new MetricRegistry(), () -> 2L),
@@ -273,6 +274,45 @@ public class AsyncLockServiceEteTest {
         assertNotLocked(LOCK_B);
     }
 
+    @Test
+    public void sharedLocksDoNotBlockEachOther() {
+        LockToken reader1 = service.lock(REQUEST_1, descriptors(LOCK_A), descriptors(LOCK_B), TIMEOUT).get();
+        AsyncResult<LockToken> reader2 = service.lock(REQUEST_2, descriptors(), descriptors(LOCK_B), TIMEOUT);
+
+        assertThat(reader2.isCompletedSuccessfully()).isTrue();
+        assertLocked(LOCK_A);
+        assertLocked(LOCK_B);
+
+        service.unlock(reader1);
+        assertLocked(LOCK_B);
+        service.unlock(reader2.get());
+        assertNotLocked(LOCK_B);
+    }
+
+    @Test
+    public void locksAreRemovedFromCollectionOnceNoLongerReferenced() {
+        LockToken token = lockSynchronously(REQUEST_1, LOCK_A, LOCK_B);
+        AsyncResult<Void> waitResult = waitForLocks(REQUEST_2, LOCK_B, LOCK_C);
+        assertThat(lockCollection.size()).isEqualTo(3);
+
+        service.unlock(token);
+
+        assertThat(waitResult.isCompletedSuccessfully()).isTrue();
+        assertThat(lockCollection.size()).isEqualTo(0);
+    }
+
+    @Test
+    @ShouldRetry
+    public void timedOutRequestDoesNotRetainLocksInCollection() {
+        LockToken lockBToken = lockSynchronously(REQUEST_1, LOCK_B);
+        service.lock(REQUEST_2, descriptors(LOCK_A, LOCK_B), SHORT_TIMEOUT);
+
+        waitForTimeout(SHORT_TIMEOUT);
+        service.unlock(lockBToken);
+
+        assertThat(lockCollection.size()).isEqualTo(0);
+    }
+
     @Test
     public void outstandingRequestsReceiveNotCurrentLeaderExceptionOnClose() {
         lockSynchronously(REQUEST_1, LOCK_A);
@@ -38,6 +38,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.lock.StringLockDescriptor;
 
@@ -67,6 +68,7 @@ public class AsyncLockServiceTest {
         when(acquirer.acquireLocks(any(), any(), any())).thenReturn(new AsyncResult<>());
         when(acquirer.waitForLocks(any(), any(), any())).thenReturn(new AsyncResult<>());
         when(locks.getAll(any())).thenReturn(OrderedLocks.fromSingleLock(newLock()));
+        when(locks.getAll(any(), any())).thenReturn(OrderedLocks.fromSingleLock(newLock()));
         when(immutableTimestampTracker.getImmutableTimestamp()).thenReturn(Optional.empty());
         when(immutableTimestampTracker.getLockFor(anyLong())).thenReturn(newLock());
     }
@@ -75,13 +77,25 @@ public class AsyncLockServiceTest {
     public void passesOrderedLocksToAcquirer() {
         OrderedLocks expected = orderedLocks(newLock(), newLock());
         Set<LockDescriptor> descriptors = descriptors(LOCK_A, LOCK_B);
-        when(locks.getAll(descriptors)).thenReturn(expected);
+        when(locks.getAll(descriptors, ImmutableSet.of())).thenReturn(expected);
 
         lockService.lock(REQUEST_ID, descriptors, DEADLINE);
 
         verify(acquirer).acquireLocks(REQUEST_ID, expected, DEADLINE);
     }
 
+    @Test
+    public void passesSharedLockDescriptorsToLockCollection() {
+        OrderedLocks expected = orderedLocks(newLock(), newLock());
+        Set<LockDescriptor> descriptors = descriptors(LOCK_A);
+        Set<LockDescriptor> sharedDescriptors = descriptors(LOCK_B);
+        when(locks.getAll(descriptors, sharedDescriptors)).thenReturn(expected);
+
+        lockService.lock(REQUEST_ID, descriptors, sharedDescriptors, DEADLINE);
+
+        verify(acquirer).acquireLocks(REQUEST_ID, expected, DEADLINE);
+    }
+
     @Test
     public void passesOrderedLocksToAcquirerWhenWaitingForLocks() {
         OrderedLocks expected = orderedLocks(newLock(), newLock());
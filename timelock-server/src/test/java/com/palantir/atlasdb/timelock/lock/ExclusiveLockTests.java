@@ -222,6 +222,87 @@ public class ExclusiveLockTests {
         assertThat(request2.isCompletedSuccessfully()).isTrue();
     }
 
+    @Test
+    public void sharedLockCanBeHeldByMultipleRequests() {
+        lockSharedSynchronously(REQUEST_1);
+        lockSharedSynchronously(REQUEST_2);
+
+        assertThat(lock.isSharedHolder(REQUEST_1)).isTrue();
+        assertThat(lock.isSharedHolder(REQUEST_2)).isTrue();
+    }
+
+    @Test
+    public void sharedLockWaitsForExclusiveHolder() {
+        lockSynchronously(REQUEST_1);
+        AsyncResult<Void> request2 = lock.shared().lock(REQUEST_2);
+        AsyncResult<Void> request3 = lock.shared().lock(REQUEST_3);
+        assertThat(request2.isComplete()).isFalse();
+
+        unlock(REQUEST_1);
+
+        assertThat(request2.isCompletedSuccessfully()).isTrue();
+        assertThat(request3.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void exclusiveLockWaitsForAllSharedHolders() {
+        lockSharedSynchronously(REQUEST_1);
+        lockSharedSynchronously(REQUEST_2);
+        AsyncResult<Void> request3 = lockAsync(REQUEST_3);
+
+        lock.shared().unlock(REQUEST_1);
+        assertThat(request3.isComplete()).isFalse();
+
+        lock.shared().unlock(REQUEST_2);
+        assertThat(request3.isCompletedSuccessfully()).isTrue();
+        assertThat(lock.getCurrentHolder()).isEqualTo(REQUEST_3);
+    }
+
+    @Test
+    public void sharedLockRequestsQueueBehindWaitingExclusiveRequests() {
+        lockSharedSynchronously(REQUEST_1);
+        AsyncResult<Void> request2 = lockAsync(REQUEST_2);
+        AsyncResult<Void> request3 = lock.shared().lock(REQUEST_3);
+        assertThat(request3.isComplete()).isFalse();
+
+        lock.shared().unlock(REQUEST_1);
+        assertThat(request2.isCompletedSuccessfully()).isTrue();
+        assertThat(request3.isComplete()).isFalse();
+
+        unlock(REQUEST_2);
+        assertThat(request3.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void sharedLockRequestsProceedWhenWaitingExclusiveRequestTimesOut() {
+        lockSharedSynchronously(REQUEST_1);
+        lockAsync(REQUEST_2);
+        AsyncResult<Void> request3 = lock.shared().lock(REQUEST_3);
+
+        lock.timeout(REQUEST_2);
+
+        assertThat(request3.isCompletedSuccessfully()).isTrue();
+    }
+
+    @Test
+    public void waitUntilAvailableSharedDoesNotWaitForSharedHolders() {
+        lockSharedSynchronously(REQUEST_1);
+
+        assertThat(lock.shared().waitUntilAvailable(REQUEST_2).isCompletedSuccessfully()).isTrue();
+        assertThat(lock.isSharedHolder(REQUEST_2)).isFalse();
+        assertThat(waitUntilAvailableAsync(REQUEST_3).isComplete()).isFalse();
+    }
+
+    @Test
+    public void unlockSharedByNonHolderNoOps() {
+        lockSharedSynchronously(REQUEST_1);
+        AsyncResult<Void> request2 = lockAsync(REQUEST_2);
+
+        lock.shared().unlock(REQUEST_3);
+
+        assertThat(request2.isComplete()).isFalse();
+    }
+
     private AsyncResult<Void> waitUntilAvailableAsync(UUID request) {
         return lock.waitUntilAvailable(request);
     }
@@ -234,6 +315,10 @@ public class ExclusiveLockTests {
         lock.lock(requestId).get();
     }
 
+    private void lockSharedSynchronously(UUID requestId) {
+        lock.shared().lock(requestId).get();
+    }
+
     private AsyncResult<Void> lockAsync(UUID requestId) {
         return lock.lock(requestId);
     }
@@ -18,8 +18,14 @@ package com.palantir.atlasdb.timelock.lock;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -31,6 +37,8 @@ public class ImmutableTimestampTrackerTest {
     private static final long TIMESTAMP_1 = 1L;
     private static final long TIMESTAMP_2 = 2L;
 
+    private static final int NUM_THREADS = 8;
+
     private final ImmutableTimestampTracker tracker = new ImmutableTimestampTracker();
 
     @Test
@@ -80,6 +88,39 @@ public class ImmutableTimestampTrackerTest {
         assertThatThrownBy(() -> unlock(TIMESTAMP_1, REQUEST_1)).isInstanceOf(IllegalStateException.class);
     }
 
+    @Test
+    public void unlockingATimestampLockedByAnotherRequestThrows() {
+        lock(TIMESTAMP_1, REQUEST_1);
+
+        assertThatThrownBy(() -> unlock(TIMESTAMP_1, REQUEST_2)).isInstanceOf(IllegalStateException.class);
+        assertThat(tracker.getImmutableTimestamp().get()).isEqualTo(TIMESTAMP_1);
+    }
+
+    @Test
+    public void immutableTimestampNeverExceedsATimestampHeldByTheReader() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = IntStream.range(0, NUM_THREADS)
+                    .mapToObj(thread -> executor.submit(() -> {
+                        UUID requestId = UUID.randomUUID();
+                        for (long i = 0; i < 10_000; i++) {
+                            long timestamp = i * NUM_THREADS + thread;
+                            tracker.lock(timestamp, requestId);
+                            assertThat(tracker.getImmutableTimestamp().get()).isLessThanOrEqualTo(timestamp);
+                            tracker.unlock(timestamp, requestId);
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(tracker.getImmutableTimestamp()).isEqualTo(Optional.empty());
+    }
+
     private AsyncResult<Void> lock(long timestamp, UUID requestId) {
         return tracker.getLockFor(timestamp).lock(requestId);
     }
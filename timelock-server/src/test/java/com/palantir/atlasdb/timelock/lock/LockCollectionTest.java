@@ -70,6 +70,59 @@ public class LockCollectionTest {
         assertThat(actualOrder).isEqualTo(expectedOrder);
     }
 
+    @Test
+    public void returnsSharedViewsOfLocksRequestedInSharedMode() {
+        ExclusiveLock exclusive = (ExclusiveLock) lockCollection.getAll(descriptors("foo")).get().get(0);
+
+        List<AsyncLock> locks = lockCollection.getAll(descriptors("bar"), descriptors("foo")).get();
+
+        assertThat(locks).hasSize(2);
+        assertThat(locks.get(0).getDescriptor()).isEqualTo(StringLockDescriptor.of("bar"));
+        assertThat(locks.get(1)).isSameAs(exclusive.shared());
+    }
+
+    @Test
+    public void locksDescriptorsRequestedInBothModesExclusively() {
+        List<AsyncLock> locks = lockCollection.getAll(descriptors("foo"), descriptors("foo")).get();
+
+        assertThat(locks).hasSize(1);
+        assertThat(locks.get(0)).isInstanceOf(ExclusiveLock.class);
+    }
+
+    @Test
+    public void removesLocksOnceReleased() {
+        OrderedLocks locks = lockCollection.getAll(descriptors("foo", "bar"));
+        assertThat(lockCollection.size()).isEqualTo(2);
+
+        locks.release();
+
+        assertThat(lockCollection.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void retainsLocksStillReferencedByOtherRequests() {
+        OrderedLocks locks1 = lockCollection.getAll(descriptors("foo", "bar"));
+        OrderedLocks locks2 = lockCollection.getAll(descriptors("bar"));
+
+        locks1.release();
+
+        assertThat(lockCollection.size()).isEqualTo(1);
+        assertThat(lockCollection.getAll(descriptors("bar")).get()).isEqualTo(locks2.get());
+    }
+
+    @Test
+    public void releaseIsIdempotent() {
+        OrderedLocks locks1 = lockCollection.getAll(descriptors("foo"));
+        OrderedLocks locks2 = lockCollection.getAll(descriptors("foo"));
+
+        locks1.release();
+        locks1.release();
+
+        assertThat(lockCollection.size()).isEqualTo(1);
+        locks2.release();
+        assertThat(lockCollection.size()).isEqualTo(0);
+    }
+
     private Set<LockDescriptor> descriptors(String... names) {
         return Arrays.stream(names)
                 .map(StringLockDescriptor::of)
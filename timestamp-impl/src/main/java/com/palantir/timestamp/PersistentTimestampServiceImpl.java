@@ -50,6 +50,7 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
     private static final int MAX_TIMESTAMPS_PER_REQUEST = 10_000;
 
     private ErrorCheckingTimestampBoundStore store;
+    private double boundExtensionThreshold;
     private PersistentTimestamp timestamp;
     private final InitializingWrapper wrapper = new InitializingWrapper();
 
@@ -67,7 +68,22 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
 
     public static PersistentTimestampService create(ErrorCheckingTimestampBoundStore store,
             boolean initializeAsync) {
-        PersistentTimestampServiceImpl service = new PersistentTimestampServiceImpl(store);
+        return create(store, initializeAsync, 1.0);
+    }
+
+    /**
+     * Creates a timestamp service that extends the persisted timestamp bound in the background once the given
+     * fraction of the buffer above the last extension has been handed out. See
+     * {@link PersistentUpperLimit#create(TimestampBoundStore, double)}.
+     */
+    public static PersistentTimestampService create(TimestampBoundStore store, boolean initializeAsync,
+            double boundExtensionThreshold) {
+        return create(new ErrorCheckingTimestampBoundStore(store), initializeAsync, boundExtensionThreshold);
+    }
+
+    private static PersistentTimestampService create(ErrorCheckingTimestampBoundStore store,
+            boolean initializeAsync, double boundExtensionThreshold) {
+        PersistentTimestampServiceImpl service = new PersistentTimestampServiceImpl(store, boundExtensionThreshold);
         service.wrapper.initialize(initializeAsync);
         return service.wrapper.isInitialized() ? service : service.wrapper;
     }
@@ -77,13 +93,14 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
         this.timestamp = timestamp;
     }
 
-    private PersistentTimestampServiceImpl(ErrorCheckingTimestampBoundStore store) {
+    private PersistentTimestampServiceImpl(ErrorCheckingTimestampBoundStore store, double boundExtensionThreshold) {
         this.store = store;
+        this.boundExtensionThreshold = boundExtensionThreshold;
     }
 
     private void tryInitialize() {
         long latestTimestamp = store.getUpperLimit();
-        PersistentUpperLimit upperLimit = new PersistentUpperLimit(store);
+        PersistentUpperLimit upperLimit = PersistentUpperLimit.create(store, boundExtensionThreshold);
         timestamp = new PersistentTimestamp(upperLimit, latestTimestamp);
     }
 
@@ -15,9 +15,25 @@
  */
 package com.palantir.timestamp;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
 
 public class PersistentUpperLimit {
+    private static final Logger log = LoggerFactory.getLogger(PersistentUpperLimit.class);
 
     /**
      * Some internal atlas clients have behavior tied to this value and will need to
@@ -26,12 +42,62 @@ public class PersistentUpperLimit {
     @VisibleForTesting
     static final long BUFFER = 1_000_000;
 
+    /**
+     * When extending proactively, the buffer is sized so that extensions happen about this often, but is never
+     * smaller than {@link #BUFFER} or larger than {@link #MAX_BUFFER}.
+     */
+    @VisibleForTesting
+    static final long TARGET_MILLIS_BETWEEN_EXTENSIONS = TimeUnit.SECONDS.toMillis(30);
+    @VisibleForTesting
+    static final long MAX_BUFFER = 100 * BUFFER;
+
+    private static final ExecutorService EXTENSION_EXECUTOR = PTExecutors.newCachedThreadPool(
+            new NamedThreadFactory("timestamp-bound-extension", true));
+
     private volatile long currentLimit;
+    private volatile long extensionPoint;
     private final TimestampBoundStore store;
+    private final double extensionThreshold;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final AtomicBoolean extensionInProgress = new AtomicBoolean(false);
+
+    // Guarded by this.
+    private long bufferSize = BUFFER;
+    private long lastExtensionMillis;
+    private long lastExtensionTimestamp;
 
     public PersistentUpperLimit(TimestampBoundStore boundStore) {
+        this(boundStore, 1.0, EXTENSION_EXECUTOR, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    PersistentUpperLimit(TimestampBoundStore boundStore, double extensionThreshold, Executor executor,
+            LongSupplier clock) {
+        Preconditions.checkArgument(extensionThreshold > 0 && extensionThreshold <= 1,
+                "Extension threshold must be in (0, 1], but was %s", extensionThreshold);
         this.store = boundStore;
+        this.extensionThreshold = extensionThreshold;
+        this.executor = executor;
+        this.clock = clock;
         this.currentLimit = boundStore.getUpperLimit();
+        this.extensionPoint = extensionPointFor(currentLimit, BUFFER);
+        this.lastExtensionMillis = clock.getAsLong();
+        this.lastExtensionTimestamp = currentLimit;
+    }
+
+    /**
+     * Creates an upper limit that, once the given fraction of the buffer above the last extension has been handed
+     * out, extends the persisted bound in the background, so that requests do not wait for the bound store while
+     * the rate of requests is sustainable. The buffer is sized from the observed rate at which timestamps are handed
+     * out. A threshold of 1 only extends the bound once it has been reached, with a fixed buffer.
+     *
+     * @param boundStore store that persists the upper limit
+     * @param extensionThreshold fraction of the buffer, in (0, 1], to hand out before extending the bound
+     */
+    public static PersistentUpperLimit create(TimestampBoundStore boundStore, double extensionThreshold) {
+        return new PersistentUpperLimit(boundStore, extensionThreshold, EXTENSION_EXECUTOR,
+                System::currentTimeMillis);
     }
 
     public long get() {
@@ -41,6 +107,8 @@ public class PersistentUpperLimit {
     public void increaseToAtLeast(long newLimit) {
         if (newLimit > currentLimit) {
             updateLimit(newLimit);
+        } else if (newLimit > extensionPoint) {
+            extendInBackground(newLimit);
         }
     }
 
@@ -49,9 +117,67 @@ public class PersistentUpperLimit {
             return;
         }
 
-        long newLimitWithBuffer = Math.addExact(newLimit, BUFFER);
-        storeUpperLimit(newLimitWithBuffer);
-        currentLimit = newLimitWithBuffer;
+        storeLimitWithBuffer(newLimit);
+    }
+
+    private void extendInBackground(long handedOutTimestamp) {
+        if (!extensionInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    extendLimit(handedOutTimestamp);
+                } catch (Throwable th) {
+                    log.warn("Failed to extend the timestamp bound in the background. The bound will be extended "
+                            + "when it is reached instead.", th);
+                } finally {
+                    extensionInProgress.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            extensionInProgress.set(false);
+        }
+    }
+
+    private synchronized void extendLimit(long handedOutTimestamp) {
+        if (handedOutTimestamp <= extensionPoint) {
+            return;
+        }
+
+        storeLimitWithBuffer(handedOutTimestamp);
+    }
+
+    private void storeLimitWithBuffer(long timestamp) {
+        long buffer = nextBufferSize(timestamp);
+        long newLimitWithBuffer = Math.addExact(timestamp, buffer);
+        if (newLimitWithBuffer > currentLimit) {
+            storeUpperLimit(newLimitWithBuffer);
+            currentLimit = newLimitWithBuffer;
+        }
+        extensionPoint = extensionPointFor(currentLimit, buffer);
+    }
+
+    private long nextBufferSize(long timestamp) {
+        if (extensionThreshold >= 1) {
+            return BUFFER;
+        }
+        long now = clock.getAsLong();
+        long elapsedMillis = now - lastExtensionMillis;
+        if (elapsedMillis > 0) {
+            double timestampsPerMilli = (double) (timestamp - lastExtensionTimestamp) / elapsedMillis;
+            long estimate = (long) Math.min(timestampsPerMilli * TARGET_MILLIS_BETWEEN_EXTENSIONS, MAX_BUFFER);
+            bufferSize = Longs.constrainToRange(estimate, BUFFER, MAX_BUFFER);
+            log.debug("Handed out timestamps at {} per second; extending the timestamp bound by {}.",
+                    SafeArg.of("rate", (long) (timestampsPerMilli * 1000)), SafeArg.of("buffer", bufferSize));
+        }
+        lastExtensionMillis = now;
+        lastExtensionTimestamp = timestamp;
+        return bufferSize;
+    }
+
+    private long extensionPointFor(long limit, long buffer) {
+        return limit - (long) ((1 - extensionThreshold) * buffer);
     }
 
     private void storeUpperLimit(long upperLimit) {
@@ -25,11 +25,18 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 public class PersistentUpperLimitTest {
     private static final long TIMESTAMP = 12345L;
     private static final long INITIAL_UPPER_LIMIT = 10L;
@@ -119,4 +126,67 @@ public class PersistentUpperLimitTest {
         assertThat(upperLimit.get(), is(INITIAL_UPPER_LIMIT));
     }
 
+    @Test
+    public void shouldExtendInTheBackgroundOnceThresholdOfBufferIsHandedOut() {
+        List<Runnable> extensions = new ArrayList<>();
+        PersistentUpperLimit proactiveLimit = new PersistentUpperLimit(boundStore, 0.5, extensions::add, () -> 0L);
+        proactiveLimit.increaseToAtLeast(TIMESTAMP);
+        verify(boundStore).storeUpperLimit(TIMESTAMP + BUFFER);
+
+        proactiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2);
+        assertThat(extensions.size(), is(0));
+
+        proactiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2 + 1);
+        proactiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2 + 2);
+        assertThat(extensions.size(), is(1));
+        assertThat(proactiveLimit.get(), is(TIMESTAMP + BUFFER));
+
+        extensions.get(0).run();
+        verify(boundStore).storeUpperLimit(TIMESTAMP + BUFFER / 2 + 1 + BUFFER);
+        assertThat(proactiveLimit.get(), is(TIMESTAMP + BUFFER / 2 + 1 + BUFFER));
+    }
+
+    @Test
+    public void shouldRetryBackgroundExtensionAfterFailure() {
+        List<Runnable> extensions = new ArrayList<>();
+        PersistentUpperLimit proactiveLimit = new PersistentUpperLimit(boundStore, 0.5, extensions::add, () -> 0L);
+        proactiveLimit.increaseToAtLeast(TIMESTAMP);
+
+        doThrow(RuntimeException.class).when(boundStore).storeUpperLimit(anyLong());
+        proactiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2 + 1);
+        extensions.get(0).run();
+        assertThat(proactiveLimit.get(), is(TIMESTAMP + BUFFER));
+
+        proactiveLimit.increaseToAtLeast(TIMESTAMP + BUFFER / 2 + 1);
+        assertThat(extensions.size(), is(2));
+    }
+
+    @Test
+    public void shouldSizeBufferFromIssuanceRate() {
+        AtomicLong clock = new AtomicLong(0L);
+        PersistentUpperLimit proactiveLimit = new PersistentUpperLimit(
+                boundStore, 0.5, MoreExecutors.directExecutor(), clock::get);
+
+        long handedOutPerTargetInterval = 30 * BUFFER;
+        clock.set(PersistentUpperLimit.TARGET_MILLIS_BETWEEN_EXTENSIONS);
+        proactiveLimit.increaseToAtLeast(INITIAL_UPPER_LIMIT + handedOutPerTargetInterval);
+        assertThat(proactiveLimit.get(), is(INITIAL_UPPER_LIMIT + 2 * handedOutPerTargetInterval));
+    }
+
+    @Test
+    public void shouldBoundBufferSize() {
+        AtomicLong clock = new AtomicLong(0L);
+        PersistentUpperLimit proactiveLimit = new PersistentUpperLimit(
+                boundStore, 0.5, MoreExecutors.directExecutor(), clock::get);
+
+        clock.set(1L);
+        proactiveLimit.increaseToAtLeast(INITIAL_UPPER_LIMIT + BUFFER);
+        assertThat(proactiveLimit.get(), is(INITIAL_UPPER_LIMIT + BUFFER + PersistentUpperLimit.MAX_BUFFER));
+
+        clock.set(TimeUnit.DAYS.toMillis(1));
+        long timestamp = proactiveLimit.get() + 1;
+        proactiveLimit.increaseToAtLeast(timestamp);
+        assertThat(proactiveLimit.get(), is(timestamp + BUFFER));
+    }
+
 }